@@ -92,6 +92,8 @@ const uint32_t PUBLISH_VERSION_MAX_RETRY = 3;
 const int64_t PUBLISH_TIMEOUT_SEC = 10;
 
 std::atomic_ulong TaskWorkerPool::_s_report_version(time(nullptr) * 10000);
+std::atomic_long TaskWorkerPool::_s_tablet_report_generation(time(nullptr) * 10000);
+std::atomic<bool> TaskWorkerPool::_s_need_full_tablet_report(false);
 std::mutex TaskWorkerPool::_s_task_signatures_lock;
 std::map<TTaskType::type, std::set<int64_t>> TaskWorkerPool::_s_task_signatures;
 
@@ -237,7 +239,10 @@ void TaskWorkerPool::stop() {
         _is_work = false;
         _worker_thread_condition_variable.notify_all();
     }
-    _thread_pool->shutdown();
+    // the pool is not created if the workers are never started
+    if (_thread_pool) {
+        _thread_pool->shutdown();
+    }
 }
 
 void TaskWorkerPool::submit_task(const TAgentTaskRequest& task) {
@@ -682,7 +687,15 @@ void TaskWorkerPool::_report_tablet_worker_thread_callback() {
         }
         request.__isset.resource = true;
 
-        _handle_report(request, ReportType::TABLET);
+        std::unordered_map<int64_t, uint64_t> tablet_signatures;
+        bool is_delta = false;
+        if (config::enable_delta_tablet_report) {
+            is_delta = _build_delta_tablet_report(&request, &tablet_signatures);
+        }
+        bool is_report_success = _handle_report(request, ReportType::TABLET);
+        _finish_tablet_report(request, is_delta,
+                              is_report_success && config::enable_delta_tablet_report,
+                              &tablet_signatures);
     }
     StorageEngine::instance()->deregister_report_listener(this);
 }
@@ -969,7 +982,87 @@ Status TaskWorkerPool::_move_dir(const TTabletId tablet_id, const std::string& s
     return loader.move(src, tablet, overwrite);
 }
 
-void TaskWorkerPool::_handle_report(const TReportRequest& request, ReportType type) {
+// signature of the tablet fields handled by FE in tablet report, used to find the changed tablets
+static uint64_t tablet_report_signature(const TTablet& tablet) {
+    uint64_t seed = 0;
+    auto combine = [&seed](int64_t value) {
+        seed ^= std::hash<int64_t>()(value) + 0x9e3779b97f4a7c15ULL + (seed << 6) + (seed >> 2);
+    };
+    for (const auto& info : tablet.tablet_infos) {
+        combine(info.schema_hash);
+        combine(info.version);
+        combine(info.storage_medium);
+        combine(info.version_count);
+        combine(info.path_hash);
+        combine(info.version_miss);
+        combine(info.used);
+        combine(info.partition_id);
+        combine(info.is_in_memory);
+        combine(info.replica_id);
+        combine(info.cooldown_term);
+        combine(info.cooldown_meta_id.hi);
+        combine(info.cooldown_meta_id.lo);
+        for (auto transaction_id : info.transaction_ids) {
+            combine(transaction_id);
+        }
+    }
+    return seed;
+}
+
+bool TaskWorkerPool::_build_delta_tablet_report(
+        TReportRequest* request, std::unordered_map<int64_t, uint64_t>* tablet_signatures) {
+    tablet_signatures->reserve(request->tablets.size());
+    for (const auto& [tablet_id, tablet] : request->tablets) {
+        tablet_signatures->emplace(tablet_id, tablet_report_signature(tablet));
+    }
+    request->__set_tablet_report_generation(++_s_tablet_report_generation);
+
+    // exchange() also clears the flag when a full report is sent
+    if (_s_need_full_tablet_report.exchange(false) || _last_tablet_report_generation < 0 ||
+        _delta_tablet_report_num >= config::max_delta_tablet_report_num) {
+        return false;
+    }
+    std::vector<TTabletId> removed_tablets;
+    for (const auto& [tablet_id, signature] : _last_reported_tablets) {
+        if (tablet_signatures->find(tablet_id) == tablet_signatures->end()) {
+            removed_tablets.push_back(tablet_id);
+        }
+    }
+    size_t tablet_num = request->tablets.size();
+    for (auto it = request->tablets.begin(); it != request->tablets.end();) {
+        auto last = _last_reported_tablets.find(it->first);
+        if (last != _last_reported_tablets.end() &&
+            last->second == tablet_signatures->at(it->first)) {
+            it = request->tablets.erase(it);
+        } else {
+            ++it;
+        }
+    }
+    request->__set_base_tablet_report_generation(_last_tablet_report_generation);
+    request->__set_removed_tablets(removed_tablets);
+    LOG_INFO("build delta tablet report")
+            .tag("tablet_num", tablet_num)
+            .tag("changed_tablet_num", request->tablets.size())
+            .tag("removed_tablet_num", removed_tablets.size())
+            .tag("base_generation", _last_tablet_report_generation);
+    return true;
+}
+
+void TaskWorkerPool::_finish_tablet_report(
+        const TReportRequest& request, bool is_delta, bool is_received,
+        std::unordered_map<int64_t, uint64_t>* tablet_signatures) {
+    if (is_received) {
+        _last_reported_tablets.swap(*tablet_signatures);
+        _last_tablet_report_generation = request.tablet_report_generation;
+        _delta_tablet_report_num = is_delta ? _delta_tablet_report_num + 1 : 0;
+    } else {
+        // FE may not receive the report, the next report should be a full one
+        _last_reported_tablets.clear();
+        _last_tablet_report_generation = -1;
+    }
+}
+
+bool TaskWorkerPool::_handle_report(const TReportRequest& request, ReportType type) {
     TMasterResult result;
     Status status = MasterServerClient::instance()->report(request, &result);
     bool is_report_success = false;
@@ -988,6 +1081,11 @@ void TaskWorkerPool::_handle_report(const TReportRequest& request, ReportType ty
         LOG_INFO("successfully report {}", TYPE_STRING(type))
                 .tag("host", _master_info.network_address.hostname)
                 .tag("port", _master_info.network_address.port);
+        if (result.__isset.need_full_tablet_report && result.need_full_tablet_report) {
+            LOG_INFO("frontend asks for a full tablet report");
+            _s_need_full_tablet_report = true;
+            StorageEngine::instance()->notify_listeners();
+        }
     }
     switch (type) {
     case TASK:
@@ -1011,6 +1109,7 @@ void TaskWorkerPool::_handle_report(const TReportRequest& request, ReportType ty
     default:
         break;
     }
+    return is_report_success;
 }
 
 void TaskWorkerPool::_random_sleep(int second) {
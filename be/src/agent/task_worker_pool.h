@@ -30,6 +30,7 @@
 #include <mutex>
 #include <set>
 #include <string>
+#include <unordered_map>
 
 #include "common/status.h"
 #include "olap/tablet.h"
@@ -204,7 +205,16 @@ protected:
                                int64_t signature, const TTaskType::type task_type,
                                TFinishTaskRequest* finish_task_request);
 
-    void _handle_report(const TReportRequest& request, ReportType type);
+    // return true if the report is received by FE
+    bool _handle_report(const TReportRequest& request, ReportType type);
+    // keep only the tablets changed since the last successful tablet report in request if possible,
+    // return true if the request is a delta tablet report.
+    bool _build_delta_tablet_report(TReportRequest* request,
+                                    std::unordered_map<int64_t, uint64_t>* tablet_signatures);
+    // remember the tablets of the report if it is received by FE,
+    // so that the next report can be a delta
+    void _finish_tablet_report(const TReportRequest& request, bool is_delta, bool is_received,
+                               std::unordered_map<int64_t, uint64_t>* tablet_signatures);
 
     Status _get_tablet_info(const TTabletId tablet_id, const TSchemaHash schema_hash,
                             int64_t signature, TTabletInfo* tablet_info);
@@ -246,6 +256,16 @@ protected:
 
     static std::atomic_ulong _s_report_version;
 
+    // Only used by the tablet report worker.
+    // tablet id -> signature of the tablet in the last successful tablet report
+    std::unordered_map<int64_t, uint64_t> _last_reported_tablets;
+    // -1 if there is no successful tablet report to base a delta tablet report on
+    int64_t _last_tablet_report_generation = -1;
+    int32_t _delta_tablet_report_num = 0;
+    static std::atomic_long _s_tablet_report_generation;
+    // set if FE could not apply the last delta tablet report
+    static std::atomic<bool> _s_need_full_tablet_report;
+
     static std::mutex _s_task_signatures_lock;
     static std::map<TTaskType::type, std::set<int64_t>> _s_task_signatures;
 
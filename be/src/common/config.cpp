@@ -175,6 +175,10 @@ DEFINE_mInt32(storage_refresh_storage_policy_task_interval_seconds, "5");
 DEFINE_mInt32(report_disk_state_interval_seconds, "60");
 // the interval time(seconds) for agent report olap table to FE
 DEFINE_mInt32(report_tablet_interval_seconds, "60");
+// whether to report only the tablets changed since the last tablet report to FE
+DEFINE_mBool(enable_delta_tablet_report, "false");
+// the max number of delta tablet reports between two full tablet reports
+DEFINE_mInt32(max_delta_tablet_report_num, "10");
 // the max download speed(KB/s)
 DEFINE_mInt32(max_download_speed_kbps, "50000");
 // download low speed limit(KB/s)
@@ -215,6 +215,10 @@ DECLARE_mInt32(storage_refresh_storage_policy_task_interval_seconds);
 DECLARE_mInt32(report_disk_state_interval_seconds);
 // the interval time(seconds) for agent report olap table to FE
 DECLARE_mInt32(report_tablet_interval_seconds);
+// whether to report only the tablets changed since the last tablet report to FE
+DECLARE_mBool(enable_delta_tablet_report);
+// the max number of delta tablet reports between two full tablet reports
+DECLARE_mInt32(max_delta_tablet_report_num);
 // the max download speed(KB/s)
 DECLARE_mInt32(max_download_speed_kbps);
 // download low speed limit(KB/s)
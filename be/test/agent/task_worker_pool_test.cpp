@@ -0,0 +1,169 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+#include "agent/task_worker_pool.h"
+
+#include <gen_cpp/MasterService_types.h>
+#include <gtest/gtest-message.h>
+#include <gtest/gtest-test-part.h>
+
+#include <map>
+#include <unordered_map>
+#include <vector>
+
+#include "common/config.h"
+#include "gtest/gtest_pred_impl.h"
+
+namespace doris {
+
+// exposes the tablet report state of TaskWorkerPool
+class DeltaTabletReportWorkerPool : public TaskWorkerPool {
+public:
+    DeltaTabletReportWorkerPool()
+            : TaskWorkerPool(TaskWorkerType::REPORT_OLAP_TABLE, nullptr, TMasterInfo(),
+                             ThreadModel::SINGLE_THREAD) {}
+
+    // build the tablet report and assume it is received by FE, return true if it is a delta
+    bool report(TReportRequest* request) {
+        std::unordered_map<int64_t, uint64_t> tablet_signatures;
+        bool is_delta = _build_delta_tablet_report(request, &tablet_signatures);
+        _finish_tablet_report(*request, is_delta, true, &tablet_signatures);
+        return is_delta;
+    }
+
+    void lose_report(TReportRequest* request) {
+        std::unordered_map<int64_t, uint64_t> tablet_signatures;
+        bool is_delta = _build_delta_tablet_report(request, &tablet_signatures);
+        _finish_tablet_report(*request, is_delta, false, &tablet_signatures);
+    }
+
+    static void ask_for_full_tablet_report() { _s_need_full_tablet_report = true; }
+};
+
+class DeltaTabletReportTest : public testing::Test {
+public:
+    void SetUp() override {
+        _max_delta_tablet_report_num = config::max_delta_tablet_report_num;
+        config::max_delta_tablet_report_num = 10;
+    }
+
+    void TearDown() override { config::max_delta_tablet_report_num = _max_delta_tablet_report_num; }
+
+    static void add_tablet(TReportRequest* request, int64_t tablet_id, int64_t version) {
+        TTabletInfo tablet_info;
+        tablet_info.__set_tablet_id(tablet_id);
+        tablet_info.__set_schema_hash(1);
+        tablet_info.__set_version(version);
+        TTablet tablet;
+        tablet.tablet_infos.push_back(tablet_info);
+        request->tablets[tablet_id] = tablet;
+        request->__isset.tablets = true;
+    }
+
+    // tablets 1, 2 and 3 of version 1, and the tablets of the given versions
+    static TReportRequest new_request(const std::map<int64_t, int64_t>& tablet_versions = {}) {
+        TReportRequest request;
+        for (int64_t tablet_id = 1; tablet_id <= 3; ++tablet_id) {
+            add_tablet(&request, tablet_id, 1);
+        }
+        for (const auto& [tablet_id, version] : tablet_versions) {
+            add_tablet(&request, tablet_id, version);
+        }
+        return request;
+    }
+
+private:
+    int32_t _max_delta_tablet_report_num;
+};
+
+TEST_F(DeltaTabletReportTest, FirstReportIsFull) {
+    DeltaTabletReportWorkerPool pool;
+    TReportRequest request = new_request();
+    EXPECT_FALSE(pool.report(&request));
+    EXPECT_EQ(3, request.tablets.size());
+    EXPECT_TRUE(request.__isset.tablet_report_generation);
+    EXPECT_FALSE(request.__isset.base_tablet_report_generation);
+    EXPECT_FALSE(request.__isset.removed_tablets);
+}
+
+TEST_F(DeltaTabletReportTest, ReportChangedAndRemovedTablets) {
+    DeltaTabletReportWorkerPool pool;
+    TReportRequest full = new_request();
+    pool.report(&full);
+
+    // tablet 2 is updated, tablet 3 is dropped and tablet 4 is created
+    TReportRequest delta = new_request({{2, 2}, {4, 1}});
+    delta.tablets.erase(3);
+    EXPECT_TRUE(pool.report(&delta));
+    EXPECT_EQ(full.tablet_report_generation, delta.base_tablet_report_generation);
+    EXPECT_GT(delta.tablet_report_generation, full.tablet_report_generation);
+    EXPECT_EQ(2, delta.tablets.size());
+    EXPECT_EQ(2, delta.tablets[2].tablet_infos[0].version);
+    EXPECT_EQ(1, delta.tablets.count(4));
+    EXPECT_EQ(std::vector<TTabletId> {3}, delta.removed_tablets);
+
+    // the next delta is based on the last one
+    TReportRequest unchanged = new_request({{2, 2}, {4, 1}});
+    unchanged.tablets.erase(3);
+    EXPECT_TRUE(pool.report(&unchanged));
+    EXPECT_EQ(delta.tablet_report_generation, unchanged.base_tablet_report_generation);
+    EXPECT_TRUE(unchanged.tablets.empty());
+    EXPECT_TRUE(unchanged.removed_tablets.empty());
+}
+
+TEST_F(DeltaTabletReportTest, FullReportAfterLostReport) {
+    DeltaTabletReportWorkerPool pool;
+    TReportRequest full = new_request();
+    pool.report(&full);
+    TReportRequest lost = new_request({{2, 2}});
+    pool.lose_report(&lost);
+
+    TReportRequest request = new_request({{2, 2}});
+    EXPECT_FALSE(pool.report(&request));
+    EXPECT_EQ(3, request.tablets.size());
+    EXPECT_FALSE(request.__isset.base_tablet_report_generation);
+}
+
+TEST_F(DeltaTabletReportTest, FullReportAskedByFrontend) {
+    DeltaTabletReportWorkerPool pool;
+    TReportRequest full = new_request();
+    pool.report(&full);
+
+    DeltaTabletReportWorkerPool::ask_for_full_tablet_report();
+    TReportRequest request = new_request();
+    EXPECT_FALSE(pool.report(&request));
+    EXPECT_EQ(3, request.tablets.size());
+    // the flag is cleared by the full report
+    TReportRequest next = new_request();
+    EXPECT_TRUE(pool.report(&next));
+}
+
+TEST_F(DeltaTabletReportTest, FullReportAfterMaxDeltaReports) {
+    config::max_delta_tablet_report_num = 2;
+    DeltaTabletReportWorkerPool pool;
+    TReportRequest full = new_request();
+    EXPECT_FALSE(pool.report(&full));
+    for (int i = 0; i < 2; ++i) {
+        TReportRequest delta = new_request();
+        EXPECT_TRUE(pool.report(&delta));
+    }
+    TReportRequest request = new_request();
+    EXPECT_FALSE(pool.report(&request));
+    EXPECT_EQ(3, request.tablets.size());
+}
+
+} // namespace doris
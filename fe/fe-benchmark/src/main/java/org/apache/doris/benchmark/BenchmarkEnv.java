@@ -0,0 +1,159 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.nereids.datasets.tpch.TPCHUtils;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.statistics.ColumnStatistic;
+import org.apache.doris.statistics.ColumnStatisticBuilder;
+import org.apache.doris.statistics.StatisticsCache;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+
+/**
+ * Frontend started in the benchmark process with mocked backends, shared by the planner benchmarks of a fork.
+ *
+ * It is loaded with the TPC-H and TPC-DS schemas. Statistics are synthetic: tables have their row counts
+ * at scale factor 100, key columns are unique and other columns have a few distinct values, so that join
+ * reorder and cost based choices behave like on a real cluster.
+ */
+public class BenchmarkEnv extends TestWithFeService {
+    private static final Logger LOG = LogManager.getLogger(BenchmarkEnv.class);
+
+    public static final String TPCH_DB = "tpch";
+    public static final String TPCDS_DB = "tpcds";
+
+    private static final long DEFAULT_ROW_COUNT = 1_000_000L;
+    private static final long DEFAULT_NDV = 100L;
+
+    // approximate row counts at scale factor 100
+    private static final Map<String, Long> ROW_COUNTS = ImmutableMap.<String, Long>builder()
+            .put("tpch.lineitem", 600_000_000L)
+            .put("tpch.orders", 150_000_000L)
+            .put("tpch.partsupp", 80_000_000L)
+            .put("tpch.part", 20_000_000L)
+            .put("tpch.customer", 15_000_000L)
+            .put("tpch.supplier", 1_000_000L)
+            .put("tpch.nation", 25L)
+            .put("tpch.region", 5L)
+            .put("tpcds.store_sales", 288_000_000L)
+            .put("tpcds.date_dim", 73_049L)
+            .put("tpcds.item", 204_000L)
+            .put("tpcds.store", 402L)
+            .put("tpcds.customer", 2_000_000L)
+            .put("tpcds.customer_address", 1_000_000L)
+            .put("tpcds.customer_demographics", 1_920_800L)
+            .put("tpcds.promotion", 1_000L)
+            .build();
+
+    private static BenchmarkEnv instance;
+
+    private BenchmarkEnv() {
+    }
+
+    /**
+     * Start the frontend at the first call, and set the connect context of the calling thread.
+     */
+    public static synchronized BenchmarkEnv get() throws Exception {
+        if (instance == null) {
+            BenchmarkEnv env = new BenchmarkEnv();
+            env.beforeAll();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    env.afterAll();
+                } catch (Exception e) {
+                    LOG.warn("failed to stop benchmark env", e);
+                }
+            }));
+            instance = env;
+        }
+        instance.connectContext.setThreadLocalInfo();
+        return instance;
+    }
+
+    public ConnectContext getConnectContext() {
+        return connectContext;
+    }
+
+    public static String getFullDbName(String dbName) {
+        return ClusterNamespace.getFullName(SystemInfoService.DEFAULT_CLUSTER, dbName);
+    }
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase(TPCH_DB);
+        useDatabase(TPCH_DB);
+        TPCHUtils.createTables(this);
+        createDatabase(TPCDS_DB);
+        useDatabase(TPCDS_DB);
+        TpcdsUtils.createTables(this);
+
+        fillStatistics(TPCH_DB);
+        fillStatistics(TPCDS_DB);
+    }
+
+    private void fillStatistics(String dbName) {
+        Database db = Env.getCurrentInternalCatalog().getDbNullable(getFullDbName(dbName));
+        StatisticsCache cache = Env.getCurrentEnv().getStatisticsCache();
+        for (Table table : db.getTables()) {
+            if (!(table instanceof OlapTable)) {
+                continue;
+            }
+            OlapTable olapTable = (OlapTable) table;
+            long rowCount = ROW_COUNTS.getOrDefault(dbName + "." + table.getName(), DEFAULT_ROW_COUNT);
+            // the row count of a table is the sum of its partitions
+            long partitionNum = olapTable.getPartitions().size();
+            for (Partition partition : olapTable.getPartitions()) {
+                partition.getBaseIndex().setRowCount(Math.max(rowCount / partitionNum, 1));
+            }
+            for (Column column : olapTable.getBaseSchema()) {
+                cache.updateColStatsCache(table.getId(), -1, column.getName(), statistic(column, rowCount));
+            }
+        }
+    }
+
+    private static ColumnStatistic statistic(Column column, long rowCount) {
+        String name = column.getName().toLowerCase();
+        boolean isKey = name.endsWith("key") || name.endsWith("_sk");
+        double ndv = isKey ? rowCount : Math.min(rowCount, DEFAULT_NDV);
+        double avgSizeByte = column.getType().getSlotSize();
+        return new ColumnStatisticBuilder()
+                .setCount(rowCount)
+                .setNdv(ndv)
+                .setAvgSizeByte(avgSizeByte)
+                .setNumNulls(0)
+                .setDataSize(avgSizeByte * rowCount)
+                .setMinValue(0)
+                .setMaxValue(ndv)
+                .setIsUnknown(false)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.common.Pair;
+import org.apache.doris.nereids.datasets.tpch.TPCHUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * Queries of the planner benchmarks by name, e.g. tpch_q9, each with the database it runs in.
+ */
+public class BenchmarkQueries {
+    // name -> (database, sql)
+    private static final Map<String, Pair<String, String>> QUERIES
+            = ImmutableMap.<String, Pair<String, String>>builder()
+            .put("tpch_q1", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q1))
+            .put("tpch_q2", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q2))
+            .put("tpch_q3", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q3))
+            .put("tpch_q4", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q4))
+            .put("tpch_q5", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q5))
+            .put("tpch_q6", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q6))
+            .put("tpch_q7", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q7))
+            .put("tpch_q8", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q8))
+            .put("tpch_q9", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q9))
+            .put("tpch_q10", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q10))
+            .put("tpch_q11", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q11))
+            .put("tpch_q12", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q12))
+            .put("tpch_q13", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q13))
+            .put("tpch_q14", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q14))
+            .put("tpch_q15", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q15))
+            .put("tpch_q16", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q16))
+            .put("tpch_q17", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q17))
+            .put("tpch_q18", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q18))
+            .put("tpch_q19", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q19))
+            .put("tpch_q20", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q20))
+            .put("tpch_q21", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q21))
+            .put("tpch_q22", Pair.of(BenchmarkEnv.TPCH_DB, TPCHUtils.Q22))
+            .put("tpcds_q3", Pair.of(BenchmarkEnv.TPCDS_DB, TpcdsUtils.Q3))
+            .put("tpcds_q7", Pair.of(BenchmarkEnv.TPCDS_DB, TpcdsUtils.Q7))
+            .put("tpcds_q19", Pair.of(BenchmarkEnv.TPCDS_DB, TpcdsUtils.Q19))
+            .put("tpcds_q42", Pair.of(BenchmarkEnv.TPCDS_DB, TpcdsUtils.Q42))
+            .put("tpcds_q55", Pair.of(BenchmarkEnv.TPCDS_DB, TpcdsUtils.Q55))
+            .build();
+
+    public static String getDatabase(String name) {
+        return get(name).first;
+    }
+
+    public static String getSql(String name) {
+        return get(name).second;
+    }
+
+    private static Pair<String, String> get(String name) {
+        Pair<String, String> query = QUERIES.get(name);
+        Preconditions.checkArgument(query != null, "unknown query: " + name);
+        return query;
+    }
+}
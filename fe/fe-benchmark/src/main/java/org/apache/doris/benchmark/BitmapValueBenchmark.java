@@ -0,0 +1,113 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.common.io.BitmapValue;
+import org.apache.doris.common.io.DataOutputBuffer;
+import org.apache.doris.common.io.Roaring64Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize and deserialize BitmapValue and Roaring64Map, with values fit in 32 bits or spread over 64 bits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitmapValueBenchmark {
+    @Param({"1000", "1000000"})
+    private int cardinality;
+
+    @Param({"false", "true"})
+    private boolean is64Bits;
+
+    private BitmapValue bitmapValue;
+    private Roaring64Map roaring64Map;
+    private byte[] serialized;
+    private DataOutputBuffer out;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(0);
+        bitmapValue = new BitmapValue();
+        roaring64Map = new Roaring64Map();
+        for (int i = 0; i < cardinality; i++) {
+            long value = is64Bits ? random.nextLong() & Long.MAX_VALUE : random.nextInt() & Integer.MAX_VALUE;
+            bitmapValue.add(value);
+            roaring64Map.addLong(value);
+        }
+        out = new DataOutputBuffer();
+        bitmapValue.serialize(out);
+        serialized = new byte[out.getLength()];
+        System.arraycopy(out.getData(), 0, serialized, 0, out.getLength());
+    }
+
+    @Benchmark
+    public int serializeBitmapValue() throws IOException {
+        out.reset();
+        bitmapValue.serialize(out);
+        return out.getLength();
+    }
+
+    @Benchmark
+    public BitmapValue deserializeBitmapValue() throws IOException {
+        BitmapValue value = new BitmapValue();
+        value.deserialize(new DataInputStream(new ByteArrayInputStream(serialized)));
+        return value;
+    }
+
+    @Benchmark
+    public int serializeRoaring64Map() throws IOException {
+        out.reset();
+        roaring64Map.serialize(out);
+        return out.getLength();
+    }
+
+    @Benchmark
+    public Roaring64Map deserializeRoaring64Map() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized));
+        Roaring64Map map = new Roaring64Map();
+        // the bitmap type is written before the bitmap
+        map.deserialize(in, in.readByte());
+        return map;
+    }
+
+    @Benchmark
+    public long sizeInBytes() {
+        return roaring64Map.serializedSizeInBytes();
+    }
+}
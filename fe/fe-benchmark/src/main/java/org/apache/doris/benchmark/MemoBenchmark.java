@@ -0,0 +1,141 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.NereidsPlanner;
+import org.apache.doris.nereids.jobs.batch.CascadesOptimizer;
+import org.apache.doris.nereids.jobs.batch.NereidsRewriter;
+import org.apache.doris.nereids.jobs.cascades.DeriveStatsJob;
+import org.apache.doris.nereids.memo.Group;
+import org.apache.doris.nereids.memo.Memo;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.trees.expressions.StatementScopeIdGenerator;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.util.MemoTestUtils;
+import org.apache.doris.qe.ConnectContext;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the memo and exploring it on queries with many joins, where most of the group expressions are created
+ * by join enumeration.
+ *
+ * Run it with -prof gc to get the allocation per operation. The group expressions of the memo are reported as
+ * counters, so the allocation per group expression is gc.alloc.rate.norm divided by groupExpressions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoBenchmark {
+    @Param({"tpch_q5", "tpch_q7", "tpch_q8", "tpch_q9", "tpch_q21", "tpcds_q19"})
+    private String query;
+
+    private ConnectContext connectContext;
+    private String sql;
+
+    @Setup
+    public void setUp() throws Exception {
+        connectContext = BenchmarkEnv.get().getConnectContext();
+        connectContext.getSessionVariable().setEnableNereidsPlanner(true);
+        connectContext.setDatabase(BenchmarkEnv.getFullDbName(BenchmarkQueries.getDatabase(query)));
+        sql = BenchmarkQueries.getSql(query);
+    }
+
+    // the rewritten plan of the query, not copied into memo yet
+    private CascadesContext rewrite() throws Exception {
+        StatementScopeIdGenerator.clear();
+        CascadesContext cascadesContext = CascadesContext.newRewriteContext(
+                MemoTestUtils.createStatementContext(connectContext, sql), new NereidsParser().parseSingle(sql),
+                NereidsPlanner.buildInitRequireProperties());
+        cascadesContext.newAnalyzer().analyze();
+        new NereidsRewriter(cascadesContext).execute();
+        return cascadesContext;
+    }
+
+    /** Rewritten plan, the input of copying into memo. */
+    @State(Scope.Thread)
+    public static class RewrittenState {
+        private Plan plan;
+
+        @Setup(Level.Invocation)
+        public void setUp(MemoBenchmark benchmark) throws Exception {
+            plan = benchmark.rewrite().getRewritePlan();
+        }
+    }
+
+    /** Memo with statistics derived, the input of CascadesOptimizer. */
+    @State(Scope.Thread)
+    public static class DerivedState {
+        private CascadesContext cascadesContext;
+
+        @Setup(Level.Invocation)
+        public void setUp(MemoBenchmark benchmark) throws Exception {
+            cascadesContext = benchmark.rewrite();
+            cascadesContext.toMemo();
+            Memo memo = cascadesContext.getMemo();
+            cascadesContext.pushJob(new DeriveStatsJob(memo.getRoot().getLogicalExpression(),
+                    cascadesContext.getCurrentJobContext()));
+            cascadesContext.getJobScheduler().executeJobPool(cascadesContext);
+        }
+    }
+
+    /** The size of the memo after an operation. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MemoSize {
+        public long groups;
+        public long groupExpressions;
+
+        private Memo record(Memo memo) {
+            groups += memo.getGroups().size();
+            for (Group group : memo.getGroups()) {
+                groupExpressions += group.getLogicalExpressions().size() + group.getPhysicalExpressions().size();
+            }
+            return memo;
+        }
+    }
+
+    @Benchmark
+    public Memo copyIn(RewrittenState state, MemoSize size) {
+        return size.record(new Memo(state.plan));
+    }
+
+    @Benchmark
+    public Memo optimize(DerivedState state, MemoSize size) {
+        new CascadesOptimizer(state.cascadesContext).execute();
+        return size.record(state.cascadesContext.getMemo());
+    }
+}
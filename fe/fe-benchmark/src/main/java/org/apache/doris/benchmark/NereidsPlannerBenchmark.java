@@ -0,0 +1,213 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.NereidsPlanner;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.glue.translator.PhysicalPlanTranslator;
+import org.apache.doris.nereids.glue.translator.PlanTranslatorContext;
+import org.apache.doris.nereids.jobs.batch.CascadesOptimizer;
+import org.apache.doris.nereids.jobs.batch.NereidsRewriter;
+import org.apache.doris.nereids.jobs.cascades.DeriveStatsJob;
+import org.apache.doris.nereids.memo.Memo;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.trees.expressions.StatementScopeIdGenerator;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.nereids.util.MemoTestUtils;
+import org.apache.doris.planner.PlanFragment;
+import org.apache.doris.qe.ConnectContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each phase of the nereids planner on TPC-H and TPC-DS queries.
+ *
+ * The input of a phase is prepared by running the previous phases before each invocation, so that only the
+ * measured phase is timed. plan and planAndTranslate measure the whole pipeline from parsing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NereidsPlannerBenchmark {
+    @Param({"tpch_q3", "tpch_q5", "tpch_q9", "tpch_q18", "tpch_q21", "tpcds_q3", "tpcds_q7", "tpcds_q19"})
+    private String query;
+
+    private ConnectContext connectContext;
+    private String sql;
+
+    @Setup
+    public void setUp() throws Exception {
+        connectContext = BenchmarkEnv.get().getConnectContext();
+        connectContext.getSessionVariable().setEnableNereidsPlanner(true);
+        connectContext.setDatabase(BenchmarkEnv.getFullDbName(BenchmarkQueries.getDatabase(query)));
+        sql = BenchmarkQueries.getSql(query);
+    }
+
+    // ids of a statement are generated from zero, so the plan is parsed again for every statement
+    private StatementContext newStatementContext() throws Exception {
+        StatementScopeIdGenerator.clear();
+        return MemoTestUtils.createStatementContext(connectContext, sql);
+    }
+
+    private LogicalPlan parse() {
+        return new NereidsParser().parseSingle(sql);
+    }
+
+    private CascadesContext newCascadesContext() throws Exception {
+        StatementContext statementContext = newStatementContext();
+        return CascadesContext.newRewriteContext(statementContext, parse(),
+                NereidsPlanner.buildInitRequireProperties());
+    }
+
+    private CascadesContext rewrite() throws Exception {
+        CascadesContext cascadesContext = newCascadesContext();
+        cascadesContext.newAnalyzer().analyze();
+        new NereidsRewriter(cascadesContext).execute();
+        cascadesContext.toMemo();
+        return cascadesContext;
+    }
+
+    private static void deriveStats(CascadesContext cascadesContext) {
+        Memo memo = cascadesContext.getMemo();
+        cascadesContext.pushJob(new DeriveStatsJob(memo.getRoot().getLogicalExpression(),
+                cascadesContext.getCurrentJobContext()));
+        cascadesContext.getJobScheduler().executeJobPool(cascadesContext);
+    }
+
+    /** Parsed plan, the input of the analyzer. */
+    @State(Scope.Thread)
+    public static class ParsedState {
+        private CascadesContext cascadesContext;
+
+        @Setup(Level.Invocation)
+        public void setUp(NereidsPlannerBenchmark benchmark) throws Exception {
+            cascadesContext = benchmark.newCascadesContext();
+        }
+    }
+
+    /** Analyzed plan, the input of the rewriter. */
+    @State(Scope.Thread)
+    public static class AnalyzedState {
+        private CascadesContext cascadesContext;
+
+        @Setup(Level.Invocation)
+        public void setUp(NereidsPlannerBenchmark benchmark) throws Exception {
+            cascadesContext = benchmark.newCascadesContext();
+            cascadesContext.newAnalyzer().analyze();
+        }
+    }
+
+    /** Rewritten plan copied into memo, the input of StatsCalculator. */
+    @State(Scope.Thread)
+    public static class RewrittenState {
+        private CascadesContext cascadesContext;
+
+        @Setup(Level.Invocation)
+        public void setUp(NereidsPlannerBenchmark benchmark) throws Exception {
+            cascadesContext = benchmark.rewrite();
+        }
+    }
+
+    /** Memo with statistics derived, the input of CascadesOptimizer. */
+    @State(Scope.Thread)
+    public static class DerivedState {
+        private CascadesContext cascadesContext;
+
+        @Setup(Level.Invocation)
+        public void setUp(NereidsPlannerBenchmark benchmark) throws Exception {
+            cascadesContext = benchmark.rewrite();
+            deriveStats(cascadesContext);
+        }
+    }
+
+    /** Physical plan, the input of PhysicalPlanTranslator. */
+    @State(Scope.Thread)
+    public static class OptimizedState {
+        private CascadesContext cascadesContext;
+        private PhysicalPlan physicalPlan;
+
+        @Setup(Level.Invocation)
+        public void setUp(NereidsPlannerBenchmark benchmark) throws Exception {
+            NereidsPlanner planner = new NereidsPlanner(benchmark.newStatementContext());
+            physicalPlan = planner.plan(benchmark.parse(), PhysicalProperties.ANY);
+            cascadesContext = planner.getCascadesContext();
+        }
+    }
+
+    @Benchmark
+    public CascadesContext analyzer(ParsedState state) {
+        state.cascadesContext.newAnalyzer().analyze();
+        return state.cascadesContext;
+    }
+
+    @Benchmark
+    public CascadesContext rewriter(AnalyzedState state) {
+        new NereidsRewriter(state.cascadesContext).execute();
+        return state.cascadesContext;
+    }
+
+    @Benchmark
+    public Memo statsCalculator(RewrittenState state) {
+        deriveStats(state.cascadesContext);
+        return state.cascadesContext.getMemo();
+    }
+
+    @Benchmark
+    public Memo cascadesOptimizer(DerivedState state) {
+        new CascadesOptimizer(state.cascadesContext).execute();
+        return state.cascadesContext.getMemo();
+    }
+
+    @Benchmark
+    public PlanFragment physicalPlanTranslator(OptimizedState state) {
+        return new PhysicalPlanTranslator(new PlanTranslatorContext(state.cascadesContext))
+                .translatePlan(state.physicalPlan);
+    }
+
+    @Benchmark
+    public PhysicalPlan plan() throws Exception {
+        return new NereidsPlanner(newStatementContext()).plan(parse(), PhysicalProperties.ANY);
+    }
+
+    @Benchmark
+    public PlanFragment planAndTranslate() throws Exception {
+        NereidsPlanner planner = new NereidsPlanner(newStatementContext());
+        PhysicalPlan physicalPlan = planner.plan(parse(), PhysicalProperties.ANY);
+        return new PhysicalPlanTranslator(new PlanTranslatorContext(planner.getCascadesContext()))
+                .translatePlan(physicalPlan);
+    }
+}
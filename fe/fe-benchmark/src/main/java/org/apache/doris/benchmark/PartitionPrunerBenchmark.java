@@ -0,0 +1,130 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.PartitionInfo;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.catalog.RangePartitionItem;
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.rules.expression.rules.PartitionPruner;
+import org.apache.doris.nereids.trees.expressions.And;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThanEqual;
+import org.apache.doris.nereids.trees.expressions.InPredicate;
+import org.apache.doris.nereids.trees.expressions.LessThan;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.literal.BigIntLiteral;
+import org.apache.doris.nereids.types.BigIntType;
+import org.apache.doris.nereids.util.MemoTestUtils;
+import org.apache.doris.nereids.util.PlanConstructor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Range;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prune the partitions of a table range partitioned by a bigint column, each partition has 10 values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionPrunerBenchmark {
+    private static final long PARTITION_WIDTH = 10;
+
+    @Param({"100", "1000", "10000"})
+    private int partitionNum;
+
+    private PartitionInfo partitionInfo;
+    private List<Slot> partitionSlots;
+    private CascadesContext cascadesContext;
+    private Expression equalPredicate;
+    private Expression rangePredicate;
+    private Expression inPredicate;
+    private Range<PartitionKey> range;
+
+    @Setup
+    public void setUp() {
+        partitionInfo = new RangePartitionInfo(ImmutableList.of(new Column("k", PrimitiveType.BIGINT)));
+        for (int i = 0; i < partitionNum; i++) {
+            partitionInfo.setItem(i, false, new RangePartitionItem(
+                    Range.closedOpen(key(i * PARTITION_WIDTH), key((i + 1) * PARTITION_WIDTH))));
+        }
+        SlotReference slot = new SlotReference("k", BigIntType.INSTANCE);
+        partitionSlots = ImmutableList.of(slot);
+        cascadesContext = MemoTestUtils.createCascadesContext(PlanConstructor.newLogicalOlapScan(0, "t", 0));
+
+        long middle = partitionNum * PARTITION_WIDTH / 2;
+        equalPredicate = new EqualTo(slot, new BigIntLiteral(middle));
+        // hits 10 partitions
+        rangePredicate = new And(new GreaterThanEqual(slot, new BigIntLiteral(middle)),
+                new LessThan(slot, new BigIntLiteral(middle + 10 * PARTITION_WIDTH)));
+        inPredicate = new InPredicate(slot, ImmutableList.<Expression>of(
+                new BigIntLiteral(1), new BigIntLiteral(middle), new BigIntLiteral(middle + 1),
+                new BigIntLiteral(partitionNum * PARTITION_WIDTH - 1)));
+        range = Range.closedOpen(key(middle), key(middle + 10 * PARTITION_WIDTH));
+    }
+
+    private static PartitionKey key(long value) {
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(new IntLiteral(value), PrimitiveType.BIGINT);
+        return key;
+    }
+
+    @Benchmark
+    public List<Long> pruneEqual() {
+        return PartitionPruner.prune(partitionSlots, equalPredicate, partitionInfo, cascadesContext);
+    }
+
+    @Benchmark
+    public List<Long> pruneRange() {
+        return PartitionPruner.prune(partitionSlots, rangePredicate, partitionInfo, cascadesContext);
+    }
+
+    @Benchmark
+    public List<Long> pruneIn() {
+        return PartitionPruner.prune(partitionSlots, inPredicate, partitionInfo, cascadesContext);
+    }
+
+    @Benchmark
+    public Set<Long> findInItemIndex() {
+        return partitionInfo.getItemIndex().find(range);
+    }
+}
@@ -0,0 +1,133 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.thrift.TStorageMedium;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of TabletInvertedIndex with 3 replicas per tablet on 10 backends.
+ *
+ * build measures loading the index, as on startup or replay of the image. Run it with "-prof gc" to see
+ * the memory allocated per tablet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TabletInvertedIndexBenchmark {
+    private static final int REPLICA_NUM = 3;
+    private static final int BACKEND_NUM = 10;
+    private static final int LOOKUP_NUM = 1 << 16;
+
+    @Param({"100000", "1000000"})
+    private int tabletNum;
+
+    private TabletInvertedIndex index;
+    // random tablets to lookup, so that lookups are not served from cpu caches
+    private long[] tabletIds;
+    private long[] backendIds;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        index = build(tabletNum);
+        Random random = new Random(0);
+        tabletIds = new long[LOOKUP_NUM];
+        backendIds = new long[LOOKUP_NUM];
+        for (int i = 0; i < LOOKUP_NUM; i++) {
+            int tablet = random.nextInt(tabletNum);
+            tabletIds[i] = tabletId(tablet);
+            backendIds[i] = backendId(tablet, random.nextInt(REPLICA_NUM));
+        }
+    }
+
+    private static long tabletId(int tablet) {
+        return 10000L + tablet;
+    }
+
+    private static long backendId(int tablet, int replica) {
+        return (tablet + replica) % BACKEND_NUM;
+    }
+
+    private static TabletInvertedIndex build(int tabletNum) {
+        TabletInvertedIndex index = new TabletInvertedIndex();
+        long replicaId = 10000L + tabletNum;
+        for (int i = 0; i < tabletNum; i++) {
+            long tabletId = tabletId(i);
+            // 100 tablets per partition
+            TabletMeta tabletMeta = new TabletMeta(1L, 2L, 3L + i / 100, 4L, 0, TStorageMedium.HDD);
+            index.addTablet(tabletId, tabletMeta);
+            for (int j = 0; j < REPLICA_NUM; j++) {
+                index.addReplica(tabletId, new Replica(replicaId++, backendId(i, j), ReplicaState.NORMAL, 1L, 0));
+            }
+        }
+        return index;
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (LOOKUP_NUM - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public TabletMeta getTabletMeta() {
+        return index.getTabletMeta(tabletIds[next()]);
+    }
+
+    @Benchmark
+    public Replica getReplica() {
+        int i = next();
+        return index.getReplica(tabletIds[i], backendIds[i]);
+    }
+
+    @Benchmark
+    public List<Replica> getReplicasByTabletId() {
+        return index.getReplicasByTabletId(tabletIds[next()]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public TabletInvertedIndex build() {
+        return build(tabletNum);
+    }
+}
@@ -0,0 +1,256 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.utframe.TestWithFeService;
+
+/**
+ * The TPC-DS tables of the store channel, with the columns used by the queries below, and some of the
+ * TPC-DS queries on them. store_sales is partitioned by the sold date like in most deployments.
+ */
+public class TpcdsUtils {
+
+    public static final String Q3 = "select\n"
+            + "    dt.d_year,\n"
+            + "    item.i_brand_id brand_id,\n"
+            + "    item.i_brand brand,\n"
+            + "    sum(ss_ext_sales_price) sum_agg\n"
+            + "from date_dim dt, store_sales, item\n"
+            + "where dt.d_date_sk = store_sales.ss_sold_date_sk\n"
+            + "    and store_sales.ss_item_sk = item.i_item_sk\n"
+            + "    and item.i_manufact_id = 128\n"
+            + "    and dt.d_moy = 11\n"
+            + "group by dt.d_year, item.i_brand, item.i_brand_id\n"
+            + "order by dt.d_year, sum_agg desc, brand_id\n"
+            + "limit 100";
+
+    public static final String Q7 = "select\n"
+            + "    i_item_id,\n"
+            + "    avg(ss_quantity) agg1,\n"
+            + "    avg(ss_list_price) agg2,\n"
+            + "    avg(ss_coupon_amt) agg3,\n"
+            + "    avg(ss_sales_price) agg4\n"
+            + "from store_sales, customer_demographics, date_dim, item, promotion\n"
+            + "where ss_sold_date_sk = d_date_sk\n"
+            + "    and ss_item_sk = i_item_sk\n"
+            + "    and ss_cdemo_sk = cd_demo_sk\n"
+            + "    and ss_promo_sk = p_promo_sk\n"
+            + "    and cd_gender = 'M'\n"
+            + "    and cd_marital_status = 'S'\n"
+            + "    and cd_education_status = 'College'\n"
+            + "    and (p_channel_email = 'N' or p_channel_event = 'N')\n"
+            + "    and d_year = 2000\n"
+            + "group by i_item_id\n"
+            + "order by i_item_id\n"
+            + "limit 100";
+
+    public static final String Q19 = "select\n"
+            + "    i_brand_id brand_id,\n"
+            + "    i_brand brand,\n"
+            + "    i_manufact_id,\n"
+            + "    i_manufact,\n"
+            + "    sum(ss_ext_sales_price) ext_price\n"
+            + "from date_dim, store_sales, item, customer, customer_address, store\n"
+            + "where d_date_sk = ss_sold_date_sk\n"
+            + "    and ss_item_sk = i_item_sk\n"
+            + "    and i_manager_id = 8\n"
+            + "    and d_moy = 11\n"
+            + "    and d_year = 1998\n"
+            + "    and ss_customer_sk = c_customer_sk\n"
+            + "    and c_current_addr_sk = ca_address_sk\n"
+            + "    and substr(ca_zip, 1, 5) <> substr(s_zip, 1, 5)\n"
+            + "    and ss_store_sk = s_store_sk\n"
+            + "group by i_brand, i_brand_id, i_manufact_id, i_manufact\n"
+            + "order by ext_price desc, i_brand, i_brand_id, i_manufact_id, i_manufact\n"
+            + "limit 100";
+
+    public static final String Q42 = "select\n"
+            + "    dt.d_year,\n"
+            + "    item.i_category_id,\n"
+            + "    item.i_category,\n"
+            + "    sum(ss_ext_sales_price)\n"
+            + "from date_dim dt, store_sales, item\n"
+            + "where dt.d_date_sk = store_sales.ss_sold_date_sk\n"
+            + "    and store_sales.ss_item_sk = item.i_item_sk\n"
+            + "    and item.i_manager_id = 1\n"
+            + "    and dt.d_moy = 11\n"
+            + "    and dt.d_year = 2000\n"
+            + "group by dt.d_year, item.i_category_id, item.i_category\n"
+            + "order by sum(ss_ext_sales_price) desc, dt.d_year, item.i_category_id, item.i_category\n"
+            + "limit 100";
+
+    public static final String Q55 = "select\n"
+            + "    i_brand_id brand_id,\n"
+            + "    i_brand brand,\n"
+            + "    sum(ss_ext_sales_price) ext_price\n"
+            + "from date_dim, store_sales, item\n"
+            + "where d_date_sk = ss_sold_date_sk\n"
+            + "    and ss_item_sk = i_item_sk\n"
+            + "    and i_manager_id = 28\n"
+            + "    and d_moy = 11\n"
+            + "    and d_year = 1999\n"
+            + "group by i_brand, i_brand_id\n"
+            + "order by ext_price desc, i_brand_id\n"
+            + "limit 100";
+
+    public static void createTables(TestWithFeService service) throws Exception {
+        service.createTable("CREATE TABLE store_sales (\n"
+                + "    ss_sold_date_sk       bigint,\n"
+                + "    ss_item_sk            bigint NOT NULL,\n"
+                + "    ss_ticket_number      bigint NOT NULL,\n"
+                + "    ss_sold_time_sk       bigint,\n"
+                + "    ss_customer_sk        bigint,\n"
+                + "    ss_cdemo_sk           bigint,\n"
+                + "    ss_addr_sk            bigint,\n"
+                + "    ss_store_sk           bigint,\n"
+                + "    ss_promo_sk           bigint,\n"
+                + "    ss_quantity           int,\n"
+                + "    ss_wholesale_cost     decimal(7, 2),\n"
+                + "    ss_list_price         decimal(7, 2),\n"
+                + "    ss_sales_price        decimal(7, 2),\n"
+                + "    ss_ext_sales_price    decimal(7, 2),\n"
+                + "    ss_coupon_amt         decimal(7, 2),\n"
+                + "    ss_net_paid           decimal(7, 2),\n"
+                + "    ss_net_profit         decimal(7, 2)\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`ss_sold_date_sk`, `ss_item_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "PARTITION BY RANGE(`ss_sold_date_sk`) (\n"
+                + "    PARTITION p1998 VALUES LESS THAN (\"2451180\"),\n"
+                + "    PARTITION p1999 VALUES LESS THAN (\"2451545\"),\n"
+                + "    PARTITION p2000 VALUES LESS THAN (\"2451911\"),\n"
+                + "    PARTITION p2001 VALUES LESS THAN (\"2452276\"),\n"
+                + "    PARTITION pmax VALUES LESS THAN (MAXVALUE)\n"
+                + ")\n"
+                + "DISTRIBUTED BY HASH(`ss_item_sk`) BUCKETS 32\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+
+        service.createTable("CREATE TABLE date_dim (\n"
+                + "    d_date_sk      bigint NOT NULL,\n"
+                + "    d_date_id      char(16) NOT NULL,\n"
+                + "    d_date         date,\n"
+                + "    d_year         int,\n"
+                + "    d_moy          int,\n"
+                + "    d_dom          int,\n"
+                + "    d_qoy          int,\n"
+                + "    d_day_name     char(9)\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`d_date_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "DISTRIBUTED BY HASH(`d_date_sk`) BUCKETS 1\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+
+        service.createTable("CREATE TABLE item (\n"
+                + "    i_item_sk         bigint NOT NULL,\n"
+                + "    i_item_id         char(16) NOT NULL,\n"
+                + "    i_current_price   decimal(7, 2),\n"
+                + "    i_brand_id        int,\n"
+                + "    i_brand           char(50),\n"
+                + "    i_category_id     int,\n"
+                + "    i_category        char(50),\n"
+                + "    i_manufact_id     int,\n"
+                + "    i_manufact        char(50),\n"
+                + "    i_manager_id      int\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`i_item_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "DISTRIBUTED BY HASH(`i_item_sk`) BUCKETS 8\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+
+        service.createTable("CREATE TABLE store (\n"
+                + "    s_store_sk       bigint NOT NULL,\n"
+                + "    s_store_id       char(16) NOT NULL,\n"
+                + "    s_store_name     varchar(50),\n"
+                + "    s_state          char(2),\n"
+                + "    s_zip            char(10)\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`s_store_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "DISTRIBUTED BY HASH(`s_store_sk`) BUCKETS 1\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+
+        service.createTable("CREATE TABLE customer (\n"
+                + "    c_customer_sk          bigint NOT NULL,\n"
+                + "    c_customer_id          char(16) NOT NULL,\n"
+                + "    c_current_cdemo_sk     bigint,\n"
+                + "    c_current_addr_sk      bigint,\n"
+                + "    c_first_name           char(20),\n"
+                + "    c_last_name            char(30),\n"
+                + "    c_birth_country        varchar(20)\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`c_customer_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "DISTRIBUTED BY HASH(`c_customer_sk`) BUCKETS 16\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+
+        service.createTable("CREATE TABLE customer_address (\n"
+                + "    ca_address_sk     bigint NOT NULL,\n"
+                + "    ca_address_id     char(16) NOT NULL,\n"
+                + "    ca_city           varchar(60),\n"
+                + "    ca_county         varchar(30),\n"
+                + "    ca_state          char(2),\n"
+                + "    ca_zip            char(10),\n"
+                + "    ca_country        varchar(20)\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`ca_address_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "DISTRIBUTED BY HASH(`ca_address_sk`) BUCKETS 16\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+
+        service.createTable("CREATE TABLE customer_demographics (\n"
+                + "    cd_demo_sk               bigint NOT NULL,\n"
+                + "    cd_gender                char(1),\n"
+                + "    cd_marital_status        char(1),\n"
+                + "    cd_education_status      char(20),\n"
+                + "    cd_purchase_estimate     int,\n"
+                + "    cd_credit_rating         char(10)\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`cd_demo_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "DISTRIBUTED BY HASH(`cd_demo_sk`) BUCKETS 16\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+
+        service.createTable("CREATE TABLE promotion (\n"
+                + "    p_promo_sk           bigint NOT NULL,\n"
+                + "    p_promo_id           char(16) NOT NULL,\n"
+                + "    p_channel_email      char(1),\n"
+                + "    p_channel_event      char(1),\n"
+                + "    p_cost               decimal(15, 2)\n"
+                + ")ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`p_promo_sk`)\n"
+                + "COMMENT \"OLAP\"\n"
+                + "DISTRIBUTED BY HASH(`p_promo_sk`) BUCKETS 1\n"
+                + "PROPERTIES (\n"
+                + "    \"replication_num\" = \"1\"\n"
+                + ");");
+    }
+}
@@ -0,0 +1,118 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.AggregateType;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.ScalarType;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.io.DataOutputBuffer;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.thrift.TStorageType;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and read strings by Text, and meta objects which are written as json by Text, as in the image and
+ * edit log.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WritableBenchmark {
+    // length of the string, and number of columns of the index meta
+    @Param({"16", "1024"})
+    private int size;
+
+    private String string;
+    private byte[] serializedString;
+    private MaterializedIndexMeta indexMeta;
+    private byte[] serializedIndexMeta;
+    private DataOutputBuffer out;
+
+    @Setup
+    public void setUp() throws IOException {
+        out = new DataOutputBuffer();
+        string = Strings.repeat("doris", size / 5 + 1).substring(0, size);
+        Text.writeString(out, string);
+        serializedString = copy(out);
+
+        List<Column> schema = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            Type type = i % 2 == 0 ? Type.BIGINT : ScalarType.createVarcharType(64);
+            schema.add(new Column("c" + i, type, i == 0, AggregateType.NONE, true, null, ""));
+        }
+        indexMeta = new MaterializedIndexMeta(1L, schema, 0, 0, (short) 1, TStorageType.COLUMN,
+                KeysType.DUP_KEYS, null);
+        out.reset();
+        indexMeta.write(out);
+        serializedIndexMeta = copy(out);
+    }
+
+    private static byte[] copy(DataOutputBuffer out) {
+        byte[] bytes = new byte[out.getLength()];
+        System.arraycopy(out.getData(), 0, bytes, 0, out.getLength());
+        return bytes;
+    }
+
+    @Benchmark
+    public int writeString() throws IOException {
+        out.reset();
+        return Text.writeString(out, string);
+    }
+
+    @Benchmark
+    public String readString() throws IOException {
+        return Text.readString(new DataInputStream(new ByteArrayInputStream(serializedString)));
+    }
+
+    @Benchmark
+    public int writeIndexMeta() throws IOException {
+        out.reset();
+        indexMeta.write(out);
+        return out.getLength();
+    }
+
+    @Benchmark
+    public MaterializedIndexMeta readIndexMeta() throws IOException {
+        return MaterializedIndexMeta.read(new DataInputStream(new ByteArrayInputStream(serializedIndexMeta)));
+    }
+}
@@ -175,6 +175,33 @@ public class Config extends ConfigBase {
             "The log roll size of BDBJE. When the number of log entries exceeds this value, the log will be rolled"})
     public static int edit_log_roll_num = 50000;
 
+    @ConfField(description = {"回放元数据日志的线程数。大于 1 时，事务、分区和副本相关的日志按数据库并行回放，"
+            + "同一数据库的日志以及其他日志仍按顺序回放",
+            "The number of threads to replay meta data log. If it is larger than 1, logs of transactions, "
+                    + "partitions and replicas are replayed in parallel by database, while logs of the same database "
+                    + "and all other logs are still replayed in order"})
+    public static int edit_log_replay_parallelism = 1;
+
+    @ConfField(description = {"并行回放元数据日志时，等待已分发日志回放完成前最多分发的日志条数",
+            "The max number of logs dispatched before waiting for them to be replayed, "
+                    + "when meta data log is replayed in parallel"})
+    public static int edit_log_replay_batch_num = 1024;
+
+    @ConfField(description = {"是否开启元数据日志的组提交。开启后，并发写入的日志会在一个 BDBJE 事务中批量提交",
+            "Whether to enable group commit of meta data log. If enabled, logs written concurrently are "
+                    + "committed in one BDBJE transaction"})
+    public static boolean enable_edit_log_group_commit = false;
+
+    @ConfField(mutable = true, masterOnly = true, description = {"元数据日志组提交时，一个批次最多包含的日志条数",
+            "The max number of logs in one batch of meta data log group commit"})
+    public static int edit_log_group_commit_max_batch_num = 256;
+
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "元数据日志组提交时，为凑满一个批次最多等待的时间，单位为毫秒。为 0 时只提交已经在等待的日志，不额外等待",
+            "The max time to wait for more logs to fill a batch of meta data log group commit, in milliseconds. "
+                    + "If it is 0, only the logs already waiting are committed, without extra waiting"})
+    public static int edit_log_group_commit_max_delay_ms = 0;
+
     @ConfField(description = {"元数据同步的容忍延迟时间，单位为秒。如果元数据的延迟超过这个值，非主 FE 会停止提供服务",
             "The toleration delay time of meta data synchronization, in seconds. "
                     + "If the delay of meta data exceeds this value, non-master FE will stop offering service"})
@@ -390,6 +417,15 @@ public class Config extends ConfigBase {
     @ConfField(description = {"MySQL 服务的最大任务线程数", "The max number of task threads in MySQL service"})
     public static int max_mysql_service_task_threads_num = 4096;
 
+    @ConfField(description = {"MySQL 连接共享的发送缓冲池最多缓存的字节数，超过的缓冲区在归还时直接释放",
+            "The max bytes of send buffers cached in the buffer pool shared by all MySQL connections. "
+                    + "Buffers released beyond this limit are dropped."})
+    public static long mysql_buffer_pool_max_bytes = 256L * 1024 * 1024;
+
+    @ConfField(description = {"MySQL 连接共享的发送缓冲池是否使用堆外内存",
+            "Whether the send buffer pool shared by all MySQL connections uses direct memory"})
+    public static boolean mysql_buffer_pool_use_direct_memory = true;
+
     @ConfField(description = {
             "集群 ID，用于内部认证。通常在集群第一次启动时，会随机生成一个 cluster id. 用户也可以手动指定。",
             "Cluster id used for internal authentication. Usually a random integer generated when master FE "
@@ -1038,6 +1074,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static boolean force_do_metadata_checkpoint = false;
 
+    /**
+     * The number of threads to save and load image.
+     * If it is larger than 1, meta modules are serialized in parallel when saving image,
+     * and databases are split into chunks which are serialized and deserialized in parallel.
+     */
+    @ConfField(mutable = true)
+    public static int metadata_image_parallelism = 1;
+
     /**
      * Decide how often to check dynamic partition
      */
@@ -1146,6 +1190,29 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static int cache_result_max_row_count = 3000;
 
+    @ConfField(mutable = true, masterOnly = false, description = {
+            "是否在 FE 内存中缓存 SQL 模式的查询结果。命中时不需要访问 BE 的结果缓存",
+            "Whether to keep results of sql cache mode in FE memory. "
+                    + "Results hit in FE are returned without accessing the result cache of BE."})
+    public static boolean cache_enable_fe_result_cache = false;
+
+    @ConfField(mutable = true, masterOnly = false, description = {"FE 内存中结果缓存占用的最大字节数",
+            "The max bytes of query results cached in FE memory"})
+    public static long cache_fe_result_cache_max_bytes = 128L * 1024 * 1024;
+
+    @ConfField(masterOnly = false, description = {"FE 中缓存的 Nereids 物理计划的最大个数",
+            "The max number of physical plans of Nereids cached in FE"})
+    public static int nereids_plan_cache_max_entries = 1024;
+
+    @ConfField(masterOnly = false, description = {"FE 中缓存的常量折叠结果的最大个数，0 表示关闭缓存",
+            "The max number of constant folding results cached in FE, 0 means disable the cache"})
+    public static int fold_constant_cache_max_entries = 10000;
+
+    @ConfField(masterOnly = false, description = {"FE 中保存的执行反馈的基数（按过滤和连接的查询模式）的最大个数，0 表示关闭反馈",
+            "The max number of the actual cardinalities of filters and joins fed back from the execution and kept "
+                    + "in FE, 0 means disable the cardinality feedback"})
+    public static int cardinality_feedback_max_entries = 10000;
+
     /**
      * Used to limit element num of InPredicate in delete statement.
      */
@@ -1556,6 +1623,11 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long remote_fragment_exec_timeout_ms = 5000; // 5 sec
 
+    @ConfField(description = {"并行序列化发往不同 BE 的 fragment 请求的最大线程数，为 1 时在查询线程中依次序列化",
+            "The max number of threads serializing the fragment requests to different backends concurrently, "
+                    + "1 means serializing them one by one in the query thread"})
+    public static int fragment_serialize_thread_num = 16;
+
     /**
      * Max data version of backends serialize block.
      */
@@ -1722,6 +1794,60 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = false)
     public static long external_cache_expire_time_minutes_after_access = 24 * 60; // 1 day
 
+    @ConfField(mutable = false, masterOnly = false, description = {"列举外表分区文件的线程池大小",
+            "The size of the thread pool listing the files of external table partitions"})
+    public static int max_external_file_listing_thread_num = 64;
+
+    @ConfField(mutable = false, masterOnly = false, description = {"每个外部 catalog 同时列举分区文件的最大个数",
+            "The max number of partition locations listed concurrently in one external catalog"})
+    public static int max_file_listing_concurrency_per_catalog = 32;
+
+    @ConfField(mutable = false, masterOnly = false, description = {
+            "每个文件系统（如一个 HDFS 集群或一个 S3 bucket）同时列举分区文件的最大个数",
+            "The max number of partition locations listed concurrently in one file system, "
+                    + "e.g. a hdfs cluster or a s3 bucket"})
+    public static int max_file_listing_concurrency_per_fs = 16;
+
+    @ConfField(mutable = true, masterOnly = false, description = {
+            "每个查询同时提交到文件列举线程池的分区个数，避免一个分区很多的查询占满线程池而阻塞其他查询",
+            "The max number of partition locations of one query submitted to the file listing pool at the same time, "
+                    + "so that a query over many partitions doesn't occupy the pool and delay the other queries"})
+    public static int max_file_listing_concurrency_per_query = 16;
+
+    @ConfField(mutable = false, masterOnly = false, description = {"文件列举线程池的等待队列长度，队列满时由查询线程自己列举",
+            "The queue size of the file listing pool, the query thread lists the location by itself when it's full"})
+    public static int max_external_file_listing_queue_size = 1024;
+
+    @ConfField(mutable = false, masterOnly = false, description = {
+            "是否将外部 catalog 的元数据缓存（分区、schema、文件列表等）持久化到 meta_dir 下的本地磁盘，"
+                    + "使 FE 重启后可以直接使用磁盘上的缓存，并在后台重新校验",
+            "Whether to persist the meta caches of external catalogs, e.g. partitions, schemas and file listings, "
+                    + "to the local disk under meta_dir, so that a restarted FE can use the cached entries on disk "
+                    + "immediately and revalidate them in background"})
+    public static boolean enable_external_meta_disk_cache = false;
+
+    @ConfField(mutable = true, masterOnly = false, description = {
+            "磁盘上的外部元数据缓存的过期时间，单位为分钟。超过该时间未被校验的缓存不会再被使用",
+            "The expiration time of the external meta cache entries on disk, in minutes. "
+                    + "The entries which are not validated within this time are not used any more"})
+    public static long external_meta_disk_cache_expire_time_minutes = 7 * 24 * 60; // 7 days
+
+    @ConfField(mutable = false, masterOnly = false, description = {"后台重新校验磁盘上的外部元数据缓存的线程数",
+            "The number of threads revalidating the external meta cache entries read from disk in background"})
+    public static int external_meta_disk_cache_revalidate_thread_num = 8;
+
+    @ConfField(mutable = true, masterOnly = false, description = {
+            "磁盘上的外部元数据缓存的最大大小，单位为 MB。超过该大小时，最久未被校验的缓存会被删除",
+            "The max size of the external meta cache entries on disk, in MB. "
+                    + "If it is exceeded, the entries which are not validated for the longest time are removed"})
+    public static long external_meta_disk_cache_max_size_mb = 10240;
+
+    @ConfField(mutable = false, masterOnly = false, description = {
+            "清理磁盘上过期和超出大小限制的外部元数据缓存的间隔，单位为秒",
+            "The interval of removing the external meta cache entries on disk which are expired or exceed "
+                    + "the size limit, in seconds"})
+    public static long external_meta_disk_cache_sweep_interval_second = 600;
+
     /**
      * Github workflow test type, for setting some session variables
      * only for certain test type. E.g. only settting batch_size to small
@@ -1792,6 +1918,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int hms_events_batch_size_per_rpc = 500;
 
+    /**
+     * Maximum number of events to poll and process together in each polling, which may be fetched by several RPCs.
+     * The partition events of a table in the same polling are coalesced and applied to the cache together.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int hms_events_max_num_per_polling = 5000;
+
     /**
      * HMS polling interval in milliseconds.
      */
@@ -1977,6 +2110,17 @@ public class Config extends ConfigBase {
     @ConfField
     public static long stats_cache_size = 10_0000;
 
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "分析 OLAP 表时，每列收集的高频值（MCV）的最大个数，0 表示不收集列的分布概要（sketch）",
+            "The max number of the most common values collected for each column when analyzing an olap table, "
+                    + "0 means not collecting the column sketches"})
+    public static int column_sketch_mcv_num = 32;
+
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "全量分析 OLAP 表时，收集列的分布概要所采样的行数",
+            "The number of the sampled rows for collecting the column sketches when fully analyzing an olap table"})
+    public static long column_sketch_sample_rows = 100_0000;
+
     /**
      * This configuration is used to enable the statistics of query information, which will record
      * the access status of databases, tables, and columns, and can be used to guide the
@@ -27,6 +27,7 @@ import org.apache.doris.thrift.TExprList;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.protobuf.ByteString;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,6 +37,7 @@ import org.apache.thrift.TSerializer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public class PrepareStmt extends StatementBase {
@@ -56,6 +58,8 @@ public class PrepareStmt extends StatementBase {
     // whether return binary protocol mysql row or not
     private boolean binaryRowFormat;
     int schemaVersion = -1;
+    // partitions of tbl when analyzed, the cached plan prunes partitions by them
+    Set<Long> partitionIds = Sets.newHashSet();
     OlapTable tbl;
     ConnectContext context;
     // Serialized mysql Field, this could avoid serialize mysql field each time sendFields.
@@ -74,13 +78,18 @@ public class PrepareStmt extends StatementBase {
     }
 
     public boolean needReAnalyze() {
-        if (schemaVersion == tbl.getBaseSchemaVersion()) {
+        if (schemaVersion == tbl.getBaseSchemaVersion() && !isPartitionChanged()) {
             return false;
         }
         reset();
         return true;
     }
 
+    private boolean isPartitionChanged() {
+        List<Long> currentPartitionIds = tbl.getPartitionIds();
+        return currentPartitionIds.size() != partitionIds.size() || !partitionIds.containsAll(currentPartitionIds);
+    }
+
     public TDescriptorTable getDescTable() {
         return descTable;
     }
@@ -198,6 +207,7 @@ public class PrepareStmt extends StatementBase {
         }
         tbl = (OlapTable) selectStmt.getTableRefs().get(0).getTable();
         schemaVersion = tbl.getBaseSchemaVersion();
+        partitionIds = Sets.newHashSet(tbl.getPartitionIds());
         // reset will be reAnalyzed
         selectStmt.reset();
         analyzer.setPrepareStmt(this);
@@ -175,6 +175,7 @@ import org.apache.doris.persist.BackendTabletsInfo;
 import org.apache.doris.persist.CleanQueryStatsInfo;
 import org.apache.doris.persist.DropPartitionInfo;
 import org.apache.doris.persist.EditLog;
+import org.apache.doris.persist.EditLogReplayer;
 import org.apache.doris.persist.GlobalVarPersistInfo;
 import org.apache.doris.persist.ModifyPartitionInfo;
 import org.apache.doris.persist.ModifyTableDefaultDistributionBucketNumOperationLog;
@@ -264,6 +265,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
@@ -352,6 +354,8 @@ public class Env {
     private MetaIdGenerator idGenerator = new MetaIdGenerator(NEXT_ID_INIT_VALUE);
 
     private EditLog editLog;
+    // created on demand if edit logs are replayed in parallel
+    private EditLogReplayer editLogReplayer;
     private int clusterId;
     private String token;
     // For checkpoint and observer memory replayed marker
@@ -359,6 +363,8 @@ public class Env {
 
     private static Env CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    // threads working on behalf of the checkpoint thread, e.g. to save image in parallel
+    private static final Set<Long> checkpointWorkerThreadIds = ConcurrentHashMap.newKeySet();
     private Checkpoint checkpointer;
     private List<HostInfo> helperNodes = Lists.newArrayList();
     private HostInfo selfNode = null;
@@ -769,7 +775,37 @@ public class Env {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        long threadId = Thread.currentThread().getId();
+        return threadId == checkpointThreadId
+                || (!checkpointWorkerThreadIds.isEmpty() && checkpointWorkerThreadIds.contains(threadId));
+    }
+
+    /**
+     * Wrap the task to be run by another thread on behalf of the current thread,
+     * so that it sees the same env and meta version as the current thread.
+     */
+    public static <T> Callable<T> inheritCurrentThread(Callable<T> task) {
+        boolean isCheckpoint = isCheckpointThread();
+        MetaContext metaContext = MetaContext.get();
+        return () -> {
+            long threadId = Thread.currentThread().getId();
+            if (isCheckpoint) {
+                checkpointWorkerThreadIds.add(threadId);
+            }
+            if (metaContext != null) {
+                metaContext.setThreadLocalInfo();
+            }
+            try {
+                return task.call();
+            } finally {
+                if (metaContext != null) {
+                    MetaContext.remove();
+                }
+                if (isCheckpoint) {
+                    checkpointWorkerThreadIds.remove(threadId);
+                }
+            }
+        };
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -2514,6 +2550,8 @@ public class Env {
 
         long startTime = System.currentTimeMillis();
         boolean hasLog = false;
+        EditLogReplayer replayer = getEditLogReplayer();
+        long lastLogId = -1;
         while (true) {
             Pair<Long, JournalEntity> kv = cursor.next();
             if (kv == null) {
@@ -2525,17 +2563,19 @@ public class Env {
                 break;
             }
             hasLog = true;
-            EditLog.loadJournal(this, logId, entity);
-            replayedJournalId.incrementAndGet();
-            LOG.debug("journal {} replayed.", replayedJournalId);
-            if (feType != FrontendNodeType.MASTER) {
-                journalObservable.notifyObservers(replayedJournalId.get());
-            }
-            if (MetricRepo.isInit) {
-                // Metric repo may not init after this replay thread start
-                MetricRepo.COUNTER_EDIT_LOG_READ.increase(1L);
+            lastLogId = logId;
+            if (replayer == null) {
+                EditLog.loadJournal(this, logId, entity);
+                onJournalReplayed(logId);
+            } else if (replayer.replay(this, logId, entity)) {
+                // all logs dispatched before are replayed as well
+                onJournalReplayed(logId);
             }
         }
+        if (replayer != null && replayer.hasPendingLogs()) {
+            replayer.waitForFinish();
+            onJournalReplayed(lastLogId);
+        }
         long cost = System.currentTimeMillis() - startTime;
         if (cost >= 1000) {
             LOG.warn("replay journal cost too much time: {} replayedJournalId: {}", cost, replayedJournalId);
@@ -2544,6 +2584,31 @@ public class Env {
         return hasLog;
     }
 
+    // all logs up to logId are replayed, the dispatched logs are only counted once they are replayed
+    private void onJournalReplayed(long logId) {
+        long replayedNum = logId - replayedJournalId.getAndSet(logId);
+        if (MetricRepo.isInit) {
+            // Metric repo may not init after this replay thread start
+            MetricRepo.COUNTER_EDIT_LOG_READ.increase(replayedNum);
+        }
+        LOG.debug("journal {} replayed.", logId);
+        if (feType != FrontendNodeType.MASTER) {
+            journalObservable.notifyObservers(logId);
+        }
+    }
+
+    private EditLogReplayer getEditLogReplayer() {
+        // the checkpoint thread replays logs into its own catalog, which can't be seen by other threads
+        if (Config.edit_log_replay_parallelism <= 1 || isCheckpointThread()) {
+            return null;
+        }
+        if (editLogReplayer == null) {
+            editLogReplayer = new EditLogReplayer(Config.edit_log_replay_parallelism,
+                    Config.edit_log_replay_batch_num);
+        }
+        return editLogReplayer;
+    }
+
     public void createTimePrinter() {
         // time printer will write timestamp edit log every 10 seconds
         timePrinter = new MasterDaemon("timePrinter", 10 * 1000L) {
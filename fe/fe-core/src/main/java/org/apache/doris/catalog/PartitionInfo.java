@@ -76,6 +76,9 @@ public class PartitionInfo implements Writable {
     // so we defer adding meta serialization until memory engine feature is more complete.
     protected Map<Long, TTabletType> idToTabletType;
 
+    // index of formal partition items for partition pruning, built on demand and maintained along with idToItem
+    private volatile PartitionItemIndex itemIndex;
+
     public PartitionInfo() {
         this.type = PartitionType.UNPARTITIONED;
         this.idToDataProperty = new HashMap<>();
@@ -133,6 +136,44 @@ public class PartitionInfo implements Writable {
             idToTempItem.put(partitionId, item);
         } else {
             idToItem.put(partitionId, item);
+            updateItemIndex(partitionId, item);
+        }
+    }
+
+    /**
+     * Get the index of formal partition items, or null if the table is not partitioned by one column,
+     * or the index could not be used.
+     */
+    public PartitionItemIndex getItemIndex() {
+        if (partitionColumns.size() != 1) {
+            return null;
+        }
+        PartitionItemIndex index = itemIndex;
+        if (index == null || index.size() != idToItem.size()) {
+            synchronized (this) {
+                index = itemIndex;
+                if (index == null || index.size() != idToItem.size()) {
+                    index = PartitionItemIndex.build(idToItem);
+                    itemIndex = index;
+                }
+            }
+        }
+        return index.isOverlapped() ? null : index;
+    }
+
+    // item is null if the partition is removed
+    private void updateItemIndex(long partitionId, PartitionItem item) {
+        PartitionItemIndex index = itemIndex;
+        if (index == null) {
+            return;
+        }
+        if (index.isOverlapped()) {
+            // rebuild it next time, the overlapped partitions may have been replaced
+            itemIndex = null;
+        } else if (item == null) {
+            index.remove(partitionId);
+        } else {
+            index.add(partitionId, item);
         }
     }
 
@@ -278,6 +319,7 @@ public class PartitionInfo implements Writable {
         idToInMemory.remove(partitionId);
         idToItem.remove(partitionId);
         idToTempItem.remove(partitionId);
+        updateItemIndex(partitionId, null);
     }
 
     public void addPartition(long partitionId, boolean isTemp, PartitionItem item, DataProperty dataProperty,
@@ -329,6 +371,7 @@ public class PartitionInfo implements Writable {
         PartitionItem item = idToTempItem.remove(tempPartitionId);
         if (item != null) {
             idToItem.put(tempPartitionId, item);
+            updateItemIndex(tempPartitionId, item);
         }
     }
 
@@ -339,6 +382,8 @@ public class PartitionInfo implements Writable {
         idToReplicaAllocation.put(newPartitionId, restoreReplicaAlloc);
         if (!isSinglePartitioned) {
             idToItem.put(newPartitionId, idToItem.remove(oldPartitionId));
+            updateItemIndex(oldPartitionId, null);
+            updateItemIndex(newPartitionId, idToItem.get(newPartitionId));
         }
         idToInMemory.put(newPartitionId, idToInMemory.remove(oldPartitionId));
     }
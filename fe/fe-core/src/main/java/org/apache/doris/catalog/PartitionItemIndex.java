@@ -0,0 +1,177 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of the formal partition items of a table with one partition column, used to find the partitions which
+ * may contain values in a range in O(log n + k), instead of checking every partition.
+ *
+ * Range partitions are indexed by their lower bounds, which is enough because formal range partitions never
+ * overlap. Values of list partitions are indexed in a sorted map, since PartitionKey is not hashed by its values.
+ * Partitions which could not be indexed, e.g. the default list partition and partitions containing null, are
+ * always returned as candidates.
+ */
+public class PartitionItemIndex {
+    private final Map<Long, PartitionItem> idToItem = new ConcurrentHashMap<>();
+    // lower bound -> range partition id
+    private final NavigableMap<PartitionKey, Long> lowerBoundToId = new ConcurrentSkipListMap<>();
+    // value -> list partition ids
+    private final NavigableMap<PartitionKey, Set<Long>> valueToIds = new ConcurrentSkipListMap<>();
+    private final Set<Long> unindexedIds = Sets.newConcurrentHashSet();
+    // set if range partitions overlap, the index could not be used then
+    private volatile boolean overlapped = false;
+
+    public static PartitionItemIndex build(Map<Long, PartitionItem> idToItem) {
+        PartitionItemIndex index = new PartitionItemIndex();
+        for (Map.Entry<Long, PartitionItem> entry : idToItem.entrySet()) {
+            index.add(entry.getKey(), entry.getValue());
+        }
+        return index;
+    }
+
+    public int size() {
+        return idToItem.size();
+    }
+
+    public boolean isOverlapped() {
+        return overlapped;
+    }
+
+    public void add(long partitionId, PartitionItem item) {
+        remove(partitionId);
+        idToItem.put(partitionId, item);
+        if (item instanceof RangePartitionItem) {
+            addRange(partitionId, ((RangePartitionItem) item).getItems());
+        } else if (item instanceof ListPartitionItem && isIndexable((ListPartitionItem) item)) {
+            for (PartitionKey key : ((ListPartitionItem) item).getItems()) {
+                valueToIds.computeIfAbsent(key, k -> Sets.newConcurrentHashSet()).add(partitionId);
+            }
+        } else {
+            unindexedIds.add(partitionId);
+        }
+    }
+
+    public void remove(long partitionId) {
+        PartitionItem item = idToItem.remove(partitionId);
+        if (item == null) {
+            return;
+        }
+        unindexedIds.remove(partitionId);
+        if (item instanceof RangePartitionItem) {
+            lowerBoundToId.remove(((RangePartitionItem) item).getItems().lowerEndpoint(), partitionId);
+        } else if (item instanceof ListPartitionItem) {
+            for (PartitionKey key : ((ListPartitionItem) item).getItems()) {
+                valueToIds.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(partitionId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    /**
+     * Return the ids of partitions which may contain values in the range, the range is of one column.
+     */
+    public Set<Long> find(Range<PartitionKey> range) {
+        Set<Long> result = Sets.newHashSet(unindexedIds);
+
+        NavigableMap<PartitionKey, Long> ranges = lowerBoundToId;
+        if (range.hasLowerBound()) {
+            // the partition before the lower bound of range may contain it
+            PartitionKey floor = ranges.floorKey(range.lowerEndpoint());
+            if (floor != null) {
+                ranges = ranges.tailMap(floor, true);
+            }
+        }
+        if (range.hasUpperBound()) {
+            ranges = ranges.headMap(range.upperEndpoint(), range.upperBoundType() == BoundType.CLOSED);
+        }
+        for (Long partitionId : ranges.values()) {
+            PartitionItem item = idToItem.get(partitionId);
+            if (item instanceof RangePartitionItem) {
+                Range<PartitionKey> partitionRange = ((RangePartitionItem) item).getItems();
+                if (partitionRange.isConnected(range) && !partitionRange.intersection(range).isEmpty()) {
+                    result.add(partitionId);
+                }
+            }
+        }
+
+        NavigableMap<PartitionKey, Set<Long>> values = valueToIds;
+        if (range.hasLowerBound()) {
+            values = values.tailMap(range.lowerEndpoint(), range.lowerBoundType() == BoundType.CLOSED);
+        }
+        if (range.hasUpperBound()) {
+            values = values.headMap(range.upperEndpoint(), range.upperBoundType() == BoundType.CLOSED);
+        }
+        for (Set<Long> ids : values.values()) {
+            result.addAll(ids);
+        }
+        return result;
+    }
+
+    private void addRange(long partitionId, Range<PartitionKey> range) {
+        PartitionKey lower = range.lowerEndpoint();
+        Map.Entry<PartitionKey, Long> floor = lowerBoundToId.floorEntry(lower);
+        Map.Entry<PartitionKey, Long> higher = lowerBoundToId.higherEntry(lower);
+        if ((floor != null && overlaps(floor.getValue(), range))
+                || (higher != null && overlaps(higher.getValue(), range))) {
+            overlapped = true;
+            unindexedIds.add(partitionId);
+            return;
+        }
+        lowerBoundToId.put(lower, partitionId);
+    }
+
+    private boolean overlaps(long partitionId, Range<PartitionKey> range) {
+        PartitionItem item = idToItem.get(partitionId);
+        if (!(item instanceof RangePartitionItem)) {
+            return false;
+        }
+        Range<PartitionKey> other = ((RangePartitionItem) item).getItems();
+        return other.isConnected(range) && !other.intersection(range).isEmpty();
+    }
+
+    private static boolean isIndexable(ListPartitionItem item) {
+        if (item.isDefaultPartition()) {
+            return false;
+        }
+        for (PartitionKey key : item.getItems()) {
+            if (key.getKeys().size() != 1) {
+                return false;
+            }
+            LiteralExpr value = key.getKeys().get(0);
+            if (value instanceof NullLiteral) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.doris.catalog;
 import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.LongLongHashMap;
+import org.apache.doris.common.util.LongObjectHashMap;
 import org.apache.doris.cooldown.CooldownConf;
 import org.apache.doris.task.PublishVersionTask;
 import org.apache.doris.thrift.TPartitionVersionInfo;
@@ -47,6 +49,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +57,7 @@ import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /*
  * this class stores a inverted index
@@ -71,11 +75,14 @@ public class TabletInvertedIndex {
 
     private StampedLock lock = new StampedLock();
 
+    // Indexes below are keyed by primitive long, there may be millions of tablets and replicas,
+    // boxed keys and hash map entries take much more memory than the meta itself.
+
     // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    private LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
 
     // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private LongLongHashMap replicaToTabletMap = new LongLongHashMap();
 
     /*
      *  we use this to save memory.
@@ -88,11 +95,12 @@ public class TabletInvertedIndex {
      */
     private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
 
-    // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+    // tablet id -> replicas, one replica on each backend.
+    // a tablet has only a few replicas, so an array is enough to find the replica of a backend.
+    private LongObjectHashMap<Replica[]> replicaMetaTable = new LongObjectHashMap<>();
     // backing replica table, for visiting backend replicas faster.
     // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private Map<Long, LongObjectHashMap<Replica>> backingReplicaMetaTable = Maps.newHashMap();
 
     private volatile ImmutableSet<Long> partitionIdInMemorySet = ImmutableSet.of();
 
@@ -117,7 +125,14 @@ public class TabletInvertedIndex {
         this.lock.unlockWrite(stamp);
     }
 
-    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
+    /**
+     * Do the diff of tablets between meta and the backend.
+     *
+     * @param removedTablets null if backendTablets contains all tablets of the backend. Otherwise, it is a delta
+     *                       report: backendTablets only contains the changed tablets, and removedTablets contains
+     *                       the tablets dropped from the backend, only these tablets are checked.
+     */
+    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets, List<Long> removedTablets,
                              final HashMap<Long, TStorageMedium> storageMediumMap,
                              ListMultimap<Long, Long> tabletSyncMap,
                              ListMultimap<Long, Long> tabletDeleteFromMeta,
@@ -133,18 +148,22 @@ public class TabletInvertedIndex {
         long start = System.currentTimeMillis();
         try {
             LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
+                // the map is not modified while holding read lock, so it could be read concurrently.
+                long[] tabletIds = removedTablets == null ? replicaMetaWithBackend.keys()
+                        : Stream.concat(backendTablets.keySet().stream(), removedTablets.stream())
+                                .mapToLong(Long::longValue).filter(replicaMetaWithBackend::containsKey)
+                                .distinct().toArray();
                 taskPool.submit(() -> {
                     // traverse replicas in meta with this backend
-                    replicaMetaWithBackend.entrySet().parallelStream().forEach(entry -> {
-                        long tabletId = entry.getKey();
+                    Arrays.stream(tabletIds).parallel().forEach(tabletId -> {
                         Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
                         TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
 
                         if (backendTablets.containsKey(tabletId)) {
                             TTablet backendTablet = backendTablets.get(tabletId);
-                            Replica replica = entry.getValue();
+                            Replica replica = replicaMetaWithBackend.get(tabletId);
                             tabletFoundInMeta.add(tabletId);
                             TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
                             TTabletMetaInfo tabletMetaInfo = null;
@@ -340,7 +359,8 @@ public class TabletInvertedIndex {
     public Long getTabletIdByReplica(long replicaId) {
         long stamp = readLock();
         try {
-            return replicaToTabletMap.get(replicaId);
+            long tabletId = replicaToTabletMap.getOrDefault(replicaId, NOT_EXIST_VALUE);
+            return tabletId == NOT_EXIST_VALUE ? null : tabletId;
         } finally {
             readUnlock(stamp);
         }
@@ -429,12 +449,12 @@ public class TabletInvertedIndex {
         }
 
         // check cooldown replica is alive
-        Map<Long, Replica> replicaMap = replicaMetaTable.row(beTabletInfo.getTabletId());
-        if (replicaMap.isEmpty()) {
+        Replica[] replicas = replicaMetaTable.get(beTabletInfo.getTabletId());
+        if (replicas == null) {
             return;
         }
         boolean replicaAlive = false;
-        for (Replica replica : replicaMap.values()) {
+        for (Replica replica : replicas) {
             if (replica.getId() == cooldownConf.first) {
                 if (replica.isAlive()) {
                     replicaAlive = true;
@@ -463,8 +483,8 @@ public class TabletInvertedIndex {
     public List<Replica> getReplicas(Long tabletId) {
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMap = replicaMetaTable.row(tabletId);
-            return replicaMap.values().stream().collect(Collectors.toList());
+            Replica[] replicas = replicaMetaTable.get(tabletId);
+            return replicas == null ? Lists.newArrayList() : Lists.newArrayList(replicas);
         } finally {
             readUnlock(stamp);
         }
@@ -533,14 +553,11 @@ public class TabletInvertedIndex {
         }
         long stamp = writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            Replica[] replicas = replicaMetaTable.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
+                for (Replica replica : replicas) {
                     replicaToTabletMap.remove(replica.getId());
-                }
-
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                    removeBackingReplica(replica.getBackendId(), tabletId);
                 }
             }
             TabletMeta tabletMeta = tabletMetaMap.remove(tabletId);
@@ -562,9 +579,10 @@ public class TabletInvertedIndex {
         long stamp = writeLock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+            putReplica(tabletId, replica);
             replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+            backingReplicaMetaTable.computeIfAbsent(replica.getBackendId(), k -> new LongObjectHashMap<>())
+                    .put(tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
                     replica.getId(), tabletId, replica.getBackendId());
         } finally {
@@ -579,11 +597,10 @@ public class TabletInvertedIndex {
         long stamp = writeLock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
+            if (replicaMetaTable.containsKey(tabletId)) {
+                Replica replica = removeReplica(tabletId, backendId);
                 replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
+                removeBackingReplica(backendId, tabletId);
                 LOG.debug("delete replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             } else {
@@ -600,17 +617,75 @@ public class TabletInvertedIndex {
         long stamp = readLock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
+            return findReplica(replicaMetaTable.get(tabletId), backendId);
         } finally {
             readUnlock(stamp);
         }
     }
 
+    private static Replica findReplica(Replica[] replicas, long backendId) {
+        if (replicas != null) {
+            for (Replica replica : replicas) {
+                if (replica.getBackendId() == backendId) {
+                    return replica;
+                }
+            }
+        }
+        return null;
+    }
+
+    // replace the replica on the same backend, the array is copied on write
+    private void putReplica(long tabletId, Replica replica) {
+        Replica[] replicas = replicaMetaTable.get(tabletId);
+        if (replicas == null) {
+            replicaMetaTable.put(tabletId, new Replica[] {replica});
+            return;
+        }
+        for (int i = 0; i < replicas.length; i++) {
+            if (replicas[i].getBackendId() == replica.getBackendId()) {
+                Replica[] newReplicas = replicas.clone();
+                newReplicas[i] = replica;
+                replicaMetaTable.put(tabletId, newReplicas);
+                return;
+            }
+        }
+        Replica[] newReplicas = Arrays.copyOf(replicas, replicas.length + 1);
+        newReplicas[replicas.length] = replica;
+        replicaMetaTable.put(tabletId, newReplicas);
+    }
+
+    // return the removed replica, or null if there is no replica of the tablet on the backend
+    private Replica removeReplica(long tabletId, long backendId) {
+        Replica[] replicas = replicaMetaTable.get(tabletId);
+        Replica replica = findReplica(replicas, backendId);
+        if (replica == null) {
+            return null;
+        }
+        if (replicas.length == 1) {
+            replicaMetaTable.remove(tabletId);
+        } else {
+            replicaMetaTable.put(tabletId, Arrays.stream(replicas)
+                    .filter(r -> r.getBackendId() != backendId).toArray(Replica[]::new));
+        }
+        return replica;
+    }
+
+    private void removeBackingReplica(long backendId, long tabletId) {
+        LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            replicaMetaWithBackend.remove(tabletId);
+            if (replicaMetaWithBackend.isEmpty()) {
+                backingReplicaMetaTable.remove(backendId);
+            }
+        }
+    }
+
     public List<Replica> getReplicasByTabletId(long tabletId) {
         long stamp = readLock();
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            Replica[] replicas = replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                return Lists.newArrayList(replicas);
             }
             return Lists.newArrayList();
         } finally {
@@ -622,9 +697,11 @@ public class TabletInvertedIndex {
         List<Long> tabletIds = Lists.newArrayList();
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+                for (long tabletId : replicaMetaWithBackend.keys()) {
+                    tabletIds.add(tabletId);
+                }
             }
         } finally {
             readUnlock(stamp);
@@ -636,10 +713,13 @@ public class TabletInvertedIndex {
         List<Long> tabletIds = Lists.newArrayList();
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+                for (long tabletId : replicaMetaWithBackend.keys()) {
+                    if (tabletMetaMap.get(tabletId).getStorageMedium() == storageMedium) {
+                        tabletIds.add(tabletId);
+                    }
+                }
             }
         } finally {
             readUnlock(stamp);
@@ -650,7 +730,7 @@ public class TabletInvertedIndex {
     public int getTabletNumByBackendId(long backendId) {
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
                 return replicaMetaWithBackend.size();
             }
@@ -666,9 +746,9 @@ public class TabletInvertedIndex {
         long ssdNum = 0;
         long stamp = readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
             if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
+                for (long tabletId : replicaMetaWithBackend.keys()) {
                     if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
                         hddNum++;
                     } else {
@@ -702,8 +782,16 @@ public class TabletInvertedIndex {
         this.partitionIdInMemorySet = partitionIdInMemorySet;
     }
 
+    // return a copy of the index, for debug and test
     public Map<Long, Long> getReplicaToTabletMap() {
-        return replicaToTabletMap;
+        long stamp = readLock();
+        try {
+            Map<Long, Long> replicaToTablet = Maps.newHashMapWithExpectedSize(replicaToTabletMap.size());
+            replicaToTabletMap.forEach(replicaToTablet::put);
+            return replicaToTablet;
+        } finally {
+            readUnlock(stamp);
+        }
     }
 
     // Only build from available bes, exclude colocate tables
@@ -719,36 +807,36 @@ public class TabletInvertedIndex {
             partitionReplicasInfoMaps.put(medium, HashBasedTable.create());
         }
         try {
-            // Changes to the returned set will update the underlying table
-            // tablet id -> (backend id -> replica)
-            Set<Table.Cell<Long, Long, Replica>> cells = replicaMetaTable.cellSet();
-            for (Table.Cell<Long, Long, Replica> cell : cells) {
-                Long tabletId = cell.getRowKey();
-                Long beId = cell.getColumnKey();
-                try {
-                    Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-                    Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
-                    Preconditions.checkState(
-                            !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
-                            "should not be the colocate table");
-
-                    TStorageMedium medium = tabletMeta.getStorageMedium();
-                    Table<Long, Long, Map<Long, Long>> partitionReplicasInfo = partitionReplicasInfoMaps.get(medium);
-                    Map<Long, Long> countMap = partitionReplicasInfo.get(
-                            tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                    if (countMap == null) {
-                        // If one be doesn't have any replica of one partition, it should be counted too.
-                        countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
-                    }
+            // tablet id -> replicas
+            for (long tabletId : replicaMetaTable.keys()) {
+                for (Replica replica : replicaMetaTable.get(tabletId)) {
+                    long beId = replica.getBackendId();
+                    try {
+                        Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
+                        TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+                        Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
+                        Preconditions.checkState(
+                                !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
+                                "should not be the colocate table");
+
+                        TStorageMedium medium = tabletMeta.getStorageMedium();
+                        Table<Long, Long, Map<Long, Long>> partitionReplicasInfo
+                                = partitionReplicasInfoMaps.get(medium);
+                        Map<Long, Long> countMap = partitionReplicasInfo.get(
+                                tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                        if (countMap == null) {
+                            // If one be doesn't have any replica of one partition, it should be counted too.
+                            countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
+                        }
 
-                    Long count = countMap.get(beId);
-                    countMap.put(beId, count + 1L);
-                    partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
-                    partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
-                } catch (IllegalStateException | NullPointerException e) {
-                    // If the tablet or be has some problem, don't count in
-                    LOG.debug(e.getMessage());
+                        Long count = countMap.get(beId);
+                        countMap.put(beId, count + 1L);
+                        partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
+                        partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
+                    } catch (IllegalStateException | NullPointerException e) {
+                        // If the tablet or be has some problem, don't count in
+                        LOG.debug(e.getMessage());
+                    }
                 }
             }
         } finally {
@@ -802,14 +890,33 @@ public class TabletInvertedIndex {
         }
     }
 
-    // just for ut
+    // just for ut, return a copy of the index
     public Table<Long, Long, Replica> getReplicaMetaTable() {
-        return replicaMetaTable;
+        long stamp = readLock();
+        try {
+            Table<Long, Long, Replica> table = HashBasedTable.create();
+            replicaMetaTable.forEach((tabletId, replicas) -> {
+                for (Replica replica : replicas) {
+                    table.put(tabletId, replica.getBackendId(), replica);
+                }
+            });
+            return table;
+        } finally {
+            readUnlock(stamp);
+        }
     }
 
-    // just for ut
+    // just for ut, return a copy of the index
     public Table<Long, Long, Replica> getBackingReplicaMetaTable() {
-        return backingReplicaMetaTable;
+        long stamp = readLock();
+        try {
+            Table<Long, Long, Replica> table = HashBasedTable.create();
+            backingReplicaMetaTable.forEach((backendId, replicas) ->
+                    replicas.forEach((tabletId, replica) -> table.put(backendId, tabletId, replica)));
+            return table;
+        } finally {
+            readUnlock(stamp);
+        }
     }
 
     // just for ut
@@ -817,9 +924,16 @@ public class TabletInvertedIndex {
         return tabletMetaTable;
     }
 
-    // just for ut
+    // just for ut, return a copy of the index
     public Map<Long, TabletMeta> getTabletMetaMap() {
-        return tabletMetaMap;
+        long stamp = readLock();
+        try {
+            Map<Long, TabletMeta> tabletMetas = Maps.newHashMapWithExpectedSize(tabletMetaMap.size());
+            tabletMetaMap.forEach(tabletMetas::put);
+            return tabletMetas;
+        } finally {
+            readUnlock(stamp);
+        }
     }
 
     private boolean isLocal(TStorageMedium storageMedium) {
@@ -328,6 +328,14 @@ public class ExternalTable implements TableIf, Writable, GsonPostProcessable {
         throw new NotImplementedException("implement in sub class");
     }
 
+    /**
+     * A stamp which changes if the schema of the remote table changes, e.g. the last ddl time of the table.
+     * It should be much cheaper than initSchema(), and null if unknown.
+     */
+    public String getSchemaStamp() {
+        return null;
+    }
+
     public void unsetObjectCreated() {
         this.objectCreated = false;
     }
@@ -39,6 +39,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hive.metastore.api.ColumnStatisticsObj;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.hive_metastoreConstants;
 import org.apache.hadoop.hive.ql.io.AcidUtils;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.Table;
@@ -368,6 +369,19 @@ public class HMSExternalTable extends ExternalTable {
     }
 
 
+    @Override
+    public String getSchemaStamp() {
+        makeSureInitialized();
+        // the schemas of iceberg and hudi tables are read from their own metadata
+        if (dlaType != DLAType.HIVE) {
+            return null;
+        }
+        org.apache.hadoop.hive.metastore.api.Table table = ((HMSExternalCatalog) catalog).getClient()
+                .getTable(dbName, name);
+        return table == null || table.getParameters() == null ? null
+                : table.getParameters().get(hive_metastoreConstants.DDL_TIME);
+    }
+
     public List<Column> getHudiSchema(List<FieldSchema> hmsSchema) {
         org.apache.avro.Schema schema = HiveMetaStoreClientHelper.getHudiTableSchema(this);
         List<Column> tmpSchema = Lists.newArrayListWithCapacity(hmsSchema.size());
@@ -28,4 +28,13 @@ public abstract class IdGenerator<IdType extends Id<IdType>> {
     protected int nextId = 0;
 
     public abstract IdType getNextId();
+
+    /**
+     * Make sure the ids generated later are not less than the given id.
+     */
+    public void skipTo(int id) {
+        if (nextId < id) {
+            nextId = id;
+        }
+    }
 }
@@ -0,0 +1,198 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from primitive long to primitive long, with linear probing.
+ * Key 0 is used to mark free slots, so the mapping of key 0 is kept out of the table.
+ * Not thread safe.
+ */
+public class LongLongHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    // number of mappings in table, excluding key 0
+    private int size;
+    private int maxFill;
+    private boolean containsZeroKey;
+    private long zeroKeyValue;
+
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+
+    public LongLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    // the power of 2 capacity to hold expected size with load factor
+    static int tableSize(int expectedSize, float loadFactor) {
+        long capacity = Math.max(2, (long) Math.ceil(Math.max(expectedSize, 1) / loadFactor));
+        return (int) Math.min(1 << 30, BitUtil.roundUpToPowerOf2(capacity));
+    }
+
+    // spread the bits of key, ids are usually sequential
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        maxFill = Math.min(capacity - 1, (int) Math.ceil(capacity * LOAD_FACTOR));
+    }
+
+    private int find(long key) {
+        int pos = mix(key) & mask;
+        while (keys[pos] != 0) {
+            if (keys[pos] == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -(pos + 1);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return containsZeroKey ? zeroKeyValue : defaultValue;
+        }
+        int pos = find(key);
+        return pos < 0 ? defaultValue : values[pos];
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? containsZeroKey : find(key) >= 0;
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            containsZeroKey = true;
+            zeroKeyValue = value;
+            return;
+        }
+        int pos = find(key);
+        if (pos >= 0) {
+            values[pos] = value;
+            return;
+        }
+        pos = -pos - 1;
+        keys[pos] = key;
+        values[pos] = value;
+        if (++size >= maxFill) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Return true if the key existed.
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean existed = containsZeroKey;
+            containsZeroKey = false;
+            return existed;
+        }
+        int pos = find(key);
+        if (pos < 0) {
+            return false;
+        }
+        size--;
+        shiftKeys(pos);
+        return true;
+    }
+
+    // Move the following keys of the same probe sequence backward, so that no tombstone is needed.
+    private void shiftKeys(int pos) {
+        int last;
+        while (true) {
+            last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                if (keys[pos] == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                int slot = mix(keys[pos]) & mask;
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = keys[pos];
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int pos = mix(oldKeys[i]) & mask;
+                while (keys[pos] != 0) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    public int size() {
+        return containsZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        if (keys.length > DEFAULT_CAPACITY) {
+            allocate(DEFAULT_CAPACITY);
+        } else {
+            Arrays.fill(keys, 0);
+        }
+        size = 0;
+        containsZeroKey = false;
+    }
+
+    public void forEach(LongLongConsumer consumer) {
+        if (containsZeroKey) {
+            consumer.accept(0, zeroKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+}
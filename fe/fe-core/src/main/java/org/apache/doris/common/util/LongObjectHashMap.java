@@ -0,0 +1,214 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open addressing hash map from primitive long to object, with linear probing.
+ * Compared with HashMap<Long, V>, it keeps no boxed key or entry node per mapping,
+ * which saves most of the memory when there are millions of mappings.
+ * Null values are not allowed, a slot with null value is free.
+ * Not thread safe.
+ */
+public class LongObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    // size at which to grow
+    private int maxFill;
+
+    public interface LongObjectConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(LongLongHashMap.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        maxFill = Math.min(capacity - 1, (int) Math.ceil(capacity * LOAD_FACTOR));
+    }
+
+    private int find(long key) {
+        int pos = LongLongHashMap.mix(key) & mask;
+        while (values[pos] != null) {
+            if (keys[pos] == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -(pos + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int pos = find(key);
+        return pos < 0 ? null : (V) values[pos];
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Return the previous value of the key, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Preconditions.checkNotNull(value);
+        int pos = find(key);
+        if (pos >= 0) {
+            V oldValue = (V) values[pos];
+            values[pos] = value;
+            return oldValue;
+        }
+        pos = -pos - 1;
+        keys[pos] = key;
+        values[pos] = value;
+        if (++size >= maxFill) {
+            rehash(values.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Return the removed value, or null if the key does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int pos = find(key);
+        if (pos < 0) {
+            return null;
+        }
+        V oldValue = (V) values[pos];
+        size--;
+        shiftKeys(pos);
+        if (size == 0 && values.length > DEFAULT_CAPACITY * 4) {
+            // release the memory of a map which was large
+            allocate(DEFAULT_CAPACITY);
+        }
+        return oldValue;
+    }
+
+    // Move the following keys of the same probe sequence backward, so that no tombstone is needed.
+    private void shiftKeys(int pos) {
+        int last;
+        while (true) {
+            last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                if (values[pos] == null) {
+                    values[last] = null;
+                    return;
+                }
+                int slot = LongLongHashMap.mix(keys[pos]) & mask;
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = keys[pos];
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int pos = LongLongHashMap.mix(oldKeys[i]) & mask;
+                while (values[pos] != null) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (values.length > DEFAULT_CAPACITY) {
+            allocate(DEFAULT_CAPACITY);
+        } else {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    public long[] keys() {
+        long[] result = new long[size];
+        int idx = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[idx++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+        return result;
+    }
+}
@@ -283,6 +283,21 @@ public abstract class ExternalCatalog
         return Lists.newArrayList(Column.UNSUPPORTED_COLUMN);
     }
 
+    /**
+     * The stamp of the schema of the table, see {@link ExternalTable#getSchemaStamp()}.
+     */
+    public final String getSchemaStamp(String dbName, String tblName) {
+        makeSureInitialized();
+        Optional<ExternalDatabase<? extends ExternalTable>> db = getDb(dbName);
+        if (db.isPresent()) {
+            Optional<? extends ExternalTable> table = db.get().getTable(tblName);
+            if (table.isPresent()) {
+                return table.get().getSchemaStamp();
+            }
+        }
+        return null;
+    }
+
     @Override
     public long getId() {
         return id;
@@ -31,6 +31,9 @@ import org.apache.logging.log4j.Logger;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Cache meta of external catalog
@@ -45,10 +48,16 @@ public class ExternalMetaCacheMgr {
     // catalog id -> table schema cache
     private Map<Long, ExternalSchemaCache> schemaCacheMap = Maps.newHashMap();
     private Executor executor;
+    // list the files of external table partitions, shared by all catalogs
+    private Executor fileListingExecutor;
 
     public ExternalMetaCacheMgr() {
         executor = ThreadPoolManager.newDaemonCacheThreadPool(Config.max_external_cache_loader_thread_pool_size,
                 "ExternalMetaCacheMgr", true);
+        int listingThreadNum = Math.max(Config.max_external_file_listing_thread_num, 1);
+        fileListingExecutor = ThreadPoolManager.newDaemonThreadPool(listingThreadNum, listingThreadNum, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(Math.max(Config.max_external_file_listing_queue_size, 1)),
+                new ThreadPoolExecutor.CallerRunsPolicy(), "ExternalFileListing", true);
     }
 
     public HiveMetaStoreCache getMetaStoreCache(HMSExternalCatalog catalog) {
@@ -56,7 +65,7 @@ public class ExternalMetaCacheMgr {
         if (cache == null) {
             synchronized (cacheMap) {
                 if (!cacheMap.containsKey(catalog.getId())) {
-                    cacheMap.put(catalog.getId(), new HiveMetaStoreCache(catalog, executor));
+                    cacheMap.put(catalog.getId(), new HiveMetaStoreCache(catalog, executor, fileListingExecutor));
                 }
                 cache = cacheMap.get(catalog.getId());
             }
@@ -156,10 +165,7 @@ public class ExternalMetaCacheMgr {
         HiveMetaStoreCache metaCache = cacheMap.get(catalogId);
         if (metaCache != null) {
             dbName = ClusterNamespace.getNameFromFullName(dbName);
-            for (String partitionName : partitionNames) {
-                metaCache.invalidatePartitionCache(dbName, tableName, partitionName);
-            }
-
+            metaCache.invalidatePartitionsCache(dbName, tableName, partitionNames);
         }
         LOG.debug("invalidate partition cache for {}.{} in catalog {}", dbName, tableName, catalogId);
     }
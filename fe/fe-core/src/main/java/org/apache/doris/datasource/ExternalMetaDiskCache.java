@@ -0,0 +1,422 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.util.Util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The local disk tier of an external meta cache, so that a restarted FE can serve planning with the entries cached
+ * before the restart, instead of fetching all of them from the metastore and the file systems again.
+ * <p>
+ * The entries are stored in files under meta_dir/external_meta_cache/{catalog id}/{cache name}/{table}/, one file
+ * for each key. An entry read from disk is returned immediately and revalidated in background. Each entry is saved
+ * with a stamp of its source, e.g. the last ddl time of the table or the modification time of the directory, which
+ * is much cheaper to get than the value. The entry is only loaded from the source again if the stamp has changed or
+ * is unknown, and the memory cache and the disk are updated if the value has changed.
+ * The time of the last validation of an entry is the modification time of its file, and the entries which are not
+ * validated within {@link Config#external_meta_disk_cache_expire_time_minutes} are not used any more.
+ * The expired entries are removed periodically, and so are the least recently validated entries if the total size
+ * of the entries exceeds {@link Config#external_meta_disk_cache_max_size_mb}.
+ */
+public class ExternalMetaDiskCache<K, V> {
+    private static final Logger LOG = LogManager.getLogger(ExternalMetaDiskCache.class);
+    private static final String CACHE_DIR = "external_meta_cache";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int FORMAT_VERSION = 2;
+
+    private static final ThreadPoolExecutor revalidatePool = ThreadPoolManager.newDaemonThreadPool(
+            Math.max(Config.external_meta_disk_cache_revalidate_thread_num, 1),
+            Math.max(Config.external_meta_disk_cache_revalidate_thread_num, 1), 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new ThreadPoolExecutor.DiscardPolicy(), "external-meta-revalidate", true);
+    private static final ScheduledThreadPoolExecutor sweepExecutor = ThreadPoolManager.newDaemonScheduledThreadPool(
+            1, "external-meta-sweep", true);
+
+    static {
+        long interval = Math.max(Config.external_meta_disk_cache_sweep_interval_second, 1);
+        sweepExecutor.scheduleWithFixedDelay(() -> {
+            if (isEnabled()) {
+                sweep(new File(Config.meta_dir, CACHE_DIR), Config.external_meta_disk_cache_max_size_mb * 1024 * 1024);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private final File dir;
+    // key -> the table of the key, e.g. db.tbl, the entries of a table are invalidated together
+    private final Function<K, String> tableOf;
+    // key -> the string identifying the key, which is saved with the entry to detect the collision of file names
+    private final Function<K, String> keyOf;
+    // key -> the stamp of the source of the key, which changes if the value changes, or null if it is unknown
+    private final Function<K, String> stampOf;
+    private final Serializer<V> serializer;
+
+    /**
+     * Writes the value of an entry to disk and reads it back.
+     */
+    public interface Serializer<V> {
+        void write(DataOutput out, V value) throws IOException;
+
+        V read(DataInput in) throws IOException;
+    }
+
+    // the serialized value of an entry on disk and the stamp of its source when it was loaded
+    private static class Entry {
+        private final String stamp;
+        private final byte[] bytes;
+
+        private Entry(String stamp, byte[] bytes) {
+            this.stamp = stamp;
+            this.bytes = bytes;
+        }
+    }
+
+    public ExternalMetaDiskCache(long catalogId, String name, Function<K, String> tableOf, Function<K, String> keyOf,
+            Function<K, String> stampOf, Serializer<V> serializer) {
+        this(new File(getCatalogDir(catalogId), name), tableOf, keyOf, stampOf, serializer);
+    }
+
+    ExternalMetaDiskCache(File dir, Function<K, String> tableOf, Function<K, String> keyOf,
+            Function<K, String> stampOf, Serializer<V> serializer) {
+        this.dir = dir;
+        this.tableOf = tableOf;
+        this.keyOf = keyOf;
+        this.stampOf = stampOf;
+        this.serializer = serializer;
+    }
+
+    public static boolean isEnabled() {
+        return Config.enable_external_meta_disk_cache;
+    }
+
+    private static File getCatalogDir(long catalogId) {
+        return new File(new File(Config.meta_dir, CACHE_DIR), String.valueOf(catalogId));
+    }
+
+    /**
+     * Remove all entries of a catalog, e.g. when the catalog is dropped.
+     */
+    public static void removeCatalog(long catalogId) {
+        if (!isEnabled()) {
+            return;
+        }
+        Util.deleteDirectory(getCatalogDir(catalogId));
+    }
+
+    /**
+     * Get the value of the key from disk, or load it from the source and save it to disk if it is not on disk.
+     * The value got from disk is revalidated asynchronously, and onChanged is called with the value loaded again
+     * if it is different from the one on disk.
+     */
+    public V getOrLoad(K key, Function<K, V> loader, Consumer<V> onChanged) {
+        if (!isEnabled()) {
+            return loader.apply(key);
+        }
+        Entry entry = read(key);
+        if (entry != null) {
+            V value = deserialize(key, entry.bytes);
+            if (value != null) {
+                revalidatePool.execute(() -> revalidate(key, entry, loader, onChanged));
+                return value;
+            }
+        }
+        return load(key, loader);
+    }
+
+    /**
+     * Load the value of the key from the source and save it to disk, e.g. when the memory cache is refreshed.
+     */
+    public V load(K key, Function<K, V> loader) {
+        if (!isEnabled()) {
+            return loader.apply(key);
+        }
+        // got before loading, so that a change of the source during loading is found by the next revalidation
+        String stamp = getStamp(key);
+        V value = loader.apply(key);
+        byte[] bytes = serialize(key, value);
+        if (bytes != null) {
+            write(key, stamp, bytes);
+        }
+        return value;
+    }
+
+    private void revalidate(K key, Entry entry, Function<K, V> loader, Consumer<V> onChanged) {
+        try {
+            String stamp = getStamp(key);
+            if (stamp != null && stamp.equals(entry.stamp)) {
+                // the source is not changed, only renew the validation time
+                getFile(key).setLastModified(System.currentTimeMillis());
+                return;
+            }
+            V value = loader.apply(key);
+            byte[] newBytes = serialize(key, value);
+            if (newBytes == null) {
+                return;
+            }
+            if (Arrays.equals(entry.bytes, newBytes) && Objects.equals(stamp, entry.stamp)) {
+                getFile(key).setLastModified(System.currentTimeMillis());
+                return;
+            }
+            write(key, stamp, newBytes);
+            if (!Arrays.equals(entry.bytes, newBytes)) {
+                onChanged.accept(value);
+            }
+        } catch (Throwable t) {
+            LOG.warn("failed to revalidate external meta cache entry {} in {}", keyOf.apply(key), dir, t);
+        }
+    }
+
+    /**
+     * Get the value of the key on disk, return null if it is absent, expired or corrupted.
+     */
+    public V get(K key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Entry entry = read(key);
+        return entry == null ? null : deserialize(key, entry.bytes);
+    }
+
+    /**
+     * Save the value of the key to disk, the value is ignored if it can't be serialized.
+     * The stamp of the value is unknown, so it is loaded from the source again when it is revalidated.
+     */
+    public void put(K key, V value) {
+        if (!isEnabled()) {
+            return;
+        }
+        byte[] bytes = serialize(key, value);
+        if (bytes != null) {
+            write(key, null, bytes);
+        }
+    }
+
+    public void invalidate(K key) {
+        if (!isEnabled()) {
+            return;
+        }
+        deleteFile(getFile(key));
+    }
+
+    public void invalidateTable(String table) {
+        if (!isEnabled()) {
+            return;
+        }
+        Util.deleteDirectory(getTableDir(table));
+    }
+
+    public void invalidateAll() {
+        if (!isEnabled()) {
+            return;
+        }
+        Util.deleteDirectory(dir);
+    }
+
+    private static void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            LOG.warn("failed to delete external meta cache file {}", file);
+        }
+    }
+
+    /**
+     * Remove the expired entries and the temp files left by failed writes under the root dir, and then remove the
+     * least recently validated entries until the total size does not exceed maxBytes.
+     */
+    @VisibleForTesting
+    static void sweep(File root, long maxBytes) {
+        if (!root.isDirectory()) {
+            return;
+        }
+        List<File> files;
+        try (Stream<Path> paths = Files.walk(root.toPath())) {
+            files = paths.filter(Files::isRegularFile).map(Path::toFile).collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            // the files may be removed concurrently, e.g. when a table is invalidated
+            LOG.warn("failed to list external meta cache files under {}", root, e);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expireMs = TimeUnit.MINUTES.toMillis(Config.external_meta_disk_cache_expire_time_minutes);
+        long tmpExpireMs = TimeUnit.SECONDS.toMillis(Config.external_meta_disk_cache_sweep_interval_second);
+        List<Pair<File, Long>> entries = Lists.newArrayList();
+        long totalBytes = 0;
+        int removedNum = 0;
+        for (File file : files) {
+            long lastModified = file.lastModified();
+            if (lastModified == 0) {
+                continue;
+            }
+            boolean isTmp = file.getName().contains(TMP_SUFFIX);
+            if (now - lastModified > (isTmp ? tmpExpireMs : expireMs)) {
+                deleteFile(file);
+                removedNum++;
+            } else if (!isTmp) {
+                entries.add(Pair.of(file, lastModified));
+                totalBytes += file.length();
+            }
+        }
+        if (totalBytes > maxBytes) {
+            entries.sort(Comparator.comparingLong(entry -> entry.second));
+            for (Pair<File, Long> entry : entries) {
+                if (totalBytes <= maxBytes) {
+                    break;
+                }
+                totalBytes -= entry.first.length();
+                deleteFile(entry.first);
+                removedNum++;
+            }
+        }
+        if (removedNum > 0) {
+            LOG.info("removed {} external meta cache files under {}, remaining size: {} bytes", removedNum, root,
+                    totalBytes);
+        }
+    }
+
+    private File getTableDir(String table) {
+        return new File(dir, hash(table));
+    }
+
+    private File getFile(K key) {
+        return new File(getTableDir(tableOf.apply(key)), hash(keyOf.apply(key)));
+    }
+
+    // a failure of getting the stamp only makes the entry loaded from the source
+    private String getStamp(K key) {
+        try {
+            return stampOf.apply(key);
+        } catch (Throwable t) {
+            LOG.warn("failed to get the stamp of external meta cache entry {} in {}", keyOf.apply(key), dir, t);
+            return null;
+        }
+    }
+
+    private static String hash(String str) {
+        return Hashing.sha256().hashString(str, StandardCharsets.UTF_8).toString();
+    }
+
+    // return the entry of the key on disk
+    private Entry read(K key) {
+        File file = getFile(key);
+        long lastModified = file.lastModified();
+        if (lastModified == 0) {
+            return null;
+        }
+        if (System.currentTimeMillis() - lastModified
+                > TimeUnit.MINUTES.toMillis(Config.external_meta_disk_cache_expire_time_minutes)) {
+            deleteFile(file);
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !keyOf.apply(key).equals(Text.readString(in))) {
+                return null;
+            }
+            String stamp = in.readBoolean() ? Text.readString(in) : null;
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new Entry(stamp, bytes);
+        } catch (IOException e) {
+            LOG.warn("failed to read external meta cache file {}", file, e);
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    private void write(K key, String stamp, byte[] bytes) {
+        File file = getFile(key);
+        File tmpFile = new File(file.getParentFile(), file.getName() + TMP_SUFFIX + Thread.currentThread().getId());
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                Text.writeString(out, keyOf.apply(key));
+                out.writeBoolean(stamp != null);
+                if (stamp != null) {
+                    Text.writeString(out, stamp);
+                }
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            // the readers never see a partially written file
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("failed to write external meta cache file {}", file, e);
+            tmpFile.delete();
+        }
+    }
+
+    private byte[] serialize(K key, V value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            serializer.write(new DataOutputStream(bytes), value);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            LOG.warn("failed to serialize external meta cache entry {}", keyOf.apply(key), e);
+            return null;
+        }
+    }
+
+    private V deserialize(K key, byte[] bytes) {
+        try {
+            return serializer.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            LOG.warn("failed to deserialize external meta cache entry {}", keyOf.apply(key), e);
+            deleteFile(getFile(key));
+            return null;
+        }
+    }
+}
@@ -29,10 +29,15 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import lombok.Data;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -46,6 +51,7 @@ public class ExternalSchemaCache {
     private ExternalCatalog catalog;
 
     private LoadingCache<SchemaCacheKey, ImmutableList<Column>> schemaCache;
+    private ExternalMetaDiskCache<SchemaCacheKey, ImmutableList<Column>> schemaDiskCache;
 
     public ExternalSchemaCache(ExternalCatalog catalog, Executor executor) {
         this.catalog = catalog;
@@ -54,12 +60,22 @@ public class ExternalSchemaCache {
     }
 
     private void init(Executor executor) {
+        schemaDiskCache = new ExternalMetaDiskCache<>(catalog.getId(), "schema", SchemaCacheKey::getTableName,
+                SchemaCacheKey::getTableName, key -> catalog.getSchemaStamp(key.dbName, key.tblName),
+                new SchemaSerializer());
         schemaCache = CacheBuilder.newBuilder().maximumSize(Config.max_external_schema_cache_num)
                 .expireAfterAccess(Config.external_cache_expire_time_minutes_after_access, TimeUnit.MINUTES)
                 .build(CacheLoader.asyncReloading(new CacheLoader<SchemaCacheKey, ImmutableList<Column>>() {
                     @Override
                     public ImmutableList<Column> load(SchemaCacheKey key) throws Exception {
-                        return loadSchema(key);
+                        return schemaDiskCache.getOrLoad(key, k -> loadSchema(k),
+                                schema -> schemaCache.put(key, schema));
+                    }
+
+                    @Override
+                    public ListenableFuture<ImmutableList<Column>> reload(SchemaCacheKey key,
+                            ImmutableList<Column> oldValue) throws Exception {
+                        return Futures.immediateFuture(schemaDiskCache.load(key, k -> loadSchema(k)));
                     }
                 }, executor));
     }
@@ -98,6 +114,7 @@ public class ExternalSchemaCache {
     public void invalidateTableCache(String dbName, String tblName) {
         SchemaCacheKey key = new SchemaCacheKey(dbName, tblName);
         schemaCache.invalidate(key);
+        schemaDiskCache.invalidate(key);
         LOG.debug("invalid schema cache for {}.{} in catalog {}", dbName, tblName, catalog.getName());
     }
 
@@ -109,12 +126,15 @@ public class ExternalSchemaCache {
                 schemaCache.invalidate(key);
             }
         }
+        // the tables of the db which are not cached in memory may be cached on disk
+        schemaDiskCache.invalidateAll();
         LOG.debug("invalid schema cache for db {} in catalog {} cost: {} ms", dbName, catalog.getName(),
                 (System.currentTimeMillis() - start));
     }
 
     public void invalidateAll() {
         schemaCache.invalidateAll();
+        schemaDiskCache.invalidateAll();
         LOG.debug("invalid all schema cache in catalog {}", catalog.getName());
     }
 
@@ -128,6 +148,10 @@ public class ExternalSchemaCache {
             this.tblName = tblName;
         }
 
+        public String getTableName() {
+            return dbName + "." + tblName;
+        }
+
         @Override
         public boolean equals(Object obj) {
             if (this == obj) {
@@ -149,4 +173,24 @@ public class ExternalSchemaCache {
             return "SchemaCacheKey{" + "dbName='" + dbName + '\'' + ", tblName='" + tblName + '\'' + '}';
         }
     }
+
+    private static class SchemaSerializer implements ExternalMetaDiskCache.Serializer<ImmutableList<Column>> {
+        @Override
+        public void write(DataOutput out, ImmutableList<Column> schema) throws IOException {
+            out.writeInt(schema.size());
+            for (Column column : schema) {
+                column.write(out);
+            }
+        }
+
+        @Override
+        public ImmutableList<Column> read(DataInput in) throws IOException {
+            int size = in.readInt();
+            ImmutableList.Builder<Column> schema = ImmutableList.builder();
+            for (int i = 0; i < size; i++) {
+                schema.add(Column.read(in));
+            }
+            return schema.build();
+        }
+    }
 }
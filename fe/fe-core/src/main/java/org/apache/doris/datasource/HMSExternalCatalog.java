@@ -215,7 +215,16 @@ public class HMSExternalCatalog extends ExternalCatalog {
             LOG.info("Event id not updated when pulling events on catalog [{}]", hmsExternalCatalog.getName());
             return null;
         }
-        return client.getNextNotification(lastSyncedEventId, Config.hms_events_batch_size_per_rpc, null);
+        return getNextEventResponse(lastSyncedEventId);
+    }
+
+    /**
+     * Get the events after the given event id, used to fetch the following events in the same polling.
+     */
+    public NotificationEventResponse getNextEventResponse(long lastEventId)
+            throws MetastoreNotificationFetchException {
+        makeSureInitialized();
+        return client.getNextNotification(lastEventId, Config.hms_events_batch_size_per_rpc, null);
     }
 
     private void refreshCatalog(HMSExternalCatalog hmsExternalCatalog) {
@@ -2848,19 +2848,36 @@ public class InternalCatalog implements CatalogIf<Database> {
     }
 
     public long saveDb(CountingDataOutputStream dos, long checksum) throws IOException {
-        // 1 is for information_schema db, which does not need to be persisted.
-        int dbCount = idToDb.size() - 1;
+        List<Database> dbs = getDbsToSave();
+        checksum = saveDbCount(dos, dbs.size(), checksum);
+        return saveDbs(dos, dbs, checksum);
+    }
+
+    public long saveDbCount(CountingDataOutputStream dos, int dbCount, long checksum) throws IOException {
         checksum ^= dbCount;
         dos.writeInt(dbCount);
-        for (Map.Entry<Long, Database> entry : idToDb.entrySet()) {
-            Database db = entry.getValue();
-            String dbName = db.getFullName();
+        return checksum;
+    }
+
+    public List<Database> getDbsToSave() {
+        List<Database> dbs = Lists.newArrayListWithCapacity(idToDb.size());
+        for (Database db : idToDb.values()) {
             // Don't write information_schema db meta
-            if (!InfoSchemaDb.isInfoSchemaDb(dbName)) {
-                checksum ^= entry.getKey();
-                db.write(dos);
+            if (!InfoSchemaDb.isInfoSchemaDb(db.getFullName())) {
+                dbs.add(db);
             }
         }
+        return dbs;
+    }
+
+    /**
+     * Write the databases without the number of them, so that the databases could be written by parts.
+     */
+    public long saveDbs(CountingDataOutputStream dos, List<Database> dbs, long checksum) throws IOException {
+        for (Database db : dbs) {
+            checksum ^= db.getId();
+            db.write(dos);
+        }
         return checksum;
     }
 
@@ -2871,16 +2888,27 @@ public class InternalCatalog implements CatalogIf<Database> {
             Database db = new Database();
             db.readFields(dis);
             newChecksum ^= db.getId();
-            idToDb.put(db.getId(), db);
-            fullNameToDb.put(db.getFullName(), db);
-            Env.getCurrentGlobalTransactionMgr().addDatabaseTransactionMgr(db.getId());
+            addLoadedDb(db);
         }
+        finishLoadDb();
+        return newChecksum;
+    }
+
+    public void addLoadedDb(Database db) {
+        idToDb.put(db.getId(), db);
+        fullNameToDb.put(db.getFullName(), db);
+        Env.getCurrentGlobalTransactionMgr().addDatabaseTransactionMgr(db.getId());
+    }
+
+    /**
+     * Should be called after all databases are loaded from image.
+     */
+    public void finishLoadDb() {
         // ATTN: this should be done after load Db, and before loadAlterJob
         recreateTabletInvertIndex();
         // rebuild es state state
         getEsRepository().loadTableFromCatalog();
         LOG.info("finished replay databases from image");
-        return newChecksum;
     }
 
     public ConcurrentHashMap<Long, Database> getIdToDb() {
@@ -0,0 +1,92 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of locations listed concurrently in a catalog and in a file system, e.g. a hdfs cluster
+ * or a s3 bucket, so that listing the files of many uncached partitions in parallel doesn't overload the name node
+ * or get throttled by the object storage.
+ */
+public class FileListingLimiter {
+    // file system, i.e. scheme://authority of the location -> permits, shared by all catalogs
+    private static final Map<String, Semaphore> FS_PERMITS = Maps.newConcurrentMap();
+
+    private final Semaphore catalogPermits;
+
+    public FileListingLimiter(int maxConcurrency) {
+        this.catalogPermits = new Semaphore(Math.max(maxConcurrency, 1));
+    }
+
+    /**
+     * Acquire the permits of listing the location, blocked until they are available.
+     * Don't call it in the threads of the shared listing pool, where a throttled catalog or file system would block
+     * the listing of the others.
+     */
+    public Permit acquire(String location) {
+        Semaphore fsPermits = FS_PERMITS.computeIfAbsent(getFsName(location),
+                k -> new Semaphore(Math.max(Config.max_file_listing_concurrency_per_fs, 1)));
+        // always acquire the permits of the catalog before the file system, to avoid dead lock
+        acquire(catalogPermits);
+        acquire(fsPermits);
+        return new Permit(fsPermits);
+    }
+
+    private static void acquire(Semaphore permits) {
+        if (!permits.tryAcquire()) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_FILE_LISTING_THROTTLED.increase(1L);
+            }
+            permits.acquireUninterruptibly();
+        }
+    }
+
+    // e.g. hdfs://nameservice1/user/hive/warehouse/tbl/dt=1 -> hdfs://nameservice1
+    static String getFsName(String location) {
+        int schemeEnd = location.indexOf("://");
+        if (schemeEnd < 0) {
+            return "";
+        }
+        int authorityEnd = location.indexOf('/', schemeEnd + 3);
+        return authorityEnd < 0 ? location : location.substring(0, authorityEnd);
+    }
+
+    /**
+     * The permits of listing a location, released when it is closed.
+     */
+    public class Permit implements AutoCloseable {
+        private final Semaphore fsPermits;
+
+        private Permit(Semaphore fsPermits) {
+            this.fsPermits = fsPermits;
+        }
+
+        @Override
+        public void close() {
+            fsPermits.release();
+            catalogPermits.release();
+        }
+    }
+}
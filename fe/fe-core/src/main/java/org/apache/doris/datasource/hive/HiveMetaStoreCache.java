@@ -27,8 +27,10 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.io.Text;
 import org.apache.doris.common.util.S3Util;
 import org.apache.doris.datasource.CacheException;
+import org.apache.doris.datasource.ExternalMetaDiskCache;
 import org.apache.doris.datasource.HMSExternalCatalog;
 import org.apache.doris.external.hive.util.HiveUtil;
 import org.apache.doris.fs.FileSystemFactory;
@@ -45,16 +47,23 @@ import org.apache.doris.planner.PartitionPrunerV2Base.UniqueId;
 import org.apache.doris.planner.external.FileSplit;
 import org.apache.doris.spi.Split;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeMap;
+import com.google.common.collect.Sets;
 import com.google.common.collect.TreeRangeMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import lombok.Data;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.hadoop.conf.Configuration;
@@ -62,6 +71,8 @@ import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.HdfsConfiguration;
 import org.apache.hadoop.hive.common.ValidWriteIdList;
+import org.apache.hadoop.hive.metastore.Warehouse;
+import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.apache.hadoop.hive.ql.io.AcidUtils;
@@ -73,18 +84,26 @@ import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -100,10 +119,18 @@ public class HiveMetaStoreCache {
     public static final String HIVE_DEFAULT_PARTITION = "__HIVE_DEFAULT_PARTITION__";
     // After hive 3, transactional table's will have file '_orc_acid_version' with value >= '2'.
     public static final String HIVE_ORC_ACID_VERSION_FILE = "_orc_acid_version";
+    // separates the parts of the keys saved on disk, which can't be in the locations and the partition values
+    private static final String DISK_KEY_SEPARATOR = "\0";
+    // interns the values of string partition columns, which are repeated in the partitions of a table
+    private static final Interner<String> PARTITION_VALUE_INTERNER = Interners.newWeakInterner();
 
     private HMSExternalCatalog catalog;
 
     private Executor executor;
+    // the executor listing the locations of the partitions missed in the file cache in parallel
+    private Executor listingExecutor;
+    private final FileListingLimiter listingLimiter =
+            new FileListingLimiter(Config.max_file_listing_concurrency_per_catalog);
 
     // cache from <dbname-tblname> -> <values of partitions>
     private LoadingCache<PartitionValueCacheKey, HivePartitionValues> partitionValuesCache;
@@ -112,22 +139,55 @@ public class HiveMetaStoreCache {
     // the ref of cache from <location> -> <file list>
     private volatile AtomicReference<LoadingCache<FileCacheKey, FileCacheValue>> fileCacheRef
             = new AtomicReference<>();
-
-    public HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor) {
+    // the file cache keys of the partitions in the file cache, keyed by PartitionCacheKey#getDiskKey,
+    // so that the files of a partition can be invalidated even if the partition is not in the partition cache
+    private final Map<String, Set<FileCacheKey>> partitionFileCacheKeys = new ConcurrentHashMap<>();
+
+    // the disk tier of the caches, only used if enable_external_meta_disk_cache is true.
+    // the partition names rather than the partition values are saved, which are rebuilt from the names.
+    private ExternalMetaDiskCache<PartitionValueCacheKey, List<String>> partitionNamesDiskCache;
+    private ExternalMetaDiskCache<PartitionCacheKey, HivePartition> partitionDiskCache;
+    // only the files listed for the self splitter are saved
+    private ExternalMetaDiskCache<FileCacheKey, FileCacheValue> fileDiskCache;
+
+    public HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor, Executor listingExecutor) {
         this.catalog = catalog;
         this.executor = executor;
+        this.listingExecutor = listingExecutor;
         init();
         initMetrics();
     }
 
     private void init() {
+        // the partitions are loaded by a single call to the metastore, which costs the same as getting a stamp,
+        // and the ddl time of the table is not changed by adding partitions, so they have no stamp.
+        partitionNamesDiskCache = new ExternalMetaDiskCache<>(catalog.getId(), "partition_names",
+                PartitionValueCacheKey::getTableName, PartitionValueCacheKey::getTableName, key -> null,
+                new PartitionNamesSerializer());
+        partitionDiskCache = new ExternalMetaDiskCache<>(catalog.getId(), "partition",
+                PartitionCacheKey::getTableName, PartitionCacheKey::getDiskKey, key -> null,
+                new HivePartitionSerializer());
+        fileDiskCache = new ExternalMetaDiskCache<>(catalog.getId(), "file",
+                FileCacheKey::getTableName, FileCacheKey::getDiskKey, this::getFileStamp,
+                new FileCacheValueSerializer());
+
         partitionValuesCache = CacheBuilder.newBuilder().maximumSize(Config.max_hive_table_catch_num)
                 .expireAfterAccess(Config.external_cache_expire_time_minutes_after_access, TimeUnit.MINUTES)
                 .build(CacheLoader.asyncReloading(
                         new CacheLoader<PartitionValueCacheKey, HivePartitionValues>() {
                             @Override
                             public HivePartitionValues load(PartitionValueCacheKey key) throws Exception {
-                                return loadPartitionValues(key);
+                                List<String> partitionNames = partitionNamesDiskCache.getOrLoad(key,
+                                        k -> loadPartitionNames(k),
+                                        names -> partitionValuesCache.put(key, loadPartitionValues(key, names)));
+                                return loadPartitionValues(key, partitionNames);
+                            }
+
+                            @Override
+                            public ListenableFuture<HivePartitionValues> reload(PartitionValueCacheKey key,
+                                    HivePartitionValues oldValue) throws Exception {
+                                return Futures.immediateFuture(loadPartitionValues(key,
+                                        partitionNamesDiskCache.load(key, k -> loadPartitionNames(k))));
                             }
                         }, executor));
 
@@ -136,7 +196,14 @@ public class HiveMetaStoreCache {
                 .build(CacheLoader.asyncReloading(new CacheLoader<PartitionCacheKey, HivePartition>() {
                     @Override
                     public HivePartition load(PartitionCacheKey key) throws Exception {
-                        return loadPartitions(key);
+                        return partitionDiskCache.getOrLoad(key, k -> loadPartitions(k),
+                                partition -> partitionCache.put(key, partition));
+                    }
+
+                    @Override
+                    public ListenableFuture<HivePartition> reload(PartitionCacheKey key, HivePartition oldValue)
+                            throws Exception {
+                        return Futures.immediateFuture(partitionDiskCache.load(key, k -> loadPartitions(k)));
                     }
                 }, executor));
 
@@ -152,9 +219,10 @@ public class HiveMetaStoreCache {
                 (catalog.getProperties().get(HMSExternalCatalog.FILE_META_CACHE_TTL_SECOND)),
                 HMSExternalCatalog.FILE_META_CACHE_NO_TTL);
 
-        CacheBuilder<Object, Object> fileCacheBuilder = CacheBuilder.newBuilder()
+        CacheBuilder<FileCacheKey, FileCacheValue> fileCacheBuilder = CacheBuilder.newBuilder()
                 .maximumSize(Config.max_external_file_cache_num)
-                .expireAfterAccess(Config.external_cache_expire_time_minutes_after_access, TimeUnit.MINUTES);
+                .expireAfterAccess(Config.external_cache_expire_time_minutes_after_access, TimeUnit.MINUTES)
+                .removalListener(notification -> unregisterFileCacheKey(notification.getKey()));
 
         if (fileMetaCacheTtlSecond >= HMSExternalCatalog.FILE_META_CACHE_TTL_DISABLE_CACHE) {
             fileCacheBuilder.expireAfterWrite(fileMetaCacheTtlSecond, TimeUnit.SECONDS);
@@ -169,9 +237,28 @@ public class HiveMetaStoreCache {
         fileCacheRef.set(fileCacheBuilder.build(loader));
         if (Objects.nonNull(preFileCache)) {
             preFileCache.invalidateAll();
+            fileDiskCache.invalidateAll();
         }
     }
 
+    private void registerFileCacheKey(FileCacheKey key) {
+        if (key.isPartitionKey()) {
+            partitionFileCacheKeys.computeIfAbsent(key.getPartitionDiskKey(), k -> ConcurrentHashMap.newKeySet())
+                    .add(key);
+        }
+    }
+
+    private void unregisterFileCacheKey(FileCacheKey key) {
+        // the key is still present if its value is replaced, or if it is loaded again into a new file cache
+        if (key == null || !key.isPartitionKey() || fileCacheRef.get().asMap().containsKey(key)) {
+            return;
+        }
+        partitionFileCacheKeys.computeIfPresent(key.getPartitionDiskKey(), (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
     private void initMetrics() {
         // partition value
         GaugeMetric<Long> valueCacheGauge = new GaugeMetric<Long>("hive_meta_cache",
@@ -208,15 +295,18 @@ public class HiveMetaStoreCache {
         MetricRepo.DORIS_METRIC_REGISTER.addMetrics(fileCacheGauge);
     }
 
-    private HivePartitionValues loadPartitionValues(PartitionValueCacheKey key) {
+    private List<String> loadPartitionNames(PartitionValueCacheKey key) {
         // partition name format: nation=cn/city=beijing
         List<String> partitionNames = catalog.getClient().listPartitionNames(key.dbName, key.tblName);
         if (LOG.isDebugEnabled()) {
             LOG.debug("load #{} partitions for {} in catalog {}", partitionNames.size(), key, catalog.getName());
         }
+        return partitionNames;
+    }
+
+    private HivePartitionValues loadPartitionValues(PartitionValueCacheKey key, List<String> partitionNames) {
         Map<Long, PartitionItem> idToPartitionItem = Maps.newHashMapWithExpectedSize(partitionNames.size());
         Map<String, Long> partitionNameToIdMap = Maps.newHashMapWithExpectedSize(partitionNames.size());
-        Map<Long, List<UniqueId>> idToUniqueIdsMap = Maps.newHashMapWithExpectedSize(partitionNames.size());
         long idx = 0;
         for (String partitionName : partitionNames) {
             try {
@@ -231,23 +321,18 @@ public class HiveMetaStoreCache {
             partitionNameToIdMap.put(partitionName, partitionId);
         }
 
-        Map<UniqueId, Range<PartitionKey>> uidToPartitionRange = null;
         Map<Range<PartitionKey>, UniqueId> rangeToId = null;
         RangeMap<ColumnBound, UniqueId> singleColumnRangeMap = null;
-        Map<UniqueId, Range<ColumnBound>> singleUidToColumnRangeMap = null;
         if (key.types.size() > 1) {
-            // uidToPartitionRange and rangeToId are only used for multi-column partition
-            uidToPartitionRange = ListPartitionPrunerV2.genUidToPartitionRange(idToPartitionItem, idToUniqueIdsMap);
-            rangeToId = ListPartitionPrunerV2.genRangeToId(uidToPartitionRange);
+            // rangeToId is only used for multi-column partition
+            rangeToId = ListPartitionPrunerV2.genRangeToId(
+                    ListPartitionPrunerV2.genUidToPartitionRange(idToPartitionItem, new HashMap<>()));
         } else {
             Preconditions.checkState(key.types.size() == 1, key.types);
             // singleColumnRangeMap is only used for single-column partition
-            singleColumnRangeMap = ListPartitionPrunerV2.genSingleColumnRangeMap(idToPartitionItem, idToUniqueIdsMap);
-            singleUidToColumnRangeMap = ListPartitionPrunerV2.genSingleUidToColumnRange(singleColumnRangeMap);
+            singleColumnRangeMap = ListPartitionPrunerV2.genSingleColumnRangeMap(idToPartitionItem, new HashMap<>());
         }
-        Map<Long, List<String>> partitionValuesMap = ListPartitionPrunerV2.getPartitionValuesMap(idToPartitionItem);
-        return new HivePartitionValues(idToPartitionItem, uidToPartitionRange, rangeToId, singleColumnRangeMap, idx,
-                partitionNameToIdMap, idToUniqueIdsMap, singleUidToColumnRangeMap, partitionValuesMap);
+        return new HivePartitionValues(idToPartitionItem, rangeToId, singleColumnRangeMap, idx, partitionNameToIdMap);
     }
 
     public ListPartitionItem toListPartitionItem(String partitionName, List<Type> types) {
@@ -256,14 +341,21 @@ public class HiveMetaStoreCache {
         String[] parts = partitionName.split("/");
         Preconditions.checkState(parts.length == types.size(), partitionName + " vs. " + types);
         List<PartitionValue> values = Lists.newArrayListWithExpectedSize(types.size());
-        for (String part : parts) {
-            String[] kv = part.split("=");
+        for (int i = 0; i < parts.length; i++) {
+            String[] kv = parts[i].split("=");
             Preconditions.checkState(kv.length == 2, partitionName);
-            values.add(new PartitionValue(kv[1], HIVE_DEFAULT_PARTITION.equals(kv[1])));
+            String value = kv[1];
+            // the values of string columns are kept in the partition keys, and shared by many partitions,
+            // e.g. the date of hourly partitions. the values of other types are parsed, so they are not interned.
+            if (types.get(i).isStringType()) {
+                value = PARTITION_VALUE_INTERNER.intern(value);
+            }
+            values.add(new PartitionValue(value, HIVE_DEFAULT_PARTITION.equals(value)));
         }
         try {
             PartitionKey key = PartitionKey.createListPartitionKeyWithTypes(values, types);
-            return new ListPartitionItem(Lists.newArrayList(key));
+            // a hive partition has only one partition key
+            return new ListPartitionItem(Collections.singletonList(key));
         } catch (AnalysisException e) {
             throw new CacheException("failed to convert hive partition %s to list partition in catalog %s",
                     e, partitionName, catalog.getName());
@@ -329,6 +421,7 @@ public class HiveMetaStoreCache {
             jobConf.set("mapreduce.input.fileinputformat.input.dir.recursive", "true");
             FileInputFormat.setInputPaths(jobConf, finalLocation);
             try {
+                long start = System.currentTimeMillis();
                 FileCacheValue result;
                 InputFormat<?, ?> inputFormat = HiveUtil.getInputFormat(jobConf, key.inputFormat, false);
                 // TODO: This is a temp config, will remove it after the HiveSplitter is stable.
@@ -353,8 +446,13 @@ public class HiveMetaStoreCache {
                     }
                 }
 
+                if (MetricRepo.isInit) {
+                    MetricRepo.COUNTER_FILE_LISTING.increase(1L);
+                    MetricRepo.COUNTER_FILE_LISTING_FILES.increase((long) result.getFileNum());
+                    MetricRepo.HISTO_FILE_LISTING_LATENCY.update(System.currentTimeMillis() - start);
+                }
                 if (LOG.isDebugEnabled()) {
-                    LOG.debug("load #{} splits for {} in catalog {}", result.getFiles().size(), key, catalog.getName());
+                    LOG.debug("load #{} splits for {} in catalog {}", result.getFileNum(), key, catalog.getName());
                 }
                 return result;
             } catch (Exception e) {
@@ -365,6 +463,28 @@ public class HiveMetaStoreCache {
         }
     }
 
+    // the modification time of the location, which is changed when the files or the subdirectories in it are added,
+    // removed or renamed, e.g. by an insert or the union of tez. the directories of object storages have no
+    // modification time, so their files are always listed again when revalidated.
+    private String getFileStamp(FileCacheKey key) {
+        String location = S3Util.convertToS3IfNecessary(key.location);
+        if (location.startsWith(FeConstants.FS_PREFIX_S3)) {
+            return null;
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(ClassLoader.getSystemClassLoader());
+            long modificationTime = FileSystemFactory.getByLocation(location, getJobConf())
+                    .getModificationTime(location);
+            return modificationTime > 0 ? String.valueOf(modificationTime) : null;
+        } catch (UserException e) {
+            throw new CacheException("failed to get the modification time of %s in catalog %s",
+                    e, key, catalog.getName());
+        } finally {
+            Thread.currentThread().setContextClassLoader(classLoader);
+        }
+    }
+
     private JobConf getJobConf() {
         Configuration configuration = new HdfsConfiguration();
         for (Map.Entry<String, String> entry : catalog.getCatalogProperty().getHadoopProperties().entrySet()) {
@@ -389,42 +509,100 @@ public class HiveMetaStoreCache {
     public List<FileCacheValue> getFilesByPartitions(List<HivePartition> partitions, boolean useSelfSplitter) {
         long start = System.currentTimeMillis();
         List<FileCacheKey> keys = Lists.newArrayListWithExpectedSize(partitions.size());
-        partitions.stream().forEach(p -> {
-            FileCacheKey fileCacheKey = p.isDummyPartition()
-                    ? FileCacheKey.createDummyCacheKey(p.getDbName(), p.getTblName(), p.getPath(),
-                    p.getInputFormat(), useSelfSplitter)
-                    : new FileCacheKey(p.getPath(), p.getInputFormat(), p.getPartitionValues());
-            fileCacheKey.setUseSelfSplitter(useSelfSplitter);
-            keys.add(fileCacheKey);
-        });
-
-        Stream<FileCacheKey> stream;
-        if (partitions.size() < MIN_BATCH_FETCH_PARTITION_NUM) {
-            stream = keys.stream();
-        } else {
-            stream = keys.parallelStream();
+        partitions.stream().forEach(p -> keys.add(getFileCacheKey(p, useSelfSplitter)));
+
+        LoadingCache<FileCacheKey, FileCacheValue> fileCache = fileCacheRef.get();
+        // list the locations of all missed partitions in parallel. The concurrent loading of the same key is
+        // deduplicated by the cache, i.e. only one of the callers lists the location and the others wait for it.
+        Map<FileCacheKey, FileCacheValue> presentValues = fileCache.getAllPresent(keys);
+        Map<FileCacheKey, CompletableFuture<FileCacheValue>> loadingValues = Maps.newHashMap();
+        if (keys.size() - presentValues.size() > 1) {
+            // the listing pool is shared by all queries, submit a limited number of locations of this query at
+            // the same time, so that a query over many partitions doesn't delay the listing of the other queries.
+            // the listing permits are acquired before submitting, so that a throttled catalog or file system
+            // blocks the query thread instead of the threads of the pool.
+            Semaphore queryPermits = new Semaphore(Math.max(Config.max_file_listing_concurrency_per_query, 1));
+            for (FileCacheKey key : keys) {
+                if (!presentValues.containsKey(key) && !loadingValues.containsKey(key)) {
+                    queryPermits.acquireUninterruptibly();
+                    FileListingLimiter.Permit permit = null;
+                    CompletableFuture<FileCacheValue> future;
+                    try {
+                        permit = acquireListingPermit(key);
+                        future = CompletableFuture.supplyAsync(() -> getFileCacheValue(fileCache, key),
+                                listingExecutor);
+                    } catch (Throwable t) {
+                        if (permit != null) {
+                            permit.close();
+                        }
+                        queryPermits.release();
+                        throw t;
+                    }
+                    FileListingLimiter.Permit listingPermit = permit;
+                    loadingValues.put(key, future.whenComplete((v, t) -> {
+                        listingPermit.close();
+                        queryPermits.release();
+                    }));
+                }
+            }
         }
-        List<FileCacheValue> fileLists = stream.map(k -> {
-            try {
-                FileCacheValue fileCacheValue = fileCacheRef.get().get(k);
-                // Replace default hive partition with a null_string.
-                for (int i = 0; i < fileCacheValue.getValuesSize(); i++) {
-                    if (HIVE_DEFAULT_PARTITION.equals(fileCacheValue.getPartitionValues().get(i))) {
-                        fileCacheValue.getPartitionValues().set(i, FeConstants.null_string);
+        List<FileCacheValue> fileLists = Lists.newArrayListWithExpectedSize(keys.size());
+        for (FileCacheKey key : keys) {
+            FileCacheValue fileCacheValue = presentValues.get(key);
+            if (fileCacheValue == null) {
+                CompletableFuture<FileCacheValue> future = loadingValues.get(key);
+                try {
+                    if (future == null) {
+                        try (FileListingLimiter.Permit permit = acquireListingPermit(key)) {
+                            fileCacheValue = getFileCacheValue(fileCache, key);
+                        }
+                    } else {
+                        fileCacheValue = future.join();
                     }
+                } catch (CompletionException e) {
+                    Throwables.throwIfUnchecked(e.getCause());
+                    throw new RuntimeException(e.getCause());
                 }
-                return fileCacheValue;
-            } catch (ExecutionException e) {
-                throw new RuntimeException(e);
             }
-        }).collect(Collectors.toList());
+            // Replace default hive partition with a null_string.
+            for (int i = 0; i < fileCacheValue.getValuesSize(); i++) {
+                if (HIVE_DEFAULT_PARTITION.equals(fileCacheValue.getPartitionValues().get(i))) {
+                    fileCacheValue.getPartitionValues().set(i, FeConstants.null_string);
+                }
+            }
+            fileLists.add(fileCacheValue);
+        }
         LOG.debug("get #{} files from #{} partitions in catalog {} cost: {} ms",
-                fileLists.stream().mapToInt(l -> l.getFiles() == null
-                    ? (l.getSplits() == null ? 0 : l.getSplits().size()) : l.getFiles().size()).sum(),
+                fileLists.stream().mapToInt(FileCacheValue::getFileNum).sum(),
                 partitions.size(), catalog.getName(), (System.currentTimeMillis() - start));
         return fileLists;
     }
 
+    private static FileCacheKey getFileCacheKey(HivePartition partition, boolean useSelfSplitter) {
+        FileCacheKey fileCacheKey = partition.isDummyPartition()
+                ? FileCacheKey.createDummyCacheKey(partition.getDbName(), partition.getTblName(),
+                partition.getPath(), partition.getInputFormat(), useSelfSplitter)
+                : new FileCacheKey(partition.getPath(), partition.getInputFormat(), partition.getPartitionValues());
+        fileCacheKey.setUseSelfSplitter(useSelfSplitter);
+        fileCacheKey.setTableName(partition.getDbName() + "." + partition.getTblName());
+        return fileCacheKey;
+    }
+
+    // the permits are held by the thread requesting the file cache, instead of the loader, which may run in the
+    // shared listing pool
+    private FileListingLimiter.Permit acquireListingPermit(FileCacheKey key) {
+        return listingLimiter.acquire(S3Util.convertToS3IfNecessary(key.location));
+    }
+
+    private static FileCacheValue getFileCacheValue(LoadingCache<FileCacheKey, FileCacheValue> fileCache,
+            FileCacheKey key) {
+        try {
+            return fileCache.get(key);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public List<HivePartition> getAllPartitions(String dbName, String name, List<List<String>> partitionValuesList) {
         long start = System.currentTimeMillis();
         List<PartitionCacheKey> keys = Lists.newArrayListWithExpectedSize(partitionValuesList.size());
@@ -453,7 +631,8 @@ public class HiveMetaStoreCache {
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
         if (partitionValues != null) {
             long start = System.currentTimeMillis();
-            for (List<String> values : partitionValues.partitionValuesMap.values()) {
+            for (Long partitionId : partitionValues.idToPartitionItem.keySet()) {
+                List<String> values = partitionValues.getPartitionValues(partitionId);
                 PartitionCacheKey partKey = new PartitionCacheKey(dbName, tblName, values);
                 HivePartition partition = partitionCache.getIfPresent(partKey);
                 if (partition != null) {
@@ -464,7 +643,7 @@ public class HiveMetaStoreCache {
             }
             partitionValuesCache.invalidate(key);
             LOG.debug("invalid table cache for {}.{} in catalog {}, cache num: {}, cost: {} ms",
-                    dbName, tblName, catalog.getName(), partitionValues.partitionValuesMap.size(),
+                    dbName, tblName, catalog.getName(), partitionValues.idToPartitionItem.size(),
                     (System.currentTimeMillis() - start));
         } else {
             /**
@@ -479,21 +658,86 @@ public class HiveMetaStoreCache {
                     dbName, tblName, null, null, false);
             fileCacheRef.get().invalidate(fileCacheKey);
         }
+        invalidateDiskTableCache(dbName, tblName);
+    }
+
+    private void invalidateDiskTableCache(String dbName, String tblName) {
+        String tableName = dbName + "." + tblName;
+        partitionNamesDiskCache.invalidateTable(tableName);
+        partitionDiskCache.invalidateTable(tableName);
+        fileDiskCache.invalidateTable(tableName);
     }
 
     public void invalidatePartitionCache(String dbName, String tblName, String partitionName) {
+        invalidatePartitionsCache(dbName, tblName, Lists.newArrayList(partitionName));
+    }
+
+    /**
+     * Invalidate the partitions and the files of them, the other partitions of the table are not affected.
+     */
+    public void invalidatePartitionsCache(String dbName, String tblName, List<String> partitionNames) {
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
-        if (partitionValues != null) {
-            Long partitionId = partitionValues.partitionNameToIdMap.get(partitionName);
-            List<String> values = partitionValues.partitionValuesMap.get(partitionId);
+        LoadingCache<FileCacheKey, FileCacheValue> fileCache = fileCacheRef.get();
+        for (String partitionName : partitionNames) {
+            List<String> values = getPartitionValues(partitionValues, partitionName);
+            if (values == null) {
+                continue;
+            }
             PartitionCacheKey partKey = new PartitionCacheKey(dbName, tblName, values);
             HivePartition partition = partitionCache.getIfPresent(partKey);
             if (partition != null) {
-                fileCacheRef.get().invalidate(new FileCacheKey(partition.getPath(),
-                        null, partition.getPartitionValues()));
+                fileCache.invalidate(new FileCacheKey(partition.getPath(), null, partition.getPartitionValues()));
                 partitionCache.invalidate(partKey);
             }
+            // the partition may have been evicted from the partition cache but its files are still cached
+            Set<FileCacheKey> fileCacheKeys = partitionFileCacheKeys.remove(partKey.getDiskKey());
+            if (fileCacheKeys != null) {
+                fileCache.invalidateAll(fileCacheKeys);
+            }
+            invalidateDiskPartitionCache(partKey);
+        }
+    }
+
+    private List<String> getPartitionValues(HivePartitionValues partitionValues, String partitionName) {
+        if (partitionValues != null) {
+            Long partitionId = partitionValues.partitionNameToIdMap.get(partitionName);
+            if (partitionId != null) {
+                return partitionValues.getPartitionValues(partitionId);
+            }
+        }
+        // partition name format: nation=cn/city=beijing
+        try {
+            return Warehouse.getPartValuesFromPartName(partitionName);
+        } catch (MetaException e) {
+            LOG.warn("failed to get the values of partition {} in catalog {}", partitionName, catalog.getName(), e);
+            return null;
+        }
+    }
+
+    private void invalidateDiskPartitionCache(PartitionCacheKey partKey) {
+        if (!ExternalMetaDiskCache.isEnabled()) {
+            return;
+        }
+        HivePartition partition = partitionDiskCache.get(partKey);
+        if (partition != null) {
+            fileDiskCache.invalidate(getFileCacheKey(partition, true));
+        }
+        partitionDiskCache.invalidate(partKey);
+    }
+
+    // apply the added and dropped partitions to the partition names on disk rather than reloading all of them
+    private void updateDiskPartitionNames(PartitionValueCacheKey key, List<String> addedPartitionNames,
+            List<String> droppedPartitionNames) {
+        if (!ExternalMetaDiskCache.isEnabled()) {
+            return;
+        }
+        List<String> partitionNames = partitionNamesDiskCache.get(key);
+        if (partitionNames != null) {
+            Set<String> names = Sets.newLinkedHashSet(partitionNames);
+            names.removeAll(droppedPartitionNames);
+            names.addAll(addedPartitionNames);
+            partitionNamesDiskCache.put(key, Lists.newArrayList(names));
         }
     }
 
@@ -505,6 +749,10 @@ public class HiveMetaStoreCache {
                 invalidateTableCache(dbName, key.tblName);
             }
         }
+        // the tables of the db which are not cached in memory may be cached on disk
+        partitionNamesDiskCache.invalidateAll();
+        partitionDiskCache.invalidateAll();
+        fileDiskCache.invalidateAll();
         LOG.debug("invalid db cache for {} in catalog {}, cache num: {}, cost: {} ms", dbName, catalog.getName(),
                 keys.size(), (System.currentTimeMillis() - start));
     }
@@ -513,6 +761,10 @@ public class HiveMetaStoreCache {
         partitionValuesCache.invalidateAll();
         partitionCache.invalidateAll();
         fileCacheRef.get().invalidateAll();
+        partitionFileCacheKeys.clear();
+        partitionNamesDiskCache.invalidateAll();
+        partitionDiskCache.invalidateAll();
+        fileDiskCache.invalidateAll();
         LOG.debug("invalid all meta cache in catalog {}", catalog.getName());
     }
 
@@ -520,6 +772,7 @@ public class HiveMetaStoreCache {
     public void addPartitionsCache(String dbName, String tblName, List<String> partitionNames,
             List<Type> partitionColumnTypes) {
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, partitionColumnTypes);
+        updateDiskPartitionNames(key, partitionNames, Collections.emptyList());
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
         if (partitionValues == null) {
             return;
@@ -527,7 +780,6 @@ public class HiveMetaStoreCache {
         HivePartitionValues copy = partitionValues.copy();
         Map<Long, PartitionItem> idToPartitionItemBefore = copy.getIdToPartitionItem();
         Map<String, Long> partitionNameToIdMapBefore = copy.getPartitionNameToIdMap();
-        Map<Long, List<UniqueId>> idToUniqueIdsMap = copy.getIdToUniqueIdsMap();
         Map<Long, PartitionItem> idToPartitionItem = new HashMap<>();
         long idx = copy.getNextPartitionId();
         for (String partitionName : partitionNames) {
@@ -541,31 +793,20 @@ public class HiveMetaStoreCache {
             idToPartitionItem.put(partitionId, listPartitionItem);
             partitionNameToIdMapBefore.put(partitionName, partitionId);
         }
-        Map<Long, List<String>> partitionValuesMapBefore = copy.getPartitionValuesMap();
-        Map<Long, List<String>> partitionValuesMap = ListPartitionPrunerV2.getPartitionValuesMap(idToPartitionItem);
-        partitionValuesMapBefore.putAll(partitionValuesMap);
         copy.setNextPartitionId(idx);
         if (key.types.size() > 1) {
-            Map<UniqueId, Range<PartitionKey>> uidToPartitionRangeBefore = copy.getUidToPartitionRange();
-            // uidToPartitionRange and rangeToId are only used for multi-column partition
-            Map<UniqueId, Range<PartitionKey>> uidToPartitionRange = ListPartitionPrunerV2
-                    .genUidToPartitionRange(idToPartitionItem, idToUniqueIdsMap);
-            uidToPartitionRangeBefore.putAll(uidToPartitionRange);
+            // rangeToId is only used for multi-column partition
             Map<Range<PartitionKey>, UniqueId> rangeToIdBefore = copy.getRangeToId();
-            Map<Range<PartitionKey>, UniqueId> rangeToId = ListPartitionPrunerV2.genRangeToId(uidToPartitionRange);
+            Map<Range<PartitionKey>, UniqueId> rangeToId = ListPartitionPrunerV2.genRangeToId(
+                    ListPartitionPrunerV2.genUidToPartitionRange(idToPartitionItem, new HashMap<>()));
             rangeToIdBefore.putAll(rangeToId);
         } else {
             Preconditions.checkState(key.types.size() == 1, key.types);
             // singleColumnRangeMap is only used for single-column partition
             RangeMap<ColumnBound, UniqueId> singleColumnRangeMapBefore = copy.getSingleColumnRangeMap();
             RangeMap<ColumnBound, UniqueId> singleColumnRangeMap = ListPartitionPrunerV2
-                    .genSingleColumnRangeMap(idToPartitionItem, idToUniqueIdsMap);
+                    .genSingleColumnRangeMap(idToPartitionItem, new HashMap<>());
             singleColumnRangeMapBefore.putAll(singleColumnRangeMap);
-            Map<UniqueId, Range<ColumnBound>> singleUidToColumnRangeMapBefore = copy
-                    .getSingleUidToColumnRangeMap();
-            Map<UniqueId, Range<ColumnBound>> singleUidToColumnRangeMap = ListPartitionPrunerV2
-                    .genSingleUidToColumnRange(singleColumnRangeMap);
-            singleUidToColumnRangeMapBefore.putAll(singleUidToColumnRangeMap);
         }
         HivePartitionValues partitionValuesCur = partitionValuesCache.getIfPresent(key);
         if (partitionValuesCur == partitionValues) {
@@ -576,47 +817,39 @@ public class HiveMetaStoreCache {
     public void dropPartitionsCache(String dbName, String tblName, List<String> partitionNames,
                                     boolean invalidPartitionCache) {
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
+        updateDiskPartitionNames(key, Collections.emptyList(), partitionNames);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
         if (partitionValues == null) {
+            if (invalidPartitionCache) {
+                invalidatePartitionsCache(dbName, tblName, partitionNames);
+            }
             return;
         }
         HivePartitionValues copy = partitionValues.copy();
         Map<String, Long> partitionNameToIdMapBefore = copy.getPartitionNameToIdMap();
         Map<Long, PartitionItem> idToPartitionItemBefore = copy.getIdToPartitionItem();
-        Map<Long, List<UniqueId>> idToUniqueIdsMapBefore = copy.getIdToUniqueIdsMap();
-        Map<UniqueId, Range<PartitionKey>> uidToPartitionRangeBefore = copy.getUidToPartitionRange();
         Map<Range<PartitionKey>, UniqueId> rangeToIdBefore = copy.getRangeToId();
         RangeMap<ColumnBound, UniqueId> singleColumnRangeMapBefore = copy.getSingleColumnRangeMap();
-        Map<UniqueId, Range<ColumnBound>> singleUidToColumnRangeMapBefore = copy.getSingleUidToColumnRangeMap();
-        Map<Long, List<String>> partitionValuesMap = copy.getPartitionValuesMap();
         for (String partitionName : partitionNames) {
             if (!partitionNameToIdMapBefore.containsKey(partitionName)) {
                 LOG.info("dropPartitionsCache partitionName:[{}] not exist in table:[{}]", partitionName, tblName);
                 continue;
             }
             Long partitionId = partitionNameToIdMapBefore.remove(partitionName);
-            idToPartitionItemBefore.remove(partitionId);
-            partitionValuesMap.remove(partitionId);
-            List<UniqueId> uniqueIds = idToUniqueIdsMapBefore.remove(partitionId);
-            for (UniqueId uniqueId : uniqueIds) {
-                if (uidToPartitionRangeBefore != null) {
-                    Range<PartitionKey> range = uidToPartitionRangeBefore.remove(uniqueId);
-                    if (range != null) {
-                        rangeToIdBefore.remove(range);
-                    }
+            PartitionItem partitionItem = idToPartitionItemBefore.remove(partitionId);
+            // the ranges of the partition are derived from its partition keys, each of which is a single value
+            for (PartitionKey partitionKey : ((ListPartitionItem) partitionItem).getItems()) {
+                if (rangeToIdBefore != null) {
+                    rangeToIdBefore.remove(Range.closed(partitionKey, partitionKey));
                 }
-
-                if (singleUidToColumnRangeMapBefore != null) {
-                    Range<ColumnBound> range = singleUidToColumnRangeMapBefore.remove(uniqueId);
-                    if (range != null) {
-                        singleColumnRangeMapBefore.remove(range);
-                    }
+                if (singleColumnRangeMapBefore != null) {
+                    singleColumnRangeMapBefore.remove(Range.singleton(ColumnBound.of(partitionKey.getKeys().get(0))));
                 }
             }
-
-            if (invalidPartitionCache) {
-                invalidatePartitionCache(dbName, tblName, partitionName);
-            }
+        }
+        if (invalidPartitionCache) {
+            // invalidate the dropped partitions before the partition values are replaced, which are used to find them
+            invalidatePartitionsCache(dbName, tblName, partitionNames);
         }
         HivePartitionValues partitionValuesCur = partitionValuesCache.getIfPresent(key);
         if (partitionValuesCur == partitionValues) {
@@ -638,11 +871,36 @@ public class HiveMetaStoreCache {
      */
     private CacheLoader<FileCacheKey, FileCacheValue> getGuavaCacheLoader(Executor executor,
             int fileMetaCacheTtlSecond) {
+        // the files on disk may be older than the ttl, so they are only used if the file cache has no ttl
+        boolean useDiskCache = fileMetaCacheTtlSecond == HMSExternalCatalog.FILE_META_CACHE_NO_TTL;
         CacheLoader<FileCacheKey, FileCacheValue> loader =
                 new CacheLoader<FileCacheKey, FileCacheValue>() {
                     @Override
                     public FileCacheValue load(FileCacheKey key) throws Exception {
-                        return loadFiles(key);
+                        // registered before loading, so that the key is found if the partition is invalidated
+                        // while loading. nothing enters the cache if the load fails, so it is unregistered here.
+                        registerFileCacheKey(key);
+                        try {
+                            if (!useDiskCache || !key.isUseSelfSplitter()) {
+                                return loadFiles(key);
+                            }
+                            return fileDiskCache.getOrLoad(key, k -> loadFiles(k),
+                                    files -> fileCacheRef.get().put(key, files));
+                        } catch (Throwable t) {
+                            unregisterFileCacheKey(key);
+                            throw t;
+                        }
+                    }
+
+                    @Override
+                    public ListenableFuture<FileCacheValue> reload(FileCacheKey key, FileCacheValue oldValue)
+                            throws Exception {
+                        try (FileListingLimiter.Permit permit = acquireListingPermit(key)) {
+                            if (!useDiskCache || !key.isUseSelfSplitter()) {
+                                return super.reload(key, oldValue);
+                            }
+                            return Futures.immediateFuture(fileDiskCache.load(key, k -> loadFiles(k)));
+                        }
                     }
                 };
         if (fileMetaCacheTtlSecond == HMSExternalCatalog.FILE_META_CACHE_TTL_DISABLE_CACHE) {
@@ -722,6 +980,10 @@ public class HiveMetaStoreCache {
             this.types = types;
         }
 
+        public String getTableName() {
+            return dbName + "." + tblName;
+        }
+
         @Override
         public boolean equals(Object obj) {
             if (this == obj) {
@@ -775,6 +1037,15 @@ public class HiveMetaStoreCache {
             return Objects.hash(dbName, tblName, values);
         }
 
+        public String getTableName() {
+            return dbName + "." + tblName;
+        }
+
+        // the string identifying the key on disk
+        public String getDiskKey() {
+            return getTableName() + DISK_KEY_SEPARATOR + String.join(DISK_KEY_SEPARATOR, values);
+        }
+
         @Override
         public String toString() {
             return "PartitionCacheKey{" + "dbName='" + dbName + '\'' + ", tblName='" + tblName + '\'' + ", values="
@@ -795,6 +1066,8 @@ public class HiveMetaStoreCache {
         // e.g for file : hdfs://path/to/table/part1=a/part2=b/datafile
         // partitionValues would be ["part1", "part2"]
         protected List<String> partitionValues;
+        // not in key, the table of the location, e.g. db.tbl, only used by the disk cache
+        private String tableName;
 
         public FileCacheKey(String location, String inputFormat, List<String> partitionValues) {
             this.location = location;
@@ -834,6 +1107,26 @@ public class HiveMetaStoreCache {
             return Objects.hash(location, partitionValues);
         }
 
+        public String getTableName() {
+            return Strings.nullToEmpty(tableName);
+        }
+
+        // whether the key is the location of a partition of a known table
+        public boolean isPartitionKey() {
+            return dummyKey == null && tableName != null && !partitionValues.isEmpty();
+        }
+
+        // the same as PartitionCacheKey#getDiskKey of the partition
+        public String getPartitionDiskKey() {
+            return tableName + DISK_KEY_SEPARATOR + String.join(DISK_KEY_SEPARATOR, partitionValues);
+        }
+
+        // the string identifying the key on disk
+        public String getDiskKey() {
+            return dummyKey != null ? dummyKey : location + DISK_KEY_SEPARATOR
+                    + String.join(DISK_KEY_SEPARATOR, partitionValues);
+        }
+
         @Override
         public String toString() {
             return "FileCacheKey{" + "location='" + location + '\'' + ", inputFormat='" + inputFormat + '\'' + '}';
@@ -875,6 +1168,11 @@ public class HiveMetaStoreCache {
         public int getValuesSize() {
             return partitionValues == null ? 0 : partitionValues.size();
         }
+
+        // the number of files or splits, both of them are null if the location is empty or doesn't exist
+        public int getFileNum() {
+            return files != null ? files.size() : splits != null ? splits.size() : 0;
+        }
     }
 
     @Data
@@ -886,54 +1184,49 @@ public class HiveMetaStoreCache {
         long modificationTime;
     }
 
+    /**
+     * The partitions of a table used to prune partitions, which may be hundreds of thousands for a table.
+     * Only the maps used by the partition pruner are kept, everything else of a partition is derived from its
+     * partition item on demand, e.g. the partition values and the ranges to remove when it's dropped.
+     */
     @Data
     public static class HivePartitionValues {
         private long nextPartitionId;
         private Map<String, Long> partitionNameToIdMap;
-        private Map<Long, List<UniqueId>> idToUniqueIdsMap;
         private Map<Long, PartitionItem> idToPartitionItem;
-        private Map<Long, List<String>> partitionValuesMap;
         //multi pair
-        private Map<UniqueId, Range<PartitionKey>> uidToPartitionRange;
         private Map<Range<PartitionKey>, UniqueId> rangeToId;
         //single pair
         private RangeMap<ColumnBound, UniqueId> singleColumnRangeMap;
-        private Map<UniqueId, Range<ColumnBound>> singleUidToColumnRangeMap;
 
         public HivePartitionValues() {
         }
 
         public HivePartitionValues(Map<Long, PartitionItem> idToPartitionItem,
-                Map<UniqueId, Range<PartitionKey>> uidToPartitionRange,
                 Map<Range<PartitionKey>, UniqueId> rangeToId,
                 RangeMap<ColumnBound, UniqueId> singleColumnRangeMap,
                 long nextPartitionId,
-                Map<String, Long> partitionNameToIdMap,
-                Map<Long, List<UniqueId>> idToUniqueIdsMap,
-                Map<UniqueId, Range<ColumnBound>> singleUidToColumnRangeMap,
-                Map<Long, List<String>> partitionValuesMap) {
+                Map<String, Long> partitionNameToIdMap) {
             this.idToPartitionItem = idToPartitionItem;
-            this.uidToPartitionRange = uidToPartitionRange;
             this.rangeToId = rangeToId;
             this.singleColumnRangeMap = singleColumnRangeMap;
             this.nextPartitionId = nextPartitionId;
             this.partitionNameToIdMap = partitionNameToIdMap;
-            this.idToUniqueIdsMap = idToUniqueIdsMap;
-            this.singleUidToColumnRangeMap = singleUidToColumnRangeMap;
-            this.partitionValuesMap = partitionValuesMap;
+        }
+
+        // return the values of the partition, or null if it doesn't exist
+        public List<String> getPartitionValues(Long partitionId) {
+            PartitionItem partitionItem = idToPartitionItem.get(partitionId);
+            return partitionItem == null ? null
+                    : ((ListPartitionItem) partitionItem).getItems().get(0).getPartitionValuesAsStringList();
         }
 
         public HivePartitionValues copy() {
             HivePartitionValues copy = new HivePartitionValues();
             copy.setNextPartitionId(nextPartitionId);
             copy.setPartitionNameToIdMap(partitionNameToIdMap == null ? null : Maps.newHashMap(partitionNameToIdMap));
-            copy.setIdToUniqueIdsMap(idToUniqueIdsMap == null ? null : Maps.newHashMap(idToUniqueIdsMap));
             copy.setIdToPartitionItem(idToPartitionItem == null ? null : Maps.newHashMap(idToPartitionItem));
-            copy.setPartitionValuesMap(partitionValuesMap == null ? null : Maps.newHashMap(partitionValuesMap));
-            copy.setUidToPartitionRange(uidToPartitionRange == null ? null : Maps.newHashMap(uidToPartitionRange));
             copy.setRangeToId(rangeToId == null ? null : Maps.newHashMap(rangeToId));
-            copy.setSingleUidToColumnRangeMap(
-                    singleUidToColumnRangeMap == null ? null : Maps.newHashMap(singleUidToColumnRangeMap));
             if (singleColumnRangeMap != null) {
                 RangeMap<ColumnBound, UniqueId> copySingleColumnRangeMap = TreeRangeMap.create();
                 copySingleColumnRangeMap.putAll(singleColumnRangeMap);
@@ -942,5 +1235,147 @@ public class HiveMetaStoreCache {
             return copy;
         }
     }
+
+    private static void writeString(DataOutput out, String str) throws IOException {
+        out.writeBoolean(str != null);
+        if (str != null) {
+            Text.writeString(out, str);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? Text.readString(in) : null;
+    }
+
+    private static void writeStrings(DataOutput out, String[] strs) throws IOException {
+        out.writeInt(strs == null ? -1 : strs.length);
+        if (strs != null) {
+            for (String str : strs) {
+                writeString(out, str);
+            }
+        }
+    }
+
+    private static String[] readStrings(DataInput in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        String[] strs = new String[size];
+        for (int i = 0; i < size; i++) {
+            strs[i] = readString(in);
+        }
+        return strs;
+    }
+
+    private static void writeStringList(DataOutput out, List<String> strs) throws IOException {
+        writeStrings(out, strs == null ? null : strs.toArray(new String[0]));
+    }
+
+    private static List<String> readStringList(DataInput in) throws IOException {
+        String[] strs = readStrings(in);
+        // the list may be modified, e.g. the default partition value in file cache is replaced
+        return strs == null ? null : Lists.newArrayList(strs);
+    }
+
+    private static class PartitionNamesSerializer implements ExternalMetaDiskCache.Serializer<List<String>> {
+        @Override
+        public void write(DataOutput out, List<String> partitionNames) throws IOException {
+            writeStringList(out, partitionNames);
+        }
+
+        @Override
+        public List<String> read(DataInput in) throws IOException {
+            return readStringList(in);
+        }
+    }
+
+    @VisibleForTesting
+    static class HivePartitionSerializer implements ExternalMetaDiskCache.Serializer<HivePartition> {
+        @Override
+        public void write(DataOutput out, HivePartition partition) throws IOException {
+            writeString(out, partition.getDbName());
+            writeString(out, partition.getTblName());
+            out.writeBoolean(partition.isDummyPartition());
+            writeString(out, partition.getInputFormat());
+            writeString(out, partition.getPath());
+            writeStringList(out, partition.getPartitionValues());
+        }
+
+        @Override
+        public HivePartition read(DataInput in) throws IOException {
+            String dbName = readString(in);
+            String tblName = readString(in);
+            boolean isDummyPartition = in.readBoolean();
+            String inputFormat = readString(in);
+            String path = readString(in);
+            return new HivePartition(dbName, tblName, isDummyPartition, inputFormat, path, readStringList(in));
+        }
+    }
+
+    @VisibleForTesting
+    static class FileCacheValueSerializer implements ExternalMetaDiskCache.Serializer<FileCacheValue> {
+        @Override
+        public void write(DataOutput out, FileCacheValue value) throws IOException {
+            if (value.getSplits() != null) {
+                throw new IOException("the splits of the old splitter are not saved");
+            }
+            out.writeBoolean(value.isSplittable());
+            writeStringList(out, value.getPartitionValues());
+            List<HiveFileStatus> files = value.getFiles();
+            out.writeInt(files == null ? -1 : files.size());
+            if (files == null) {
+                return;
+            }
+            for (HiveFileStatus file : files) {
+                Text.writeString(out, file.getPath().toString());
+                out.writeLong(file.getLength());
+                out.writeLong(file.getBlockSize());
+                out.writeLong(file.getModificationTime());
+                BlockLocation[] blockLocations = file.getBlockLocations();
+                out.writeInt(blockLocations == null ? -1 : blockLocations.length);
+                if (blockLocations != null) {
+                    for (BlockLocation blockLocation : blockLocations) {
+                        writeStrings(out, blockLocation.getNames());
+                        writeStrings(out, blockLocation.getHosts());
+                        out.writeLong(blockLocation.getOffset());
+                        out.writeLong(blockLocation.getLength());
+                    }
+                }
+            }
+        }
+
+        @Override
+        public FileCacheValue read(DataInput in) throws IOException {
+            FileCacheValue value = new FileCacheValue();
+            value.setSplittable(in.readBoolean());
+            value.setPartitionValues(readStringList(in));
+            int fileNum = in.readInt();
+            if (fileNum < 0) {
+                return value;
+            }
+            List<HiveFileStatus> files = Lists.newArrayListWithExpectedSize(fileNum);
+            for (int i = 0; i < fileNum; i++) {
+                HiveFileStatus file = new HiveFileStatus();
+                file.setPath(new Path(Text.readString(in)));
+                file.setLength(in.readLong());
+                file.setBlockSize(in.readLong());
+                file.setModificationTime(in.readLong());
+                int blockNum = in.readInt();
+                if (blockNum >= 0) {
+                    BlockLocation[] blockLocations = new BlockLocation[blockNum];
+                    for (int j = 0; j < blockNum; j++) {
+                        String[] names = readStrings(in);
+                        String[] hosts = readStrings(in);
+                        blockLocations[j] = new BlockLocation(names, hosts, in.readLong(), in.readLong());
+                    }
+                    file.setBlockLocations(blockLocations);
+                }
+                files.add(file);
+            }
+            value.setFiles(files);
+            return value;
+        }
+    }
 }
 
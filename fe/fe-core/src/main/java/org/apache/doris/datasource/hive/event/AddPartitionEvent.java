@@ -37,7 +37,7 @@ import java.util.stream.Collectors;
 /**
  * MetastoreEvent for ADD_PARTITION event type
  */
-public class AddPartitionEvent extends MetastoreTableEvent {
+public class AddPartitionEvent extends MetastorePartitionEvent {
     private final Table hmsTbl;
     private final List<String> partitionNames;
 
@@ -68,6 +68,11 @@ public class AddPartitionEvent extends MetastoreTableEvent {
         return Lists.newArrayList(new AddPartitionEvent(event, catalogName));
     }
 
+    @Override
+    protected void addToBatch(BatchPartitionEvent batch) {
+        partitionNames.forEach(batch::addPartition);
+    }
+
     @Override
     protected void process() throws MetastoreNotificationException {
         try {
@@ -35,7 +35,7 @@ import java.util.stream.Collectors;
 /**
  * MetastoreEvent for ALTER_PARTITION event type
  */
-public class AlterPartitionEvent extends MetastoreTableEvent {
+public class AlterPartitionEvent extends MetastorePartitionEvent {
     private final Table hmsTbl;
     private final org.apache.hadoop.hive.metastore.api.Partition partitionAfter;
     private final org.apache.hadoop.hive.metastore.api.Partition partitionBefore;
@@ -72,6 +72,16 @@ public class AlterPartitionEvent extends MetastoreTableEvent {
         return Lists.newArrayList(new AlterPartitionEvent(event, catalogName));
     }
 
+    @Override
+    protected void addToBatch(BatchPartitionEvent batch) {
+        if (isRename) {
+            batch.dropPartition(partitionNameBefore);
+            batch.addPartition(partitionNameAfter);
+        } else {
+            batch.refreshPartition(partitionNameAfter);
+        }
+    }
+
     @Override
     protected void process() throws MetastoreNotificationException {
         try {
@@ -22,17 +22,25 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.hadoop.hive.metastore.messaging.json.JSONAlterTableMessage;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * MetastoreEvent for ALTER_TABLE event type
  */
 public class AlterTableEvent extends MetastoreTableEvent {
+    // the parameters changed by hms on every alter, which are not read by doris
+    private static final List<String> VOLATILE_PARAMETERS = ImmutableList.of(
+            "transient_lastDdlTime", "last_modified_time", "last_modified_by");
+
     // the table object before alter operation
     private final Table tableBefore;
     // the table object after alter operation
@@ -97,6 +105,29 @@ public class AlterTableEvent extends MetastoreTableEvent {
 
     }
 
+    /**
+     * A partitioned table is not changed if only the volatile parameters of it are changed, e.g. the ddl time
+     * updated after inserting into some partitions, whose files are refreshed by the partition events.
+     * The other parameters are read by doris, e.g. table_type, transactional, numRows and comment.
+     */
+    @Override
+    protected boolean canBeSkipped() {
+        return !isRename && !isView && !tableAfter.getPartitionKeys().isEmpty()
+                && Objects.equals(tableBefore.getSd(), tableAfter.getSd())
+                && Objects.equals(tableBefore.getPartitionKeys(), tableAfter.getPartitionKeys())
+                && Objects.equals(tableBefore.getTableType(), tableAfter.getTableType())
+                && Objects.equals(getStableParameters(tableBefore), getStableParameters(tableAfter));
+    }
+
+    private static Map<String, String> getStableParameters(Table table) {
+        Map<String, String> parameters = Maps.newHashMap();
+        if (table.getParameters() != null) {
+            parameters.putAll(table.getParameters());
+        }
+        VOLATILE_PARAMETERS.forEach(parameters::remove);
+        return parameters;
+    }
+
     /**
      * If the ALTER_TABLE event is due a table rename, this method removes the old table
      * and creates a new table with the new name. Else, we just refresh table
@@ -0,0 +1,125 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive.event;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.DdlException;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The partition events of a table which are processed together, e.g. the hourly ADD_PARTITION events and the
+ * INSERT events of the new partitions. The changes of the events are coalesced by partition name, so that
+ * each partition is dropped, added or refreshed at most once, and the partition values of the table in the
+ * cache are updated incrementally rather than reloaded.
+ */
+public class BatchPartitionEvent extends MetastorePartitionEvent {
+    private final Set<String> droppedPartitions = Sets.newLinkedHashSet();
+    private final Set<String> addedPartitions = Sets.newLinkedHashSet();
+    private final Set<String> refreshedPartitions = Sets.newLinkedHashSet();
+    private int numberOfEvents = 0;
+
+    BatchPartitionEvent(MetastorePartitionEvent event) {
+        this(event.event, event.catalogName);
+        event.addToBatch(this);
+        numberOfEvents++;
+    }
+
+    BatchPartitionEvent(NotificationEvent event, String catalogName) {
+        super(event, catalogName);
+    }
+
+    @Override
+    protected void addToBatch(BatchPartitionEvent batch) {
+        droppedPartitions.forEach(batch::dropPartition);
+        addedPartitions.forEach(batch::addPartition);
+        refreshedPartitions.forEach(batch::refreshPartition);
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        ((MetastorePartitionEvent) event).addToBatch(this);
+        numberOfEvents += event.getNumberOfEvents();
+        return this;
+    }
+
+    @Override
+    protected int getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
+    void addPartition(String partitionName) {
+        addedPartitions.add(partitionName);
+    }
+
+    void dropPartition(String partitionName) {
+        // the changes before dropping the partition are meaningless
+        addedPartitions.remove(partitionName);
+        refreshedPartitions.remove(partitionName);
+        droppedPartitions.add(partitionName);
+    }
+
+    void refreshPartition(String partitionName) {
+        // the partition added in this batch is not cached yet
+        if (!addedPartitions.contains(partitionName)) {
+            refreshedPartitions.add(partitionName);
+        }
+    }
+
+    List<String> getDroppedPartitions() {
+        return Lists.newArrayList(droppedPartitions);
+    }
+
+    List<String> getAddedPartitions() {
+        return Lists.newArrayList(addedPartitions);
+    }
+
+    List<String> getRefreshedPartitions() {
+        return Lists.newArrayList(refreshedPartitions);
+    }
+
+    @Override
+    protected void process() throws MetastoreNotificationException {
+        try {
+            infoLog("catalogName:[{}],dbName:[{}],tableName:[{}],numberOfEvents:[{}],droppedPartitions:[{}],"
+                            + "addedPartitions:[{}],refreshedPartitions:[{}]", catalogName, dbName, tblName,
+                    numberOfEvents, droppedPartitions, addedPartitions, refreshedPartitions);
+            // the partition which is dropped and then added again is dropped first to invalidate its files
+            if (!droppedPartitions.isEmpty()) {
+                Env.getCurrentEnv().getCatalogMgr()
+                        .dropExternalPartitions(catalogName, dbName, tblName, getDroppedPartitions(), true);
+            }
+            if (!addedPartitions.isEmpty()) {
+                Env.getCurrentEnv().getCatalogMgr()
+                        .addExternalPartitions(catalogName, dbName, tblName, getAddedPartitions(), true);
+            }
+            if (!refreshedPartitions.isEmpty()) {
+                Env.getCurrentEnv().getCatalogMgr()
+                        .refreshExternalPartitions(catalogName, dbName, tblName, getRefreshedPartitions(), true);
+            }
+        } catch (DdlException e) {
+            throw new MetastoreNotificationException(
+                    debugString("Failed to process event"), e);
+        }
+    }
+}
@@ -36,7 +36,7 @@ import java.util.stream.Collectors;
 /**
  * MetastoreEvent for ADD_PARTITION event type
  */
-public class DropPartitionEvent extends MetastoreTableEvent {
+public class DropPartitionEvent extends MetastorePartitionEvent {
     private final Table hmsTbl;
     private final List<String> partitionNames;
 
@@ -68,6 +68,11 @@ public class DropPartitionEvent extends MetastoreTableEvent {
                 new DropPartitionEvent(event, catalogName));
     }
 
+    @Override
+    protected void addToBatch(BatchPartitionEvent batch) {
+        partitionNames.forEach(batch::dropPartition);
+    }
+
     @Override
     protected void process() throws MetastoreNotificationException {
         try {
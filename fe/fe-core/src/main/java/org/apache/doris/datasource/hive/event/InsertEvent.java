@@ -23,17 +23,23 @@ import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import org.apache.hadoop.hive.common.FileUtils;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.hadoop.hive.metastore.messaging.InsertMessage;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * MetastoreEvent for INSERT event type
  */
-public class InsertEvent extends MetastoreTableEvent {
+public class InsertEvent extends MetastorePartitionEvent {
     private final Table hmsTbl;
+    // the partition inserted into, null if the table is not partitioned
+    private final String partitionName;
 
     private InsertEvent(NotificationEvent event, String catalogName) {
         super(event, catalogName);
@@ -45,6 +51,14 @@ public class InsertEvent extends MetastoreTableEvent {
                     MetastoreEventsProcessor.getMessageDeserializer(event.getMessageFormat())
                             .getInsertMessage(event.getMessage());
             hmsTbl = Preconditions.checkNotNull(insertMessage.getTableObj());
+            Partition partition = insertMessage.getPtnObj();
+            if (partition == null) {
+                partitionName = null;
+            } else {
+                List<String> partitionColNames = hmsTbl.getPartitionKeys().stream()
+                        .map(FieldSchema::getName).collect(Collectors.toList());
+                partitionName = FileUtils.makePartName(partitionColNames, partition.getValues());
+            }
         } catch (Exception ex) {
             throw new MetastoreNotificationException(ex);
         }
@@ -54,10 +68,27 @@ public class InsertEvent extends MetastoreTableEvent {
         return Lists.newArrayList(new InsertEvent(event, catalogName));
     }
 
+    @Override
+    protected boolean isPartitionLevel() {
+        return partitionName != null;
+    }
+
+    @Override
+    protected void addToBatch(BatchPartitionEvent batch) {
+        batch.refreshPartition(partitionName);
+    }
+
     @Override
     protected void process() throws MetastoreNotificationException {
         try {
-            infoLog("catalogName:[{}],dbName:[{}],tableName:[{}]", catalogName, dbName, tblName);
+            infoLog("catalogName:[{}],dbName:[{}],tableName:[{}],partitionName:[{}]", catalogName, dbName, tblName,
+                    partitionName);
+            if (partitionName != null) {
+                // only the files of the partition inserted into are changed
+                Env.getCurrentEnv().getCatalogMgr().refreshExternalPartitions(catalogName, dbName, tblName,
+                        Lists.newArrayList(partitionName), true);
+                return;
+            }
             /***
              *  Only when we use hive client to execute a `INSERT INTO TBL SELECT * ...` or `INSERT INTO TBL ...` sql
              *  to a non-partitioned table then the hms will generate an insert event, and there is not
@@ -22,11 +22,13 @@ import org.apache.doris.datasource.HMSExternalCatalog;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Factory class to create various MetastoreEvents.
@@ -75,12 +77,36 @@ public class MetastoreEventFactory implements EventFactory {
     }
 
     /**
-     * Create batch event tasks according to HivePartitionName to facilitate subsequent parallel processing.
-     * For ADD_PARTITION and DROP_PARTITION, we directly override any events before that partition.
-     * For a partition, it is meaningless to process any events before the drop partition.
+     * Batch the partition events of each table, see {@link BatchPartitionEvent}.
+     * The partition events of a table are batched until an event of the database which is not a partition event,
+     * e.g. ALTER_TABLE or DROP_TABLE, because they must be processed in order.
+     * The batch is processed at the position of its first event, which only changes the order of the events of
+     * the different tables.
      */
     List<MetastoreEvent> createBatchEvents(List<MetastoreEvent> events) {
-        // now do nothing
-        return events;
+        List<MetastoreEvent> batchEvents = Lists.newArrayListWithExpectedSize(events.size());
+        // db.tbl -> the index of the batch of the table in batchEvents
+        Map<String, Integer> tableToBatchIndex = Maps.newHashMap();
+        for (MetastoreEvent event : events) {
+            String tableName = event.getDbName() + "." + event.getTblName();
+            Integer batchIndex = tableToBatchIndex.get(tableName);
+            if (batchIndex != null && batchEvents.get(batchIndex).canBeBatched(event)) {
+                batchEvents.set(batchIndex, batchEvents.get(batchIndex).addToBatchEvents(event));
+                continue;
+            }
+            if (event instanceof MetastorePartitionEvent && ((MetastorePartitionEvent) event).isPartitionLevel()) {
+                tableToBatchIndex.put(tableName, batchEvents.size());
+            } else if (event.getDbName() == null) {
+                tableToBatchIndex.clear();
+            } else {
+                String dbPrefix = event.getDbName() + ".";
+                tableToBatchIndex.keySet().removeIf(name -> name.startsWith(dbPrefix));
+            }
+            batchEvents.add(event);
+        }
+        if (batchEvents.size() < events.size()) {
+            LOG.info("batch {} hms events into {} events", events.size(), batchEvents.size());
+        }
+        return batchEvents;
     }
 }
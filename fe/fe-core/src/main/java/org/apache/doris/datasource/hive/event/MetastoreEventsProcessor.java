@@ -25,6 +25,7 @@ import org.apache.doris.datasource.CatalogIf;
 import org.apache.doris.datasource.HMSClientException;
 import org.apache.doris.datasource.HMSExternalCatalog;
 
+import com.google.common.collect.Lists;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
@@ -82,16 +83,47 @@ public class MetastoreEventsProcessor extends MasterDaemon {
      */
     private List<NotificationEvent> getNextHMSEvents(HMSExternalCatalog hmsExternalCatalog) {
         LOG.debug("Start to pull events on catalog [{}]", hmsExternalCatalog.getName());
-        NotificationEventResponse response = hmsExternalCatalog.getNextEventResponse(hmsExternalCatalog);
+        List<NotificationEvent> events = Lists.newArrayList();
+        // fetch the following events in the same polling, so that the events of a table are processed together
+        // even if they are fetched by different rpcs
+        NotificationEventResponse response = fetchNextEvents(hmsExternalCatalog, events);
+        while (response != null && response.getEventsSize() > 0) {
+            events.addAll(response.getEvents());
+            if (response.getEventsSize() < Config.hms_events_batch_size_per_rpc
+                    || events.size() >= Config.hms_events_max_num_per_polling) {
+                break;
+            }
+            response = fetchNextEvents(hmsExternalCatalog, events);
+        }
+        return events;
+    }
 
-        if (response == null) {
-            return Collections.emptyList();
+    /**
+     * Fetch the events following the fetched ones, or the first batch of the polling if none is fetched.
+     * If an rpc fails after some events are fetched, the fetched events are still processed in this polling,
+     * and the rest are fetched by the next polling.
+     */
+    private NotificationEventResponse fetchNextEvents(HMSExternalCatalog hmsExternalCatalog,
+            List<NotificationEvent> fetched) {
+        if (fetched.isEmpty()) {
+            return hmsExternalCatalog.getNextEventResponse(hmsExternalCatalog);
+        }
+        long lastEventId = fetched.get(fetched.size() - 1).getEventId();
+        try {
+            return hmsExternalCatalog.getNextEventResponse(lastEventId);
+        } catch (MetastoreNotificationFetchException e) {
+            LOG.warn("Failed to fetch hms events after event id {} on {}, process the {} events fetched",
+                    lastEventId, hmsExternalCatalog.getName(), fetched.size(), e);
+            return null;
         }
-        return response.getEvents();
     }
 
     private void doExecute(List<MetastoreEvent> events, HMSExternalCatalog hmsExternalCatalog) {
         for (MetastoreEvent event : events) {
+            if (event.canBeSkipped()) {
+                event.infoLog("Skip the event which doesn't change the cache");
+                continue;
+            }
             try {
                 event.process();
             } catch (HMSClientException hmsClientException) {
@@ -0,0 +1,59 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive.event;
+
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+
+import java.util.Objects;
+
+/**
+ * Base class for the events which only change some partitions of a table.
+ * The partition events of a table are batched into a {@link BatchPartitionEvent}, and the changes of them
+ * are coalesced and applied to the cache together.
+ */
+public abstract class MetastorePartitionEvent extends MetastoreTableEvent {
+    protected MetastorePartitionEvent(NotificationEvent event, String catalogName) {
+        super(event, catalogName);
+    }
+
+    /**
+     * Whether this event only changes some partitions of the table. Default is true, sub-classes can override it
+     * if it depends on the event, e.g. an insert event of an unpartitioned table.
+     */
+    protected boolean isPartitionLevel() {
+        return true;
+    }
+
+    /**
+     * Add the partition changes of this event to the batch.
+     */
+    protected abstract void addToBatch(BatchPartitionEvent batch);
+
+    @Override
+    protected boolean canBeBatched(MetastoreEvent event) {
+        return isPartitionLevel() && event instanceof MetastorePartitionEvent
+                && ((MetastorePartitionEvent) event).isPartitionLevel()
+                && Objects.equals(dbName, event.getDbName()) && Objects.equals(tblName, event.getTblName());
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        BatchPartitionEvent batch = new BatchPartitionEvent(this);
+        return batch.addToBatchEvents(event);
+    }
+}
@@ -54,6 +54,19 @@ public abstract class RemoteFileSystem extends PersistentFileSystem {
         }
     }
 
+    /**
+     * The modification time of the file or the directory, a directory is modified when its children are added,
+     * removed or renamed. It's 0 if unknown, e.g. the directories of object storages.
+     */
+    public long getModificationTime(String remotePath) throws UserException {
+        org.apache.hadoop.fs.FileSystem fileSystem = nativeFileSystem(remotePath);
+        try {
+            return fileSystem.getFileStatus(new Path(remotePath)).getModificationTime();
+        } catch (IOException e) {
+            throw new UserException("Failed to get file status for path: " + remotePath, e);
+        }
+    }
+
     private RemoteFiles getFileLocations(RemoteIterator<LocatedFileStatus> locatedFiles) throws IOException {
         List<RemoteFile> locations = new ArrayList<>();
         while (locatedFiles.hasNext()) {
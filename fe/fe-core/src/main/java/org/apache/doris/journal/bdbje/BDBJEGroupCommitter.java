@@ -0,0 +1,140 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.journal.bdbje;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.sleepycat.je.DatabaseEntry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit of journals written concurrently.
+ *
+ * Writers put their journals into a queue and wait. A single committer thread takes all waiting journals,
+ * up to edit_log_group_commit_max_batch_num, and writes them in one bdbje transaction, so that they share
+ * one log sync and one round of replication. Writers are woken up only after the transaction is committed.
+ */
+class BDBJEGroupCommitter {
+    private static final Logger LOG = LogManager.getLogger(BDBJEGroupCommitter.class);
+
+    private final BDBJEJournal journal;
+    private final BlockingQueue<PendingJournal> queue = new LinkedBlockingQueue<>();
+
+    private static class PendingJournal {
+        private final short op;
+        private final DatabaseEntry data;
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        PendingJournal(short op, DatabaseEntry data) {
+            this.op = op;
+            this.data = data;
+        }
+    }
+
+    BDBJEGroupCommitter(BDBJEJournal journal) {
+        this.journal = journal;
+        Thread committer = new Thread(this::runCommitter, "bdbje-group-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Write the journal and wait until it is committed.
+     *
+     * @return the id of the journal, or -1 if it is an OP_TIMESTAMP which failed to be written.
+     */
+    long write(short op, DatabaseEntry data) throws IOException {
+        PendingJournal pending = new PendingJournal(op, data);
+        queue.add(pending);
+        try {
+            // the journal will be written even if the writer is interrupted, so wait for it anyway
+            return Uninterruptibles.getUninterruptibly(pending.future);
+        } catch (ExecutionException e) {
+            throw new IOException("failed to write journal", e.getCause());
+        }
+    }
+
+    private void runCommitter() {
+        List<PendingJournal> batch = Lists.newArrayList();
+        while (true) {
+            try {
+                collectBatch(batch);
+                commitBatch(batch);
+            } catch (Throwable t) {
+                LOG.warn("failed to commit {} journals", batch.size(), t);
+                for (PendingJournal pending : batch) {
+                    pending.future.completeExceptionally(t);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<PendingJournal> batch) throws InterruptedException {
+        int maxBatchNum = Math.max(1, Config.edit_log_group_commit_max_batch_num);
+        batch.add(queue.take());
+        queue.drainTo(batch, maxBatchNum - batch.size());
+
+        long maxDelayMs = Config.edit_log_group_commit_max_delay_ms;
+        if (maxDelayMs <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        while (batch.size() < maxBatchNum) {
+            long waitNanos = deadline - System.nanoTime();
+            if (waitNanos <= 0) {
+                break;
+            }
+            PendingJournal pending = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            if (pending == null) {
+                break;
+            }
+            batch.add(pending);
+            queue.drainTo(batch, maxBatchNum - batch.size());
+        }
+    }
+
+    private void commitBatch(List<PendingJournal> batch) {
+        List<Short> ops = Lists.newArrayListWithCapacity(batch.size());
+        List<DatabaseEntry> datas = Lists.newArrayListWithCapacity(batch.size());
+        for (PendingJournal pending : batch) {
+            ops.add(pending.op);
+            datas.add(pending.data);
+        }
+        long firstId = journal.writeBatch(ops, datas);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE.update(batch.size());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(firstId < 0 ? -1L : firstId + i);
+        }
+    }
+}
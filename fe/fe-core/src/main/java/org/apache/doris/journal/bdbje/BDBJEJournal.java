@@ -18,6 +18,7 @@
 package org.apache.doris.journal.bdbje;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.io.DataOutputBuffer;
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.common.util.Util;
@@ -28,6 +29,7 @@ import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.persist.OperationType;
 import org.apache.doris.system.SystemInfoService.HostInfo;
 
+import com.google.common.collect.Lists;
 import com.sleepycat.bind.tuple.TupleBinding;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseEntry;
@@ -35,6 +37,7 @@ import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.DatabaseNotFoundException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -69,6 +72,8 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
     private Database currentJournalDB;
     // the next journal's id. start from 1.
     private AtomicLong nextJournalId = new AtomicLong(1);
+    // not null if concurrent writes are committed in batches
+    private volatile BDBJEGroupCommitter groupCommitter;
 
     public BDBJEJournal(String nodeName) {
         initBDBEnv(nodeName);
@@ -120,18 +125,11 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
     }
 
     @Override
-    public synchronized long write(short op, Writable writable) throws IOException {
+    public long write(short op, Writable writable) throws IOException {
         JournalEntity entity = new JournalEntity();
         entity.setOpCode(op);
         entity.setData(writable);
 
-        // id is the key
-        long id = nextJournalId.getAndIncrement();
-        Long idLong = id;
-        DatabaseEntry theKey = new DatabaseEntry();
-        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
-        idBinding.objectToEntry(idLong, theKey);
-
         // entity is the value
         DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
         entity.write(buffer);
@@ -142,6 +140,21 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
             MetricRepo.COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES.increase((long) theData.getSize());
         }
         LOG.debug("opCode = {}, journal size = {}", op, theData.getSize());
+        BDBJEGroupCommitter committer = groupCommitter;
+        if (committer != null) {
+            return committer.write(op, theData);
+        }
+        return writeOne(op, theData);
+    }
+
+    private synchronized long writeOne(short op, DatabaseEntry theData) {
+        // id is the key
+        long id = nextJournalId.getAndIncrement();
+        Long idLong = id;
+        DatabaseEntry theKey = new DatabaseEntry();
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        idBinding.objectToEntry(idLong, theKey);
+
         // Write the key value pair to bdb.
         boolean writeSucceed = false;
         for (int i = 0; i < RETRY_TIME; i++) {
@@ -186,6 +199,74 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
         return id;
     }
 
+    /*
+     * Write a batch of journals in one bdbje transaction, so that they share one log sync and one round of
+     * replication. Return the id of the first journal, the following journals get consecutive ids.
+     * Return -1 if all journals are OP_TIMESTAMP and failed to be written.
+     */
+    synchronized long writeBatch(List<Short> ops, List<DatabaseEntry> datas) {
+        long firstId = nextJournalId.get();
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        List<DatabaseEntry> keys = Lists.newArrayListWithCapacity(datas.size());
+        for (int i = 0; i < datas.size(); i++) {
+            DatabaseEntry theKey = new DatabaseEntry();
+            idBinding.objectToEntry(firstId + i, theKey);
+            keys.add(theKey);
+        }
+
+        boolean writeSucceed = false;
+        for (int i = 0; i < RETRY_TIME && !writeSucceed; i++) {
+            Transaction txn = null;
+            try {
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean putSucceed = true;
+                for (int j = 0; j < datas.size() && putSucceed; j++) {
+                    putSucceed = currentJournalDB.put(txn, keys.get(j), datas.get(j)) == OperationStatus.SUCCESS;
+                }
+                if (putSucceed) {
+                    txn.commit();
+                    txn = null;
+                    writeSucceed = true;
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("master write journal {} to {} finished. db name {}", firstId,
+                                firstId + datas.size() - 1, currentJournalDB.getDatabaseName());
+                    }
+                }
+            } catch (DatabaseException e) {
+                LOG.error("catch an exception when writing to database. sleep and retry. journal id {} to {}",
+                        firstId, firstId + datas.size() - 1, e);
+                try {
+                    Thread.sleep(5 * 1000);
+                } catch (InterruptedException e1) {
+                    LOG.warn("", e1);
+                }
+            } finally {
+                if (txn != null) {
+                    try {
+                        txn.abort();
+                    } catch (DatabaseException e) {
+                        LOG.warn("failed to abort bdbje transaction", e);
+                    }
+                }
+            }
+        }
+
+        if (!writeSucceed) {
+            if (ops.stream().allMatch(op -> op == OperationType.OP_TIMESTAMP)) {
+                // same as writeOne(), do not exit if only OP_TIMESTAMP failed
+                LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
+                return -1;
+            }
+            String msg = "write bdb failed. will exit. journalId: " + firstId + ", bdb database Name: "
+                    + currentJournalDB.getDatabaseName();
+            LOG.error(msg);
+            Util.stdoutWithTime(msg);
+            System.exit(-1);
+        }
+        nextJournalId.addAndGet(datas.size());
+        return firstId;
+    }
+
     @Override
     public JournalEntity read(long journalId) {
         List<Long> dbNames = getDatabaseNames();
@@ -350,6 +431,9 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
 
                 // set next journal id
                 nextJournalId.set(getMaxJournalId() + 1);
+                if (Config.enable_edit_log_group_commit && groupCommitter == null) {
+                    groupCommitter = new BDBJEGroupCommitter(this);
+                }
 
                 break;
             } catch (InsufficientLogException insufficientLogEx) {
@@ -84,6 +84,7 @@ import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTabletMetaInfo;
 import org.apache.doris.thrift.TTaskType;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
@@ -110,6 +111,11 @@ public class ReportHandler extends Daemon {
 
     private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
 
+    // backend id -> generation of the last tablet report applied, which delta tablet reports are based on
+    private final Map<Long, Long> tabletReportGenerations = Maps.newConcurrentMap();
+    // backends whose delta tablet report could not be applied, they are asked for a full tablet report
+    private final Set<Long> backendsNeedFullTabletReport = Sets.newConcurrentHashSet();
+
     private enum ReportType {
         UNKNOWN,
         TASK,
@@ -151,6 +157,9 @@ public class ReportHandler extends Daemon {
         Map<String, TDisk> disks = null;
         Map<Long, TTablet> tablets = null;
         long reportVersion = -1;
+        long tabletReportGeneration = -1;
+        long baseTabletReportGeneration = -1;
+        List<Long> removedTablets = null;
 
         ReportType reportType = ReportType.UNKNOWN;
 
@@ -175,11 +184,20 @@ public class ReportHandler extends Daemon {
             reportType = ReportType.TABLET;
         }
 
+        if (tablets != null && request.isSetTabletReportGeneration()) {
+            tabletReportGeneration = request.getTabletReportGeneration();
+            if (request.isSetBaseTabletReportGeneration()) {
+                baseTabletReportGeneration = request.getBaseTabletReportGeneration();
+                removedTablets = request.isSetRemovedTablets() ? request.getRemovedTablets() : Lists.newArrayList();
+            }
+        }
+
         if (request.isSetTabletMaxCompactionScore()) {
             backend.setTabletMaxCompactionScore(request.getTabletMaxCompactionScore());
         }
 
         ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, reportVersion,
+                tabletReportGeneration, baseTabletReportGeneration, removedTablets,
                 request.getStoragePolicy(), request.getResource());
         try {
             putToQueue(reportTask);
@@ -191,6 +209,9 @@ public class ReportHandler extends Daemon {
             tStatus.setErrorMsgs(errorMsgs);
             return result;
         }
+        if (needFullTabletReport(beId)) {
+            result.setNeedFullTabletReport(true);
+        }
 
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
                 backend.getId(), reportType, reportQueue.size());
@@ -202,6 +223,50 @@ public class ReportHandler extends Daemon {
         return result;
     }
 
+    /**
+     * Check whether the tablet report of the backend can be applied. A delta tablet report can only be applied if
+     * the report it is based on is the last applied one, otherwise the backend is asked for a full tablet report.
+     *
+     * @param tabletReportGeneration -1 if not set by backend
+     * @param baseTabletReportGeneration -1 if it is a full tablet report
+     */
+    @VisibleForTesting
+    boolean canApplyTabletReport(long beId, long reportVersion, long backendReportVersion,
+            long tabletReportGeneration, long baseTabletReportGeneration) {
+        if (reportVersion < backendReportVersion) {
+            LOG.warn("out of date report version {} from backend[{}]. current report version[{}]",
+                    reportVersion, beId, backendReportVersion);
+            if (tabletReportGeneration >= 0) {
+                // the next delta tablet report will be based on this skipped one
+                backendsNeedFullTabletReport.add(beId);
+            }
+            return false;
+        }
+        if (baseTabletReportGeneration >= 0
+                && !Long.valueOf(baseTabletReportGeneration).equals(tabletReportGenerations.get(beId))) {
+            // the report it is based on was lost or skipped, or this fe has just become master
+            LOG.info("delta tablet report of backend[{}] is based on generation {}, but the last applied"
+                    + " generation is {}, ask for a full tablet report",
+                    beId, baseTabletReportGeneration, tabletReportGenerations.get(beId));
+            backendsNeedFullTabletReport.add(beId);
+            return false;
+        }
+        return true;
+    }
+
+    @VisibleForTesting
+    void finishTabletReport(long beId, long tabletReportGeneration) {
+        if (tabletReportGeneration >= 0) {
+            tabletReportGenerations.put(beId, tabletReportGeneration);
+        }
+    }
+
+    // the flag is set again if the next delta tablet report is still not based on an applied report
+    @VisibleForTesting
+    boolean needFullTabletReport(long beId) {
+        return backendsNeedFullTabletReport.remove(beId);
+    }
+
     private void putToQueue(ReportTask reportTask) throws Exception {
         int currentSize = reportQueue.size();
         if (currentSize > Config.report_queue_size) {
@@ -232,6 +297,12 @@ public class ReportHandler extends Daemon {
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
         private long reportVersion;
+        // -1 if not set by backend
+        private long tabletReportGeneration;
+        // -1 if it is a full tablet report
+        private long baseTabletReportGeneration;
+        // only set in delta tablet report
+        private List<Long> removedTablets;
 
         private List<TStoragePolicy> storagePolicies;
         private List<TStorageResource> storageResources;
@@ -239,12 +310,16 @@ public class ReportHandler extends Daemon {
         public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
                           Map<Long, TTablet> tablets, long reportVersion,
+                          long tabletReportGeneration, long baseTabletReportGeneration, List<Long> removedTablets,
                           List<TStoragePolicy> storagePolicies, List<TStorageResource> storageResources) {
             this.beId = beId;
             this.tasks = tasks;
             this.disks = disks;
             this.tablets = tablets;
             this.reportVersion = reportVersion;
+            this.tabletReportGeneration = tabletReportGeneration;
+            this.baseTabletReportGeneration = baseTabletReportGeneration;
+            this.removedTablets = removedTablets;
             this.storagePolicies = storagePolicies;
             this.storageResources = storageResources;
         }
@@ -263,11 +338,10 @@ public class ReportHandler extends Daemon {
 
             if (tablets != null) {
                 long backendReportVersion = Env.getCurrentSystemInfo().getBackendReportVersion(beId);
-                if (reportVersion < backendReportVersion) {
-                    LOG.warn("out of date report version {} from backend[{}]. current report version[{}]",
-                            reportVersion, beId, backendReportVersion);
-                } else {
-                    ReportHandler.tabletReport(beId, tablets, reportVersion);
+                if (canApplyTabletReport(beId, reportVersion, backendReportVersion, tabletReportGeneration,
+                        baseTabletReportGeneration)) {
+                    ReportHandler.tabletReport(beId, tablets, removedTablets, reportVersion);
+                    finishTabletReport(beId, tabletReportGeneration);
                 }
             }
         }
@@ -400,10 +474,18 @@ public class ReportHandler extends Daemon {
         }
     }
 
-    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
+    /**
+     * @param removedTablets null for a full tablet report. For a delta tablet report, backendTablets only
+     *                       contains the tablets changed since the last applied report, and removedTablets
+     *                       contains the tablets dropped since then, so only these tablets are checked.
+     */
+    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, List<Long> removedTablets,
+                                     long backendReportVersion) {
         long start = System.currentTimeMillis();
-        LOG.info("backend[{}] reports {} tablet(s). report version: {}",
-                backendId, backendTablets.size(), backendReportVersion);
+        LOG.info("backend[{}] reports {} tablet(s){}. report version: {}",
+                backendId, backendTablets.size(),
+                removedTablets == null ? "" : " and " + removedTablets.size() + " removed tablet(s) in delta",
+                backendReportVersion);
 
         // storage medium map
         HashMap<Long, TStorageMedium> storageMediumMap = Config.disable_storage_medium_check
@@ -431,7 +513,7 @@ public class ReportHandler extends Daemon {
         List<CooldownConf> cooldownConfToUpdate = new LinkedList<>();
 
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
-        Env.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, storageMediumMap,
+        Env.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, removedTablets, storageMediumMap,
                 tabletSyncMap,
                 tabletDeleteFromMeta,
                 tabletFoundInMeta,
@@ -32,8 +32,12 @@ import org.apache.doris.load.routineload.RoutineLoadManager;
 import org.apache.doris.metric.Metric.MetricUnit;
 import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
+import org.apache.doris.mysql.MysqlBufferPool;
+import org.apache.doris.nereids.cache.FoldConstantCache;
+import org.apache.doris.nereids.cache.PlanCache;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.qe.QeProcessorImpl;
+import org.apache.doris.qe.cache.CacheFeProxy;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
@@ -83,6 +87,17 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_ADDED_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
+    public static LongCounterMetric COUNTER_CACHE_FE_HIT;
+    public static LongCounterMetric COUNTER_CACHE_FE_MISS;
+    public static LongCounterMetric COUNTER_CACHE_FE_EVICTED;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_MISS;
+    public static LongCounterMetric COUNTER_FOLD_CONSTANT_CACHE_HIT;
+    public static LongCounterMetric COUNTER_FOLD_CONSTANT_CACHE_MISS;
+    public static LongCounterMetric COUNTER_FILE_LISTING;
+    public static LongCounterMetric COUNTER_FILE_LISTING_FILES;
+    public static LongCounterMetric COUNTER_FILE_LISTING_THROTTLED;
+    public static Histogram HISTO_FILE_LISTING_LATENCY;
 
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
@@ -92,6 +107,7 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_SUCCESS;
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_FAILED;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE;
 
     public static LongCounterMetric COUNTER_IMAGE_WRITE_SUCCESS;
     public static LongCounterMetric COUNTER_IMAGE_WRITE_FAILED;
@@ -121,6 +137,7 @@ public final class MetricRepo {
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
     public static GaugeMetricImpl<Double> GAUGE_REQUEST_PER_SECOND;
     public static GaugeMetricImpl<Double> GAUGE_QUERY_ERR_RATE;
+    public static GaugeMetricImpl<Double> GAUGE_EDIT_LOG_REPLAY_PER_SECOND;
     public static GaugeMetricImpl<Long> GAUGE_MAX_TABLET_COMPACTION_SCORE;
 
     private static ScheduledThreadPoolExecutor metricTimer = ThreadPoolManager.newDaemonScheduledThreadPool(1,
@@ -215,6 +232,26 @@ public final class MetricRepo {
         };
         DORIS_METRIC_REGISTER.addMetrics(connections);
 
+        // mysql send buffer pool
+        GaugeMetric<Long> mysqlBufferPooled = new GaugeMetric<Long>("mysql_buffer_pool_bytes", MetricUnit.BYTES,
+                "bytes of idle buffers cached in mysql send buffer pool") {
+            @Override
+            public Long getValue() {
+                return MysqlBufferPool.getInstance().getPooledBytes();
+            }
+        };
+        mysqlBufferPooled.addLabel(new MetricLabel("type", "pooled"));
+        DORIS_METRIC_REGISTER.addMetrics(mysqlBufferPooled);
+        GaugeMetric<Long> mysqlBufferLeased = new GaugeMetric<Long>("mysql_buffer_pool_bytes", MetricUnit.BYTES,
+                "bytes of buffers leased from mysql send buffer pool") {
+            @Override
+            public Long getValue() {
+                return MysqlBufferPool.getInstance().getLeasedBytes();
+            }
+        };
+        mysqlBufferLeased.addLabel(new MetricLabel("type", "leased"));
+        DORIS_METRIC_REGISTER.addMetrics(mysqlBufferLeased);
+
         // journal id
         GaugeMetric<Long> maxJournalId = new GaugeMetric<Long>("max_journal_id", MetricUnit.NOUNIT,
                 "max journal id of this frontends") {
@@ -336,6 +373,82 @@ public final class MetricRepo {
                 "total hits query by partition model");
         COUNTER_CACHE_HIT_PARTITION.addLabel(new MetricLabel("type", "partition"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PARTITION);
+        COUNTER_CACHE_FE_HIT = new LongCounterMetric("fe_result_cache", MetricUnit.REQUESTS,
+                "total hits of result cache in fe memory");
+        COUNTER_CACHE_FE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_HIT);
+        COUNTER_CACHE_FE_MISS = new LongCounterMetric("fe_result_cache", MetricUnit.REQUESTS,
+                "total misses of result cache in fe memory");
+        COUNTER_CACHE_FE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_MISS);
+        COUNTER_CACHE_FE_EVICTED = new LongCounterMetric("fe_result_cache", MetricUnit.REQUESTS,
+                "total entries evicted from result cache in fe memory");
+        COUNTER_CACHE_FE_EVICTED.addLabel(new MetricLabel("type", "evicted"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_EVICTED);
+        GaugeMetric<Long> feResultCacheBytes = new GaugeMetric<Long>("fe_result_cache_bytes", MetricUnit.BYTES,
+                "bytes of results cached in fe memory") {
+            @Override
+            public Long getValue() {
+                return CacheFeProxy.getCachedBytes();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(feResultCacheBytes);
+        GaugeMetric<Long> feResultCacheEntries = new GaugeMetric<Long>("fe_result_cache_entries", MetricUnit.NOUNIT,
+                "number of results cached in fe memory") {
+            @Override
+            public Long getValue() {
+                return CacheFeProxy.getCachedEntries();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(feResultCacheEntries);
+        COUNTER_PLAN_CACHE_HIT = new LongCounterMetric("nereids_plan_cache", MetricUnit.REQUESTS,
+                "total queries which reuse a cached nereids plan");
+        COUNTER_PLAN_CACHE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_PLAN_CACHE_HIT);
+        COUNTER_PLAN_CACHE_MISS = new LongCounterMetric("nereids_plan_cache", MetricUnit.REQUESTS,
+                "total queries which are planned from scratch while nereids plan cache is enabled");
+        COUNTER_PLAN_CACHE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_PLAN_CACHE_MISS);
+        GaugeMetric<Long> planCacheEntries = new GaugeMetric<Long>("nereids_plan_cache_entries", MetricUnit.NOUNIT,
+                "number of nereids plans cached in fe") {
+            @Override
+            public Long getValue() {
+                return PlanCache.getInstance().getCachedEntries();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(planCacheEntries);
+        COUNTER_FOLD_CONSTANT_CACHE_HIT = new LongCounterMetric("fold_constant_cache", MetricUnit.REQUESTS,
+                "total constant expressions whose folding results are got from cache");
+        COUNTER_FOLD_CONSTANT_CACHE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_FOLD_CONSTANT_CACHE_HIT);
+        COUNTER_FOLD_CONSTANT_CACHE_MISS = new LongCounterMetric("fold_constant_cache", MetricUnit.REQUESTS,
+                "total constant expressions which are folded from scratch");
+        COUNTER_FOLD_CONSTANT_CACHE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_FOLD_CONSTANT_CACHE_MISS);
+        GaugeMetric<Long> foldConstantCacheEntries = new GaugeMetric<Long>("fold_constant_cache_entries",
+                MetricUnit.NOUNIT, "number of constant folding results cached in fe") {
+            @Override
+            public Long getValue() {
+                return FoldConstantCache.getInstance().getCachedEntries();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(foldConstantCacheEntries);
+
+        // file listing of external tables
+        COUNTER_FILE_LISTING = new LongCounterMetric("file_listing", MetricUnit.REQUESTS,
+                "total listings of the locations of external table partitions");
+        COUNTER_FILE_LISTING.addLabel(new MetricLabel("type", "location"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_FILE_LISTING);
+        COUNTER_FILE_LISTING_FILES = new LongCounterMetric("file_listing", MetricUnit.NOUNIT,
+                "total files and splits listed from the locations of external table partitions");
+        COUNTER_FILE_LISTING_FILES.addLabel(new MetricLabel("type", "file"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_FILE_LISTING_FILES);
+        COUNTER_FILE_LISTING_THROTTLED = new LongCounterMetric("file_listing", MetricUnit.REQUESTS,
+                "total listings waiting for the concurrency limit of the catalog or the file system");
+        COUNTER_FILE_LISTING_THROTTLED.addLabel(new MetricLabel("type", "throttled"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_FILE_LISTING_THROTTLED);
+        HISTO_FILE_LISTING_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("file_listing", "latency", "ms"));
 
         // edit log
         COUNTER_EDIT_LOG_WRITE = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
@@ -346,6 +459,10 @@ public final class MetricRepo {
                 "counter of edit log read from bdbje");
         COUNTER_EDIT_LOG_READ.addLabel(new MetricLabel("type", "read"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_EDIT_LOG_READ);
+        GAUGE_EDIT_LOG_REPLAY_PER_SECOND = new GaugeMetricImpl<>("edit_log_replay_per_second", MetricUnit.NOUNIT,
+                "edit log replayed per second");
+        GAUGE_EDIT_LOG_REPLAY_PER_SECOND.setValue(0.0);
+        DORIS_METRIC_REGISTER.addMetrics(GAUGE_EDIT_LOG_REPLAY_PER_SECOND);
         COUNTER_EDIT_LOG_CURRENT = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
                 "counter of current edit log in bdbje");
         COUNTER_EDIT_LOG_CURRENT.addLabel(new MetricLabel("type", "current"));
@@ -360,6 +477,8 @@ public final class MetricRepo {
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES);
         HISTO_EDIT_LOG_WRITE_LATENCY = METRIC_REGISTER.histogram(
             MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE = METRIC_REGISTER.histogram(
+            MetricRegistry.name("editlog", "group_commit", "batch", "size"));
 
         // edit log clean
         COUNTER_EDIT_LOG_CLEAN_SUCCESS = new LongCounterMetric("edit_log_clean", MetricUnit.OPERATIONS,
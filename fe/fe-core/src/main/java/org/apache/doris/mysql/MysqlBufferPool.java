@@ -0,0 +1,154 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.Lists;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process wide pool of packet buffers shared by all MysqlChannels.
+ * Buffers are grouped by size tier and only leased while a packet is being built or flushed,
+ * so an idle connection does not pin any send buffer.
+ * Released buffers are kept until the pooled bytes reach the configured limit, extra buffers are
+ * simply dropped and reclaimed by GC.
+ */
+public class MysqlBufferPool {
+    // buffer size of each tier, from small to large.
+    public static final int[] TIER_SIZES = {16 * 1024, 256 * 1024, 2 * 1024 * 1024};
+
+    private static volatile MysqlBufferPool INSTANCE;
+
+    private final List<ConcurrentLinkedDeque<ByteBuffer>> freeLists = Lists.newArrayList();
+    private final long maxPooledBytes;
+    private final boolean useDirect;
+    // bytes of buffers currently kept in free lists
+    private final AtomicLong pooledBytes = new AtomicLong(0);
+    // bytes of buffers currently leased by channels
+    private final AtomicLong leasedBytes = new AtomicLong(0);
+
+    MysqlBufferPool(long maxPooledBytes, boolean useDirect) {
+        this.maxPooledBytes = maxPooledBytes;
+        this.useDirect = useDirect;
+        for (int i = 0; i < TIER_SIZES.length; i++) {
+            freeLists.add(new ConcurrentLinkedDeque<>());
+        }
+    }
+
+    public static MysqlBufferPool getInstance() {
+        if (INSTANCE == null) {
+            synchronized (MysqlBufferPool.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new MysqlBufferPool(Config.mysql_buffer_pool_max_bytes,
+                            Config.mysql_buffer_pool_use_direct_memory);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Lease a cleared buffer whose capacity is the smallest tier no less than minCapacity.
+     * If minCapacity exceeds the largest tier, a buffer of the largest tier is returned,
+     * caller should write larger payload to the socket directly.
+     */
+    public ByteBuffer lease(int minCapacity) {
+        int tier = tierOf(minCapacity);
+        ByteBuffer buffer = freeLists.get(tier).pollFirst();
+        if (buffer != null) {
+            pooledBytes.addAndGet(-buffer.capacity());
+            buffer.clear();
+        } else if (useDirect) {
+            buffer = ByteBuffer.allocateDirect(TIER_SIZES[tier]);
+        } else {
+            buffer = ByteBuffer.allocate(TIER_SIZES[tier]);
+        }
+        leasedBytes.addAndGet(buffer.capacity());
+        return buffer;
+    }
+
+    /**
+     * Give back a buffer got from lease(). The caller must not touch the buffer after release.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        int tier = exactTierOf(capacity);
+        if (tier < 0 || buffer.isDirect() != useDirect) {
+            // not leased from this pool
+            return;
+        }
+        leasedBytes.addAndGet(-capacity);
+        if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+            pooledBytes.addAndGet(-capacity);
+            return;
+        }
+        buffer.clear();
+        // LIFO, so that recently used buffers, which are more likely to be hot in cache, are reused first.
+        freeLists.get(tier).offerFirst(buffer);
+    }
+
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    public long getLeasedBytes() {
+        return leasedBytes.get();
+    }
+
+    /**
+     * Return the size of the tier next to the given capacity, or the largest tier if already the largest.
+     */
+    public static int nextTierSize(int capacity) {
+        for (int size : TIER_SIZES) {
+            if (size > capacity) {
+                return size;
+            }
+        }
+        return TIER_SIZES[TIER_SIZES.length - 1];
+    }
+
+    public static int maxTierSize() {
+        return TIER_SIZES[TIER_SIZES.length - 1];
+    }
+
+    private static int tierOf(int minCapacity) {
+        for (int i = 0; i < TIER_SIZES.length; i++) {
+            if (TIER_SIZES[i] >= minCapacity) {
+                return i;
+            }
+        }
+        return TIER_SIZES.length - 1;
+    }
+
+    private static int exactTierOf(int capacity) {
+        for (int i = 0; i < TIER_SIZES.length; i++) {
+            if (TIER_SIZES[i] == capacity) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -59,7 +59,15 @@ public class MysqlChannel {
     protected ByteBuffer sslHeaderByteBuffer;
     protected ByteBuffer tempBuffer;
     protected ByteBuffer remainingBuffer;
+    // leased from MysqlBufferPool only while a packet is being built or flushed, null when idle.
     protected ByteBuffer sendBuffer;
+    // guards sendBuffer, close may be called by other thread, e.g. when the connection is killed.
+    private final Object sendLock = new Object();
+    private boolean closed = false;
+    // capacity to ask for when leasing next send buffer, grows when the buffer is filled up by one query.
+    protected int sendBufferSizeHint = MysqlBufferPool.TIER_SIZES[0];
+    // used for gather write of buffered data and a large packet, avoiding to copy the packet into send buffer.
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[2];
 
     protected ByteBuffer decryptAppData;
     protected ByteBuffer encryptNetData;
@@ -99,7 +107,6 @@ public class MysqlChannel {
         this.serializer = MysqlSerializer.newInstance();
         this.defaultBuffer = ByteBuffer.allocate(16 * 1024);
         this.headerByteBuffer = ByteBuffer.allocate(PACKET_HEADER_LEN);
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
     }
 
     public void initSslBuffer() {
@@ -165,6 +172,11 @@ public class MysqlChannel {
         } catch (IOException e) {
             LOG.warn("Close channel exception, ignore.");
         }
+        // the connection is closed first, so that a thread blocked in writing fails and gives up the send lock.
+        synchronized (sendLock) {
+            closed = true;
+            releaseSendBuffer();
+        }
     }
 
     // all packet header is not encrypted, packet body is not sure.
@@ -377,23 +389,75 @@ public class MysqlChannel {
     }
 
     public void flush() throws IOException {
-        if (null == sendBuffer || sendBuffer.position() == 0) {
-            // Nothing to send
-            return;
+        synchronized (sendLock) {
+            if (null == sendBuffer || sendBuffer.position() == 0) {
+                // Nothing to send
+                releaseSendBuffer();
+                return;
+            }
+            sendBuffer.flip();
+            try {
+                realNetSend(sendBuffer);
+            } finally {
+                releaseSendBuffer();
+            }
+            isSend = true;
         }
-        sendBuffer.flip();
-        realNetSend(sendBuffer);
-        sendBuffer.clear();
-        isSend = true;
     }
 
-    private void writeHeader(int length, boolean isSsl) throws IOException {
-        if (null == sendBuffer) {
-            return;
+    // flush because send buffer is full, so lease a larger one for the following packets of this query.
+    private void flushFullBuffer() throws IOException {
+        if (sendBuffer != null) {
+            sendBufferSizeHint = MysqlBufferPool.nextTierSize(sendBuffer.capacity());
+        }
+        flush();
+    }
+
+    private void ensureSendBuffer() throws IOException {
+        if (closed) {
+            // the buffer would never be released after the channel is closed
+            throw new IOException("Channel is closed.");
+        }
+        if (sendBuffer == null) {
+            sendBuffer = MysqlBufferPool.getInstance().lease(sendBufferSizeHint);
+        }
+    }
+
+    private void releaseSendBuffer() {
+        if (sendBuffer != null) {
+            MysqlBufferPool.getInstance().release(sendBuffer);
+            sendBuffer = null;
         }
+    }
+
+    // write the buffered data and the packet with one gather write, the packet is never copied.
+    private void gatherNetSend(ByteBuffer packet) throws IOException {
+        ByteBuffer buffered = sendBuffer;
+        buffered.flip();
+        gatherBuffers[0] = buffered;
+        gatherBuffers[1] = packet;
+        try {
+            long bufLen = (long) buffered.remaining() + packet.remaining();
+            long writeLen = Channels.writeBlocking(conn.getSinkChannel(), gatherBuffers, 0, gatherBuffers.length);
+            if (bufLen != writeLen) {
+                throw new IOException("Write mysql packet failed.[write=" + writeLen
+                        + ", needToWrite=" + bufLen + "]");
+            }
+            Channels.flushBlocking(conn.getSinkChannel());
+            isSend = true;
+        } finally {
+            gatherBuffers[0] = null;
+            gatherBuffers[1] = null;
+            releaseSendBuffer();
+        }
+    }
+
+    private void writeHeader(int length, boolean isSsl) throws IOException {
+        ensureSendBuffer();
         long leftLength = sendBuffer.capacity() - sendBuffer.position();
         if (leftLength < 4) {
-            flush();
+            flushFullBuffer();
+            ensureSendBuffer();
         }
 
         long newLen = length;
@@ -405,14 +469,21 @@ public class MysqlChannel {
     }
 
     private void writeBuffer(ByteBuffer buffer, boolean isSsl) throws IOException {
-        if (null == sendBuffer) {
-            return;
-        }
+        ensureSendBuffer();
         long leftLength = sendBuffer.capacity() - sendBuffer.position();
-        // If too long for buffer, send buffered data.
-        if (leftLength < buffer.remaining()) {
+        // If too long for buffer, send buffered data and this buffer together without copying it.
+        if (leftLength < buffer.remaining() && !isSsl && !isSslHandshaking) {
+            if (buffer.remaining() >= MysqlBufferPool.maxTierSize() / 2) {
+                sendBufferSizeHint = MysqlBufferPool.maxTierSize();
+                gatherNetSend(buffer);
+                return;
+            }
+            flushFullBuffer();
+            ensureSendBuffer();
+        } else if (leftLength < buffer.remaining()) {
             // Flush data in buffer.
-            flush();
+            flushFullBuffer();
+            ensureSendBuffer();
         }
         // Send this buffer if large enough
         if (buffer.remaining() > sendBuffer.capacity()) {
@@ -424,6 +495,12 @@ public class MysqlChannel {
     }
 
     public void sendOnePacket(ByteBuffer packet) throws IOException {
+        synchronized (sendLock) {
+            sendOnePacketLocked(packet);
+        }
+    }
+
+    private void sendOnePacketLocked(ByteBuffer packet) throws IOException {
         // handshake in packet with header and has encrypted, need to send in ssl format
         // ssl mode in packet no header and no encrypted, need to encrypted and add header and send in ssl format
         int bufLen;
@@ -458,8 +535,9 @@ public class MysqlChannel {
     // Call this function before send query before
     public void reset() {
         isSend = false;
-        if (null != sendBuffer) {
-            sendBuffer.clear();
+        synchronized (sendLock) {
+            sendBufferSizeHint = MysqlBufferPool.TIER_SIZES[0];
+            releaseSendBuffer();
         }
     }
 
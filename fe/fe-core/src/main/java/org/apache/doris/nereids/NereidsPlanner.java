@@ -25,6 +25,8 @@ import org.apache.doris.common.NereidsException;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.nereids.CascadesContext.Lock;
+import org.apache.doris.nereids.cache.ParameterizedStatement;
+import org.apache.doris.nereids.cache.PlanCache;
 import org.apache.doris.nereids.exceptions.AnalysisException;
 import org.apache.doris.nereids.glue.LogicalPlanAdapter;
 import org.apache.doris.nereids.glue.translator.PhysicalPlanTranslator;
@@ -53,6 +55,7 @@ import org.apache.doris.planner.Planner;
 import org.apache.doris.planner.RuntimeFilter;
 import org.apache.doris.planner.ScanNode;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.SessionVariable;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
@@ -92,6 +95,7 @@ public class NereidsPlanner extends Planner {
     private PhysicalPlan physicalPlan;
     // The cost of optimized plan
     private double cost = 0;
+    private boolean enablePlanCache = false;
 
     public NereidsPlanner(StatementContext statementContext) {
         this.statementContext = statementContext;
@@ -114,6 +118,14 @@ public class NereidsPlanner extends Planner {
         NereidsTracer.logImportantTime("EndParsePlan");
         setParsedPlan(parsedPlan);
         PhysicalProperties requireProperties = buildInitRequireProperties();
+        SessionVariable sessionVariable = statementContext.getConnectContext().getSessionVariable();
+        enablePlanCache = explainLevel == ExplainLevel.NONE
+                && !logicalPlanAdapter.hasOutFileClause()
+                && sessionVariable.isEnableNereidsPlanCache()
+                && !sessionVariable.isPlayNereidsDump()
+                && !sessionVariable.isEnableMinidump()
+                && !sessionVariable.isEnableNereidsTrace()
+                && statementContext.getConnectContext().getTables() == null;
         Plan resultPlan = plan(parsedPlan, requireProperties, explainLevel);
         setOptimizedPlan(resultPlan);
         if (explainLevel.isPlanLevel) {
@@ -179,6 +191,22 @@ public class NereidsPlanner extends Planner {
         initCascadesContext(plan, requireProperties);
 
         try (Lock lock = new Lock(plan, cascadesContext)) {
+            Optional<ParameterizedStatement> parameterizedStatement = Optional.empty();
+            if (enablePlanCache) {
+                parameterizedStatement = ParameterizedStatement.of(statementContext, plan, cascadesContext.getTables());
+            }
+            if (parameterizedStatement.isPresent()) {
+                Optional<PhysicalPlan> cachedPlan = PlanCache.getInstance()
+                        .getPlan(parameterizedStatement.get(), statementContext);
+                if (cachedPlan.isPresent()) {
+                    if (statementContext.getConnectContext().getExecutor() != null) {
+                        statementContext.getConnectContext().getExecutor().getSummaryProfile()
+                                .setQueryAnalysisFinishTime();
+                    }
+                    return postProcess(cachedPlan.get());
+                }
+            }
+
             // resolve column, table and function
 
             Span queryAnalysisSpan =
@@ -188,6 +216,9 @@ public class NereidsPlanner extends Planner {
                 // analyze this query
                 analyze();
                 NereidsTracer.logImportantTime("EndAnalyzePlan");
+                if (parameterizedStatement.isPresent() && !PlanCache.isCacheable(cascadesContext.getRewritePlan())) {
+                    parameterizedStatement = Optional.empty();
+                }
             } catch (Exception e) {
                 queryAnalysisSpan.recordException(e);
                 throw e;
@@ -250,6 +281,9 @@ public class NereidsPlanner extends Planner {
 
             int nth = cascadesContext.getConnectContext().getSessionVariable().getNthOptimizedPlan();
             PhysicalPlan physicalPlan = chooseNthPlan(getRoot(), requireProperties, nth);
+            if (parameterizedStatement.isPresent()) {
+                PlanCache.getInstance().putPlan(parameterizedStatement.get(), physicalPlan);
+            }
 
             physicalPlan = postProcess(physicalPlan);
 
@@ -120,6 +120,15 @@ public class StatementContext {
         return objectIdGenerator.getNextId();
     }
 
+    /**
+     * Skip the ids used by a plan which is not generated in this statement, e.g. a plan got from plan cache,
+     * so that ExprIds and ObjectIds generated later do not conflict with it.
+     */
+    public void skipIdsTo(int nextExprId, int nextObjectId) {
+        exprIdGenerator.skipTo(nextExprId);
+        objectIdGenerator.skipTo(nextObjectId);
+    }
+
     public void setParsedStatement(StatementBase parsedStatement) {
         this.parsedStatement = parsedStatement;
     }
@@ -0,0 +1,452 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.NamedExpression;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.StringLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.VarcharLiteral;
+import org.apache.doris.nereids.trees.plans.AbstractPlan;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalAssertNumRows;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalDistribute;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalExcept;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalFilter;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalHashAggregate;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalHashJoin;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalIntersect;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalLimit;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalNestedLoopJoin;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPartitionTopN;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalProject;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalQuickSort;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalRepeat;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalTopN;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalUnion;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalWindow;
+import org.apache.doris.nereids.types.VarcharType;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * An optimized physical plan kept in plan cache, together with the literals of the statement it is planned for.
+ *
+ * A cached plan is only reused after it is verified: when a statement with the same key but different literals
+ * is planned from scratch, the cached plan is re-bound with the literals of that statement and compared with
+ * the newly generated plan. If they are the same, the literals which differ between the two statements are
+ * regarded as parameters, and later statements which only differ in these parameters reuse the cached plan
+ * by re-binding the parameters. Statements sharing exactly the same literals reuse the plan directly.
+ *
+ * To avoid re-binding a literal which is generated by the optimizer and happens to equal a parameter, a plan is
+ * not cacheable if such a literal is ambiguous. Parameters are only re-bound in filters, and the plan is not
+ * cacheable if partitions or tablets are pruned, since the pruning result depends on the literals.
+ */
+public class CachedPlan {
+    private static final Set<Class<?>> CACHEABLE_NODES = ImmutableSet.of(
+            PhysicalOlapScan.class, PhysicalFilter.class, PhysicalProject.class, PhysicalHashAggregate.class,
+            PhysicalHashJoin.class, PhysicalNestedLoopJoin.class, PhysicalDistribute.class,
+            PhysicalQuickSort.class, PhysicalTopN.class, PhysicalPartitionTopN.class, PhysicalLimit.class,
+            PhysicalAssertNumRows.class, PhysicalWindow.class, PhysicalRepeat.class, PhysicalUnion.class,
+            PhysicalExcept.class, PhysicalIntersect.class);
+
+    // the plan chosen from memo, without group expressions and before post processing
+    private final PhysicalPlan plan;
+    private final List<Literal> literals;
+    private final List<Long> tableIds;
+    private final List<String> tableSignatures;
+    private final List<PhysicalOlapScan> scans;
+    private final int nextExprId;
+    private final int nextObjectId;
+    // null if not verified yet
+    private volatile Binding binding;
+
+    private CachedPlan(PhysicalPlan plan, ParameterizedStatement statement) {
+        this.plan = plan;
+        this.literals = statement.getLiterals();
+        this.tableIds = statement.getTableIds();
+        this.tableSignatures = statement.getTableSignatures();
+        ImmutableList.Builder<PhysicalOlapScan> scanBuilder = ImmutableList.builder();
+        int maxExprId = -1;
+        int maxObjectId = -1;
+        for (Plan node : collectNodes(plan)) {
+            for (Slot slot : node.getOutput()) {
+                maxExprId = Math.max(maxExprId, slot.getExprId().asInt());
+            }
+            for (Expression expression : node.getExpressions()) {
+                List<NamedExpression> namedExpressions = expression.collectToList(NamedExpression.class::isInstance);
+                for (NamedExpression namedExpression : namedExpressions) {
+                    maxExprId = Math.max(maxExprId, namedExpression.getExprId().asInt());
+                }
+            }
+            if (node instanceof PhysicalOlapScan) {
+                scanBuilder.add((PhysicalOlapScan) node);
+                maxObjectId = Math.max(maxObjectId, ((PhysicalOlapScan) node).getId().asInt());
+            }
+        }
+        this.scans = scanBuilder.build();
+        this.nextExprId = maxExprId + 1;
+        this.nextObjectId = maxObjectId + 1;
+    }
+
+    /**
+     * Create an unverified cached plan. Return empty if the plan is not cacheable.
+     *
+     * @param physicalPlan the plan chosen from memo, before post processing
+     * @param statement the statement which the plan is generated for
+     */
+    public static Optional<CachedPlan> create(PhysicalPlan physicalPlan, ParameterizedStatement statement) {
+        Set<Long> scannedTableIds = new TreeSet<>();
+        for (Plan node : collectNodes(physicalPlan)) {
+            if (!CACHEABLE_NODES.contains(node.getClass()) || !node.extraPlans().isEmpty()) {
+                return Optional.empty();
+            }
+            if (node instanceof PhysicalOlapScan) {
+                PhysicalOlapScan scan = (PhysicalOlapScan) node;
+                if (isPruned(scan)) {
+                    return Optional.empty();
+                }
+                scannedTableIds.add(scan.getTable().getId());
+            }
+        }
+        // all tables locked when looking up the cache should be used in the plan, and vice versa
+        if (!ImmutableList.copyOf(scannedTableIds).equals(statement.getTableIds())) {
+            return Optional.empty();
+        }
+        PhysicalPlan plan = copy(physicalPlan, Function.identity());
+        return Optional.of(new CachedPlan(plan, statement));
+    }
+
+    /**
+     * Whether the tables are not changed since the plan is cached.
+     */
+    public boolean isValid(ParameterizedStatement statement) {
+        return tableIds.equals(statement.getTableIds()) && tableSignatures.equals(statement.getTableSignatures());
+    }
+
+    public boolean isVerified() {
+        return binding != null;
+    }
+
+    public List<PhysicalOlapScan> getScans() {
+        return scans;
+    }
+
+    public int getNextExprId() {
+        return nextExprId;
+    }
+
+    public int getNextObjectId() {
+        return nextObjectId;
+    }
+
+    /**
+     * Get a copy of the cached plan with the parameters replaced by the given literals.
+     * Return empty if the plan is not verified, or the literals can't be bound to the plan.
+     */
+    public Optional<PhysicalPlan> bind(List<Literal> newLiterals) {
+        Binding currentBinding = binding;
+        if (currentBinding == null || newLiterals.size() != literals.size()) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < literals.size(); i++) {
+            Literal oldLiteral = literals.get(i);
+            Literal newLiteral = newLiterals.get(i);
+            if (!currentBinding.paramMask[i]) {
+                if (!isSameLiteral(oldLiteral, newLiteral)) {
+                    return Optional.empty();
+                }
+            } else if (!isCompatible(oldLiteral, newLiteral)) {
+                return Optional.empty();
+            }
+        }
+        return bind(currentBinding, newLiterals);
+    }
+
+    /**
+     * Verify the cached plan with a plan generated from scratch for a statement with the same key.
+     * The literals which differ from the cached ones are added as parameters if verified.
+     *
+     * @return true if the cached plan could be reused by the statement.
+     */
+    public boolean verify(List<Literal> newLiterals, PhysicalPlan generatedPlan) {
+        if (newLiterals.size() != literals.size()) {
+            return false;
+        }
+        Binding currentBinding = binding;
+        boolean[] paramMask = new boolean[literals.size()];
+        for (int i = 0; i < literals.size(); i++) {
+            Literal oldLiteral = literals.get(i);
+            Literal newLiteral = newLiterals.get(i);
+            boolean isParam = currentBinding != null && currentBinding.paramMask[i];
+            if (!isSameLiteral(oldLiteral, newLiteral)) {
+                if (!isCompatible(oldLiteral, newLiteral)) {
+                    return false;
+                }
+                isParam = true;
+            }
+            paramMask[i] = isParam;
+        }
+        Optional<Binding> newBinding = createBinding(paramMask);
+        if (!newBinding.isPresent()) {
+            return false;
+        }
+        Optional<PhysicalPlan> boundPlan = bind(newBinding.get(), newLiterals);
+        if (!boundPlan.isPresent() || !isSamePlan(boundPlan.get(), generatedPlan)) {
+            return false;
+        }
+        binding = newBinding.get();
+        return true;
+    }
+
+    private Optional<PhysicalPlan> bind(Binding currentBinding, List<Literal> newLiterals) {
+        if (currentBinding.planLiteralToParam.isEmpty()) {
+            return Optional.of(copy(plan, Function.identity()));
+        }
+        boolean[] failed = new boolean[1];
+        PhysicalPlan boundPlan = copy(plan, planLiteral -> {
+            Integer index = currentBinding.planLiteralToParam.get(planLiteral);
+            if (index == null) {
+                return planLiteral;
+            }
+            Literal replacement = convert(newLiterals.get(index), literals.get(index), planLiteral);
+            if (replacement == null) {
+                failed[0] = true;
+                return planLiteral;
+            }
+            return replacement;
+        });
+        return failed[0] ? Optional.empty() : Optional.of(boundPlan);
+    }
+
+    /**
+     * Find out the literals in plan which come from the parameters.
+     */
+    private Optional<Binding> createBinding(boolean[] paramMask) {
+        for (int i = 0; i < literals.size(); i++) {
+            if (!paramMask[i]) {
+                continue;
+            }
+            for (int j = 0; j < literals.size(); j++) {
+                if (i != j && literals.get(i).equals(literals.get(j))) {
+                    return Optional.empty();
+                }
+            }
+        }
+        // literals in plan are compared by class and value, so literals of different data types may be equal,
+        // e.g. varchar of different length, each of them is converted by its own data type when binding.
+        Map<Literal, Integer> planLiteralToParam = new HashMap<>();
+        Set<Integer> boundParams = new HashSet<>();
+        for (Plan node : collectNodes(plan)) {
+            for (Expression expression : node.getExpressions()) {
+                List<Literal> planLiterals = expression.collectToList(Literal.class::isInstance);
+                for (Literal planLiteral : planLiterals) {
+                    int matchedParam = -1;
+                    boolean matchedConstant = false;
+                    for (int i = 0; i < literals.size(); i++) {
+                        Literal converted = convert(literals.get(i), literals.get(i), planLiteral);
+                        if (converted == null || !converted.equals(planLiteral)) {
+                            continue;
+                        }
+                        if (!paramMask[i]) {
+                            matchedConstant = true;
+                        } else if (matchedParam >= 0) {
+                            return Optional.empty();
+                        } else {
+                            matchedParam = i;
+                        }
+                    }
+                    if (matchedParam < 0) {
+                        continue;
+                    }
+                    Integer existing = planLiteralToParam.get(planLiteral);
+                    if (matchedConstant || !(node instanceof PhysicalFilter)
+                            || (existing != null && existing.intValue() != matchedParam)) {
+                        return Optional.empty();
+                    }
+                    planLiteralToParam.put(planLiteral, matchedParam);
+                    boundParams.add(matchedParam);
+                }
+            }
+        }
+        for (int i = 0; i < literals.size(); i++) {
+            if (paramMask[i] && !boundParams.contains(i)) {
+                // the parameter is consumed by optimizer, e.g. folded with other literals
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new Binding(paramMask, planLiteralToParam));
+    }
+
+    /**
+     * Convert the value to the form of target, which is a literal in plan corresponding to the template literal
+     * in statement. Return null if it can't be converted without changing the value.
+     */
+    @VisibleForTesting
+    static Literal convert(Literal value, Literal template, Literal target) {
+        if (target.equals(template) && target.getDataType().equals(template.getDataType())) {
+            return value;
+        }
+        try {
+            if (target instanceof StringLiteral) {
+                return value.isStringLikeLiteral() ? new StringLiteral(value.getStringValue()) : null;
+            }
+            if (target instanceof VarcharLiteral) {
+                if (!value.isStringLikeLiteral()) {
+                    return null;
+                }
+                int len = ((VarcharType) target.getDataType()).getLen();
+                String stringValue = value.getStringValue();
+                return len >= 0 && stringValue.length() > len ? null : new VarcharLiteral(stringValue, len);
+            }
+            Expression converted = value.checkedCastTo(target.getDataType());
+            if (!(converted instanceof Literal) || !converted.getDataType().equals(target.getDataType())) {
+                return null;
+            }
+            // e.g. '2023-01-01 10:00:00' can be cast to date, but the time part is lost.
+            if (!value.equals(((Literal) converted).checkedCastTo(value.getDataType()))) {
+                return null;
+            }
+            return (Literal) converted;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSameLiteral(Literal oldLiteral, Literal newLiteral) {
+        return oldLiteral.equals(newLiteral) && oldLiteral.getDataType().equals(newLiteral.getDataType());
+    }
+
+    private static boolean isCompatible(Literal oldLiteral, Literal newLiteral) {
+        if (oldLiteral.getClass() != newLiteral.getClass()) {
+            return false;
+        }
+        // length of string literal is not a part of the plan, since parameters are only bound in filters.
+        return oldLiteral instanceof VarcharLiteral || oldLiteral instanceof StringLiteral
+                || oldLiteral.getDataType().equals(newLiteral.getDataType());
+    }
+
+    private static boolean isPruned(PhysicalOlapScan scan) {
+        OlapTable table = scan.getTable();
+        Set<Long> partitionsWithData = new HashSet<>();
+        for (Partition partition : table.getAllPartitions()) {
+            if (partition.hasData()) {
+                partitionsWithData.add(partition.getId());
+            }
+        }
+        if (!partitionsWithData.equals(new HashSet<>(scan.getSelectedPartitionIds()))) {
+            return true;
+        }
+        if (scan.getSelectedTabletIds().isEmpty()) {
+            return false;
+        }
+        Set<Long> allTablets = new HashSet<>();
+        for (Long partitionId : scan.getSelectedPartitionIds()) {
+            MaterializedIndex index = table.getPartition(partitionId).getIndex(scan.getSelectedIndexId());
+            if (index == null) {
+                return true;
+            }
+            allTablets.addAll(index.getTabletIdsInOrder());
+        }
+        return !allTablets.equals(new HashSet<>(scan.getSelectedTabletIds()));
+    }
+
+    /**
+     * Copy the plan without group expressions and mutable states, so that the cached plan does not hold the memo,
+     * and is not changed by post processors. Literals of filters are replaced by the rebinder at the same time.
+     */
+    private static PhysicalPlan copy(PhysicalPlan plan, Function<Literal, Literal> rebinder) {
+        List<Plan> children = new ArrayList<>(plan.arity());
+        for (Plan child : plan.children()) {
+            children.add(copy((PhysicalPlan) child, rebinder));
+        }
+        Plan newPlan;
+        if (plan instanceof PhysicalFilter) {
+            PhysicalFilter<?> filter = (PhysicalFilter<?>) plan;
+            Set<Expression> conjuncts = Sets.newLinkedHashSet();
+            for (Expression conjunct : filter.getConjuncts()) {
+                conjuncts.add(conjunct.rewriteUp(e -> e instanceof Literal ? rebinder.apply((Literal) e) : e));
+            }
+            newPlan = new PhysicalFilter<>(conjuncts, Optional.empty(), filter.getLogicalProperties(),
+                    filter.getPhysicalProperties(), filter.getStats(), children.get(0));
+        } else {
+            newPlan = children.isEmpty() ? plan : plan.withChildren(children);
+        }
+        return ((PhysicalPlan) newPlan.withGroupExpression(Optional.empty()))
+                .withPhysicalPropertiesAndStats(plan.getPhysicalProperties(), ((AbstractPlan) plan).getStats());
+    }
+
+    /**
+     * Compare two plans ignoring statistics, group expressions and mutable states.
+     */
+    @VisibleForTesting
+    static boolean isSamePlan(Plan plan1, Plan plan2) {
+        if (plan1.getClass() != plan2.getClass() || plan1.arity() != plan2.arity()
+                || !plan1.equals(plan2) || !plan1.getExpressions().equals(plan2.getExpressions())) {
+            return false;
+        }
+        if (plan1 instanceof PhysicalPlan && !Objects.equals(((PhysicalPlan) plan1).getPhysicalProperties(),
+                ((PhysicalPlan) plan2).getPhysicalProperties())) {
+            return false;
+        }
+        for (int i = 0; i < plan1.arity(); i++) {
+            if (!isSamePlan(plan1.child(i), plan2.child(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Plan> collectNodes(Plan plan) {
+        List<Plan> nodes = new ArrayList<>();
+        plan.foreach(node -> nodes.add((Plan) node));
+        return nodes;
+    }
+
+    private static class Binding {
+        private final boolean[] paramMask;
+        // literal in plan -> index of the parameter it comes from
+        private final Map<Literal, Integer> planLiteralToParam;
+
+        private Binding(boolean[] paramMask, Map<Literal, Integer> planLiteralToParam) {
+            this.paramMask = paramMask;
+            this.planLiteralToParam = ImmutableMap.copyOf(planLiteralToParam);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.nereids.rules.expression.ExpressionRewriteContext;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.types.DataType;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.SessionVariable;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cache of constant folding results shared by all queries, keyed by the constant expression and the session
+ * variables which the result depends on.
+ * Expressions containing functions which are folded differently in each execution, e.g. now() and rand(),
+ * are not cached. The time functions are folded into literals on FE before the expressions containing them
+ * are folded, so an expression like date_sub(now(), interval 7 day) is cached by the literal of now().
+ */
+public class FoldConstantCache {
+    private static final FoldConstantCache INSTANCE = new FoldConstantCache();
+
+    private final Cache<Key, Expression> cache = Caffeine.newBuilder()
+            .maximumSize(Math.max(Config.fold_constant_cache_max_entries, 0))
+            .build();
+
+    public static FoldConstantCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the folded result of the constant expression.
+     *
+     * @param foldedByBe whether get the result folded by BE or by FE, which are cached separately
+     */
+    public Optional<Expression> get(Expression expression, boolean foldedByBe, ExpressionRewriteContext context) {
+        Key key = createKey(expression, foldedByBe, context);
+        if (key == null) {
+            return Optional.empty();
+        }
+        Expression folded = cache.getIfPresent(key);
+        if (MetricRepo.isInit) {
+            if (folded != null) {
+                MetricRepo.COUNTER_FOLD_CONSTANT_CACHE_HIT.increase(1L);
+            } else {
+                MetricRepo.COUNTER_FOLD_CONSTANT_CACHE_MISS.increase(1L);
+            }
+        }
+        return Optional.ofNullable(folded);
+    }
+
+    public void put(Expression expression, boolean foldedByBe, Expression folded,
+            ExpressionRewriteContext context) {
+        Key key = createKey(expression, foldedByBe, context);
+        if (key != null) {
+            cache.put(key, folded);
+        }
+    }
+
+    public long getCachedEntries() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static Key createKey(Expression expression, boolean foldedByBe, ExpressionRewriteContext context) {
+        if (Config.fold_constant_cache_max_entries <= 0 || context == null || context.cascadesContext == null) {
+            return null;
+        }
+        ConnectContext connectContext = context.cascadesContext.getConnectContext();
+        if (connectContext == null || !PlanCache.isCacheable(expression)) {
+            return null;
+        }
+        return new Key(expression, foldedByBe, connectContext.getSessionVariable());
+    }
+
+    private static class Key {
+        private final Expression expression;
+        // literals of different types may be equal, so the type of the result is a part of the key
+        private final DataType dataType;
+        private final boolean foldedByBe;
+        private final String timeZone;
+        private final long sqlMode;
+        private final int repeatMaxNum;
+        private final int hashCode;
+
+        Key(Expression expression, boolean foldedByBe, SessionVariable sessionVariable) {
+            this.expression = expression;
+            this.dataType = expression.getDataType();
+            this.foldedByBe = foldedByBe;
+            this.timeZone = sessionVariable.getTimeZone();
+            this.sqlMode = sessionVariable.getSqlMode();
+            this.repeatMaxNum = sessionVariable.repeatMaxNum;
+            // some expressions don't override hashCode, so the children are hashed too
+            this.hashCode = Objects.hash(expression, expression.children(), dataType, foldedByBe, timeZone,
+                    sqlMode, repeatMaxNum);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return foldedByBe == other.foldedByBe && sqlMode == other.sqlMode && repeatMaxNum == other.repeatMaxNum
+                    && expression.equals(other.expression) && dataType.equals(other.dataType)
+                    && timeZone.equals(other.timeZone);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
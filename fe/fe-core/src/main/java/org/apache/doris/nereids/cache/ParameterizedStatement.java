@@ -0,0 +1,321 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.catalog.TableIf.TableType;
+import org.apache.doris.nereids.DorisLexer;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.parser.CaseInsensitiveStream;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.SubqueryExpr;
+import org.apache.doris.nereids.trees.expressions.literal.BooleanLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalCTE;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.OriginStatement;
+import org.apache.doris.qe.SessionVariable;
+import org.apache.doris.qe.VariableMgr;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * A query statement with its literals taken out, used to look up the plan cache.
+ * Statements which only differ in literals get the same key, the literals are kept in the order they are
+ * found in the parsed plan, so that literals of two statements with the same key can be matched one by one.
+ */
+public class ParameterizedStatement {
+    private static final Logger LOG = LogManager.getLogger(ParameterizedStatement.class);
+
+    private static final List<Field> SESSION_VARIABLE_FIELDS = getSessionVariableFields();
+
+    private final String key;
+    private final List<Literal> literals;
+    // sorted by table id
+    private final List<Long> tableIds;
+    private final List<String> tableSignatures;
+
+    private ParameterizedStatement(String key, List<Literal> literals, List<Long> tableIds,
+            List<String> tableSignatures) {
+        this.key = key;
+        this.literals = literals;
+        this.tableIds = tableIds;
+        this.tableSignatures = tableSignatures;
+    }
+
+    /**
+     * Build the parameterized statement of a parsed query.
+     * Return empty if the statement is not suitable for plan cache.
+     *
+     * @param statementContext context of the statement
+     * @param parsedPlan the plan after pre-processing, i.e. hints are already applied to session variables
+     * @param tables tables referenced by the plan, they should be read locked by caller
+     */
+    public static Optional<ParameterizedStatement> of(StatementContext statementContext, Plan parsedPlan,
+            List<Table> tables) {
+        ConnectContext connectContext = statementContext.getConnectContext();
+        OriginStatement originStatement = statementContext.getOriginStatement();
+        if (originStatement == null || originStatement.idx != 0 || tables == null || tables.isEmpty()) {
+            return Optional.empty();
+        }
+        // the row policy is bound in analysis, and may be changed without changing the tables
+        UserIdentity currentUser = connectContext.getCurrentUserIdentity();
+        if (currentUser == null || (!currentUser.isRootUser() && !currentUser.isAdminUser()
+                && connectContext.getEnv().getPolicyMgr().existPolicy(connectContext.getQualifiedUser()))) {
+            return Optional.empty();
+        }
+        Map<Long, Table> sortedTables = new TreeMap<>();
+        tables.forEach(table -> sortedTables.put(table.getId(), table));
+        ImmutableList.Builder<Long> tableIds = ImmutableList.builder();
+        ImmutableList.Builder<String> tableSignatures = ImmutableList.builder();
+        for (Table table : sortedTables.values()) {
+            // only olap tables have versions to tell whether the cached plan is still valid.
+            if (!(table instanceof OlapTable) || table.getType() != TableType.OLAP) {
+                return Optional.empty();
+            }
+            tableIds.add(table.getId());
+            tableSignatures.add(getSignature((OlapTable) table));
+        }
+
+        NormalizedSql normalizedSql = normalize(originStatement.originStmt);
+        if (normalizedSql == null) {
+            return Optional.empty();
+        }
+        List<Literal> literals = collectLiterals(parsedPlan);
+        // every replaced literal in sql text should be found in the parsed plan, otherwise some literals may be
+        // hidden in places we don't know, and the statement can't be parameterized safely.
+        if (literals.size() != normalizedSql.placeholderNum) {
+            return Optional.empty();
+        }
+
+        String key = normalizedSql.sql
+                + '\n' + currentUser
+                + '\n' + connectContext.getDefaultCatalog() + '.' + connectContext.getDatabase()
+                + '\n' + fingerprint(connectContext.getSessionVariable());
+        return Optional.of(new ParameterizedStatement(key, literals, tableIds.build(), tableSignatures.build()));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public List<Literal> getLiterals() {
+        return literals;
+    }
+
+    public List<Long> getTableIds() {
+        return tableIds;
+    }
+
+    public List<String> getTableSignatures() {
+        return tableSignatures;
+    }
+
+    /**
+     * Signature of the meta data which the physical plan depends on.
+     * Loading new data into a partition does not change the signature, unless the partition is not empty anymore.
+     */
+    @VisibleForTesting
+    static String getSignature(OlapTable table) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(table.getId()).append('|').append(table.getBaseIndexId()).append('|');
+        table.getIndexIdToMeta().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    MaterializedIndexMeta meta = entry.getValue();
+                    sb.append(entry.getKey()).append(':').append(meta.getSchemaVersion()).append(',');
+                });
+        sb.append('|');
+        table.getAllPartitions().stream()
+                .sorted(Comparator.comparingLong(Partition::getId))
+                .forEach(partition -> sb.append(partition.getId()).append(partition.hasData() ? '+' : '-'));
+        return sb.toString();
+    }
+
+    /**
+     * Collect literals in the plan, including the literals in subqueries and ctes.
+     * The null and boolean literals are not collected, they are keywords rather than literals in sql text.
+     */
+    @VisibleForTesting
+    static List<Literal> collectLiterals(Plan plan) {
+        List<Literal> literals = new ArrayList<>();
+        collectLiterals(plan, literals);
+        return literals;
+    }
+
+    private static void collectLiterals(Plan plan, List<Literal> literals) {
+        for (Expression expression : plan.getExpressions()) {
+            collectLiterals(expression, literals);
+        }
+        if (plan instanceof LogicalCTE) {
+            for (Plan aliasQuery : ((LogicalCTE<?>) plan).getAliasQueries()) {
+                collectLiterals(aliasQuery, literals);
+            }
+        }
+        for (Plan child : plan.children()) {
+            collectLiterals(child, literals);
+        }
+    }
+
+    private static void collectLiterals(Expression expression, List<Literal> literals) {
+        if (expression instanceof Literal) {
+            if (!(expression instanceof NullLiteral) && !(expression instanceof BooleanLiteral)) {
+                literals.add((Literal) expression);
+            }
+            return;
+        }
+        if (expression instanceof SubqueryExpr) {
+            collectLiterals(((SubqueryExpr) expression).getQueryPlan(), literals);
+        }
+        for (Expression child : expression.children()) {
+            collectLiterals(child, literals);
+        }
+    }
+
+    /**
+     * Replace literals in sql text by '?', and drop comments and blanks.
+     * Integers which are not literals, e.g. the limit and the length of data type, are kept,
+     * so are the contents of hints. Return null if the text contains more than one statement.
+     */
+    @VisibleForTesting
+    static NormalizedSql normalize(String sql) {
+        DorisLexer lexer = new DorisLexer(new CaseInsensitiveStream(CharStreams.fromString(sql)));
+        lexer.removeErrorListeners();
+        StringBuilder sb = new StringBuilder(sql.length());
+        int placeholderNum = 0;
+        // types of the last three tokens
+        int prev1 = Token.INVALID_TYPE;
+        int prev2 = Token.INVALID_TYPE;
+        int prev3 = Token.INVALID_TYPE;
+        boolean inHint = false;
+        boolean inTypeParams = false;
+        boolean ended = false;
+        for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+            if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+                continue;
+            }
+            int type = token.getType();
+            if (ended) {
+                return null;
+            }
+            if (type == DorisLexer.SEMICOLON) {
+                ended = true;
+                continue;
+            }
+            if (type == DorisLexer.HINT_START) {
+                inHint = true;
+            } else if (type == DorisLexer.HINT_END) {
+                inHint = false;
+            } else if (type == DorisLexer.LEFT_PAREN && prev2 == DorisLexer.AS) {
+                // CAST(expr AS DECIMAL(10, 2))
+                inTypeParams = true;
+            } else if (type == DorisLexer.RIGHT_PAREN) {
+                inTypeParams = false;
+            }
+            if (isLiteral(type) && !inHint && !inTypeParams && !isLimit(type, prev1, prev2, prev3)) {
+                sb.append('?');
+                placeholderNum++;
+            } else {
+                sb.append(token.getText());
+            }
+            sb.append(' ');
+            prev3 = prev2;
+            prev2 = prev1;
+            prev1 = type;
+        }
+        return new NormalizedSql(sb.toString(), placeholderNum);
+    }
+
+    private static boolean isLiteral(int tokenType) {
+        return tokenType == DorisLexer.STRING
+                || tokenType == DorisLexer.INTEGER_VALUE
+                || tokenType == DorisLexer.DECIMAL_VALUE
+                || tokenType == DorisLexer.EXPONENT_VALUE;
+    }
+
+    // LIMIT n, LIMIT n OFFSET m, LIMIT m, n
+    private static boolean isLimit(int tokenType, int prev1, int prev2, int prev3) {
+        if (tokenType != DorisLexer.INTEGER_VALUE) {
+            return false;
+        }
+        return prev1 == DorisLexer.LIMIT || prev1 == DorisLexer.OFFSET
+                || (prev1 == DorisLexer.COMMA && prev2 == DorisLexer.INTEGER_VALUE && prev3 == DorisLexer.LIMIT);
+    }
+
+    /**
+     * Hash of all session variables, since most of them could change the plan.
+     */
+    private static String fingerprint(SessionVariable sessionVariable) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        try {
+            for (Field field : SESSION_VARIABLE_FIELDS) {
+                hasher.putString(field.getName(), StandardCharsets.UTF_8)
+                        .putString(String.valueOf(field.get(sessionVariable)), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalAccessException e) {
+            LOG.warn("failed to get session variables", e);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static List<Field> getSessionVariableFields() {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : SessionVariable.class.getDeclaredFields()) {
+            if (field.getAnnotation(VariableMgr.VarAttr.class) == null) {
+                continue;
+            }
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        fields.sort(Comparator.comparing(Field::getName));
+        return fields;
+    }
+
+    @VisibleForTesting
+    static class NormalizedSql {
+        final String sql;
+        final int placeholderNum;
+
+        NormalizedSql(String sql, int placeholderNum) {
+            this.sql = sql;
+            this.placeholderNum = placeholderNum;
+        }
+    }
+}
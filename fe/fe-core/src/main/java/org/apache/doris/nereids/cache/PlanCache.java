@@ -0,0 +1,171 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.SubqueryExpr;
+import org.apache.doris.nereids.trees.expressions.functions.Nondeterministic;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.ConnectionId;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentCatalog;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentDate;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentTime;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentUser;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Database;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Now;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Random;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Sleep;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.UnixTimestamp;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.User;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.UtcTimestamp;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Uuid;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalCTE;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.qe.ConnectContext;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache of physical plans generated by Nereids, keyed by the statement with literals taken out.
+ * See {@link CachedPlan} for how a cached plan is verified and reused.
+ */
+public class PlanCache {
+    // functions whose results are folded into literals when planning, and differ between executions.
+    private static final Set<Class<?>> VOLATILE_FUNCTIONS = ImmutableSet.of(
+            ConnectionId.class, CurrentCatalog.class, CurrentDate.class, CurrentTime.class, CurrentUser.class,
+            Database.class, Now.class, Random.class, Sleep.class, UnixTimestamp.class, User.class,
+            UtcTimestamp.class, Uuid.class);
+
+    private static final PlanCache INSTANCE = new PlanCache();
+
+    private final Cache<String, CachedPlan> cache = Caffeine.newBuilder()
+            .maximumSize(Config.nereids_plan_cache_max_entries)
+            .build();
+
+    public static PlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get a plan for the statement from cache, the returned plan is not post processed yet.
+     */
+    public Optional<PhysicalPlan> getPlan(ParameterizedStatement statement, StatementContext statementContext) {
+        CachedPlan cachedPlan = cache.getIfPresent(statement.getKey());
+        Optional<PhysicalPlan> plan = Optional.empty();
+        if (cachedPlan != null) {
+            if (!cachedPlan.isValid(statement)) {
+                cache.asMap().remove(statement.getKey(), cachedPlan);
+            } else if (checkPrivileges(cachedPlan, statementContext.getConnectContext())) {
+                plan = cachedPlan.bind(statement.getLiterals());
+            }
+        }
+        if (plan.isPresent()) {
+            statementContext.skipIdsTo(cachedPlan.getNextExprId(), cachedPlan.getNextObjectId());
+        }
+        if (MetricRepo.isInit) {
+            if (plan.isPresent()) {
+                MetricRepo.COUNTER_PLAN_CACHE_HIT.increase(1L);
+            } else {
+                MetricRepo.COUNTER_PLAN_CACHE_MISS.increase(1L);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Put a plan generated from scratch into cache, or use it to verify the cached plan of the same statement.
+     *
+     * @param plan the plan chosen from memo, before post processing
+     */
+    public void putPlan(ParameterizedStatement statement, PhysicalPlan plan) {
+        CachedPlan cachedPlan = cache.getIfPresent(statement.getKey());
+        if (cachedPlan != null && cachedPlan.isValid(statement)) {
+            if (cachedPlan.verify(statement.getLiterals(), plan) || cachedPlan.isVerified()) {
+                return;
+            }
+        }
+        CachedPlan.create(plan, statement).ifPresent(newPlan -> cache.put(statement.getKey(), newPlan));
+    }
+
+    public long getCachedEntries() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Whether the analyzed plan could be cached. Plans containing functions which are folded into different
+     * literals in each execution, and plans with CTE are not cacheable.
+     */
+    public static boolean isCacheable(Plan analyzedPlan) {
+        if (analyzedPlan instanceof LogicalCTE) {
+            return false;
+        }
+        for (Expression expression : analyzedPlan.getExpressions()) {
+            if (!isCacheable(expression)) {
+                return false;
+            }
+        }
+        for (Plan child : analyzedPlan.children()) {
+            if (!isCacheable(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // whether the expression is folded into the same literal in each execution
+    static boolean isCacheable(Expression expression) {
+        if (expression instanceof Nondeterministic || VOLATILE_FUNCTIONS.contains(expression.getClass())) {
+            return false;
+        }
+        if (expression instanceof SubqueryExpr && !isCacheable(((SubqueryExpr) expression).getQueryPlan())) {
+            return false;
+        }
+        for (Expression child : expression.children()) {
+            if (!isCacheable(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // privileges are checked in analysis, which is skipped when the plan is got from cache.
+    private static boolean checkPrivileges(CachedPlan cachedPlan, ConnectContext connectContext) {
+        for (PhysicalOlapScan scan : cachedPlan.getScans()) {
+            String dbName = !scan.getQualifier().isEmpty() ? scan.getQualifier().get(0) : null;
+            if (!connectContext.getEnv().getAccessManager().checkTblPriv(connectContext, dbName,
+                    scan.getTable().getName(), PrivPredicate.SELECT)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
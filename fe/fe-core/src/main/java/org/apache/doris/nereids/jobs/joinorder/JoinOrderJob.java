@@ -24,8 +24,10 @@ import org.apache.doris.nereids.jobs.JobContext;
 import org.apache.doris.nereids.jobs.JobType;
 import org.apache.doris.nereids.jobs.cascades.DeriveStatsJob;
 import org.apache.doris.nereids.jobs.joinorder.hypergraph.GraphSimplifier;
+import org.apache.doris.nereids.jobs.joinorder.hypergraph.GreedyEnumerator;
 import org.apache.doris.nereids.jobs.joinorder.hypergraph.HyperGraph;
 import org.apache.doris.nereids.jobs.joinorder.hypergraph.SubgraphEnumerator;
+import org.apache.doris.nereids.jobs.joinorder.hypergraph.receiver.Counter;
 import org.apache.doris.nereids.jobs.joinorder.hypergraph.receiver.PlanReceiver;
 import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
@@ -34,6 +36,7 @@ import org.apache.doris.nereids.trees.expressions.NamedExpression;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalProject;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
 import java.util.ArrayList;
@@ -41,7 +44,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Join Order job with DPHyp
+ * Join Order job with DPHyp, or with greedy join ordering if the join graph is too large for DPHyp
  */
 public class JoinOrderJob extends Job {
     private final Group group;
@@ -80,16 +83,34 @@ public class JoinOrderJob extends Job {
     private Group optimizeJoin(Group group) {
         HyperGraph hyperGraph = new HyperGraph();
         buildGraph(group, hyperGraph);
-        // TODO: Right now, we just hardcode the limit with 10000, maybe we need a better way to set it
-        int limit = 1000;
-        PlanReceiver planReceiver = new PlanReceiver(this.context, limit, hyperGraph,
-                group.getLogicalProperties().getOutputSet());
-        SubgraphEnumerator subgraphEnumerator = new SubgraphEnumerator(planReceiver, hyperGraph);
-        if (!subgraphEnumerator.enumerate()) {
-            GraphSimplifier graphSimplifier = new GraphSimplifier(hyperGraph);
-            graphSimplifier.simplifyGraph(limit);
-            if (!subgraphEnumerator.enumerate()) {
-                throw new RuntimeException("DPHyp can not enumerate all sub graphs with limit=" + limit);
+        int limit = context.getCascadesContext().getConnectContext().getSessionVariable()
+                .getDphypEnumerationBudget();
+        // Counting the csg-cmp pairs is much cheaper than building plans for them,
+        // so we count them first to decide whether to enumerate all join orders
+        SubgraphEnumerator counterEnumerator = new SubgraphEnumerator(new Counter(limit), hyperGraph);
+        PlanReceiver planReceiver;
+        if (counterEnumerator.enumerate()) {
+            planReceiver = new PlanReceiver(this.context, limit, hyperGraph,
+                    group.getLogicalProperties().getOutputSet());
+            SubgraphEnumerator subgraphEnumerator = new SubgraphEnumerator(planReceiver, hyperGraph);
+            Preconditions.checkState(subgraphEnumerator.enumerate(),
+                    "DPHyp can not enumerate all sub graphs with limit=" + limit);
+        } else {
+            // The graph is too large, so we merge the subgraphs greedily and only enumerate the join orders
+            // of the last few subgraphs, whose csg-cmp pairs are under the limit
+            planReceiver = new PlanReceiver(this.context, limit + hyperGraph.getNodes().size(), hyperGraph,
+                    group.getLogicalProperties().getOutputSet());
+            GreedyEnumerator greedyEnumerator = new GreedyEnumerator(planReceiver, hyperGraph,
+                    GreedyEnumerator.maxDpSize(limit));
+            if (!greedyEnumerator.enumerate()) {
+                planReceiver = new PlanReceiver(this.context, limit, hyperGraph,
+                        group.getLogicalProperties().getOutputSet());
+                SubgraphEnumerator subgraphEnumerator = new SubgraphEnumerator(planReceiver, hyperGraph);
+                GraphSimplifier graphSimplifier = new GraphSimplifier(hyperGraph);
+                graphSimplifier.simplifyGraph(limit);
+                if (!subgraphEnumerator.enumerate()) {
+                    throw new RuntimeException("DPHyp can not enumerate all sub graphs with limit=" + limit);
+                }
             }
         }
         Group optimized = planReceiver.getBestPlan(hyperGraph.getNodesMap());
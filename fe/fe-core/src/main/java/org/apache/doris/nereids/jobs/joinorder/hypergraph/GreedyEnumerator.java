@@ -0,0 +1,184 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.joinorder.hypergraph;
+
+import org.apache.doris.nereids.jobs.joinorder.hypergraph.bitmap.LongBitmap;
+import org.apache.doris.nereids.jobs.joinorder.hypergraph.receiver.AbstractReceiver;
+import org.apache.doris.nereids.stats.JoinEstimation;
+import org.apache.doris.statistics.Statistics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class builds the join tree of a HyperGraph which is too large for {@link SubgraphEnumerator}.
+ * <p>
+ * It merges the two connected subgraphs with the least estimated output rows (Greedy Operator Ordering)
+ * until there are few enough subgraphs left, and then enumerates all join orders of the remaining
+ * subgraphs by dynamic programming. Therefore, the number of csg-cmp pairs is
+ * O(nodes + 3^dpSize) instead of exponential in the number of nodes.
+ * <p>
+ * Related paper:
+ * - [Feg98] Fegaras: "A New Heuristic for Optimizing Large Queries".
+ * - [Kos00] Kossmann and Stocker: "Iterative Dynamic Programming: A New Class of Query Optimization Algorithms".
+ */
+public class GreedyEnumerator {
+    // The receiver receives the csg and cmp and record them, named DPTable in paper
+    private final AbstractReceiver receiver;
+    // The enumerated hyperGraph
+    private final HyperGraph hyperGraph;
+    // The max number of subgraphs whose join orders are enumerated by dynamic programming
+    private final int dpSize;
+    // The estimated statistics of the merged subgraphs and the candidate pairs, keyed by their nodes
+    private final HashMap<Long, Statistics> cacheStats = new HashMap<>();
+
+    /**
+     * Create a greedy enumerator
+     *
+     * @param receiver the receiver of csg-cmp pairs
+     * @param hyperGraph the enumerated hyperGraph
+     * @param dpSize the max number of subgraphs enumerated by dynamic programming
+     */
+    public GreedyEnumerator(AbstractReceiver receiver, HyperGraph hyperGraph, int dpSize) {
+        Preconditions.checkArgument(dpSize >= 1);
+        this.receiver = receiver;
+        this.hyperGraph = hyperGraph;
+        this.dpSize = dpSize;
+    }
+
+    /**
+     * The max number of subgraphs whose csg-cmp pairs are no more than the limit in any graph.
+     * A clique of n nodes has the most csg-cmp pairs, that is (3^n - 2^(n+1) + 1) / 2.
+     */
+    public static int maxDpSize(int limit) {
+        int size = 1;
+        while (size < 20 && (Math.pow(3, size + 1) - Math.pow(2, size + 2) + 1) / 2 <= limit) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Entry function of enumerating hyperGraph
+     *
+     * @return whether the hyperGraph is enumerated successfully
+     */
+    public boolean enumerate() {
+        receiver.reset();
+        cacheStats.clear();
+        List<Long> subgraphs = new ArrayList<>();
+        for (Node node : hyperGraph.getNodes()) {
+            receiver.addGroup(node.getNodeMap(), node.getGroup());
+            cacheStats.put(node.getNodeMap(), node.getGroup().getStatistics());
+            subgraphs.add(node.getNodeMap());
+        }
+
+        while (subgraphs.size() > dpSize) {
+            int bestLeft = -1;
+            int bestRight = -1;
+            double bestRowCount = Double.MAX_VALUE;
+            for (int i = 0; i < subgraphs.size(); i++) {
+                for (int j = i + 1; j < subgraphs.size(); j++) {
+                    Statistics stats = estimate(subgraphs.get(i), subgraphs.get(j));
+                    if (stats != null && stats.getRowCount() < bestRowCount) {
+                        bestRowCount = stats.getRowCount();
+                        bestLeft = i;
+                        bestRight = j;
+                    }
+                }
+            }
+            if (bestLeft == -1) {
+                // the remaining subgraphs can only be connected by hyper edges between more than two of them
+                return false;
+            }
+            long left = subgraphs.get(bestLeft);
+            long right = subgraphs.get(bestRight);
+            if (!receiver.emitCsgCmp(left, right, connectEdges(left, right))) {
+                return false;
+            }
+            subgraphs.remove(bestRight);
+            subgraphs.set(bestLeft, LongBitmap.newBitmapUnion(left, right));
+        }
+        return enumerateByDp(subgraphs);
+    }
+
+    // Enumerate all connected pairs of the subsets of the subgraphs, from the smaller subsets to the larger ones.
+    // A subset of subgraphs is represented by the bitmap of their indexes.
+    private boolean enumerateByDp(List<Long> subgraphs) {
+        int size = subgraphs.size();
+        long[] nodes = new long[1 << size];
+        for (int subset = 1; subset < nodes.length; subset++) {
+            int lowest = Integer.numberOfTrailingZeros(subset);
+            nodes[subset] = LongBitmap.newBitmapUnion(nodes[subset & (subset - 1)], subgraphs.get(lowest));
+            if (Integer.bitCount(subset) == 1) {
+                continue;
+            }
+            // the left always contains the lowest subgraph, so that each pair is emitted once
+            int rest = subset & (subset - 1);
+            for (int leftRest = (rest - 1) & rest; ; leftRest = (leftRest - 1) & rest) {
+                long left = nodes[leftRest | (1 << lowest)];
+                long right = nodes[subset & ~(leftRest | (1 << lowest))];
+                if (receiver.contain(left) && receiver.contain(right)) {
+                    List<Edge> edges = connectEdges(left, right);
+                    if (!edges.isEmpty() && !receiver.emitCsgCmp(left, right, edges)) {
+                        return false;
+                    }
+                }
+                if (leftRest == 0) {
+                    break;
+                }
+            }
+        }
+        return receiver.contain(hyperGraph.getNodesMap());
+    }
+
+    // Estimate the join of left and right by the most selective edge between them,
+    // return null if they are not connected.
+    private Statistics estimate(long left, long right) {
+        long bitmap = LongBitmap.newBitmapUnion(left, right);
+        if (cacheStats.containsKey(bitmap)) {
+            return cacheStats.get(bitmap);
+        }
+        Statistics bestStats = null;
+        for (Edge edge : connectEdges(left, right)) {
+            Statistics stats = LongBitmap.isSubset(edge.getLeft(), left)
+                    ? JoinEstimation.estimate(cacheStats.get(left), cacheStats.get(right), edge.getJoin())
+                    : JoinEstimation.estimate(cacheStats.get(right), cacheStats.get(left), edge.getJoin());
+            if (bestStats == null || stats.getRowCount() < bestStats.getRowCount()) {
+                bestStats = stats;
+            }
+        }
+        cacheStats.put(bitmap, bestStats);
+        return bestStats;
+    }
+
+    // Find all edges whose one side is in left and the other side is in right
+    private List<Edge> connectEdges(long left, long right) {
+        List<Edge> edges = new ArrayList<>();
+        for (Edge edge : hyperGraph.getEdges()) {
+            if ((LongBitmap.isSubset(edge.getLeft(), left) && LongBitmap.isSubset(edge.getRight(), right))
+                    || (LongBitmap.isSubset(edge.getLeft(), right) && LongBitmap.isSubset(edge.getRight(), left))) {
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+}
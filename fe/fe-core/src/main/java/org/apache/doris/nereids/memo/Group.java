@@ -54,7 +54,8 @@ import java.util.stream.Collectors;
 public class Group {
     private final GroupId groupId;
     // Save all parent GroupExpression to avoid traversing whole Memo.
-    private final IdentityHashMap<GroupExpression, Void> parentExpressions = new IdentityHashMap<>();
+    // Most groups have a few parents, so start with a small table instead of the default one of 64 slots.
+    private final IdentityHashMap<GroupExpression, Void> parentExpressions = new IdentityHashMap<>(4);
 
     private final List<GroupExpression> logicalExpressions = Lists.newArrayList();
     private final List<GroupExpression> physicalExpressions = Lists.newArrayList();
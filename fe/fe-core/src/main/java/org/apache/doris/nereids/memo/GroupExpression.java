@@ -25,7 +25,6 @@ import org.apache.doris.nereids.metrics.consumer.LogConsumer;
 import org.apache.doris.nereids.metrics.event.CostStateUpdateEvent;
 import org.apache.doris.nereids.properties.PhysicalProperties;
 import org.apache.doris.nereids.rules.Rule;
-import org.apache.doris.nereids.rules.RuleType;
 import org.apache.doris.nereids.trees.expressions.StatementScopeIdGenerator;
 import org.apache.doris.nereids.trees.plans.ObjectId;
 import org.apache.doris.nereids.trees.plans.Plan;
@@ -35,6 +34,7 @@ import org.apache.doris.statistics.Statistics;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -57,7 +57,9 @@ public class GroupExpression {
     private Group ownerGroup;
     private final List<Group> children;
     private final Plan plan;
-    private final BitSet ruleMasks;
+    // the fields below are allocated on first use, since most group expressions generated by exploration
+    // are never costed or never have rules applied.
+    private BitSet ruleMasks;
     private boolean statDerived;
 
     private double estOutputRowCount = -1;
@@ -68,17 +70,20 @@ public class GroupExpression {
     // Mapping from output properties to the corresponding best cost, statistics, and child properties.
     // key is the physical properties the group expression support for its parent
     // and value is cost and request physical properties to its children.
-    private final Map<PhysicalProperties, Pair<Cost, List<PhysicalProperties>>> lowestCostTable;
+    private Map<PhysicalProperties, Pair<Cost, List<PhysicalProperties>>> lowestCostTable;
     // Each physical group expression maintains mapping incoming requests to the corresponding child requests.
     // key is the output physical properties satisfying the incoming request properties
     // value is the request physical properties
-    private final Map<PhysicalProperties, PhysicalProperties> requestPropertiesMap;
+    private Map<PhysicalProperties, PhysicalProperties> requestPropertiesMap;
 
     // After mergeGroup(), source Group was cleaned up, but it may be in the Job Stack. So use this to mark and skip it.
     private boolean isUnused = false;
 
     private ObjectId id = StatementScopeIdGenerator.newObjectId();
 
+    // cached hash code, the plan is immutable and it is reset when children change. 0 if not computed.
+    private int hash;
+
     public GroupExpression(Plan plan) {
         this(plan, Lists.newArrayList());
     }
@@ -94,14 +99,12 @@ public class GroupExpression {
                 .withGroupExpression(Optional.of(this));
         this.children = Lists.newArrayList(Objects.requireNonNull(children, "children can not be null"));
         this.children.forEach(childGroup -> childGroup.addParentExpression(this));
-        this.ruleMasks = new BitSet(RuleType.SENTINEL.ordinal());
         this.statDerived = false;
-        this.lowestCostTable = Maps.newHashMap();
-        this.requestPropertiesMap = Maps.newHashMap();
     }
 
     public PhysicalProperties getOutputProperties(PhysicalProperties requestProperties) {
-        PhysicalProperties outputProperties = requestPropertiesMap.get(requestProperties);
+        PhysicalProperties outputProperties = requestPropertiesMap == null
+                ? null : requestPropertiesMap.get(requestProperties);
         Preconditions.checkNotNull(outputProperties);
         return outputProperties;
     }
@@ -134,6 +137,7 @@ public class GroupExpression {
         child(i).removeParentExpression(this);
         children.set(i, group);
         group.addParentExpression(this);
+        hash = 0;
     }
 
     public List<Group> children() {
@@ -150,10 +154,11 @@ public class GroupExpression {
         oldChild.removeParentExpression(this);
         newChild.addParentExpression(this);
         Utils.replaceList(children, oldChild, newChild);
+        hash = 0;
     }
 
     public boolean hasApplied(Rule rule) {
-        return ruleMasks.get(rule.getRuleType().ordinal());
+        return ruleMasks != null && ruleMasks.get(rule.getRuleType().ordinal());
     }
 
     public boolean notApplied(Rule rule) {
@@ -161,11 +166,21 @@ public class GroupExpression {
     }
 
     public void setApplied(Rule rule) {
-        ruleMasks.set(rule.getRuleType().ordinal());
+        getOrCreateRuleMasks().set(rule.getRuleType().ordinal());
     }
 
     public void propagateApplied(GroupExpression toGroupExpression) {
-        toGroupExpression.ruleMasks.or(ruleMasks);
+        if (ruleMasks != null) {
+            toGroupExpression.getOrCreateRuleMasks().or(ruleMasks);
+        }
+    }
+
+    private BitSet getOrCreateRuleMasks() {
+        if (ruleMasks == null) {
+            // the bit set grows to the max ordinal of applied rules
+            ruleMasks = new BitSet();
+        }
+        return ruleMasks;
     }
 
     public boolean isStatDerived() {
@@ -192,17 +207,20 @@ public class GroupExpression {
         this.isUnused = isUnused;
     }
 
+    /**
+     * Get the lowest cost table, which is read only.
+     */
     public Map<PhysicalProperties, Pair<Cost, List<PhysicalProperties>>> getLowestCostTable() {
-        return lowestCostTable;
+        return lowestCostTable == null ? ImmutableMap.of() : lowestCostTable;
     }
 
     public List<PhysicalProperties> getInputPropertiesList(PhysicalProperties require) {
-        Preconditions.checkState(lowestCostTable.containsKey(require));
+        Preconditions.checkState(getLowestCostTable().containsKey(require));
         return lowestCostTable.get(require).second;
     }
 
     public List<PhysicalProperties> getInputPropertiesListOrEmpty(PhysicalProperties require) {
-        Pair<Cost, List<PhysicalProperties>> costAndChildRequire = lowestCostTable.get(require);
+        Pair<Cost, List<PhysicalProperties>> costAndChildRequire = getLowestCostTable().get(require);
         return costAndChildRequire == null ? ImmutableList.of() : costAndChildRequire.second;
     }
 
@@ -215,6 +233,9 @@ public class GroupExpression {
     public boolean updateLowestCostTable(PhysicalProperties outputProperties,
             List<PhysicalProperties> childrenInputProperties, Cost cost) {
         COST_STATE_TRACER.log(CostStateUpdateEvent.of(this, cost.getValue(), outputProperties));
+        if (lowestCostTable == null) {
+            lowestCostTable = Maps.newHashMap();
+        }
         if (lowestCostTable.containsKey(outputProperties)) {
             if (lowestCostTable.get(outputProperties).first.getValue() > cost.getValue()) {
                 lowestCostTable.put(outputProperties, Pair.of(cost, childrenInputProperties));
@@ -235,17 +256,20 @@ public class GroupExpression {
      * @return Lowest cost to satisfy that property
      */
     public double getCostByProperties(PhysicalProperties property) {
-        Preconditions.checkState(lowestCostTable.containsKey(property));
+        Preconditions.checkState(getLowestCostTable().containsKey(property));
         return lowestCostTable.get(property).first.getValue();
     }
 
     public Cost getCostValueByProperties(PhysicalProperties property) {
-        Preconditions.checkState(lowestCostTable.containsKey(property));
+        Preconditions.checkState(getLowestCostTable().containsKey(property));
         return lowestCostTable.get(property).first;
     }
 
     public void putOutputPropertiesMap(PhysicalProperties outputPropertySet,
             PhysicalProperties requiredPropertySet) {
+        if (requestPropertiesMap == null) {
+            requestPropertiesMap = Maps.newHashMap();
+        }
         this.requestPropertiesMap.put(requiredPropertySet, outputPropertySet);
     }
 
@@ -265,14 +289,17 @@ public class GroupExpression {
         this.getLowestCostTable()
                 .forEach((properties, pair) -> target.updateLowestCostTable(properties, pair.second, pair.first));
         // requestPropertiesMap
-        target.requestPropertiesMap.putAll(this.requestPropertiesMap);
+        if (this.requestPropertiesMap != null) {
+            this.requestPropertiesMap.forEach((required, output) -> target.putOutputPropertiesMap(output, required));
+        }
         // ruleMasks
-        target.ruleMasks.or(this.ruleMasks);
+        propagateApplied(target);
 
         // clear
         this.children.forEach(child -> child.removeParentExpression(this));
         this.children.clear();
         this.ownerGroup = null;
+        this.hash = 0;
     }
 
     public double getCost() {
@@ -298,7 +325,13 @@ public class GroupExpression {
 
     @Override
     public int hashCode() {
-        return Objects.hash(children, plan);
+        // hashing the plan walks all its expressions, it is computed once since memo looks it up many times
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(children, plan);
+            hash = h;
+        }
+        return h;
     }
 
     public Statistics childStatistics(int idx) {
@@ -27,6 +27,7 @@ import org.apache.doris.common.IdGenerator;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.common.util.VectorizedUtil;
+import org.apache.doris.nereids.cache.FoldConstantCache;
 import org.apache.doris.nereids.glue.translator.ExpressionTranslator;
 import org.apache.doris.nereids.rules.expression.AbstractExpressionRewriteRule;
 import org.apache.doris.nereids.rules.expression.ExpressionRewriteContext;
@@ -60,6 +61,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -83,13 +85,16 @@ public class FoldConstantRuleOnBE extends AbstractExpressionRewriteRule {
         if (root instanceof Alias) {
             rootWithoutAlias = ((Alias) root).child();
         }
-        collectConst(rootWithoutAlias, constMap, staleConstTExprMap);
+        Map<String, Expression> resultMap = new HashMap<>();
+        collectConst(rootWithoutAlias, constMap, staleConstTExprMap, resultMap, context);
         if (constMap.isEmpty()) {
             return root;
         }
-        Map<String, Map<String, TExpr>> paramMap = new HashMap<>();
-        paramMap.put("0", staleConstTExprMap);
-        Map<String, Expression> resultMap = evalOnBE(paramMap, constMap, context.cascadesContext.getConnectContext());
+        if (!staleConstTExprMap.isEmpty()) {
+            Map<String, Map<String, TExpr>> paramMap = new HashMap<>();
+            paramMap.put("0", staleConstTExprMap);
+            resultMap.putAll(evalOnBE(paramMap, constMap, context));
+        }
         if (!resultMap.isEmpty()) {
             return replace(root, constMap, resultMap);
         }
@@ -114,7 +119,8 @@ public class FoldConstantRuleOnBE extends AbstractExpressionRewriteRule {
         return hasNewChildren ? root.withChildren(newChildren) : root;
     }
 
-    private void collectConst(Expression expr, Map<String, Expression> constMap, Map<String, TExpr> tExprMap) {
+    private void collectConst(Expression expr, Map<String, Expression> constMap, Map<String, TExpr> tExprMap,
+            Map<String, Expression> resultMap, ExpressionRewriteContext context) {
         if (expr.isConstant()) {
             // Do not constant fold cast(null as dataType) because we cannot preserve the
             // cast-to-types and that can lead to query failures, e.g., CTAS
@@ -133,18 +139,25 @@ public class FoldConstantRuleOnBE extends AbstractExpressionRewriteRule {
             }
             String id = idGenerator.getNextId().toString();
             constMap.put(id, expr);
+            // skip the rpc if the expression has been folded by BE in another query
+            Optional<Expression> cached = FoldConstantCache.getInstance().get(expr, true, context);
+            if (cached.isPresent()) {
+                resultMap.put(id, cached.get());
+                return;
+            }
             Expr staleExpr = ExpressionTranslator.translate(expr, null);
             tExprMap.put(id, staleExpr.treeToThrift());
         } else {
             for (int i = 0; i < expr.children().size(); i++) {
                 final Expression child = expr.children().get(i);
-                collectConst(child, constMap, tExprMap);
+                collectConst(child, constMap, tExprMap, resultMap, context);
             }
         }
     }
 
     private Map<String, Expression> evalOnBE(Map<String, Map<String, TExpr>> paramMap,
-            Map<String, Expression> constMap, ConnectContext context) {
+            Map<String, Expression> constMap, ExpressionRewriteContext rewriteContext) {
+        ConnectContext context = rewriteContext.cascadesContext.getConnectContext();
 
         Map<String, Expression> resultMap = new HashMap<>();
         try {
@@ -189,6 +202,7 @@ public class FoldConstantRuleOnBE extends AbstractExpressionRewriteRule {
                             // Nereids type
                             DataType t1 = DataType.convertFromString(staleExpr.getType().getPrimitiveType().toString());
                             ret = Literal.of(staleExpr.getStringValue()).castTo(t1);
+                            FoldConstantCache.getInstance().put(constMap.get(e1.getKey()), true, ret, rewriteContext);
                         } else {
                             ret = constMap.get(e1.getKey());
                         }
@@ -18,6 +18,7 @@
 package org.apache.doris.nereids.rules.expression.rules;
 
 import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.nereids.cache.FoldConstantCache;
 import org.apache.doris.nereids.rules.expression.AbstractExpressionRewriteRule;
 import org.apache.doris.nereids.rules.expression.ExpressionRewriteContext;
 import org.apache.doris.nereids.trees.expressions.AggregateExpression;
@@ -332,7 +333,7 @@ public class FoldConstantRuleOnFE extends AbstractExpressionRewriteRule {
         if (checkedExpr.isPresent()) {
             return checkedExpr.get();
         }
-        return ExpressionEvaluator.INSTANCE.eval(boundFunction);
+        return evalWithCache(boundFunction, context);
     }
 
     @Override
@@ -438,7 +439,18 @@ public class FoldConstantRuleOnFE extends AbstractExpressionRewriteRule {
         if (checkedExpr.isPresent()) {
             return checkedExpr.get();
         }
-        return ExpressionEvaluator.INSTANCE.eval(arithmetic);
+        return evalWithCache(arithmetic, context);
+    }
+
+    // functions are evaluated by reflection, so their results are cached across queries
+    private Expression evalWithCache(Expression expression, ExpressionRewriteContext context) {
+        Optional<Expression> cached = FoldConstantCache.getInstance().get(expression, false, context);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Expression result = ExpressionEvaluator.INSTANCE.eval(expression);
+        FoldConstantCache.getInstance().put(expression, false, result, context);
+        return result;
     }
 
     @Override
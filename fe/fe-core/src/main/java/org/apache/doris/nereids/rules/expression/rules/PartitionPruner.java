@@ -17,21 +17,43 @@
 
 package org.apache.doris.nereids.rules.expression.rules;
 
+import org.apache.doris.analysis.LiteralExpr;
 import org.apache.doris.catalog.ListPartitionItem;
 import org.apache.doris.catalog.PartitionInfo;
 import org.apache.doris.catalog.PartitionItem;
+import org.apache.doris.catalog.PartitionItemIndex;
+import org.apache.doris.catalog.PartitionKey;
 import org.apache.doris.catalog.RangePartitionItem;
 import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.trees.expressions.And;
+import org.apache.doris.nereids.trees.expressions.ComparisonPredicate;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
 import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.GreaterThanEqual;
+import org.apache.doris.nereids.trees.expressions.InPredicate;
+import org.apache.doris.nereids.trees.expressions.LessThan;
+import org.apache.doris.nereids.trees.expressions.LessThanEqual;
+import org.apache.doris.nereids.trees.expressions.Or;
 import org.apache.doris.nereids.trees.expressions.Slot;
 import org.apache.doris.nereids.trees.expressions.literal.BooleanLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+import org.apache.doris.nereids.types.DataType;
+import org.apache.doris.nereids.util.ExpressionUtils;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 /** PartitionPruner */
 public class PartitionPruner {
@@ -58,9 +80,21 @@ public class PartitionPruner {
 
         Map<Long, PartitionItem> idToPartitions = partitionInfo.getIdToItem(false);
 
-        List<OnePartitionEvaluator> evaluators = idToPartitions.entrySet()
+        // resolve the simple predicates on the partition column by index, and only evaluate the candidates
+        Collection<Long> partitionIds = idToPartitions.keySet();
+        PartitionItemIndex index = partitionSlots.size() == 1 && partitionSlots.get(0) != null
+                ? partitionInfo.getItemIndex() : null;
+        if (index != null) {
+            Optional<Set<Long>> candidates = findCandidates(partitionSlots.get(0), partitionPredicate, index);
+            if (candidates.isPresent()) {
+                partitionIds = candidates.get().stream().sorted().collect(ImmutableList.toImmutableList());
+            }
+        }
+
+        List<OnePartitionEvaluator> evaluators = partitionIds
                 .stream()
-                .map(kv -> toPartitionEvaluator(kv.getKey(), kv.getValue(), partitionSlots, cascadesContext))
+                .filter(idToPartitions::containsKey)
+                .map(id -> toPartitionEvaluator(id, idToPartitions.get(id), partitionSlots, cascadesContext))
                 .collect(ImmutableList.toImmutableList());
 
         PartitionPruner partitionPruner = new PartitionPruner(evaluators, partitionPredicate);
@@ -81,6 +115,93 @@ public class PartitionPruner {
         }
     }
 
+    /**
+     * Find the partitions which may satisfy the predicate by index, the predicate could be resolved if it is
+     * made up of comparisons and in predicates between the partition slot and literals.
+     *
+     * @return empty if the predicate could not be resolved by index
+     */
+    @VisibleForTesting
+    static Optional<Set<Long>> findCandidates(Slot slot, Expression predicate, PartitionItemIndex index) {
+        if (predicate instanceof And) {
+            // conjuncts which could not be resolved are checked by partition evaluators
+            Set<Long> result = null;
+            for (Expression conjunct : ExpressionUtils.extractConjunction(predicate)) {
+                Optional<Set<Long>> candidates = findCandidates(slot, conjunct, index);
+                if (candidates.isPresent()) {
+                    if (result == null) {
+                        result = candidates.get();
+                    } else {
+                        result.retainAll(candidates.get());
+                    }
+                }
+            }
+            return Optional.ofNullable(result);
+        } else if (predicate instanceof Or) {
+            Set<Long> result = Sets.newHashSet();
+            for (Expression disjunct : ExpressionUtils.extractDisjunction(predicate)) {
+                Optional<Set<Long>> candidates = findCandidates(slot, disjunct, index);
+                if (!candidates.isPresent()) {
+                    return Optional.empty();
+                }
+                result.addAll(candidates.get());
+            }
+            return Optional.of(result);
+        } else if (predicate instanceof InPredicate) {
+            InPredicate inPredicate = (InPredicate) predicate;
+            if (!inPredicate.getCompareExpr().equals(slot)) {
+                return Optional.empty();
+            }
+            Set<Long> result = Sets.newHashSet();
+            for (Expression option : inPredicate.getOptions()) {
+                PartitionKey key = toPartitionKey(slot, option);
+                if (key == null) {
+                    return Optional.empty();
+                }
+                result.addAll(index.find(Range.singleton(key)));
+            }
+            return Optional.of(result);
+        } else if (predicate instanceof ComparisonPredicate) {
+            ComparisonPredicate comparison = (ComparisonPredicate) predicate;
+            if (comparison.right().equals(slot)) {
+                comparison = comparison.commute();
+            }
+            PartitionKey key = comparison.left().equals(slot) ? toPartitionKey(slot, comparison.right()) : null;
+            if (key == null) {
+                return Optional.empty();
+            }
+            if (comparison instanceof EqualTo) {
+                return Optional.of(index.find(Range.singleton(key)));
+            } else if (comparison instanceof GreaterThan) {
+                return Optional.of(index.find(Range.greaterThan(key)));
+            } else if (comparison instanceof GreaterThanEqual) {
+                return Optional.of(index.find(Range.atLeast(key)));
+            } else if (comparison instanceof LessThan) {
+                return Optional.of(index.find(Range.lessThan(key)));
+            } else if (comparison instanceof LessThanEqual) {
+                return Optional.of(index.find(Range.atMost(key)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // only literals of the same type as the slot are converted, and only for types whose legacy literals
+    // are compared by value in the same way as the partition values
+    private static PartitionKey toPartitionKey(Slot slot, Expression expression) {
+        DataType type = slot.getDataType();
+        if (!(expression instanceof Literal) || expression instanceof NullLiteral
+                || !expression.getDataType().equals(type)) {
+            return null;
+        }
+        if (!type.isIntegralType() && !type.isDateLikeType() && !type.isVarcharType() && !type.isStringType()) {
+            return null;
+        }
+        LiteralExpr literal = ((Literal) expression).toLegacyLiteral();
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(literal, literal.getType().getPrimitiveType());
+        return key;
+    }
+
     private boolean canPrune(OnePartitionEvaluator evaluator) {
         List<Map<Slot, PartitionSlotInput>> onePartitionInputs = evaluator.getOnePartitionInputs();
         for (Map<Slot, PartitionSlotInput> currentInputs : onePartitionInputs) {
@@ -0,0 +1,234 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.stats;
+
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.common.Config;
+import org.apache.doris.nereids.memo.Group;
+import org.apache.doris.nereids.memo.GroupExpression;
+import org.apache.doris.nereids.trees.expressions.Cast;
+import org.apache.doris.nereids.trees.expressions.CompoundPredicate;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.NullSafeEqual;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.functions.BoundFunction;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.plans.GroupPlan;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.algebra.Filter;
+import org.apache.doris.nereids.trees.plans.algebra.Join;
+import org.apache.doris.nereids.trees.plans.algebra.OlapScan;
+import org.apache.doris.nereids.trees.plans.algebra.Project;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalDistribute;
+import org.apache.doris.qe.ConnectContext;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The actual cardinalities of filters and joins fed back from the execution, which are used instead of the
+ * estimations for the same query shapes, e.g. the recurring ETL queries whose estimations are always far away
+ * from the actual rows.
+ * <p>
+ * A query shape is identified by its {@link Signature}, that is the scanned tables and the conjuncts of the
+ * filters and joins, in which the literals are ignored and the order of the joins and conjuncts doesn't matter.
+ * The selectivity relative to the cross product of the scanned tables is kept, so that it still works after
+ * the tables grow.
+ */
+public class CardinalityFeedback {
+    private static final CardinalityFeedback INSTANCE = new CardinalityFeedback();
+
+    private final Cache<String, Double> selectivities = Caffeine.newBuilder()
+            .maximumSize(Math.max(Config.cardinality_feedback_max_entries, 0))
+            .build();
+
+    public static CardinalityFeedback getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled(ConnectContext connectContext) {
+        return Config.cardinality_feedback_max_entries > 0 && connectContext != null
+                && connectContext.getSessionVariable().isEnableCardinalityFeedback();
+    }
+
+    public void update(Signature signature, double actualRows) {
+        selectivities.put(signature.key, actualRows / signature.crossRows);
+    }
+
+    /**
+     * Get the row count of the query shape by the selectivity fed back from the last execution.
+     */
+    public Optional<Double> getRowCount(Signature signature) {
+        Double selectivity = selectivities.getIfPresent(signature.key);
+        return selectivity == null ? Optional.empty() : Optional.of(selectivity * signature.crossRows);
+    }
+
+    public boolean isEmpty() {
+        return selectivities.estimatedSize() == 0;
+    }
+
+    public void invalidateAll() {
+        selectivities.invalidateAll();
+    }
+
+    /**
+     * Get the signature of the plan, the children of the plan can be plans in memo.
+     *
+     * @return null if the plan contains any plan other than olap scan, filter, join and project
+     */
+    public static Signature signatureOf(Plan plan) {
+        SignatureBuilder builder = new SignatureBuilder();
+        return builder.visit(plan) ? builder.build() : null;
+    }
+
+    /**
+     * The signature of a query shape.
+     */
+    public static class Signature {
+        private final String key;
+        // the cross product of the row counts of the scanned tables
+        private final double crossRows;
+
+        private Signature(String key, double crossRows) {
+            this.key = key;
+            this.crossRows = crossRows;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public double getCrossRows() {
+            return crossRows;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    private static class SignatureBuilder {
+        private final List<String> tables = new ArrayList<>();
+        private final List<String> conjuncts = new ArrayList<>();
+        private double crossRows = 1;
+
+        private boolean visit(Plan plan) {
+            if (plan instanceof GroupPlan) {
+                // all expressions in a group have the same tables and conjuncts, so any of them is ok
+                Group group = ((GroupPlan) plan).getGroup();
+                List<GroupExpression> expressions = group.getLogicalExpressions().isEmpty()
+                        ? group.getPhysicalExpressions() : group.getLogicalExpressions();
+                return !expressions.isEmpty() && visit(expressions.get(0).getPlan());
+            }
+            if (plan instanceof OlapScan) {
+                OlapTable table = ((OlapScan) plan).getTable();
+                tables.add(String.valueOf(table.getId()));
+                crossRows *= Math.max(table.getRowCount(), 1);
+                return true;
+            }
+            if (plan instanceof Join) {
+                return visitJoin((Join) plan, plan.child(0), plan.child(1));
+            }
+            if (plan instanceof Filter) {
+                ((Filter) plan).getConjuncts().forEach(conjunct -> conjuncts.add(normalize(conjunct)));
+            } else if (!(plan instanceof Project) && !(plan instanceof PhysicalDistribute)) {
+                return false;
+            }
+            for (Plan child : plan.children()) {
+                if (!visit(child)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean visitJoin(Join join, Plan left, Plan right) {
+            SignatureBuilder leftBuilder = new SignatureBuilder();
+            SignatureBuilder rightBuilder = new SignatureBuilder();
+            if (!leftBuilder.visit(left) || !rightBuilder.visit(right)) {
+                return false;
+            }
+            // the inner joins are commutative, but the sides of the other joins are different
+            String prefix = "";
+            if (!join.getJoinType().isInnerOrCrossJoin()) {
+                Collections.sort(leftBuilder.tables);
+                Collections.sort(rightBuilder.tables);
+                prefix = join.getJoinType() + leftBuilder.tables.toString() + rightBuilder.tables + ":";
+            }
+            for (Expression conjunct : join.getHashJoinConjuncts()) {
+                conjuncts.add(prefix + normalize(conjunct));
+            }
+            for (Expression conjunct : join.getOtherJoinConjuncts()) {
+                conjuncts.add(prefix + normalize(conjunct));
+            }
+            if (!prefix.isEmpty() && join.getHashJoinConjuncts().isEmpty() && join.getOtherJoinConjuncts().isEmpty()) {
+                conjuncts.add(prefix);
+            }
+            for (SignatureBuilder child : new SignatureBuilder[] {leftBuilder, rightBuilder}) {
+                tables.addAll(child.tables);
+                conjuncts.addAll(child.conjuncts);
+                crossRows *= child.crossRows;
+            }
+            return true;
+        }
+
+        private Signature build() {
+            Collections.sort(tables);
+            Collections.sort(conjuncts);
+            return new Signature("tables" + tables + " conjuncts" + conjuncts, crossRows);
+        }
+
+        // the slots are identified by their qualified names instead of expr ids which differ between queries
+        private static String normalize(Expression expression) {
+            if (expression instanceof Literal) {
+                return "?";
+            }
+            if (expression instanceof SlotReference) {
+                SlotReference slot = (SlotReference) expression;
+                List<String> names = new ArrayList<>(slot.getQualifier());
+                names.add(slot.getName());
+                return String.join(".", names);
+            }
+            Stream<String> childStream = expression.children().stream().map(SignatureBuilder::normalize);
+            // the sides of the commutative predicates may be swapped, e.g. when the join is commuted
+            if (expression instanceof EqualTo || expression instanceof NullSafeEqual
+                    || expression instanceof CompoundPredicate) {
+                childStream = childStream.sorted();
+            }
+            String children = childStream.collect(Collectors.joining(", "));
+            String name;
+            if (expression instanceof Cast) {
+                name = "Cast<" + expression.getDataType() + ">";
+            } else if (expression instanceof BoundFunction) {
+                name = ((BoundFunction) expression).getName();
+            } else {
+                name = expression.getClass().getSimpleName();
+            }
+            return name + "(" + children + ")";
+        }
+    }
+}
@@ -364,6 +364,7 @@ public class ExpressionEstimation extends ExpressionVisitor<ColumnStatistic, Sta
         return new ColumnStatisticBuilder(leftStats)
                 .setNumNulls(StatsMathUtil.maxNonNaN(leftStats.numNulls, rightStats.numNulls))
                 .setHistogram(null)
+                .setSketch(null)
                 .setNdv(2).build();
     }
 
@@ -376,7 +377,8 @@ public class ExpressionEstimation extends ExpressionVisitor<ColumnStatistic, Sta
             ColumnStatistic columnStatistic = childExprs.get(i).accept(this, context);
             maxNull = StatsMathUtil.maxNonNaN(maxNull, columnStatistic.numNulls);
         }
-        return new ColumnStatisticBuilder(firstChild).setNumNulls(maxNull).setNdv(2).setHistogram(null).build();
+        return new ColumnStatisticBuilder(firstChild).setNumNulls(maxNull).setNdv(2).setHistogram(null)
+                .setSketch(null).build();
     }
 
     @Override
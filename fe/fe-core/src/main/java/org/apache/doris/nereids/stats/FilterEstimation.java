@@ -173,6 +173,14 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
 
     private Statistics updateLessThanLiteral(Expression leftExpr, ColumnStatistic statsForLeft,
             double val, EstimationContext context, boolean contains) {
+        if (statsForLeft.hasSketch()) {
+            StatisticRange rightRange = new StatisticRange(statsForLeft.minValue, val, statsForLeft.ndv,
+                    leftExpr.getDataType());
+            // the sketch only knows the range of the sampled rows, the range of the column is checked here
+            double sel = val < statsForLeft.minValue || (val == statsForLeft.minValue && !contains) ? 0
+                    : statsForLeft.sketch.rangeSelectivity(Double.NEGATIVE_INFINITY, true, val, contains);
+            return estimateBinaryComparisonFilter(leftExpr, statsForLeft, rightRange, sel, context);
+        }
         if (statsForLeft.hasHistogram()) {
             return estimateLessThanLiteralWithHistogram(leftExpr, statsForLeft, val, context, contains);
         }
@@ -186,6 +194,13 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
 
     private Statistics updateGreaterThanLiteral(Expression leftExpr, ColumnStatistic statsForLeft,
             double val, EstimationContext context, boolean contains) {
+        if (statsForLeft.hasSketch()) {
+            StatisticRange rightRange = new StatisticRange(val, statsForLeft.maxValue, statsForLeft.ndv,
+                    leftExpr.getDataType());
+            double sel = val > statsForLeft.maxValue || (val == statsForLeft.maxValue && !contains) ? 0
+                    : statsForLeft.sketch.rangeSelectivity(val, contains, Double.POSITIVE_INFINITY, true);
+            return estimateBinaryComparisonFilter(leftExpr, statsForLeft, rightRange, sel, context);
+        }
         if (statsForLeft.hasHistogram()) {
             return estimateGreaterThanLiteralWithHistogram(leftExpr, statsForLeft, val, context, contains);
         }
@@ -228,7 +243,12 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
         } else {
             selectivity = StatsMathUtil.minNonNaN(1.0, 1.0 / ndv);
         }
-        if (statsForLeft.hasHistogram()) {
+        if (statsForLeft.hasSketch()) {
+            // the most common values are estimated by their frequencies instead of 1 / ndv
+            if (selectivity > 0) {
+                selectivity = statsForLeft.sketch.equalSelectivity(val);
+            }
+        } else if (statsForLeft.hasHistogram()) {
             return estimateEqualToWithHistogram(cp.left(), statsForLeft, val, context);
         }
 
@@ -246,6 +266,7 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
             colStatsBuilder.setMinValue(val);
             colStatsBuilder.setNdv(1);
             colStatsBuilder.setNumNulls(0);
+            colStatsBuilder.setSketch(null);
             equalStats.addColumnStats(leftSlot, colStatsBuilder.build());
         }
         return equalStats;
@@ -363,12 +384,19 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
             StatisticRange rightRange, EstimationContext context) {
         StatisticRange leftRange =
                 new StatisticRange(leftStats.minValue, leftStats.maxValue, leftStats.ndv, leftExpr.getDataType());
+        return estimateBinaryComparisonFilter(leftExpr, leftStats, rightRange,
+                leftRange.overlapPercentWith(rightRange), context);
+    }
+
+    private Statistics estimateBinaryComparisonFilter(Expression leftExpr, ColumnStatistic leftStats,
+            StatisticRange rightRange, double sel, EstimationContext context) {
+        StatisticRange leftRange =
+                new StatisticRange(leftStats.minValue, leftStats.maxValue, leftStats.ndv, leftExpr.getDataType());
         StatisticRange intersectRange = leftRange.cover(rightRange);
         ColumnStatisticBuilder leftColumnStatisticBuilder = new ColumnStatisticBuilder(leftStats)
                 .setMinValue(intersectRange.getLow())
                 .setMaxValue(intersectRange.getHigh())
                 .setNdv(intersectRange.getDistinctValues());
-        double sel = leftRange.overlapPercentWith(rightRange);
         Statistics updatedStatistics = context.statistics.withSel(sel);
         leftColumnStatisticBuilder.setCount(updatedStatistics.getRowCount());
         updatedStatistics.addColumnStats(leftExpr, leftColumnStatisticBuilder.build());
@@ -393,7 +421,11 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
         double sel;
         double reduceRatio = 0.25;
         double bothSideReducedRatio = 0.9;
-        if (!leftStats.rangeChanged() && !rightStats.rangeChanged()
+        if (leftStats.hasSketch() && rightStats.hasSketch()) {
+            // the skewed values are matched by the most common values of both sides
+            sel = leftIntersectRight.isEmpty() ? 0 : leftStats.sketch.joinSelectivity(rightStats.sketch,
+                    leftIntersectRight.getLow(), leftIntersectRight.getHigh());
+        } else if (!leftStats.rangeChanged() && !rightStats.rangeChanged()
                 && leftStats.ndv < leftStats.getOriginalNdv() * bothSideReducedRatio
                 && rightStats.ndv < rightStats.getOriginalNdv() * bothSideReducedRatio) {
             double sel1;
@@ -103,8 +103,10 @@ public class JoinEstimation {
                         ColumnStatistic eqRightColStats = ExpressionEstimation.estimate(equal.right(), rightStats);
                         double rightStatsRowCount = StatsMathUtil.nonZeroDivisor(rightStats.getRowCount());
                         double leftStatsRowCount = StatsMathUtil.nonZeroDivisor(leftStats.getRowCount());
+                        // the skew of both sides is known if they have sketches
                         boolean trustable = eqRightColStats.ndv / rightStatsRowCount > almostUniqueThreshold
-                                || eqLeftColStats.ndv / leftStatsRowCount > almostUniqueThreshold;
+                                || eqLeftColStats.ndv / leftStatsRowCount > almostUniqueThreshold
+                                || (eqLeftColStats.hasSketch() && eqRightColStats.hasSketch());
                         if (!trustable) {
                             double rNdv = StatsMathUtil.nonZeroDivisor(eqRightColStats.ndv);
                             double lNdv = StatsMathUtil.nonZeroDivisor(eqLeftColStats.ndv);
@@ -264,6 +266,28 @@ public class JoinEstimation {
      * estimate join
      */
     public static Statistics estimate(Statistics leftStats, Statistics rightStats, Join join) {
+        return removeSketches(estimateJoin(leftStats, rightStats, join));
+    }
+
+    /**
+     * The sketches describe the values in the tables, but the join changes the distribution of the values,
+     * e.g. a skewed value of one side is repeated by the matched rows of the other side.
+     */
+    private static Statistics removeSketches(Statistics stats) {
+        if (stats.columnStatistics().values().stream().noneMatch(colStats -> colStats.sketch != null)) {
+            return stats;
+        }
+        Statistics result = new Statistics(stats);
+        for (Map.Entry<Expression, ColumnStatistic> entry : stats.columnStatistics().entrySet()) {
+            if (entry.getValue().sketch != null) {
+                result.addColumnStats(entry.getKey(),
+                        new ColumnStatisticBuilder(entry.getValue()).setSketch(null).build());
+            }
+        }
+        return result;
+    }
+
+    private static Statistics estimateJoin(Statistics leftStats, Statistics rightStats, Join join) {
         JoinType joinType = join.getJoinType();
         if (joinType.isSemiOrAntiJoin()) {
             return estimateSemiOrAnti(leftStats, rightStats, join);
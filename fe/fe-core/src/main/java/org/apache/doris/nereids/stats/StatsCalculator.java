@@ -26,6 +26,7 @@ import org.apache.doris.common.Pair;
 import org.apache.doris.nereids.exceptions.AnalysisException;
 import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
+import org.apache.doris.nereids.stats.CardinalityFeedback.Signature;
 import org.apache.doris.nereids.trees.expressions.Alias;
 import org.apache.doris.nereids.trees.expressions.CTEId;
 import org.apache.doris.nereids.trees.expressions.Expression;
@@ -40,6 +41,7 @@ import org.apache.doris.nereids.trees.plans.algebra.Aggregate;
 import org.apache.doris.nereids.trees.plans.algebra.EmptyRelation;
 import org.apache.doris.nereids.trees.plans.algebra.Filter;
 import org.apache.doris.nereids.trees.plans.algebra.Generate;
+import org.apache.doris.nereids.trees.plans.algebra.Join;
 import org.apache.doris.nereids.trees.plans.algebra.Limit;
 import org.apache.doris.nereids.trees.plans.algebra.OneRowRelation;
 import org.apache.doris.nereids.trees.plans.algebra.PartitionTopN;
@@ -109,6 +111,7 @@ import org.apache.doris.nereids.trees.plans.physical.PhysicalWindow;
 import org.apache.doris.nereids.trees.plans.visitor.DefaultPlanVisitor;
 import org.apache.doris.nereids.types.DataType;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.statistics.ColumnSketch;
 import org.apache.doris.statistics.ColumnStatistic;
 import org.apache.doris.statistics.ColumnStatisticBuilder;
 import org.apache.doris.statistics.Histogram;
@@ -204,7 +207,7 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
 
     private void estimate() {
         Plan plan = groupExpression.getPlan();
-        Statistics stats = plan.accept(this, null);
+        Statistics stats = applyCardinalityFeedback(plan, plan.accept(this, null));
         Statistics originStats = groupExpression.getOwnerGroup().getStatistics();
         /*
         in an ideal cost model, every group expression in a group are equivalent, but in fact the cost are different.
@@ -224,6 +227,22 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
         groupExpression.setStatDerived(true);
     }
 
+    /**
+     * Use the actual rows of the filter or join fed back from the execution of the same query shape.
+     */
+    private Statistics applyCardinalityFeedback(Plan plan, Statistics stats) {
+        if (!(plan instanceof Filter) && !(plan instanceof Join)
+                || !CardinalityFeedback.isEnabled(ConnectContext.get())
+                || CardinalityFeedback.getInstance().isEmpty()) {
+            return stats;
+        }
+        Signature signature = CardinalityFeedback.signatureOf(plan);
+        if (signature == null) {
+            return stats;
+        }
+        return CardinalityFeedback.getInstance().getRowCount(signature).map(stats::withRowCount).orElse(stats);
+    }
+
     @Override
     public Statistics visitLogicalOlapTableSink(LogicalOlapTableSink<? extends Plan> olapTableSink, Void context) {
         return groupExpression.childStatistics(0);
@@ -542,6 +561,22 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
         }
     }
 
+    private ColumnSketch getColumnSketch(TableIf table, String colName) {
+        // the sketches are only collected for olap tables
+        if (isPlayNereidsDump || !(table instanceof OlapTable)) {
+            return null;
+        }
+        return Env.getCurrentEnv().getStatisticsCache().getSketch(table.getId(), colName);
+    }
+
+    // The sketch describes the values in the table, it's removed when the values are deduplicated.
+    private static ColumnStatistic removeSketch(ColumnStatistic columnStatistic) {
+        if (columnStatistic == null || columnStatistic.sketch == null) {
+            return columnStatistic;
+        }
+        return new ColumnStatisticBuilder(columnStatistic).setSketch(null).build();
+    }
+
     // TODO: 1. Subtract the pruned partition
     //       2. Consider the influence of runtime filter
     //       3. Get NDV and column data size from StatisticManger, StatisticManager doesn't support it now.
@@ -596,6 +631,10 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
                     totalHistogramMap.put(table.getName() + ":" + colName, histogram);
                 }
             }
+            ColumnSketch sketch = getColumnSketch(table, colName);
+            if (sketch != null) {
+                cache = new ColumnStatisticBuilder(cache).setSketch(sketch).build();
+            }
             columnStatisticMap.put(slotReference, cache);
             if (ConnectContext.get().getSessionVariable().isEnableMinidump()
                     && !ConnectContext.get().getSessionVariable().isPlayNereidsDump()) {
@@ -681,7 +720,7 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
             builder.setMaxValue(columnStat.maxValue / factor);
             builder.setNdv(resultSetCount);
             builder.setDataSize(resultSetCount * outputExpression.getDataType().width());
-            slotToColumnStats.put(outputExpression.toSlot(), columnStat);
+            slotToColumnStats.put(outputExpression.toSlot(), removeSketch(columnStat));
         }
         return new Statistics(resultSetCount, slotToColumnStats, childStats.getWidth(),
                 childStats.getPenalty() + childStats.getRowCount());
@@ -796,7 +835,7 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
         StatisticsBuilder statisticsBuilder = new StatisticsBuilder();
         for (int i = 0; i < operatorOutput.size(); i++) {
             ColumnStatistic columnStatistic = leftStats.findColumnStatistics(childSlots.get(i));
-            statisticsBuilder.putColumnStatistics(operatorOutput.get(i), columnStatistic);
+            statisticsBuilder.putColumnStatistics(operatorOutput.get(i), removeSketch(columnStatistic));
         }
         statisticsBuilder.setRowCount(leftStats.getRowCount());
         return statisticsBuilder.build();
@@ -824,7 +863,7 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
         List<Slot> leftChildOutputs = setOperation.getChildOutput(0);
         for (int i = 0; i < outputs.size(); i++) {
             leftChildStats.addColumnStats(outputs.get(i),
-                    leftChildStats.findColumnStatistics(leftChildOutputs.get(i)));
+                    removeSketch(leftChildStats.findColumnStatistics(leftChildOutputs.get(i))));
         }
         return leftChildStats.withRowCount(rowCount);
     }
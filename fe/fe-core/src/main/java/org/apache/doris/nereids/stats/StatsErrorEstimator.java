@@ -18,12 +18,16 @@
 package org.apache.doris.nereids.stats;
 
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.Status;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.common.util.ProfileManager;
+import org.apache.doris.nereids.stats.CardinalityFeedback.Signature;
 import org.apache.doris.nereids.trees.plans.AbstractPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalLimit;
 import org.apache.doris.persist.gson.GsonUtils;
 import org.apache.doris.planner.PlanNode;
 import org.apache.doris.planner.PlanNodeId;
+import org.apache.doris.planner.ScanNode;
 import org.apache.doris.statistics.Statistics;
 import org.apache.doris.thrift.TReportExecStatusParams;
 import org.apache.doris.thrift.TRuntimeProfileNode;
@@ -32,8 +36,10 @@ import org.apache.doris.thrift.TUniqueId;
 import com.google.gson.annotations.SerializedName;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -48,8 +54,24 @@ public class StatsErrorEstimator {
     @SerializedName("qError")
     private double qError;
 
+    // the signatures of the plan nodes whose actual rows are fed back to the cardinality feedback
+    private final transient Map<Integer, Pair<PlanNode, Signature>> legacyPlanIdToSignature = new HashMap<>();
+
+    // the translated plan nodes, used to check the subtrees of the plan nodes with signatures
+    private final transient Map<Integer, PlanNode> legacyPlanIdToPlanNode = new HashMap<>();
+    // the plan nodes whose actual rows are reported by the final report of any instance
+    private final transient Set<Integer> reportedPlanIds = new HashSet<>();
+
+    // the actual rows are incomplete if the execution is cut off by a limit or any instance fails
+    private transient boolean feedbackAvailable;
+
     public StatsErrorEstimator() {
+        this(false);
+    }
+
+    public StatsErrorEstimator(boolean enableCardinalityFeedback) {
         legacyPlanIdStats = new HashMap<>();
+        feedbackAvailable = enableCardinalityFeedback;
     }
 
     /**
@@ -62,6 +84,19 @@ public class StatsErrorEstimator {
         }
         legacyPlanIdStats.put(planNode.getId().asInt(), Pair.of(statistics.getRowCount(),
                 (double) 0));
+        if (feedbackAvailable) {
+            legacyPlanIdToPlanNode.put(planNode.getId().asInt(), planNode);
+            if (physicalPlan instanceof PhysicalLimit) {
+                feedbackAvailable = false;
+                return;
+            }
+            Signature signature = CardinalityFeedback.signatureOf(physicalPlan);
+            if (signature != null) {
+                legacyPlanIdToSignature.put(planNode.getId().asInt(), Pair.of(planNode, signature));
+            } else {
+                legacyPlanIdToSignature.remove(planNode.getId().asInt());
+            }
+        }
     }
 
     /**
@@ -83,8 +118,15 @@ public class StatsErrorEstimator {
     /**
      * Update extract returned rows incrementally, since there may be many execution instances of plan fragment.
      */
-    public void updateExactReturnedRows(TReportExecStatusParams tReportExecStatusParams) {
+    public synchronized void updateExactReturnedRows(TReportExecStatusParams tReportExecStatusParams) {
         TUniqueId tUniqueId = tReportExecStatusParams.query_id;
+        if (!new Status(tReportExecStatusParams.status).ok()) {
+            feedbackAvailable = false;
+        }
+        // the counters in the profile are accumulated, only the final report of each instance is counted
+        if (!tReportExecStatusParams.isSetProfile() || !tReportExecStatusParams.isDone()) {
+            return;
+        }
         for (TRuntimeProfileNode runtimeProfileNode : tReportExecStatusParams.profile.nodes) {
             String name = runtimeProfileNode.name;
             int planId = extractPlanNodeIdFromName(name);
@@ -98,11 +140,62 @@ public class StatsErrorEstimator {
                 continue;
             }
             pair.second = pair.second + rowsReturned;
+            reportedPlanIds.add(planId);
         }
         this.qError = calculateQError();
         updateProfile(tUniqueId);
     }
 
+    /**
+     * Feed the actual rows of filters and joins back after all instances are done.
+     * The actual rows of a plan node are not fed back if they may be incomplete:
+     * 1. the plan node or any node under it is not reported, i.e. it may not be executed.
+     * 2. the plan node or any node above it returns no rows. The execution may be terminated early,
+     *    e.g. the probe side of a hash join is not read if the build side is empty.
+     */
+    public synchronized void updateCardinalityFeedback() {
+        if (!feedbackAvailable) {
+            return;
+        }
+        feedbackAvailable = false;
+        Set<Integer> terminatedPlanIds = new HashSet<>();
+        for (PlanNode planNode : legacyPlanIdToPlanNode.values()) {
+            Pair<Double, Double> pair = legacyPlanIdStats.get(planNode.getId().asInt());
+            if (pair != null && pair.second == 0) {
+                collectPlanIds(planNode, terminatedPlanIds);
+            }
+        }
+        for (Entry<Integer, Pair<PlanNode, Signature>> entry : legacyPlanIdToSignature.entrySet()) {
+            PlanNode planNode = entry.getValue().first;
+            // the rows of the scan are reduced by the runtime filters, which are not the rows of the filter
+            if (planNode instanceof ScanNode && !planNode.getRuntimeFilters().isEmpty()) {
+                continue;
+            }
+            if (terminatedPlanIds.contains(entry.getKey()) || !isExecuted(planNode)) {
+                continue;
+            }
+            Pair<Double, Double> pair = legacyPlanIdStats.get(entry.getKey());
+            if (pair != null) {
+                CardinalityFeedback.getInstance().update(entry.getValue().second, pair.second);
+            }
+        }
+    }
+
+    private static void collectPlanIds(PlanNode planNode, Set<Integer> planIds) {
+        if (planIds.add(planNode.getId().asInt())) {
+            planNode.getChildren().forEach(child -> collectPlanIds(child, planIds));
+        }
+    }
+
+    // whether the plan node and the nodes under it are all reported
+    private boolean isExecuted(PlanNode planNode) {
+        int planId = planNode.getId().asInt();
+        if (legacyPlanIdStats.containsKey(planId) && !reportedPlanIds.contains(planId)) {
+            return false;
+        }
+        return planNode.getChildren().stream().allMatch(this::isExecuted);
+    }
+
     public void updateProfile(TUniqueId tUniqueId) {
         ProfileManager.getInstance()
                 .setStatsErrorEstimator(DebugUtil.printId(tUniqueId), this);
@@ -134,7 +134,7 @@ public class PhysicalOlapScan extends PhysicalRelation implements OlapScan {
         }
         PhysicalOlapScan that = ((PhysicalOlapScan) o);
         return Objects.equals(selectedIndexId, that.selectedIndexId)
-                && Objects.equals(selectedTabletIds, that.selectedPartitionIds)
+                && Objects.equals(selectedTabletIds, that.selectedTabletIds)
                 && Objects.equals(selectedPartitionIds, that.selectedPartitionIds)
                 && Objects.equals(olapTable, that.olapTable);
     }
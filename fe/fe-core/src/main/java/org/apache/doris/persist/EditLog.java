@@ -1087,13 +1087,30 @@ public class EditLog {
     /**
      * Write an operation to the edit log. Do not sync to persistent store yet.
      */
-    private synchronized long logEdit(short op, Writable writable) {
+    private long logEdit(short op, Writable writable) {
+        if (Config.enable_edit_log_group_commit) {
+            // the journal commits concurrent writes in one batch, so they are not serialized here
+            long start = System.currentTimeMillis();
+            long logId = writeJournal(op, writable);
+            synchronized (this) {
+                updateTransactions(op, start);
+            }
+            return logId;
+        }
+        synchronized (this) {
+            long start = System.currentTimeMillis();
+            long logId = writeJournal(op, writable);
+            updateTransactions(op, start);
+            return logId;
+        }
+    }
+
+    private long writeJournal(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
         }
 
-        long start = System.currentTimeMillis();
         long logId = -1;
         try {
             logId = journal.write(op, writable);
@@ -1103,7 +1120,10 @@ public class EditLog {
             LOG.error("Fatal Error : write stream Exception", t);
             System.exit(-1);
         }
+        return logId;
+    }
 
+    private void updateTransactions(short op, long start) {
         // get a new transactionId
         txId++;
 
@@ -1131,8 +1151,6 @@ public class EditLog {
         if (MetricRepo.isInit) {
             MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
         }
-
-        return logId;
     }
 
     /**
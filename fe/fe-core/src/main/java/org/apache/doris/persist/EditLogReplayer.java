@@ -0,0 +1,146 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.transaction.TransactionState;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Replay edit logs on a partitioned worker pool.
+ *
+ * Logs which only modify the meta of one database, e.g. transaction, partition and replica operations, are
+ * dispatched to the worker chosen by the database id, so logs of the same database are still replayed in order,
+ * and logs of different databases are replayed in parallel. All other logs are global: they are replayed by the
+ * caller after all dispatched logs are finished, so they keep their order with respect to every other log.
+ */
+public class EditLogReplayer {
+    private static final Logger LOG = LogManager.getLogger(EditLogReplayer.class);
+
+    public static final long GLOBAL_KEY = -1L;
+
+    // max number of dispatched logs before waiting for them to finish
+    private final int maxPendingNum;
+    private final ThreadPoolExecutor[] workers;
+    private final List<Future<?>> pendingLogs = Lists.newArrayList();
+
+    public EditLogReplayer(int parallelism, int maxPendingNum) {
+        this.maxPendingNum = maxPendingNum;
+        this.workers = new ThreadPoolExecutor[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            // each worker has only one thread to keep the order of logs dispatched to it
+            workers[i] = ThreadPoolManager.newDaemonFixedThreadPool(1, maxPendingNum,
+                    "edit-log-replayer-" + i, false);
+        }
+    }
+
+    /**
+     * Replay the log, or dispatch it to a worker if it is not global.
+     * The caller must call {@link #waitForFinish()} before treating the log as replayed.
+     *
+     * @return true if the log is replayed by the caller, all logs before it are also replayed.
+     */
+    public boolean replay(Env env, long logId, JournalEntity entity) {
+        long key = getReplayKey(entity);
+        if (key == GLOBAL_KEY) {
+            waitForFinish();
+            EditLog.loadJournal(env, logId, entity);
+            return true;
+        }
+        MetaContext metaContext = MetaContext.get();
+        ThreadPoolExecutor worker = workers[(int) Math.floorMod(key, (long) workers.length)];
+        pendingLogs.add(worker.submit(() -> {
+            if (metaContext != null && MetaContext.get() != metaContext) {
+                metaContext.setThreadLocalInfo();
+            }
+            EditLog.loadJournal(env, logId, entity);
+        }));
+        if (pendingLogs.size() >= maxPendingNum) {
+            waitForFinish();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wait for all dispatched logs to be replayed.
+     */
+    public void waitForFinish() {
+        for (Future<?> future : pendingLogs) {
+            try {
+                future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                // EditLog.loadJournal exits the process on unexpected errors, so this should not happen.
+                LOG.error("failed to wait for edit log replayed", e);
+                System.exit(-1);
+            }
+        }
+        pendingLogs.clear();
+    }
+
+    public boolean hasPendingLogs() {
+        return !pendingLogs.isEmpty();
+    }
+
+    /**
+     * Return the id of the database which the log modifies, or {@link #GLOBAL_KEY} if the log must be replayed
+     * in order with all other logs.
+     */
+    public static long getReplayKey(JournalEntity entity) {
+        Object data = entity.getData();
+        switch (entity.getOpCode()) {
+            case OperationType.OP_UPSERT_TRANSACTION_STATE:
+                return ((TransactionState) data).getDbId();
+            case OperationType.OP_BATCH_REMOVE_TXNS_V2:
+                return ((BatchRemoveTransactionsOperationV2) data).getDbId();
+            case OperationType.OP_ADD_PARTITION:
+                return ((PartitionPersistInfo) data).getDbId();
+            case OperationType.OP_DROP_PARTITION:
+                return ((DropPartitionInfo) data).getDbId();
+            case OperationType.OP_MODIFY_PARTITION:
+                return ((ModifyPartitionInfo) data).getDbId();
+            case OperationType.OP_BATCH_MODIFY_PARTITION: {
+                long dbId = GLOBAL_KEY;
+                for (ModifyPartitionInfo info : ((BatchModifyPartitionsInfo) data).getModifyPartitionInfos()) {
+                    if (dbId != GLOBAL_KEY && dbId != info.getDbId()) {
+                        return GLOBAL_KEY;
+                    }
+                    dbId = info.getDbId();
+                }
+                return dbId;
+            }
+            case OperationType.OP_ADD_REPLICA:
+            case OperationType.OP_UPDATE_REPLICA:
+            case OperationType.OP_DELETE_REPLICA:
+                return ((ReplicaPersistInfo) data).getDbId();
+            default:
+                return GLOBAL_KEY;
+        }
+    }
+}
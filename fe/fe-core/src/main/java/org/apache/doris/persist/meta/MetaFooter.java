@@ -54,6 +54,8 @@ public class MetaFooter {
     public long length;
     // meta indices
     public List<MetaIndex> metaIndices;
+    // sections of image body, empty if the image is written by old version
+    public List<MetaSection> metaSections;
 
     public static MetaFooter read(File imageFile) throws IOException {
         try (RandomAccessFile raf = new RandomAccessFile(imageFile, "r")) {
@@ -81,12 +83,22 @@ public class MetaFooter {
                 MetaIndex index = MetaIndex.read(raf);
                 metaIndices.add(index);
             }
-            LOG.info("Image footer length: {}, indices: {}", footerLength, metaIndices.toArray());
-            return new MetaFooter(metaIndices, checksum, footerLength);
+            // sections are appended after indices, old versions ignore them
+            List<MetaSection> metaSections = Lists.newArrayList();
+            if (raf.getFilePointer() < footerLengthIndex) {
+                int sectionNum = raf.readInt();
+                for (int i = 0; i < sectionNum; i++) {
+                    metaSections.add(MetaSection.read(raf));
+                }
+            }
+            LOG.info("Image footer length: {}, indices: {}, sections: {}", footerLength, metaIndices.toArray(),
+                    metaSections.size());
+            return new MetaFooter(metaIndices, metaSections, checksum, footerLength);
         }
     }
 
-    public static void write(File imageFile, List<MetaIndex> metaIndices, long checksum) throws IOException {
+    public static void write(File imageFile, List<MetaIndex> metaIndices, List<MetaSection> metaSections,
+            long checksum) throws IOException {
         try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
             long startIndex = raf.length();
             raf.seek(startIndex);
@@ -95,6 +107,10 @@ public class MetaFooter {
             for (MetaIndex metaIndex : metaIndices) {
                 MetaIndex.write(raf, metaIndex);
             }
+            raf.writeInt(metaSections.size());
+            for (MetaSection metaSection : metaSections) {
+                MetaSection.write(raf, metaSection);
+            }
             long endIndex = raf.length();
             raf.writeLong(endIndex - startIndex);
             MetaMagicNumber.write(raf);
@@ -103,8 +119,13 @@ public class MetaFooter {
     }
 
     public MetaFooter(List<MetaIndex> metaIndices, long checksum, long length) {
+        this(metaIndices, Lists.newArrayList(), checksum, length);
+    }
+
+    public MetaFooter(List<MetaIndex> metaIndices, List<MetaSection> metaSections, long checksum, long length) {
         this.checksum = checksum;
         this.metaIndices = metaIndices;
+        this.metaSections = metaSections;
         this.length = length;
     }
 
@@ -17,11 +17,19 @@
 
 package org.apache.doris.persist.meta;
 
+import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.datasource.InternalCatalog;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -30,7 +38,17 @@ import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
 
 /**
  * Image Format:
@@ -72,25 +90,34 @@ public class MetaReader {
         long loadImageStartTime = System.currentTimeMillis();
         MetaHeader metaHeader = MetaHeader.read(imageFile);
         MetaFooter metaFooter = MetaFooter.read(imageFile);
+        Map<String, MetaSection> sections = Maps.newHashMap();
+        for (MetaSection section : metaFooter.metaSections) {
+            sections.put(section.name, section);
+        }
 
         long checksum = 0;
         long footerIndex = imageFile.length()
                 - metaFooter.length - MetaFooter.FOOTER_LENGTH_SIZE - MetaMagicNumber.MAGIC_STR.length();
-        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
-            // 1. Skip image file header
-            IOUtils.skipFully(dis, metaHeader.getEnd());
-            // 2. Read meta header first
-            checksum = env.loadHeader(dis, metaHeader, checksum);
-            // 3. Read other meta modules
+        List<MetaIndex> metaIndices = metaFooter.metaIndices;
+        try {
+            // 1. Read meta header first
+            long headerEnd = metaIndices.size() > 1 ? metaIndices.get(1).offset : footerIndex;
+            CRC32 crc = new CRC32();
+            try (DataInputStream dis = openSection(imageFile, metaHeader.getEnd(), headerEnd - metaHeader.getEnd(),
+                    crc)) {
+                checksum = env.loadHeader(dis, metaHeader, checksum);
+                verifySection(sections.get("header"), dis, crc);
+            }
+            // 2. Read other meta modules
             // Modules must be read in the order in which the metadata was written
-            for (int i = 0; i < metaFooter.metaIndices.size(); ++i) {
-                MetaIndex metaIndex = metaFooter.metaIndices.get(i);
+            for (int i = 0; i < metaIndices.size(); ++i) {
+                MetaIndex metaIndex = metaIndices.get(i);
                 if (metaIndex.name.equals("header")) {
                     // skip meta header, which has been read before.
                     continue;
                 }
-                if (i < metaFooter.metaIndices.size() - 1
-                        && metaIndex.offset == metaFooter.metaIndices.get(i + 1).offset) {
+                if (i < metaIndices.size() - 1
+                        && metaIndex.offset == metaIndices.get(i + 1).offset) {
                     // skip empty meta
                     LOG.info("Skip {} module since empty meta length.", metaIndex.name);
                     continue;
@@ -101,11 +128,7 @@ public class MetaReader {
                 }
                 // skip deprecated modules
                 if (PersistMetaModules.DEPRECATED_MODULE_NAMES.contains(metaIndex.name)) {
-                    LOG.warn("meta modules {} is deprecated, ignore and skip it");
-                    // If this is the last module, nothing need to do.
-                    if (i < metaFooter.metaIndices.size() - 1) {
-                        IOUtils.skipFully(dis, metaFooter.metaIndices.get(i + 1).offset - metaIndex.offset);
-                    }
+                    LOG.warn("meta modules {} is deprecated, ignore and skip it", metaIndex.name);
                     continue;
                 }
                 MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
@@ -113,7 +136,23 @@ public class MetaReader {
                     throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
                             + PersistMetaModules.MODULE_NAMES);
                 }
-                checksum = (long) persistMethod.readMethod.invoke(env, dis, checksum);
+                if (metaIndex.name.equals("db")) {
+                    // databases may be saved by chunks, see MetaWriter
+                    List<MetaSection> chunks = metaFooter.metaSections.stream()
+                            .filter(section -> section.isChunkOf(metaIndex.name))
+                            .collect(Collectors.toList());
+                    if (!chunks.isEmpty()) {
+                        checksum = loadDbByChunks(imageFile, env, sections.get(metaIndex.name), chunks, checksum);
+                        continue;
+                    }
+                }
+                long moduleEnd = i < metaIndices.size() - 1 ? metaIndices.get(i + 1).offset : footerIndex;
+                crc.reset();
+                try (DataInputStream dis = openSection(imageFile, metaIndex.offset, moduleEnd - metaIndex.offset,
+                        crc)) {
+                    checksum = (long) persistMethod.readMethod.invoke(env, dis, checksum);
+                    verifySection(sections.get(metaIndex.name), dis, crc);
+                }
             }
         } catch (InvocationTargetException | IllegalAccessException e) {
             throw new IOException(e);
@@ -125,4 +164,90 @@ public class MetaReader {
         long loadImageEndTime = System.currentTimeMillis();
         LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
     }
+
+    private static DataInputStream openSection(File imageFile, long offset, long length, Checksum crc)
+            throws IOException {
+        FileInputStream in = new FileInputStream(imageFile);
+        try {
+            in.getChannel().position(offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(new BoundedInputStream(in, length)), crc));
+    }
+
+    // section is null if the image is written by old version, which has no section checksums.
+    private static void verifySection(MetaSection section, InputStream in, Checksum crc) throws IOException {
+        if (section == null) {
+            return;
+        }
+        // consume the rest bytes of section, which should be empty
+        IOUtils.skip(in, Long.MAX_VALUE);
+        if (crc.getValue() != section.crc) {
+            throw new IOException("checksum of meta section " + section.name + " mismatch, expected: "
+                    + section.crc + ", actual: " + crc.getValue());
+        }
+    }
+
+    /**
+     * Read the chunks of databases in parallel, and add the databases to catalog in order after all chunks are read.
+     */
+    private static long loadDbByChunks(File imageFile, Env env, MetaSection headSection, List<MetaSection> chunks,
+            long checksum) throws IOException, DdlException {
+        int dbCount;
+        CRC32 crc = new CRC32();
+        try (DataInputStream dis = openSection(imageFile, headSection.offset, headSection.length, crc)) {
+            dbCount = dis.readInt();
+            verifySection(headSection, dis, crc);
+        }
+        checksum ^= dbCount;
+
+        int parallelism = Math.max(1, Math.min(Config.metadata_image_parallelism, chunks.size()));
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(parallelism, chunks.size(),
+                "image-reader", false);
+        List<Database> dbs = Lists.newArrayListWithCapacity(dbCount);
+        try {
+            List<Future<List<Database>>> futures = Lists.newArrayList();
+            for (MetaSection chunk : chunks) {
+                futures.add(executor.submit(Env.inheritCurrentThread(() -> readDbChunk(imageFile, chunk))));
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                try {
+                    dbs.addAll(futures.get(i).get());
+                } catch (InterruptedException | ExecutionException e) {
+                    LOG.warn("failed to read meta section: {}", chunks.get(i).name, e);
+                    throw new IOException("failed to read meta section: " + chunks.get(i).name, e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (dbs.size() != dbCount) {
+            throw new IOException("expect " + dbCount + " databases in image, but read " + dbs.size());
+        }
+
+        InternalCatalog internalCatalog = env.getInternalCatalog();
+        for (Database db : dbs) {
+            checksum ^= db.getId();
+            internalCatalog.addLoadedDb(db);
+        }
+        internalCatalog.finishLoadDb();
+        return checksum;
+    }
+
+    private static List<Database> readDbChunk(File imageFile, MetaSection chunk) throws IOException {
+        List<Database> dbs = Lists.newArrayList();
+        CRC32 crc = new CRC32();
+        try (DataInputStream dis = openSection(imageFile, chunk.offset, chunk.length, crc)) {
+            CountingInputStream counter = new CountingInputStream(dis);
+            DataInputStream in = new DataInputStream(counter);
+            while (counter.getByteCount() < chunk.length) {
+                dbs.add(Database.read(in));
+            }
+            verifySection(chunk, dis, crc);
+        }
+        return dbs;
+    }
 }
@@ -0,0 +1,76 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.io.Text;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * A continuous range of the image body with its CRC32 checksum, so that it could be read and verified
+ * independently. A meta module is saved as one section, or as a head section followed by chunk sections
+ * if it is saved by chunks, e.g. "db", "db#0", "db#1" ...
+ */
+public class MetaSection {
+    private static final String CHUNK_SEPARATOR = "#";
+
+    public String name;
+    public long offset;
+    public long length;
+    public long crc;
+
+    public MetaSection() {
+    }
+
+    public MetaSection(String name, long offset, long length, long crc) {
+        this.name = name;
+        this.offset = offset;
+        this.length = length;
+        this.crc = crc;
+    }
+
+    public static String chunkName(String moduleName, int chunkIndex) {
+        return moduleName + CHUNK_SEPARATOR + chunkIndex;
+    }
+
+    public boolean isChunkOf(String moduleName) {
+        return name.startsWith(moduleName + CHUNK_SEPARATOR);
+    }
+
+    public static MetaSection read(RandomAccessFile raf) throws IOException {
+        MetaSection section = new MetaSection();
+        section.name = Text.readString(raf);
+        section.offset = raf.readLong();
+        section.length = raf.readLong();
+        section.crc = raf.readLong();
+        return section;
+    }
+
+    public static void write(RandomAccessFile raf, MetaSection section) throws IOException {
+        Text.writeString(raf, section.name);
+        raf.writeLong(section.offset);
+        raf.writeLong(section.length);
+        raf.writeLong(section.crc);
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + offset + ":" + length;
+    }
+}
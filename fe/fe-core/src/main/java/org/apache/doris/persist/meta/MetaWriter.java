@@ -17,9 +17,13 @@
 
 package org.apache.doris.persist.meta;
 
+import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Reference;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.io.CountingDataOutputStream;
+import org.apache.doris.datasource.InternalCatalog;
 
 import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
@@ -30,7 +34,13 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * Image Format:
@@ -102,33 +112,178 @@ public class MetaWriter {
         // MetaHeader should use output stream in the future.
         long startPosition = MetaHeader.write(imageFile);
         List<MetaIndex> metaIndices = Lists.newArrayList();
+        List<MetaSection> metaSections = Lists.newArrayList();
+        CRC32 crc = new CRC32();
         FileOutputStream imageFileOut = new FileOutputStream(imageFile, true);
-        try (CountingDataOutputStream dos = new CountingDataOutputStream(new BufferedOutputStream(imageFileOut),
-                startPosition)) {
+        try (CountingDataOutputStream dos = new CountingDataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(imageFileOut), crc), startPosition)) {
             writer.setDelegate(dos, metaIndices);
             long replayedJournalId = env.getReplayedJournalId();
             // 1. write header first
+            long sectionStart = dos.getCount();
             checksum.setRef(
                     writer.doWork("header", () -> env.saveHeader(dos, replayedJournalId, checksum.getRef())));
+            metaSections.add(new MetaSection("header", sectionStart, dos.getCount() - sectionStart, crc.getValue()));
             // 2. write other modules
-            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
-                checksum.setRef(writer.doWork(m.name, () -> {
-                    try {
-                        return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        LOG.warn("failed to write meta module: {}", m.name, e);
-                        throw new RuntimeException(e);
-                    }
-                }));
+            int parallelism = Config.metadata_image_parallelism;
+            if (parallelism > 1) {
+                checksum.setRef(checksum.getRef()
+                        ^ writeModulesInParallel(imageFile, env, dos, metaIndices, metaSections, parallelism));
+            } else {
+                for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                    sectionStart = dos.getCount();
+                    crc.reset();
+                    checksum.setRef(writer.doWork(m.name, () -> {
+                        try {
+                            return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
+                        } catch (IllegalAccessException | InvocationTargetException e) {
+                            LOG.warn("failed to write meta module: {}", m.name, e);
+                            throw new RuntimeException(e);
+                        }
+                    }));
+                    metaSections.add(
+                            new MetaSection(m.name, sectionStart, dos.getCount() - sectionStart, crc.getValue()));
+                }
             }
             // 3. force sync to disk
+            dos.flush();
             imageFileOut.getChannel().force(true);
         }
-        MetaFooter.write(imageFile, metaIndices, checksum.getRef());
+        MetaFooter.write(imageFile, metaIndices, metaSections, checksum.getRef());
 
         long saveImageEndTime = System.currentTimeMillis();
         LOG.info("finished save image {} in {} ms. checksum is {}", imageFile.getAbsolutePath(),
                 (saveImageEndTime - saveImageStartTime), checksum.getRef());
     }
 
+    private interface SectionWriteMethod {
+        // return the checksum of the section
+        long write(CountingDataOutputStream dos) throws Exception;
+    }
+
+    private static class PendingSection {
+        private final String name;
+        // whether the section is the start of a meta module
+        private final boolean isModule;
+        private final SectionWriteMethod method;
+
+        private PendingSection(String name, boolean isModule, SectionWriteMethod method) {
+            this.name = name;
+            this.isModule = isModule;
+            this.method = method;
+        }
+    }
+
+    private static class WrittenSection {
+        private final long length;
+        private final long crc;
+        private final long checksum;
+
+        private WrittenSection(long length, long crc, long checksum) {
+            this.length = length;
+            this.crc = crc;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * Write each section into its own part file in parallel, and append the part files to image in order.
+     * The checksum of modules is xor of the values written, so it could be computed by sections and combined.
+     *
+     * @return the checksum of all sections
+     */
+    private static long writeModulesInParallel(File imageFile, Env env, CountingDataOutputStream dos,
+            List<MetaIndex> metaIndices, List<MetaSection> metaSections, int parallelism) throws IOException {
+        List<PendingSection> sections = Lists.newArrayList();
+        for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+            if (m.name.equals("db")) {
+                // databases are the largest module, split them into chunks
+                InternalCatalog internalCatalog = env.getInternalCatalog();
+                List<Database> dbs = internalCatalog.getDbsToSave();
+                sections.add(new PendingSection(m.name, true, out -> internalCatalog.saveDbCount(out, dbs.size(), 0)));
+                List<List<Database>> chunks = splitDbs(dbs, parallelism);
+                for (int i = 0; i < chunks.size(); i++) {
+                    List<Database> chunk = chunks.get(i);
+                    sections.add(new PendingSection(MetaSection.chunkName(m.name, i), false,
+                            out -> internalCatalog.saveDbs(out, chunk, 0)));
+                }
+            } else {
+                sections.add(new PendingSection(m.name, true, out -> (long) m.writeMethod.invoke(env, out, 0L)));
+            }
+        }
+
+        long checksum = 0;
+        List<File> partFiles = Lists.newArrayList();
+        List<Future<WrittenSection>> futures = Lists.newArrayList();
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(parallelism, sections.size(),
+                "image-writer", false);
+        try {
+            for (int i = 0; i < sections.size(); i++) {
+                PendingSection section = sections.get(i);
+                File partFile = new File(imageFile.getParentFile(), imageFile.getName() + "." + i + ".part");
+                partFiles.add(partFile);
+                futures.add(executor.submit(Env.inheritCurrentThread(() -> writeSection(partFile, section))));
+            }
+            for (int i = 0; i < sections.size(); i++) {
+                PendingSection section = sections.get(i);
+                WrittenSection written;
+                try {
+                    written = futures.get(i).get();
+                } catch (InterruptedException | ExecutionException e) {
+                    LOG.warn("failed to write meta section: {}", section.name, e);
+                    throw new IOException("failed to write meta section: " + section.name, e);
+                }
+                if (section.isModule) {
+                    metaIndices.add(new MetaIndex(section.name, dos.getCount()));
+                }
+                metaSections.add(new MetaSection(section.name, dos.getCount(), written.length, written.crc));
+                Files.copy(partFiles.get(i).toPath(), dos);
+                checksum ^= written.checksum;
+                Files.delete(partFiles.get(i).toPath());
+            }
+        } finally {
+            executor.shutdownNow();
+            for (File partFile : partFiles) {
+                Files.deleteIfExists(partFile.toPath());
+            }
+        }
+        return checksum;
+    }
+
+    private static WrittenSection writeSection(File partFile, PendingSection section) throws Exception {
+        CRC32 crc = new CRC32();
+        try (CountingDataOutputStream out = new CountingDataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(partFile)), crc))) {
+            long checksum = section.method.write(out);
+            out.flush();
+            return new WrittenSection(out.getCount(), crc.getValue(), checksum);
+        }
+    }
+
+    /**
+     * Split databases into chunks with similar number of tables, keeping the order of databases.
+     */
+    static List<List<Database>> splitDbs(List<Database> dbs, int chunkNum) {
+        long totalWeight = 0;
+        for (Database db : dbs) {
+            totalWeight += db.getTableNum() + 1;
+        }
+        long chunkWeight = Math.max(1, (totalWeight + chunkNum - 1) / chunkNum);
+        List<List<Database>> chunks = Lists.newArrayList();
+        List<Database> chunk = Lists.newArrayList();
+        long weight = 0;
+        for (Database db : dbs) {
+            chunk.add(db);
+            weight += db.getTableNum() + 1;
+            if (weight >= chunkWeight) {
+                chunks.add(chunk);
+                chunk = Lists.newArrayList();
+                weight = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
 }
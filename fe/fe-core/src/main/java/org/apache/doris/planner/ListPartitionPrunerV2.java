@@ -18,7 +18,6 @@
 package org.apache.doris.planner;
 
 import org.apache.doris.catalog.Column;
-import org.apache.doris.catalog.ListPartitionItem;
 import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.catalog.PartitionKey;
 import org.apache.doris.common.AnalysisException;
@@ -41,7 +40,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -52,30 +50,25 @@ import java.util.stream.Collectors;
 @SuppressWarnings("UnstableApiUsage")
 public class ListPartitionPrunerV2 extends PartitionPrunerV2Base {
     private static final Logger LOG = LogManager.getLogger(ListPartitionPrunerV2.class);
-    // `uidToPartitionRange` is only used for multiple columns partition.
-    private Map<UniqueId, Range<PartitionKey>> uidToPartitionRange;
+    // `rangeToId` is only used for multiple columns partition.
     private Map<Range<PartitionKey>, UniqueId> rangeToId;
 
     public ListPartitionPrunerV2(Map<Long, PartitionItem> idToPartitionItem,
             List<Column> partitionColumns,
             Map<String, ColumnRange> columnNameToRange) {
         super(idToPartitionItem, partitionColumns, columnNameToRange);
-        this.uidToPartitionRange = Maps.newHashMap();
         if (partitionColumns.size() > 1) {
-            this.uidToPartitionRange = genUidToPartitionRange(idToPartitionItem, new HashMap<>());
-            this.rangeToId = genRangeToId(uidToPartitionRange);
+            this.rangeToId = genRangeToId(genUidToPartitionRange(idToPartitionItem, new HashMap<>()));
         }
     }
 
-    // Pass uidToPartitionRange and rangeToId from outside
+    // Pass rangeToId from outside
     public ListPartitionPrunerV2(Map<Long, PartitionItem> idToPartitionItem,
             List<Column> partitionColumns,
             Map<String, ColumnRange> columnNameToRange,
-            Map<UniqueId, Range<PartitionKey>> uidToPartitionRange,
             Map<Range<PartitionKey>, UniqueId> rangeToId,
             RangeMap<ColumnBound, UniqueId> singleColumnRangeMap) {
         super(idToPartitionItem, partitionColumns, columnNameToRange, singleColumnRangeMap);
-        this.uidToPartitionRange = uidToPartitionRange;
         this.rangeToId = rangeToId;
     }
 
@@ -83,12 +76,10 @@ public class ListPartitionPrunerV2 extends PartitionPrunerV2Base {
     public ListPartitionPrunerV2(Map<Long, PartitionItem> idToPartitionItem,
                                  List<Column> partitionColumns,
                                  Map<String, ColumnRange> columnNameToRange,
-                                 Map<UniqueId, Range<PartitionKey>> uidToPartitionRange,
                                  Map<Range<PartitionKey>, UniqueId> rangeToId,
                                  RangeMap<ColumnBound, UniqueId> singleColumnRangeMap,
                                  boolean isHive) {
         super(idToPartitionItem, partitionColumns, columnNameToRange, singleColumnRangeMap, isHive);
-        this.uidToPartitionRange = uidToPartitionRange;
         this.rangeToId = rangeToId;
     }
 
@@ -119,15 +110,6 @@ public class ListPartitionPrunerV2 extends PartitionPrunerV2Base {
         }
     }
 
-    public static Map<Long, List<String>> getPartitionValuesMap(Map<Long, PartitionItem> idToPartitionItem) {
-        Map<Long, List<String>> partitionValuesMap = new HashMap<>();
-        for (Map.Entry<Long, PartitionItem> entry : idToPartitionItem.entrySet()) {
-            partitionValuesMap.put(entry.getKey(),
-                    ((ListPartitionItem) entry.getValue()).getItems().get(0).getPartitionValuesAsStringList());
-        }
-        return partitionValuesMap;
-    }
-
     public static RangeMap<ColumnBound, UniqueId> genSingleColumnRangeMap(Map<Long, PartitionItem> idToPartitionItem,
             Map<Long, List<UniqueId>> idToUniqueIdsMap) {
         RangeMap<ColumnBound, UniqueId> candidate = TreeRangeMap.create();
@@ -179,7 +161,6 @@ public class ListPartitionPrunerV2 extends PartitionPrunerV2Base {
     @Override
     Collection<Long> pruneMultipleColumnPartition(
             Map<Column, FinalFilters> columnToFilters) throws AnalysisException {
-        Preconditions.checkNotNull(uidToPartitionRange);
         Preconditions.checkNotNull(rangeToId);
         return doPruneMultiple(columnToFilters, rangeToId, 0);
     }
@@ -191,13 +172,6 @@ public class ListPartitionPrunerV2 extends PartitionPrunerV2Base {
         return rangeToId;
     }
 
-    public static Map<UniqueId, Range<ColumnBound>> genSingleUidToColumnRange(
-            RangeMap<ColumnBound, UniqueId> singleColumnRangeMap) {
-        Map<UniqueId, Range<ColumnBound>> uidToColumnRange = Maps.newHashMap();
-        singleColumnRangeMap.asMapOfRanges().forEach((columnBound, uid) -> uidToColumnRange.put(uid, columnBound));
-        return uidToColumnRange;
-    }
-
     private Collection<Long> doPruneMultiple(Map<Column, FinalFilters> columnToFilters,
             Map<Range<PartitionKey>, UniqueId> partitionRangeToUid,
             int columnIdx) {
@@ -215,25 +189,23 @@ public class ListPartitionPrunerV2 extends PartitionPrunerV2Base {
             case HAVE_FILTERS:
                 // Grouping partition ranges by the range of column value indexed by `columnIdx`,
                 // so that to compare with the filters.
-                Map<Range<ColumnBound>, List<UniqueId>> grouped =
+                Map<Range<ColumnBound>, Map<Range<PartitionKey>, UniqueId>> grouped =
                         partitionRangeToUid.entrySet().stream()
                                 .collect(Collectors.groupingBy(entry -> mapPartitionKeyRange(entry.getKey(), columnIdx),
-                                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+                                        Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
 
                 // Convert the grouped map to a RangeMap.
-                TreeRangeMap<ColumnBound, List<UniqueId>> candidateRangeMap = TreeRangeMap.create();
+                TreeRangeMap<ColumnBound, Map<Range<PartitionKey>, UniqueId>> candidateRangeMap =
+                        TreeRangeMap.create();
                 grouped.forEach(candidateRangeMap::put);
 
                 return finalFilters.filters.stream()
                         .map(filter -> {
-                            RangeMap<ColumnBound, List<UniqueId>> filtered =
+                            RangeMap<ColumnBound, Map<Range<PartitionKey>, UniqueId>> filtered =
                                     candidateRangeMap.subRangeMap(filter);
-                            // Find PartitionKey ranges according to filtered UniqueIds.
-                            Map<Range<PartitionKey>, UniqueId> filteredPartitionRange =
-                                    filtered.asMapOfRanges().values()
-                                            .stream()
-                                            .flatMap(List::stream)
-                                            .collect(Collectors.toMap(uidToPartitionRange::get, Function.identity()));
+                            // Find PartitionKey ranges according to the filtered groups.
+                            Map<Range<PartitionKey>, UniqueId> filteredPartitionRange = Maps.newHashMap();
+                            filtered.asMapOfRanges().values().forEach(filteredPartitionRange::putAll);
                             return doPruneMultiple(columnToFilters, filteredPartitionRange,
                                     columnIdx + 1);
                         })
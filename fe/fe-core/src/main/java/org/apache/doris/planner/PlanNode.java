@@ -1005,7 +1005,7 @@ public abstract class PlanNode extends TreeNode<PlanNode> implements PlanStats {
         runtimeFilters.add(filter);
     }
 
-    protected Collection<RuntimeFilter> getRuntimeFilters() {
+    public Collection<RuntimeFilter> getRuntimeFilters() {
         return runtimeFilters;
     }
 
@@ -129,7 +129,6 @@ public class HiveScanNode extends FileQueryScanNode {
                 this.totalPartitionNum = idToPartitionItem.size();
                 ListPartitionPrunerV2 pruner = new ListPartitionPrunerV2(idToPartitionItem,
                         hmsTable.getPartitionColumns(), columnNameToRange,
-                        hivePartitionValues.getUidToPartitionRange(),
                         hivePartitionValues.getRangeToId(),
                         hivePartitionValues.getSingleColumnRangeMap(),
                         true);
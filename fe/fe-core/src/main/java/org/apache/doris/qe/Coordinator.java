@@ -27,6 +27,7 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.Status;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.profile.ExecutionProfile;
 import org.apache.doris.common.telemetry.ScopedSpan;
@@ -92,6 +93,7 @@ import org.apache.doris.thrift.TPipelineFragmentParams;
 import org.apache.doris.thrift.TPipelineFragmentParamsList;
 import org.apache.doris.thrift.TPipelineInstanceParams;
 import org.apache.doris.thrift.TPipelineWorkloadGroup;
+import org.apache.doris.thrift.TPlanFragment;
 import org.apache.doris.thrift.TPlanFragmentDestination;
 import org.apache.doris.thrift.TPlanFragmentExecParams;
 import org.apache.doris.thrift.TQueryGlobals;
@@ -147,6 +149,8 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
@@ -161,6 +165,11 @@ public class Coordinator {
     // Random is used to shuffle instances of partitioned
     private static final Random instanceRandom = new Random();
 
+    // Serialize the fragment requests to different backends, run in the query thread if all threads are busy
+    private static final ThreadPoolExecutor fragmentSerializePool = ThreadPoolManager.newDaemonThreadPool(0,
+            Math.max(Config.fragment_serialize_thread_num, 1), 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new ThreadPoolExecutor.CallerRunsPolicy(), "fragment-serialize-pool", true);
+
     // Overall status of the entire query; set to the first reported fragment error
     // status or to CANCELLED, if Cancel() is called.
     Status queryStatus = new Status();
@@ -170,7 +179,7 @@ public class Coordinator {
 
     private ImmutableMap<Long, Backend> idToBackend = ImmutableMap.of();
 
-    // copied from TQueryExecRequest; constant across all fragments
+    // copied from TQueryExecRequest; constant across all fragments, so it is serialized only once
     private final TDescriptorTable descTable;
 
     // Why do we use query global?
@@ -244,6 +253,9 @@ public class Coordinator {
 
     private boolean enablePipelineEngine = false;
 
+    // number of outstanding fetch requests of the result receiver
+    private int resultFetchPipelineDepth = 1;
+
     // Runtime filter merge instance address and ID
     public TNetworkAddress runtimeFilterMergeAddr;
     public TUniqueId runtimeFilterMergeInstanceId;
@@ -323,7 +335,7 @@ public class Coordinator {
         PrepareStmt prepareStmt = analyzer == null ? null : analyzer.getPrepareStmt();
         if (prepareStmt != null) {
             // Used cached or better performance
-            this.descTable = prepareStmt.getDescTable();
+            this.descTable = SharedFragmentStructs.share(prepareStmt.getDescTable());
             if (pointExec != null) {
                 pointExec.setCacheID(prepareStmt.getID());
                 pointExec.setSerializedDescTable(prepareStmt.getSerializedDescTable());
@@ -331,12 +343,13 @@ public class Coordinator {
                 pointExec.setBinaryProtocol(prepareStmt.isBinaryProtocol());
             }
         } else {
-            this.descTable = planner.getDescTable().toThrift();
+            this.descTable = SharedFragmentStructs.share(planner.getDescTable().toThrift());
         }
 
         this.returnedAllResults = false;
         this.enableShareHashTableForBroadcastJoin = context.getSessionVariable().enableShareHashTableForBroadcastJoin;
         this.enablePipelineEngine = context.getSessionVariable().enablePipelineEngine;
+        this.resultFetchPipelineDepth = context.getSessionVariable().getResultFetchPipelineDepth();
         initQueryOptions(context);
 
         setFromUserProperty(context);
@@ -365,7 +378,7 @@ public class Coordinator {
         this.isBlockQuery = true;
         this.jobId = jobId;
         this.queryId = queryId;
-        this.descTable = descTable.toThrift();
+        this.descTable = SharedFragmentStructs.share(descTable.toThrift());
         this.fragments = fragments;
         this.scanNodes = scanNodes;
         this.queryOptions = new TQueryOptions();
@@ -599,6 +612,7 @@ public class Coordinator {
             TNetworkAddress execBeAddr = topParams.instanceExecParams.get(0).host;
             receiver = new ResultReceiver(queryId, topParams.instanceExecParams.get(0).instanceId,
                     addressToBackendID.get(execBeAddr), toBrpcHost(execBeAddr), this.timeoutDeadline);
+            receiver.setPipelineDepth(resultFetchPipelineDepth);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("dispatch query job: {} to {}", DebugUtil.printId(queryId),
                         topParams.instanceExecParams.get(0).host);
@@ -746,7 +760,13 @@ public class Coordinator {
                 profileFragmentId += 1;
             } // end for fragments
 
-            // 4. send and wait fragments rpc
+            // 4. serialize the requests to all backends concurrently
+            for (BackendExecStates states : beToExecStates.values()) {
+                states.unsetFields();
+            }
+            serializeRequests(beToExecStates.values());
+
+            // 5. send and wait fragments rpc
             List<Triple<BackendExecStates, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
                     futures = Lists.newArrayList();
             Context parentSpanContext = Context.current();
@@ -757,14 +777,13 @@ public class Coordinator {
                             .setParent(parentSpanContext).setSpanKind(SpanKind.CLIENT).startSpan();
                 }
                 states.scopedSpan = new ScopedSpan(span);
-                states.unsetFields();
                 BackendServiceProxy proxy = BackendServiceProxy.getInstance();
                 futures.add(ImmutableTriple.of(states, proxy, states.execRemoteFragmentsAsync(proxy)));
             }
             waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
 
             if (twoPhaseExecution) {
-                // 5. send and wait execution start rpc
+                // 6. send and wait execution start rpc
                 futures.clear();
                 for (BackendExecStates states : beToExecStates.values()) {
                     Span span = Telemetry.getNoopSpan();
@@ -867,7 +886,13 @@ public class Coordinator {
                 profileFragmentId += 1;
             } // end for fragments
 
-            // 4. send and wait fragments rpc
+            // 4. serialize the requests to all backends concurrently
+            for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
+                ctxs.unsetFields();
+            }
+            serializeRequests(beToPipelineExecCtxs.values());
+
+            // 5. send and wait fragments rpc
             List<Triple<PipelineExecContexts, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
                     futures = Lists.newArrayList();
             Context parentSpanContext = Context.current();
@@ -878,14 +903,13 @@ public class Coordinator {
                             .setParent(parentSpanContext).setSpanKind(SpanKind.CLIENT).startSpan();
                 }
                 ctxs.scopedSpan = new ScopedSpan(span);
-                ctxs.unsetFields();
                 BackendServiceProxy proxy = BackendServiceProxy.getInstance();
                 futures.add(ImmutableTriple.of(ctxs, proxy, ctxs.execRemoteFragmentsAsync(proxy)));
             }
             waitPipelineRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
 
             if (twoPhaseExecution) {
-                // 5. send and wait execution start rpc
+                // 6. send and wait execution start rpc
                 futures.clear();
                 for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
                     Span span = Telemetry.getNoopSpan();
@@ -906,6 +930,37 @@ public class Coordinator {
         }
     }
 
+    // Serialize the requests to different backends concurrently. The plans of the fragments and the descriptor
+    // table shared by the requests are serialized only once, see SharedFragmentStructs.
+    private static void serializeRequests(Collection<? extends RequestSerializer> serializers) throws TException {
+        if (serializers.size() <= 1 || Config.fragment_serialize_thread_num <= 1) {
+            for (RequestSerializer serializer : serializers) {
+                serializer.serializeRequest();
+            }
+            return;
+        }
+        List<Future<?>> futures = Lists.newArrayList();
+        for (RequestSerializer serializer : serializers) {
+            futures.add(fragmentSerializePool.submit(() -> {
+                serializer.serializeRequest();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TException("interrupted when serializing fragments", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TException) {
+                    throw (TException) e.getCause();
+                }
+                throw new TException("failed to serialize fragments", e.getCause());
+            }
+        }
+    }
+
     private void waitRpc(List<Triple<BackendExecStates, BackendServiceProxy, Future<PExecPlanFragmentResult>>> futures,
                          long leftTimeMs,
             String operation) throws RpcException, UserException {
@@ -2271,6 +2326,9 @@ public class Coordinator {
                     updateErrorTabletInfos(params.getErrorTabletInfos());
                 }
                 executionProfile.markOneInstanceDone(params.getFragmentInstanceId());
+                if (statsErrorEstimator != null && isDone()) {
+                    statsErrorEstimator.updateCardinalityFeedback();
+                }
             }
         }
 
@@ -2902,15 +2960,21 @@ public class Coordinator {
         }
     }
 
+    // The requests to different backends are serialized before being sent, see serializeRequests()
+    interface RequestSerializer {
+        void serializeRequest() throws TException;
+    }
+
     /**
      * A set of BackendExecState for same Backend
      */
-    public class BackendExecStates {
+    public class BackendExecStates implements RequestSerializer {
         long beId;
         TNetworkAddress brpcAddr;
         List<BackendExecState> states = Lists.newArrayList();
         boolean twoPhaseExecution = false;
         ScopedSpan scopedSpan = new ScopedSpan();
+        InternalService.PExecPlanFragmentRequest request;
 
         public BackendExecStates(long beId, TNetworkAddress brpcAddr, boolean twoPhaseExecution) {
             this.beId = beId;
@@ -2938,15 +3002,25 @@ public class Coordinator {
             }
         }
 
+        @Override
+        public void serializeRequest() throws TException {
+            TExecPlanFragmentParamsList paramsList = new TExecPlanFragmentParamsList();
+            for (BackendExecState state : states) {
+                paramsList.addToParamsList(state.rpcParams);
+            }
+            request = BackendServiceProxy.buildExecPlanFragmentRequest(paramsList);
+        }
+
         public Future<InternalService.PExecPlanFragmentResult> execRemoteFragmentsAsync(BackendServiceProxy proxy)
                 throws TException {
             try {
-                TExecPlanFragmentParamsList paramsList = new TExecPlanFragmentParamsList();
+                if (request == null) {
+                    serializeRequest();
+                }
                 for (BackendExecState state : states) {
                     state.initiated = true;
-                    paramsList.addToParamsList(state.rpcParams);
                 }
-                return proxy.execPlanFragmentsAsync(brpcAddr, paramsList, twoPhaseExecution);
+                return proxy.execPlanFragmentsAsync(brpcAddr, request, twoPhaseExecution);
             } catch (RpcException e) {
                 // DO NOT throw exception here, return a complete future with error code,
                 // so that the following logic will cancel the fragment.
@@ -3002,12 +3076,13 @@ public class Coordinator {
         }
     }
 
-    public class PipelineExecContexts {
+    public class PipelineExecContexts implements RequestSerializer {
         long beId;
         TNetworkAddress brpcAddr;
         List<PipelineExecContext> ctxs = Lists.newArrayList();
         boolean twoPhaseExecution = false;
         ScopedSpan scopedSpan = new ScopedSpan();
+        InternalService.PExecPlanFragmentRequest request;
 
         public PipelineExecContexts(long beId, TNetworkAddress brpcAddr, boolean twoPhaseExecution) {
             this.beId = beId;
@@ -3035,15 +3110,25 @@ public class Coordinator {
             }
         }
 
+        @Override
+        public void serializeRequest() throws TException {
+            TPipelineFragmentParamsList paramsList = new TPipelineFragmentParamsList();
+            for (PipelineExecContext cts : ctxs) {
+                paramsList.addToParamsList(cts.rpcParams);
+            }
+            request = BackendServiceProxy.buildExecPlanFragmentRequest(paramsList);
+        }
+
         public Future<InternalService.PExecPlanFragmentResult> execRemoteFragmentsAsync(BackendServiceProxy proxy)
                 throws TException {
             try {
-                TPipelineFragmentParamsList paramsList = new TPipelineFragmentParamsList();
+                if (request == null) {
+                    serializeRequest();
+                }
                 for (PipelineExecContext cts : ctxs) {
                     cts.initiated = true;
-                    paramsList.addToParamsList(cts.rpcParams);
                 }
-                return proxy.execPlanFragmentsAsync(brpcAddr, paramsList, twoPhaseExecution);
+                return proxy.execPlanFragmentsAsync(brpcAddr, request, twoPhaseExecution);
             } catch (RpcException e) {
                 // DO NOT throw exception here, return a complete future with error code,
                 // so that the following logic will cancel the fragment.
@@ -3117,12 +3202,14 @@ public class Coordinator {
 
         List<TExecPlanFragmentParams> toThrift(int backendNum) {
             List<TExecPlanFragmentParams> paramsList = Lists.newArrayList();
+            // the plan of the fragment is the same in all instances, translate and serialize it only once
+            TPlanFragment tFragment = SharedFragmentStructs.share(fragment.toThrift());
 
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
                 TExecPlanFragmentParams params = new TExecPlanFragmentParams();
                 params.setProtocolVersion(PaloInternalServiceVersion.V1);
-                params.setFragment(fragment.toThrift());
+                params.setFragment(tFragment);
                 params.setDescTbl(descTable);
                 params.setParams(new TPlanFragmentExecParams());
                 params.setBuildHashTableForBroadcastJoin(instanceExecParam.buildHashTableForBroadcastJoin);
@@ -3210,6 +3297,8 @@ public class Coordinator {
                 memLimit = queryOptions.getMemLimit() / rate;
             }
 
+            // the plan of the fragment is the same in all backends, translate and serialize it only once
+            TPlanFragment tFragment = SharedFragmentStructs.share(fragment.toThrift());
             Map<TNetworkAddress, TPipelineFragmentParams> res = new HashMap();
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
@@ -3230,7 +3319,7 @@ public class Coordinator {
                     params.query_options.setMemLimit(memLimit);
                     params.setSendQueryStatisticsWithEveryBatch(
                             fragment.isTransferQueryStatisticsWithEveryBatch());
-                    params.setFragment(fragment.toThrift());
+                    params.setFragment(tFragment);
                     params.setLocalParams(Lists.newArrayList());
                     if (tWorkloadGroups != null) {
                         params.setWorkloadGroups(tWorkloadGroups);
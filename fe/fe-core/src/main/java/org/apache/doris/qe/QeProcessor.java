@@ -42,4 +42,9 @@ public interface QeProcessor {
     String getCurrentQueryByQueryId(TUniqueId queryId);
 
     Coordinator getCoordinator(TUniqueId queryId);
+
+    /**
+     * The number of running queries submitted by users, excluding the internal queries such as analyze tasks.
+     */
+    int getUserQueryNum();
 }
@@ -223,6 +223,18 @@ public final class QeProcessorImpl implements QeProcessor {
         return "";
     }
 
+    @Override
+    public int getUserQueryNum() {
+        int num = 0;
+        for (QueryInfo info : coordinatorMap.values()) {
+            ConnectContext context = info.getConnectContext();
+            if (context != null && !context.getSessionVariable().internalSession) {
+                num++;
+            }
+        }
+        return num;
+    }
+
     public static final class QueryInfo {
         private final ConnectContext connectContext;
         private final Coordinator coord;
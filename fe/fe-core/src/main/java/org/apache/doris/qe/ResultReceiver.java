@@ -28,11 +28,15 @@ import org.apache.doris.thrift.TResultBatch;
 import org.apache.doris.thrift.TStatusCode;
 import org.apache.doris.thrift.TUniqueId;
 
+import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +44,7 @@ import java.util.concurrent.TimeoutException;
 
 public class ResultReceiver {
     private static final Logger LOG = LogManager.getLogger(ResultReceiver.class);
+    public static final int MAX_FETCH_PIPELINE_DEPTH = 16;
     private boolean isDone    = false;
     private boolean isCancel  = false;
     private long packetIdx = 0;
@@ -49,6 +54,19 @@ public class ResultReceiver {
     private Types.PUniqueId finstId;
     private Long backendId;
     private Thread currentThread;
+    private TDeserializer deserializer;
+
+    // Number of fetch requests kept outstanding on the BE. BE answers waiting fetch requests in order
+    // and tags every result with its packet seq, so results are reordered by packet seq here.
+    // New requests are only sent when the caller asks for the next batch, so a slow client,
+    // which blocks the caller on writing the socket, also stops fetching and the BE result buffer
+    // applies backpressure to the query.
+    private int pipelineDepth = 1;
+    private final Deque<Future<InternalService.PFetchDataResult>> inflightFetches = new ArrayDeque<>();
+    // results that arrive before the packet we are waiting for, keyed by packet seq.
+    private final Map<Long, InternalService.PFetchDataResult> pendingResults = Maps.newHashMap();
+    // an eos packet has been received, no more fetch request need to be sent.
+    private boolean eosFetched = false;
 
     public ResultReceiver(TUniqueId queryId, TUniqueId tid, Long backendId, TNetworkAddress address, long timeoutTs) {
         this.queryId = Types.PUniqueId.newBuilder().setHi(queryId.hi).setLo(queryId.lo).build();
@@ -58,6 +76,10 @@ public class ResultReceiver {
         this.timeoutTs = timeoutTs;
     }
 
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = Math.max(1, Math.min(pipelineDepth, MAX_FETCH_PIPELINE_DEPTH));
+    }
+
     public RowBatch getNext(Status status) throws TException {
         if (isDone) {
             return null;
@@ -65,30 +87,17 @@ public class ResultReceiver {
         final RowBatch rowBatch = new RowBatch();
         try {
             while (!isDone && !isCancel) {
-                InternalService.PFetchDataRequest request = InternalService.PFetchDataRequest.newBuilder()
-                        .setFinstId(finstId)
-                        .setRespInAttachment(false)
-                        .build();
-
                 currentThread = Thread.currentThread();
-                Future<InternalService.PFetchDataResult> future
-                        = BackendServiceProxy.getInstance().fetchDataAsync(address, request);
-                InternalService.PFetchDataResult pResult = null;
-                while (pResult == null) {
-                    long currentTs = System.currentTimeMillis();
-                    if (currentTs >= timeoutTs) {
-                        throw new TimeoutException("query timeout, query id = " + DebugUtil.printId(this.queryId));
-                    }
-                    try {
-                        pResult = future.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
-                    } catch (InterruptedException e) {
-                        // continue to get result
-                        LOG.info("future get interrupted Exception", e);
-                        if (isCancel) {
-                            status.setStatus(Status.CANCELLED);
-                            return null;
-                        }
-                    }
+                InternalService.PFetchDataResult pResult;
+                if (pipelineDepth > 1) {
+                    pResult = fetchPipelined(status);
+                } else {
+                    pResult = waitResult(BackendServiceProxy.getInstance().fetchDataAsync(address, newRequest()),
+                            status);
+                }
+                if (pResult == null) {
+                    // cancelled
+                    return null;
                 }
                 TStatusCode code = TStatusCode.findByValue(pResult.getStatus().getStatusCode());
                 if (code != TStatusCode.OK) {
@@ -115,7 +124,11 @@ public class ResultReceiver {
                 } else if (pResult.hasRowBatch() && pResult.getRowBatch().size() > 0) {
                     byte[] serialResult = pResult.getRowBatch().toByteArray();
                     TResultBatch resultBatch = new TResultBatch();
-                    TDeserializer deserializer = new TDeserializer();
+                    if (deserializer == null) {
+                        deserializer = new TDeserializer();
+                    }
+                    // rows of the batch are already encoded in MySQL protocol by BE, and they are
+                    // deserialized as buffers wrapping serialResult, so they can be sent without re-encoding.
                     deserializer.deserialize(resultBatch, serialResult);
                     rowBatch.setBatch(resultBatch);
                     rowBatch.setEos(pResult.getEos());
@@ -139,6 +152,9 @@ public class ResultReceiver {
             LOG.warn("fetch result timeout, finstId={}", DebugUtil.printId(finstId), e);
             status.setStatus(new Status(TStatusCode.TIMEOUT, "query timeout"));
         } finally {
+            if (isDone || isCancel || !status.ok()) {
+                cancelInflightFetches();
+            }
             synchronized (this) {
                 currentThread = null;
             }
@@ -150,6 +166,82 @@ public class ResultReceiver {
         return rowBatch;
     }
 
+    private InternalService.PFetchDataRequest newRequest() {
+        return InternalService.PFetchDataRequest.newBuilder()
+                .setFinstId(finstId)
+                .setRespInAttachment(false)
+                .build();
+    }
+
+    // Wait the result of the given fetch request until query timeout, return null if cancelled.
+    private InternalService.PFetchDataResult waitResult(Future<InternalService.PFetchDataResult> future,
+            Status status) throws ExecutionException, TimeoutException {
+        InternalService.PFetchDataResult pResult = null;
+        while (pResult == null) {
+            long currentTs = System.currentTimeMillis();
+            if (currentTs >= timeoutTs) {
+                throw new TimeoutException("query timeout, query id = " + DebugUtil.printId(this.queryId));
+            }
+            try {
+                pResult = future.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // continue to get result
+                LOG.info("future get interrupted Exception", e);
+                if (isCancel) {
+                    status.setStatus(Status.CANCELLED);
+                    return null;
+                }
+            }
+        }
+        return pResult;
+    }
+
+    // Get the result of packet packetIdx, keeping pipelineDepth fetch requests outstanding.
+    private InternalService.PFetchDataResult fetchPipelined(Status status)
+            throws RpcException, ExecutionException, TimeoutException {
+        while (true) {
+            InternalService.PFetchDataResult pResult = pendingResults.remove(packetIdx);
+            if (pResult != null) {
+                return pResult;
+            }
+            while (!eosFetched && inflightFetches.size() < pipelineDepth) {
+                inflightFetches.addLast(BackendServiceProxy.getInstance().fetchDataAsync(address, newRequest()));
+            }
+            if (inflightFetches.isEmpty()) {
+                throw new RpcException(address.hostname, "lost result packet " + packetIdx
+                        + " before eos, finstId=" + DebugUtil.printId(finstId));
+            }
+            pResult = waitResult(inflightFetches.peekFirst(), status);
+            if (pResult == null) {
+                return null;
+            }
+            inflightFetches.pollFirst();
+            TStatusCode code = TStatusCode.findByValue(pResult.getStatus().getStatusCode());
+            if (code != TStatusCode.OK) {
+                if (eosFetched) {
+                    // requests sent after eos may fail because the result buffer has been closed.
+                    continue;
+                }
+                return pResult;
+            }
+            if (pResult.getEos()) {
+                eosFetched = true;
+            }
+            // all requests waiting on a closed result buffer get eos with the same packet seq, keep the first one.
+            if (pResult.getPacketSeq() >= packetIdx) {
+                pendingResults.putIfAbsent(pResult.getPacketSeq(), pResult);
+            }
+        }
+    }
+
+    private void cancelInflightFetches() {
+        for (Future<InternalService.PFetchDataResult> future : inflightFetches) {
+            future.cancel(false);
+        }
+        inflightFetches.clear();
+        pendingResults.clear();
+    }
+
     public void cancel() {
         isCancel = true;
         synchronized (this) {
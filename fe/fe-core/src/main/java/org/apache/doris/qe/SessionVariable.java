@@ -239,6 +239,10 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String ENABLE_DPHYP_TRACE = "enable_dphyp_trace";
 
+    public static final String DPHYP_ENUMERATION_BUDGET = "dphyp_enumeration_budget";
+
+    public static final String ENABLE_CARDINALITY_FEEDBACK = "enable_cardinality_feedback";
+
     public static final String ENABLE_RUNTIME_FILTER_PRUNE =
             "enable_runtime_filter_prune";
 
@@ -345,6 +349,10 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String IGNORE_COMPLEX_TYPE_COLUMN = "ignore_column_with_complex_type";
 
+    public static final String RESULT_FETCH_PIPELINE_DEPTH = "result_fetch_pipeline_depth";
+
+    public static final String ENABLE_NEREIDS_PLAN_CACHE = "enable_nereids_plan_cache";
+
     public static final List<String> DEBUG_VARIABLES = ImmutableList.of(
             SKIP_DELETE_PREDICATE,
             SKIP_DELETE_BITMAP,
@@ -727,6 +735,14 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = ENABLE_DPHYP_TRACE, needForward = true)
     public boolean enableDpHypTrace = false;
 
+    // The max number of csg-cmp pairs DPhyp enumerates. Larger join graphs are reordered greedily.
+    @VariableMgr.VarAttr(name = DPHYP_ENUMERATION_BUDGET, needForward = true)
+    private int dphypEnumerationBudget = 1000;
+
+    // Collect the actual rows of filters and joins, and use them in the estimation of the same query shapes.
+    @VariableMgr.VarAttr(name = ENABLE_CARDINALITY_FEEDBACK, needForward = true)
+    private boolean enableCardinalityFeedback = false;
+
     @VariableMgr.VarAttr(name = BROADCAST_RIGHT_TABLE_SCALE_FACTOR)
     private double broadcastRightTableScaleFactor = 10.0;
 
@@ -959,6 +975,18 @@ public class SessionVariable implements Serializable, Writable {
     )
     public boolean ignoreColumnWithComplexType = false;
 
+    @VariableMgr.VarAttr(name = RESULT_FETCH_PIPELINE_DEPTH, needForward = true, description = {
+            "FE 从 BE 拉取查询结果时同时发出的 fetch 请求数。1 表示逐个拉取，最大为 16。",
+            "The number of outstanding fetch data requests when FE pulls query result from BE. "
+                    + "1 means fetching batches one by one, the max value is 16."})
+    public int resultFetchPipelineDepth = 1;
+
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PLAN_CACHE, needForward = true, description = {
+            "是否缓存 Nereids 优化后的物理计划。只有常量不同的查询会复用缓存的计划，只替换其中的常量。",
+            "Whether to cache the physical plan optimized by Nereids. Queries which only differ in literals "
+                    + "reuse the cached plan, with the literals replaced."})
+    public boolean enableNereidsPlanCache = false;
+
     // If this fe is in fuzzy mode, then will use initFuzzyModeVariables to generate some variables,
     // not the default value set in the code.
     public void initFuzzyModeVariables() {
@@ -1596,6 +1624,14 @@ public class SessionVariable implements Serializable, Writable {
         this.fileSplitSize = fileSplitSize;
     }
 
+    public int getResultFetchPipelineDepth() {
+        return resultFetchPipelineDepth;
+    }
+
+    public boolean isEnableNereidsPlanCache() {
+        return enableNereidsPlanCache;
+    }
+
     public boolean isEnableParquetLazyMat() {
         return enableParquetLazyMat;
     }
@@ -1691,6 +1727,22 @@ public class SessionVariable implements Serializable, Writable {
         return enableBushyTree;
     }
 
+    public int getDphypEnumerationBudget() {
+        return dphypEnumerationBudget;
+    }
+
+    public void setDphypEnumerationBudget(int dphypEnumerationBudget) {
+        this.dphypEnumerationBudget = dphypEnumerationBudget;
+    }
+
+    public boolean isEnableCardinalityFeedback() {
+        return enableCardinalityFeedback;
+    }
+
+    public void setEnableCardinalityFeedback(boolean enableCardinalityFeedback) {
+        this.enableCardinalityFeedback = enableCardinalityFeedback;
+    }
+
     public void setEnableBushyTree(boolean enableBushyTree) {
         this.enableBushyTree = enableBushyTree;
     }
@@ -0,0 +1,127 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.thrift.TDescriptorTable;
+import org.apache.doris.thrift.TPlanFragment;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.TFieldIdEnum;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.transport.TIOStreamTransport;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * The thrift structs which are the same in the params of all fragment instances of a query,
+ * i.e. the plan of a fragment and the descriptor table.
+ * <p>
+ * Each of them is serialized only once, and the serialized bytes are copied into the request of every instance
+ * and every backend. It works because a struct is serialized into the same bytes wherever it is in the request,
+ * both in the binary protocol and in the compact protocol. The struct must not be modified after it is shared.
+ */
+public class SharedFragmentStructs {
+    public static TPlanFragment share(TPlanFragment fragment) {
+        if (fragment == null || fragment instanceof SharedPlanFragment) {
+            return fragment;
+        }
+        return shallowCopy(fragment, new SharedPlanFragment(), TPlanFragment._Fields.values());
+    }
+
+    public static TDescriptorTable share(TDescriptorTable descTable) {
+        if (descTable == null || descTable instanceof SharedDescriptorTable) {
+            return descTable;
+        }
+        return shallowCopy(descTable, new SharedDescriptorTable(), TDescriptorTable._Fields.values());
+    }
+
+    private static <T extends TBase<T, F>, F extends TFieldIdEnum> T shallowCopy(T from, T to, F[] fields) {
+        for (F field : fields) {
+            if (from.isSet(field)) {
+                to.setFieldValue(field, from.getFieldValue(field));
+            }
+        }
+        return to;
+    }
+
+    private interface StructWriter {
+        void write(TProtocol oprot) throws TException;
+    }
+
+    private static class SerializedBytes {
+        private final StructWriter writer;
+        private volatile byte[] binaryBytes;
+        private volatile byte[] compactBytes;
+
+        SerializedBytes(StructWriter writer) {
+            this.writer = writer;
+        }
+
+        void write(TProtocol oprot) throws TException {
+            if (oprot.getClass() == TCompactProtocol.class) {
+                if (compactBytes == null) {
+                    compactBytes = serialize(new TCompactProtocol.Factory());
+                }
+                oprot.getTransport().write(compactBytes);
+            } else if (oprot.getClass() == TBinaryProtocol.class) {
+                if (binaryBytes == null) {
+                    binaryBytes = serialize(new TBinaryProtocol.Factory());
+                }
+                oprot.getTransport().write(binaryBytes);
+            } else {
+                writer.write(oprot);
+            }
+        }
+
+        private byte[] serialize(TProtocolFactory factory) throws TException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.write(factory.getProtocol(new TIOStreamTransport(out)));
+            return out.toByteArray();
+        }
+    }
+
+    private static class SharedPlanFragment extends TPlanFragment {
+        private final SerializedBytes serializedBytes;
+
+        SharedPlanFragment() {
+            serializedBytes = new SerializedBytes(super::write);
+        }
+
+        @Override
+        public void write(TProtocol oprot) throws TException {
+            serializedBytes.write(oprot);
+        }
+    }
+
+    private static class SharedDescriptorTable extends TDescriptorTable {
+        private final SerializedBytes serializedBytes;
+
+        SharedDescriptorTable() {
+            serializedBytes = new SerializedBytes(super::write);
+        }
+
+        @Override
+        public void write(TProtocol oprot) throws TException {
+            serializedBytes.write(oprot);
+        }
+    }
+}
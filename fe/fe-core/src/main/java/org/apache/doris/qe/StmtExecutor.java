@@ -94,6 +94,7 @@ import org.apache.doris.common.ErrorReport;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.NereidsException;
+import org.apache.doris.common.Status;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.profile.Profile;
 import org.apache.doris.common.profile.SummaryProfile;
@@ -120,6 +121,7 @@ import org.apache.doris.nereids.exceptions.ParseException;
 import org.apache.doris.nereids.glue.LogicalPlanAdapter;
 import org.apache.doris.nereids.minidump.MinidumpUtils;
 import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.stats.CardinalityFeedback;
 import org.apache.doris.nereids.stats.StatsErrorEstimator;
 import org.apache.doris.nereids.trees.plans.commands.Command;
 import org.apache.doris.nereids.trees.plans.commands.Forward;
@@ -487,6 +489,10 @@ public class StmtExecutor {
                 "Nereids only process LogicalPlanAdapter, but parsedStmt is " + parsedStmt.getClass().getName());
         context.getState().setNereids(true);
         LogicalPlan logicalPlan = ((LogicalPlanAdapter) parsedStmt).getLogicalPlan();
+        // the plan and the actual rows of the last statement must not be reused
+        boolean enableCardinalityFeedback = CardinalityFeedback.isEnabled(context);
+        context.setStatsErrorEstimator(context.getSessionVariable().enableProfile || enableCardinalityFeedback
+                ? new StatsErrorEstimator(enableCardinalityFeedback) : null);
         if (logicalPlan instanceof Command) {
             if (logicalPlan instanceof Forward) {
                 redirectStatus = ((Forward) logicalPlan).toRedirectStatus();
@@ -525,9 +531,6 @@ public class StmtExecutor {
             }
         } else {
             context.getState().setIsQuery(true);
-            if (context.getSessionVariable().enableProfile) {
-                ConnectContext.get().setStatsErrorEstimator(new StatsErrorEstimator());
-            }
             // create plan
             planner = new NereidsPlanner(statementContext);
             try {
@@ -624,6 +627,8 @@ public class StmtExecutor {
     // IOException: talk with client failed.
     public void executeByLegacy(TUniqueId queryId) throws Exception {
         context.setStartTime();
+        // the estimator only works with the plans of Nereids
+        context.setStatsErrorEstimator(null);
 
         profile.getSummaryProfile().setQueryBeginTime();
         context.setStmtId(STMT_ID_GENERATOR.incrementAndGet());
@@ -1310,6 +1315,12 @@ public class StmtExecutor {
             return;
         }
 
+        // executing a prepared point query, bypass the coordinator
+        if (isExecuteStmt && !context.getSessionVariable().enableProfile() && isShortCircuitPointQuery()) {
+            handlePointQueryStmt(queryStmt);
+            return;
+        }
+
         // handle selects that fe can do without be, so we can make sql tools happy, especially the setup step.
         if (parsedStmt instanceof SelectStmt && ((SelectStmt) parsedStmt).getTableRefs().isEmpty()) {
             SelectStmt parsedSelectStmt = (SelectStmt) parsedStmt;
@@ -1342,6 +1353,60 @@ public class StmtExecutor {
         sendResult(isOutfileQuery, false, queryStmt, channel, null, null);
     }
 
+    private boolean isShortCircuitPointQuery() {
+        List<ScanNode> scanNodes = planner.getScanNodes();
+        return prepareStmt != null && prepareStmt.getSerializedDescTable() != null
+                && scanNodes.size() == 1 && scanNodes.get(0) instanceof OlapScanNode
+                && ((OlapScanNode) scanNodes.get(0)).isPointQuery();
+    }
+
+    // The plan, the serialized descriptor table and output exprs of a prepared point query are all cached
+    // in the prepared statement, only the tablet of the key is looked up for each execution, and the key is
+    // sent to the backend directly without setting up a coordinator.
+    private void handlePointQueryStmt(Queriable queryStmt) throws Exception {
+        OlapScanNode scanNode = (OlapScanNode) planner.getScanNodes().get(0);
+        scanNode.lazyEvaluateRangeLocations();
+        List<Long> tabletIds = scanNode.getScanTabletIds();
+        if (tabletIds.isEmpty()) {
+            // no partition contains the key
+            sendFields(queryStmt.getColLabels(), exprToType(queryStmt.getResultExprs()));
+            context.getState().setEof();
+            return;
+        }
+        Preconditions.checkState(tabletIds.size() == 1);
+        PointQueryExec pointExec = new PointQueryExec(scanNode.getPointQueryEqualPredicates(),
+                scanNode.getDescTable(), planner.getFragments().get(0).getOutputExprs());
+        pointExec.setCacheID(prepareStmt.getID());
+        pointExec.setSerializedDescTable(prepareStmt.getSerializedDescTable());
+        pointExec.setSerializedOutputExpr(prepareStmt.getSerializedOutputExprs());
+        pointExec.setBinaryProtocol(prepareStmt.isBinaryProtocol());
+        pointExec.setCandidateBackends(scanNode.getScanBackendIds());
+        pointExec.setTabletId(tabletIds.get(0));
+        profile.getSummaryProfile().setQueryScheduleFinishTime();
+
+        Status status = new Status();
+        RowBatch batch = pointExec.getNext(status);
+        if (!status.ok()) {
+            if (Strings.isNullOrEmpty(status.getErrorMsg())) {
+                status.rewriteErrorMsg();
+            }
+            if (status.isRpcError()) {
+                throw new RpcException(null, status.getErrorMsg());
+            }
+            throw new UserException(status.getErrorMsg());
+        }
+        MysqlChannel channel = context.getMysqlChannel();
+        sendFields(queryStmt.getColLabels(), exprToType(queryStmt.getResultExprs()));
+        if (batch.getBatch() != null) {
+            for (ByteBuffer row : batch.getBatch().getRows()) {
+                channel.sendOnePacket(row);
+            }
+            context.updateReturnRows(batch.getBatch().getRows().size());
+        }
+        context.getState().setEof();
+        profile.getSummaryProfile().setQueryFetchResultFinishTime();
+    }
+
     private void sendResult(boolean isOutfileQuery, boolean isSendFields, Queriable queryStmt, MysqlChannel channel,
             CacheAnalyzer cacheAnalyzer, InternalService.PFetchCacheResult cacheResult) throws Exception {
         // 1. If this is a query with OUTFILE clause, eg: select * from tbl1 into outfile xxx,
@@ -0,0 +1,166 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Result cache kept in FE memory, in front of the result cache of BE.
+ * The key is the sql key together with the partition id, version and version time of the latest
+ * updated table, so any data change makes the old entry unreachable. Unreachable and cold entries
+ * are evicted by the W-TinyLFU policy of caffeine, weighted by the bytes of cached rows.
+ */
+public class CacheFeProxy extends CacheProxy {
+    private static final Logger LOG = LogManager.getLogger(CacheFeProxy.class);
+
+    // Fixed per entry overhead, for objects of the key and protobuf messages.
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private static volatile com.github.benmanes.caffeine.cache.Cache<String, InternalService.PFetchCacheResult>
+            resultCache;
+    // the max weight of resultCache, cache_fe_result_cache_max_bytes is mutable and checked on each access
+    private static volatile long maxBytes;
+
+    private static com.github.benmanes.caffeine.cache.Cache<String, InternalService.PFetchCacheResult> getCache() {
+        if (resultCache == null) {
+            synchronized (CacheFeProxy.class) {
+                if (resultCache == null) {
+                    maxBytes = Config.cache_fe_result_cache_max_bytes;
+                    resultCache = Caffeine.newBuilder()
+                            .maximumWeight(maxBytes)
+                            .<String, InternalService.PFetchCacheResult>weigher(
+                                    (key, value) -> (int) Math.min(Integer.MAX_VALUE,
+                                            (long) value.getSerializedSize() + key.length() * 2L
+                                                    + ENTRY_OVERHEAD_BYTES))
+                            .removalListener((key, value, cause) -> {
+                                if (cause == RemovalCause.SIZE && MetricRepo.isInit) {
+                                    MetricRepo.COUNTER_CACHE_FE_EVICTED.increase(1L);
+                                }
+                            })
+                            .build();
+                }
+            }
+        } else if (maxBytes != Config.cache_fe_result_cache_max_bytes) {
+            resize();
+        }
+        return resultCache;
+    }
+
+    private static synchronized void resize() {
+        long newMaxBytes = Config.cache_fe_result_cache_max_bytes;
+        if (maxBytes != newMaxBytes) {
+            LOG.info("resize fe result cache from {} to {} bytes", maxBytes, newMaxBytes);
+            resultCache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(newMaxBytes));
+            maxBytes = newMaxBytes;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return Config.cache_enable_fe_result_cache;
+    }
+
+    @Override
+    public void updateCache(InternalService.PUpdateCacheRequest request, int timeoutMs, Status status) {
+        if (request.getCacheType() != InternalService.CacheType.SQL_CACHE || request.getValuesCount() == 0) {
+            // partition cache needs merging partitions of different version, which is only done in BE.
+            return;
+        }
+        List<InternalService.PCacheParam> params = request.getValuesList().stream()
+                .map(InternalService.PCacheValue::getParam)
+                .collect(Collectors.toList());
+        InternalService.PFetchCacheResult result = InternalService.PFetchCacheResult.newBuilder()
+                .setStatus(InternalService.PCacheStatus.CACHE_OK)
+                .addAllValues(request.getValuesList())
+                .build();
+        getCache().put(buildKey(request.getSqlKey(), params), result);
+    }
+
+    @Override
+    public InternalService.PFetchCacheResult fetchCache(InternalService.PFetchCacheRequest request,
+                                                        int timeoutMs, Status status) {
+        InternalService.PFetchCacheResult result = getCache().getIfPresent(
+                buildKey(request.getSqlKey(), request.getParamsList()));
+        if (MetricRepo.isInit) {
+            if (result != null) {
+                MetricRepo.COUNTER_CACHE_FE_HIT.increase(1L);
+            } else {
+                MetricRepo.COUNTER_CACHE_FE_MISS.increase(1L);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void clearCache(InternalService.PClearCacheRequest clearRequest) {
+        if (clearRequest.hasSqlKey() && clearRequest.getClearType() == InternalService.PClearType.CLEAR_SQL_KEY) {
+            String prefix = keyPrefix(clearRequest.getSqlKey());
+            getCache().asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        } else if (getCachedEntries() > 0) {
+            LOG.info("clear all fe result cache");
+            resultCache.invalidateAll();
+        }
+    }
+
+    public static long getCachedBytes() {
+        if (resultCache == null) {
+            return 0;
+        }
+        return resultCache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    @VisibleForTesting
+    static long getMaxBytes() {
+        if (resultCache == null) {
+            return 0;
+        }
+        return resultCache.policy().eviction().map(eviction -> eviction.getMaximum()).orElse(0L);
+    }
+
+    public static long getCachedEntries() {
+        if (resultCache == null) {
+            return 0;
+        }
+        return resultCache.estimatedSize();
+    }
+
+    private static String keyPrefix(Types.PUniqueId sqlKey) {
+        return sqlKey.getHi() + "-" + sqlKey.getLo() + "|";
+    }
+
+    private static String buildKey(Types.PUniqueId sqlKey, List<InternalService.PCacheParam> params) {
+        StringBuilder sb = new StringBuilder(keyPrefix(sqlKey));
+        for (InternalService.PCacheParam param : params) {
+            sb.append(param.getPartitionKey()).append(':').append(param.getLastVersion())
+                    .append(':').append(param.getLastVersionTime()).append('|');
+        }
+        return sb.toString();
+    }
+}
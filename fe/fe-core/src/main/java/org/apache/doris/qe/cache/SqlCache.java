@@ -31,6 +31,11 @@ import org.apache.logging.log4j.Logger;
 public class SqlCache extends Cache {
     private static final Logger LOG = LogManager.getLogger(SqlCache.class);
 
+    private static final InternalService.PClearCacheRequest CLEAR_ALL_REQUEST =
+            InternalService.PClearCacheRequest.newBuilder().setClearType(InternalService.PClearType.CLEAR_ALL).build();
+
+    private final CacheProxy feProxy = CacheProxy.getCacheProxy(CacheProxy.CacheProxyType.FE);
+
     public SqlCache(TUniqueId queryId, SelectStmt selectStmt) {
         super(queryId, selectStmt);
     }
@@ -53,7 +58,25 @@ public class SqlCache extends Cache {
                         .setLastVersionTime(latestTable.latestTime))
                 .build();
 
-        InternalService.PFetchCacheResult cacheResult = proxy.fetchCache(request, 10000, status);
+        InternalService.PFetchCacheResult cacheResult = null;
+        if (CacheFeProxy.isEnabled()) {
+            cacheResult = feProxy.fetchCache(request, CacheProxy.FETCH_TIMEOUT, status);
+        } else {
+            // the fe tier is turned off, the results kept before are never hit again
+            feProxy.clearCache(CLEAR_ALL_REQUEST);
+        }
+        if (cacheResult == null) {
+            cacheResult = proxy.fetchCache(request, 10000, status);
+            if (CacheFeProxy.isEnabled() && status.ok() && cacheResult != null
+                    && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
+                // hit in BE, keep it in FE for following queries.
+                feProxy.updateCache(InternalService.PUpdateCacheRequest.newBuilder()
+                        .setSqlKey(request.getSqlKey())
+                        .setCacheType(InternalService.CacheType.SQL_CACHE)
+                        .addAllValues(cacheResult.getValuesList())
+                        .build(), CacheProxy.UPDATE_TIMEOUT, status);
+            }
+        }
         if (status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
             cacheResult = cacheResult.toBuilder().setAllCount(1).build();
             MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
@@ -82,6 +105,9 @@ public class SqlCache extends Cache {
                 rowBatchBuilder.buildSqlUpdateRequest(getSqlWithViewStmt(), latestTable.latestPartitionId,
                         latestTable.latestVersion, latestTable.latestTime);
         if (updateRequest.getValuesCount() > 0) {
+            if (CacheFeProxy.isEnabled()) {
+                feProxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, new Status());
+            }
             CacheBeProxy proxy = new CacheBeProxy();
             Status status = new Status();
             proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
@@ -34,6 +34,7 @@ import com.google.common.collect.Maps;
 import com.google.protobuf.ByteString;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
 import org.apache.thrift.TSerializer;
 import org.apache.thrift.protocol.TCompactProtocol;
@@ -133,20 +134,20 @@ public class BackendServiceProxy {
 
     public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
             TExecPlanFragmentParamsList paramsList, boolean twoPhaseExecution) throws TException, RpcException {
-        InternalService.PExecPlanFragmentRequest.Builder builder =
-                InternalService.PExecPlanFragmentRequest.newBuilder();
-        if (Config.use_compact_thrift_rpc) {
-            builder.setRequest(
-                    ByteString.copyFrom(new TSerializer(new TCompactProtocol.Factory()).serialize(paramsList)));
-            builder.setCompact(true);
-        } else {
-            builder.setRequest(ByteString.copyFrom(new TSerializer().serialize(paramsList))).build();
-            builder.setCompact(false);
-        }
-        // VERSION 2 means we send TExecPlanFragmentParamsList, not single TExecPlanFragmentParams
-        builder.setVersion(InternalService.PFragmentRequestVersion.VERSION_2);
+        return execPlanFragmentsAsync(address, buildExecPlanFragmentRequest(paramsList), twoPhaseExecution);
+    }
 
-        final InternalService.PExecPlanFragmentRequest pRequest = builder.build();
+    public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
+            TPipelineFragmentParamsList params, boolean twoPhaseExecution) throws TException, RpcException {
+        return execPlanFragmentsAsync(address, buildExecPlanFragmentRequest(params), twoPhaseExecution);
+    }
+
+    /**
+     * Send the fragments which are already serialized by buildExecPlanFragmentRequest(), so that the requests
+     * to different backends can be serialized concurrently before being sent.
+     */
+    public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
+            InternalService.PExecPlanFragmentRequest pRequest, boolean twoPhaseExecution) throws RpcException {
         MetricRepo.BE_COUNTER_QUERY_RPC_ALL.getOrAdd(address.hostname).increase(1L);
         MetricRepo.BE_COUNTER_QUERY_RPC_SIZE.getOrAdd(address.hostname).increase((long) pRequest.getSerializedSize());
         try {
@@ -163,8 +164,20 @@ public class BackendServiceProxy {
         }
     }
 
-    public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
-            TPipelineFragmentParamsList params, boolean twoPhaseExecution) throws TException, RpcException {
+    public static InternalService.PExecPlanFragmentRequest buildExecPlanFragmentRequest(
+            TExecPlanFragmentParamsList paramsList) throws TException {
+        // VERSION 2 means we send TExecPlanFragmentParamsList, not single TExecPlanFragmentParams
+        return buildExecPlanFragmentRequest(paramsList, InternalService.PFragmentRequestVersion.VERSION_2);
+    }
+
+    public static InternalService.PExecPlanFragmentRequest buildExecPlanFragmentRequest(
+            TPipelineFragmentParamsList params) throws TException {
+        // VERSION 3 means we send TPipelineFragmentParamsList
+        return buildExecPlanFragmentRequest(params, InternalService.PFragmentRequestVersion.VERSION_3);
+    }
+
+    private static InternalService.PExecPlanFragmentRequest buildExecPlanFragmentRequest(TBase<?, ?> params,
+            InternalService.PFragmentRequestVersion version) throws TException {
         InternalService.PExecPlanFragmentRequest.Builder builder =
                 InternalService.PExecPlanFragmentRequest.newBuilder();
         if (Config.use_compact_thrift_rpc) {
@@ -172,27 +185,11 @@ public class BackendServiceProxy {
                     ByteString.copyFrom(new TSerializer(new TCompactProtocol.Factory()).serialize(params)));
             builder.setCompact(true);
         } else {
-            builder.setRequest(ByteString.copyFrom(new TSerializer().serialize(params))).build();
+            builder.setRequest(ByteString.copyFrom(new TSerializer().serialize(params)));
             builder.setCompact(false);
         }
-        // VERSION 3 means we send TPipelineFragmentParamsList
-        builder.setVersion(InternalService.PFragmentRequestVersion.VERSION_3);
-
-        final InternalService.PExecPlanFragmentRequest pRequest = builder.build();
-        MetricRepo.BE_COUNTER_QUERY_RPC_ALL.getOrAdd(address.hostname).increase(1L);
-        MetricRepo.BE_COUNTER_QUERY_RPC_SIZE.getOrAdd(address.hostname).increase((long) pRequest.getSerializedSize());
-        try {
-            final BackendServiceClient client = getProxy(address);
-            if (twoPhaseExecution) {
-                return client.execPlanFragmentPrepareAsync(pRequest);
-            } else {
-                return client.execPlanFragmentAsync(pRequest);
-            }
-        } catch (Throwable e) {
-            LOG.warn("Execute plan fragment catch a exception, address={}:{}", address.getHostname(), address.getPort(),
-                    e);
-            throw new RpcException(address.hostname, e.getMessage());
-        }
+        builder.setVersion(version);
+        return builder.build();
     }
 
     public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentStartAsync(TNetworkAddress address,
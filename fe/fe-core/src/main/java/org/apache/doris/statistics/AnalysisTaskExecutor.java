@@ -21,7 +21,7 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.ThreadPoolManager.BlockedPolicy;
-import org.apache.doris.statistics.util.BlockingCounter;
+import org.apache.doris.qe.QeProcessorImpl;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,6 +32,10 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class AnalysisTaskExecutor extends Thread {
 
@@ -44,10 +48,14 @@ public class AnalysisTaskExecutor extends Thread {
             new BlockedPolicy("Analysis Job Executor", Integer.MAX_VALUE),
             "Analysis Job Executor", true);
 
+    private static final long WAIT_INTERVAL_MS = 1000;
+
     private final AnalysisTaskScheduler taskScheduler;
 
-    private final BlockingCounter blockingCounter =
-            new BlockingCounter(Config.statistics_simultaneously_running_task_num);
+    private final AtomicInteger runningTaskNum = new AtomicInteger(0);
+    private final Lock runningTaskLock = new ReentrantLock();
+    // signaled when a running task is finished
+    private final Condition taskFinishedCondition = runningTaskLock.newCondition();
 
     private final BlockingQueue<AnalysisTaskWrapper> taskQueue =
             new PriorityBlockingQueue<AnalysisTaskWrapper>(20,
@@ -100,15 +108,60 @@ public class AnalysisTaskExecutor extends Thread {
         t.start();
     }
 
-    private void doFetchAndExecute() {
+    private void doFetchAndExecute() throws InterruptedException {
         BaseAnalysisTask task = taskScheduler.getPendingTasks();
+        waitForRunningTask();
         AnalysisTaskWrapper taskWrapper = new AnalysisTaskWrapper(this, task);
-        executors.submit(taskWrapper);
+        try {
+            executors.submit(taskWrapper);
+        } catch (Throwable t) {
+            // the task is not run, so it is never finished
+            taskFinished();
+            throw t;
+        }
         Env.getCurrentEnv().getAnalysisManager()
                 .updateTaskStatus(task.info,
                         AnalysisState.RUNNING, "", System.currentTimeMillis());
     }
 
+    /**
+     * The analyze tasks compete with the user queries for the resources of backends, so fewer tasks are allowed
+     * to run when there are more running user queries per backend, and at least one task is allowed to run.
+     */
+    private int getAllowedTaskNum() {
+        int maxTaskNum = Config.statistics_simultaneously_running_task_num;
+        int aliveBackendNum = Math.max(Env.getCurrentSystemInfo().getAllBackendIds(true).size(), 1);
+        int userQueryNum = QeProcessorImpl.INSTANCE.getUserQueryNum();
+        return Math.max(1, maxTaskNum / (1 + userQueryNum / aliveBackendNum));
+    }
+
+    // wait until another task is allowed to run, and count it as running
+    private void waitForRunningTask() throws InterruptedException {
+        runningTaskLock.lock();
+        try {
+            // the allowed number also changes with the load, which is checked again after the interval
+            while (runningTaskNum.get() >= getAllowedTaskNum()) {
+                taskFinishedCondition.await(WAIT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            runningTaskNum.incrementAndGet();
+        } finally {
+            runningTaskLock.unlock();
+        }
+    }
+
+    /**
+     * Called exactly once for each task counted by waitForRunningTask, whether it is finished, failed or cancelled.
+     */
+    public void taskFinished() {
+        runningTaskLock.lock();
+        try {
+            runningTaskNum.decrementAndGet();
+            taskFinishedCondition.signal();
+        } finally {
+            runningTaskLock.unlock();
+        }
+    }
+
     public void putJob(AnalysisTaskWrapper wrapper) throws Exception {
         taskQueue.put(wrapper);
     }
@@ -60,6 +60,7 @@ public class AnalysisTaskWrapper extends FutureTask<Void> {
         } catch (Exception e) {
             except = e;
         } finally {
+            executor.taskFinished();
             if (!task.killed) {
                 if (except != null) {
                     LOG.warn("Failed to execute task", except);
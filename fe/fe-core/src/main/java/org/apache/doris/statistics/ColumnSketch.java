@@ -0,0 +1,337 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.common.Pair;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
+
+import com.google.common.base.Preconditions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The value distribution of a column, which consists of the most common values (MCVs) and an equi-depth
+ * histogram of the other values. It is collected from the sampled rows when analyzing a table.
+ * <p>
+ * The values are converted to double in the same way as the min/max values of {@link ColumnStatistic},
+ * and the frequencies are the fractions of all rows of the table, including the null values.
+ * Unlike {@link Histogram}, it is stored in a compact binary format and kept in primitive arrays,
+ * so it's cheap to load and to estimate with.
+ */
+public class ColumnSketch {
+    private static final Logger LOG = LogManager.getLogger(ColumnSketch.class);
+
+    private static final byte VERSION = 1;
+
+    // ndv of the non-null values in the table
+    public final double ndv;
+
+    // sorted MCVs and their frequencies
+    private final double[] mcvValues;
+    private final double[] mcvFrequencies;
+
+    // buckets of the other values sorted by their ranges, the i-th bucket holds the values in
+    // [bucketLowers[i], bucketUppers[i]]
+    private final double[] bucketLowers;
+    private final double[] bucketUppers;
+    private final double[] bucketFrequencies;
+    private final double[] bucketNdvs;
+
+    // frequency of a value which is neither a MCV nor in any bucket, e.g. it is missed by sampling.
+    // the range of the sketch is the range of the sampled rows, which may be narrower than the range of the column,
+    // so a value in the range of the column but out of the sketch gets this frequency instead of 0.
+    private final double defaultFrequency;
+
+    private ColumnSketch(double ndv, double[] mcvValues, double[] mcvFrequencies, double[] bucketLowers,
+            double[] bucketUppers, double[] bucketFrequencies, double[] bucketNdvs) {
+        Preconditions.checkArgument(mcvValues.length == mcvFrequencies.length);
+        Preconditions.checkArgument(bucketLowers.length == bucketUppers.length
+                && bucketLowers.length == bucketFrequencies.length && bucketLowers.length == bucketNdvs.length);
+        this.ndv = ndv;
+        this.mcvValues = mcvValues;
+        this.mcvFrequencies = mcvFrequencies;
+        this.bucketLowers = bucketLowers;
+        this.bucketUppers = bucketUppers;
+        this.bucketFrequencies = bucketFrequencies;
+        this.bucketNdvs = bucketNdvs;
+        double otherFrequency = Arrays.stream(bucketFrequencies).sum();
+        if (otherFrequency > 0) {
+            this.defaultFrequency = otherFrequency / Math.max(ndv - mcvValues.length, 1);
+        } else {
+            // all sampled rows are MCVs, a value missed by sampling is not more common than the rarest MCV
+            double minMcvFrequency = Arrays.stream(mcvFrequencies).min().orElse(1);
+            this.defaultFrequency = Math.min(1 / Math.max(ndv, 1), minMcvFrequency);
+        }
+    }
+
+    /**
+     * Build the sketch from the sampled rows.
+     *
+     * @param sampleRows the number of the sampled rows, including the null values
+     * @param mcvs the most common values in the sampled rows and their counts
+     * @param buckets the equi-depth histogram of the sampled rows, which contains the mcvs too
+     * @param ndv the ndv of the column in the whole table, the ndv of the sampled rows is used if it's smaller
+     */
+    public static ColumnSketch create(double sampleRows, List<Pair<Double, Double>> mcvs, List<Bucket> buckets,
+            double ndv) {
+        double rows = Math.max(sampleRows, 1);
+        List<Pair<Double, Double>> sortedMcvs = new ArrayList<>(mcvs);
+        sortedMcvs.sort(Comparator.comparingDouble(Pair::key));
+        // different strings may be converted to the same double, merge them
+        List<Pair<Double, Double>> mergedMcvs = new ArrayList<>();
+        for (Pair<Double, Double> mcv : sortedMcvs) {
+            int last = mergedMcvs.size() - 1;
+            if (last >= 0 && mergedMcvs.get(last).first.equals(mcv.first)) {
+                mergedMcvs.set(last, Pair.of(mcv.first, mergedMcvs.get(last).second + mcv.second));
+            } else {
+                mergedMcvs.add(mcv);
+            }
+        }
+
+        List<Bucket> sortedBuckets = new ArrayList<>(buckets);
+        sortedBuckets.sort(Comparator.comparingDouble(b -> b.lower));
+        double[] counts = sortedBuckets.stream().mapToDouble(b -> b.count).toArray();
+        double[] ndvs = sortedBuckets.stream().mapToDouble(b -> b.ndv).toArray();
+        // remove the mcvs from the buckets, a mcv may be split into several adjacent buckets
+        for (Pair<Double, Double> mcv : mergedMcvs) {
+            double remaining = mcv.second;
+            for (int i = 0; i < sortedBuckets.size() && remaining > 0; i++) {
+                Bucket bucket = sortedBuckets.get(i);
+                if (bucket.lower <= mcv.first && mcv.first <= bucket.upper && counts[i] > 0) {
+                    double removed = Math.min(remaining, counts[i]);
+                    counts[i] -= removed;
+                    ndvs[i] = Math.max(ndvs[i] - 1, 0);
+                    remaining -= removed;
+                }
+            }
+        }
+
+        double sampleNdv = mergedMcvs.size() + Arrays.stream(ndvs).sum();
+        double totalNdv = Math.max(ndv, sampleNdv);
+        // the values only seen once in the sampled rows may stand for many values in the table
+        double ndvScale = (totalNdv - mergedMcvs.size()) / Math.max(sampleNdv - mergedMcvs.size(), 1);
+        int bucketNum = (int) Arrays.stream(counts).filter(c -> c > 0).count();
+        double[] bucketLowers = new double[bucketNum];
+        double[] bucketUppers = new double[bucketNum];
+        double[] bucketFrequencies = new double[bucketNum];
+        double[] bucketNdvs = new double[bucketNum];
+        for (int i = 0, j = 0; i < sortedBuckets.size(); i++) {
+            if (counts[i] <= 0) {
+                continue;
+            }
+            bucketLowers[j] = sortedBuckets.get(i).lower;
+            bucketUppers[j] = sortedBuckets.get(i).upper;
+            bucketFrequencies[j] = counts[i] / rows;
+            bucketNdvs[j] = Math.max(ndvs[i] * ndvScale, 1);
+            j++;
+        }
+        return new ColumnSketch(totalNdv,
+                mergedMcvs.stream().mapToDouble(Pair::key).toArray(),
+                mergedMcvs.stream().mapToDouble(p -> p.second / rows).toArray(),
+                bucketLowers, bucketUppers, bucketFrequencies, bucketNdvs);
+    }
+
+    public static ColumnSketch fromResultRow(ResultRow resultRow) {
+        try {
+            return deserialize(resultRow.getColumnValue("sketch"));
+        } catch (Exception e) {
+            LOG.warn("Failed to deserialize column sketch.", e);
+            return null;
+        }
+    }
+
+    public int getMcvNum() {
+        return mcvValues.length;
+    }
+
+    public int getBucketNum() {
+        return bucketLowers.length;
+    }
+
+    /**
+     * The fraction of rows equal to the value. The value should be in the range of the column, which is checked by
+     * the caller with the min/max of the column statistics.
+     */
+    public double equalSelectivity(double value) {
+        double frequency = frequencyInSketch(value);
+        return frequency > 0 ? frequency : defaultFrequency;
+    }
+
+    /**
+     * The fraction of rows in the range between low and high. The range should overlap the range of the column,
+     * which is checked by the caller, so it's at least the frequency of one value missed by sampling.
+     */
+    public double rangeSelectivity(double low, boolean lowInclusive, double high, boolean highInclusive) {
+        if (low > high) {
+            return 0;
+        }
+        double sel = 0;
+        for (int i = 0; i < mcvValues.length; i++) {
+            if (low <= mcvValues[i] && mcvValues[i] <= high) {
+                sel += mcvFrequencies[i];
+            }
+        }
+        for (int i = 0; i < bucketLowers.length; i++) {
+            sel += bucketFrequencies[i] * overlapPortion(i, low, high);
+        }
+        if (!lowInclusive) {
+            sel -= frequencyInSketch(low);
+        }
+        if (!highInclusive && high != low) {
+            sel -= frequencyInSketch(high);
+        }
+        return Math.min(Math.max(sel, defaultFrequency), 1);
+    }
+
+    /**
+     * The fraction of the rows in the cartesian product of the two columns whose values are equal.
+     * The MCVs are matched by value, and the other values are matched in the overlapped ranges of the buckets,
+     * assuming the values of the side with less distinct values in the range are contained by the other side.
+     *
+     * @param low the lower bound of the intersection of the ranges of the two columns
+     * @param high the upper bound of the intersection of the ranges of the two columns
+     */
+    public double joinSelectivity(ColumnSketch other, double low, double high) {
+        double sel = 0;
+        // a MCV out of the range of the other column has no match
+        for (int i = 0; i < mcvValues.length; i++) {
+            if (low <= mcvValues[i] && mcvValues[i] <= high) {
+                sel += mcvFrequencies[i] * other.equalSelectivity(mcvValues[i]);
+            }
+        }
+        for (int i = 0; i < other.mcvValues.length; i++) {
+            if (low <= other.mcvValues[i] && other.mcvValues[i] <= high
+                    && Arrays.binarySearch(mcvValues, other.mcvValues[i]) < 0) {
+                sel += other.mcvFrequencies[i] * equalSelectivity(other.mcvValues[i]);
+            }
+        }
+        int i = 0;
+        int j = 0;
+        while (i < bucketLowers.length && j < other.bucketLowers.length) {
+            double overlapLow = Math.max(Math.max(bucketLowers[i], other.bucketLowers[j]), low);
+            double overlapHigh = Math.min(Math.min(bucketUppers[i], other.bucketUppers[j]), high);
+            if (overlapLow <= overlapHigh) {
+                double portion = overlapPortion(i, overlapLow, overlapHigh);
+                double otherPortion = other.overlapPortion(j, overlapLow, overlapHigh);
+                double matchedNdv = Math.max(Math.max(bucketNdvs[i] * portion, other.bucketNdvs[j] * otherPortion), 1);
+                sel += bucketFrequencies[i] * portion * other.bucketFrequencies[j] * otherPortion / matchedNdv;
+            }
+            if (bucketUppers[i] < other.bucketUppers[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Math.min(sel, 1);
+    }
+
+    /**
+     * Serialize to a base64 string, which is stored in the internal statistics table.
+     */
+    public String serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeDouble(ndv);
+            writeArrays(out, mcvValues, mcvFrequencies);
+            writeArrays(out, bucketLowers, bucketUppers, bucketFrequencies, bucketNdvs);
+        } catch (IOException e) {
+            // never happens when writing to memory
+            throw new IllegalStateException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    public static ColumnSketch deserialize(String str) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(str)))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported column sketch version: " + version);
+            }
+            double ndv = in.readDouble();
+            double[][] mcvs = readArrays(in, 2);
+            double[][] buckets = readArrays(in, 4);
+            return new ColumnSketch(ndv, mcvs[0], mcvs[1], buckets[0], buckets[1], buckets[2], buckets[3]);
+        }
+    }
+
+    private static void writeArrays(DataOutputStream out, double[]... arrays) throws IOException {
+        out.writeInt(arrays[0].length);
+        for (double[] array : arrays) {
+            for (double value : array) {
+                out.writeDouble(value);
+            }
+        }
+    }
+
+    private static double[][] readArrays(DataInputStream in, int arrayNum) throws IOException {
+        int length = in.readInt();
+        double[][] arrays = new double[arrayNum][length];
+        for (double[] array : arrays) {
+            for (int i = 0; i < length; i++) {
+                array[i] = in.readDouble();
+            }
+        }
+        return arrays;
+    }
+
+    // frequency of the value if it is a MCV or in a bucket, otherwise 0
+    private double frequencyInSketch(double value) {
+        int index = Arrays.binarySearch(mcvValues, value);
+        if (index >= 0) {
+            return mcvFrequencies[index];
+        }
+        // the first bucket whose upper is not less than the value
+        int low = 0;
+        int high = bucketUppers.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucketUppers[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low < bucketLowers.length && bucketLowers[low] <= value) {
+            return bucketFrequencies[low] / bucketNdvs[low];
+        }
+        return 0;
+    }
+
+    // the portion of the values in the bucket which are in the range, assuming they are uniformly distributed
+    private double overlapPortion(int bucket, double low, double high) {
+        double lower = Math.max(low, bucketLowers[bucket]);
+        double upper = Math.min(high, bucketUppers[bucket]);
+        if (lower > upper) {
+            return 0;
+        }
+        double width = bucketUppers[bucket] - bucketLowers[bucket];
+        return width <= 0 ? 1 : (upper - lower) / width;
+    }
+}
@@ -105,9 +105,20 @@ public class ColumnStatistic {
     // assign value when do stats estimation.
     public final Histogram histogram;
 
+    // assign value when do stats estimation, it describes the values in the table, see hasSketch()
+    public final ColumnSketch sketch;
+
     public ColumnStatistic(double count, double ndv, ColumnStatistic original, double avgSizeByte,
             double numNulls, double dataSize, double minValue, double maxValue,
             double selectivity, LiteralExpr minExpr, LiteralExpr maxExpr, boolean isUnKnown, Histogram histogram) {
+        this(count, ndv, original, avgSizeByte, numNulls, dataSize, minValue, maxValue, selectivity, minExpr,
+                maxExpr, isUnKnown, histogram, null);
+    }
+
+    public ColumnStatistic(double count, double ndv, ColumnStatistic original, double avgSizeByte,
+            double numNulls, double dataSize, double minValue, double maxValue,
+            double selectivity, LiteralExpr minExpr, LiteralExpr maxExpr, boolean isUnKnown, Histogram histogram,
+            ColumnSketch sketch) {
         this.count = count;
         this.ndv = ndv;
         this.original = original;
@@ -121,6 +132,7 @@ public class ColumnStatistic {
         this.maxExpr = maxExpr;
         this.isUnKnown = isUnKnown;
         this.histogram = histogram;
+        this.sketch = sketch;
     }
 
     // TODO: use thrift
@@ -368,6 +380,15 @@ public class ColumnStatistic {
         return histogram != null && histogram != Histogram.UNKNOWN;
     }
 
+    /**
+     * The sketch is collected from the table, so it can't be used once the range of the column is changed,
+     * e.g. by a filter on the column. It's removed from the output of the operators which change the
+     * distribution of the values, e.g. aggregate.
+     */
+    public boolean hasSketch() {
+        return sketch != null && !rangeChanged();
+    }
+
     public double getOriginalNdv() {
         if (original != null) {
             return original.ndv;
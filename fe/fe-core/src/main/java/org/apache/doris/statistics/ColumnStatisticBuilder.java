@@ -35,6 +35,8 @@ public class ColumnStatisticBuilder {
 
     private Histogram histogram;
 
+    private ColumnSketch sketch;
+
     private ColumnStatistic original;
 
     public ColumnStatisticBuilder() {
@@ -53,6 +55,7 @@ public class ColumnStatisticBuilder {
         this.maxExpr = columnStatistic.maxExpr;
         this.isUnknown = columnStatistic.isUnKnown;
         this.histogram = columnStatistic.histogram;
+        this.sketch = columnStatistic.sketch;
         this.original = columnStatistic.original;
     }
 
@@ -169,13 +172,22 @@ public class ColumnStatisticBuilder {
         return this;
     }
 
+    public ColumnSketch getSketch() {
+        return sketch;
+    }
+
+    public ColumnStatisticBuilder setSketch(ColumnSketch sketch) {
+        this.sketch = sketch;
+        return this;
+    }
+
     public ColumnStatistic build() {
         dataSize = Math.max((count - numNulls + 1) * avgSizeByte, 0);
         if (original == null) {
             original = new ColumnStatistic(count, ndv, null, avgSizeByte, numNulls,
-                    dataSize, minValue, maxValue, selectivity, minExpr, maxExpr, isUnknown, histogram);
+                    dataSize, minValue, maxValue, selectivity, minExpr, maxExpr, isUnknown, histogram, sketch);
         }
         return new ColumnStatistic(count, ndv, original, avgSizeByte, numNulls,
-            dataSize, minValue, maxValue, selectivity, minExpr, maxExpr, isUnknown, histogram);
+            dataSize, minValue, maxValue, selectivity, minExpr, maxExpr, isUnknown, histogram, sketch);
     }
 }
@@ -0,0 +1,140 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import com.google.common.base.Preconditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A mergeable sketch to estimate the ndv of a column, which keeps the k minimum 64-bit hashes of the distinct
+ * values (KMV). It is collected for each partition, and the sketches of all partitions are merged into the
+ * ndv of the table, so only the changed partitions need to be scanned when the table is analyzed again.
+ * <p>
+ * The relative standard error of the estimation is about 1 / sqrt(k - 2).
+ * <p>
+ * Related paper:
+ * - [BHR+07] Beyer et al.: "On Synopses for Distinct-Value Estimation Under Multiset Operations".
+ */
+public class NdvSketch {
+    private static final byte VERSION = 1;
+
+    private static final double HASH_SPACE = Math.pow(2, 64);
+
+    private final int k;
+
+    // the distinct minimum hashes in ascending order, there are at most k of them
+    private final long[] hashes;
+
+    private NdvSketch(int k, long[] hashes) {
+        Preconditions.checkArgument(k > 1 && hashes.length <= k);
+        this.k = k;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Create a sketch from the hashes of the values, only the k minimum distinct hashes are kept.
+     */
+    public static NdvSketch create(int k, long[] hashes) {
+        long[] sorted = Arrays.stream(hashes).sorted().distinct().limit(k).toArray();
+        return new NdvSketch(k, sorted);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+
+    /**
+     * The estimated ndv, which is exact if there are less than k distinct values.
+     */
+    public double estimate() {
+        if (hashes.length < k) {
+            return hashes.length;
+        }
+        // the fraction of the hash space covered by the k minimum hashes
+        double coverage = ((double) hashes[k - 1] - (double) Long.MIN_VALUE + 1) / HASH_SPACE;
+        return (k - 1) / coverage;
+    }
+
+    /**
+     * Merge with the sketch of another partition, the result is the sketch of the union of the values.
+     */
+    public NdvSketch merge(NdvSketch other) {
+        int mergedK = Math.min(k, other.k);
+        long[] merged = new long[Math.min(hashes.length + other.hashes.length, mergedK)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (size < merged.length && (i < hashes.length || j < other.hashes.length)) {
+            long next;
+            if (j >= other.hashes.length || (i < hashes.length && hashes[i] <= other.hashes[j])) {
+                next = hashes[i++];
+            } else {
+                next = other.hashes[j++];
+            }
+            if (size == 0 || merged[size - 1] != next) {
+                merged[size++] = next;
+            }
+        }
+        return new NdvSketch(mergedK, Arrays.copyOf(merged, size));
+    }
+
+    /**
+     * Serialize to a base64 string, which is stored in the internal statistics table.
+     */
+    public String serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(k);
+            out.writeInt(hashes.length);
+            for (long hash : hashes) {
+                out.writeLong(hash);
+            }
+        } catch (IOException e) {
+            // never happens when writing to memory
+            throw new IllegalStateException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    public static NdvSketch deserialize(String str) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(str)))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported ndv sketch version: " + version);
+            }
+            int k = in.readInt();
+            long[] hashes = new long[in.readInt()];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = in.readLong();
+            }
+            return new NdvSketch(k, hashes);
+        }
+    }
+}
@@ -19,12 +19,20 @@ package org.apache.doris.statistics;
 
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.Pair;
 import org.apache.doris.qe.AutoCloseConnectContext;
 import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.statistics.AnalysisInfo.AnalysisMethod;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
 import org.apache.doris.statistics.util.StatisticsUtil;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.text.StringSubstitutor;
 
 import java.util.ArrayList;
@@ -42,12 +50,47 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
             + "FROM `${dbName}`.`${tblName}` "
             + "PARTITION ${partName} ${sampleExpr}";
 
-    // TODO Currently, NDV is computed for the full table; in fact,
-    //  NDV should only be computed for the relevant partition.
+    // Only used if the ndv can't be merged from the sketches of partitions, which scans the full table.
     private static final String ANALYZE_COLUMN_SQL_TEMPLATE = INSERT_COL_STATISTICS
             + "     (SELECT NDV(`${colName}`) AS ndv "
             + "     FROM `${dbName}`.`${tblName}`) t2\n";
 
+    private static final String ANALYZE_COLUMN_WITH_NDV_SQL_TEMPLATE = INSERT_COL_STATISTICS
+            + "     (SELECT ${ndv} AS ndv) t2\n";
+
+    private static final String COLLECT_NDV_SKETCH_SQL_TEMPLATE = "SELECT DISTINCT "
+            + "    murmur_hash3_64(CAST(`${colName}` AS STRING)) AS hash "
+            + "FROM `${dbName}`.`${tblName}` PARTITION ${partName} "
+            + "WHERE `${colName}` IS NOT NULL "
+            + "ORDER BY hash "
+            + "LIMIT ${sketchSize}";
+
+    private static final String COLLECT_SKETCH_HISTOGRAM_SQL_TEMPLATE = "SELECT "
+            + "    COUNT(1) AS row_count, "
+            + "    HISTOGRAM(`${colName}`, ${bucketNum}) AS buckets "
+            + "FROM `${dbName}`.`${tblName}` ${sampleExpr}";
+
+    private static final String COLLECT_SKETCH_MCV_SQL_TEMPLATE = "SELECT "
+            + "    CAST(`${colName}` AS STRING) AS value, "
+            + "    COUNT(1) AS cnt "
+            + "FROM `${dbName}`.`${tblName}` ${sampleExpr} "
+            + "WHERE `${colName}` IS NOT NULL "
+            + "GROUP BY `${colName}` "
+            + "ORDER BY cnt DESC "
+            + "LIMIT ${mcvNum}";
+
+    private static final String INSERT_SKETCH_SQL_TEMPLATE = "INSERT INTO "
+            + "${internalDB}.${sketchTbl} VALUES ("
+            + "    CONCAT(${tblId}, '-', ${idxId}, '-', '${colId}'), "
+            + "    '${catalogId}', "
+            + "    '${dbId}', "
+            + "    '${tblId}', "
+            + "    '${idxId}', "
+            + "    '${colId}', "
+            + "    ${sampleRate}, "
+            + "    '${sketch}', "
+            + "    NOW())";
+
     @VisibleForTesting
     public OlapAnalysisTask() {
         super();
@@ -93,10 +136,134 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
         params.remove("partId");
         params.remove("sampleExpr");
         params.put("type", col.getType().toString());
-        StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
-        String sql = stringSubstitutor.replace(ANALYZE_COLUMN_SQL_TEMPLATE);
+        String sql;
+        try {
+            params.put("ndv", String.valueOf(Math.round(mergePartitionNdvSketches(params))));
+            sql = new StringSubstitutor(params).replace(ANALYZE_COLUMN_WITH_NDV_SQL_TEMPLATE);
+        } catch (Exception e) {
+            LOG.warn("Failed to merge the ndv sketches of column {}.{}, compute the ndv of the full table",
+                    info.tblName, info.colName, e);
+            sql = new StringSubstitutor(params).replace(ANALYZE_COLUMN_SQL_TEMPLATE);
+        }
         execSQL(sql);
         Env.getCurrentEnv().getStatisticsCache().refreshColStatsSync(tbl.getId(), -1, col.getName());
+        collectSketch(params);
+    }
+
+    /**
+     * Merge the ndv sketches of all partitions into the ndv of the column. The sketch of a partition is collected
+     * again only if the partition is analyzed in this task, or it has been changed since its sketch is collected,
+     * so the unchanged partitions of a large table are not scanned.
+     */
+    private double mergePartitionNdvSketches(Map<String, String> params) throws Exception {
+        Map<Long, Pair<Long, NdvSketch>> partToSketch = new HashMap<>(
+                StatisticsRepository.fetchPartitionNdvSketches(tbl.getId(), info.indexId, info.colName));
+        Set<String> analyzedPartNames = info.colToPartitions.get(info.colName);
+        List<Partition> changedParts = new ArrayList<>();
+        List<Long> partIds = new ArrayList<>();
+        try {
+            tbl.readLock();
+            for (String partName : tbl.getPartitionNames()) {
+                Partition part = tbl.getPartition(partName);
+                if (part == null) {
+                    continue;
+                }
+                partIds.add(part.getId());
+                Pair<Long, NdvSketch> versionAndSketch = partToSketch.get(part.getId());
+                if (analyzedPartNames.contains(partName) || versionAndSketch == null
+                        || versionAndSketch.first != part.getVisibleVersion()) {
+                    changedParts.add(part);
+                }
+            }
+        } finally {
+            tbl.readUnlock();
+        }
+
+        params.put("sketchSize", String.valueOf(StatisticConstants.NDV_SKETCH_SIZE));
+        for (Partition part : changedParts) {
+            // the version is got before scanning, so the partition is analyzed again if it's loaded meanwhile
+            long version = part.getVisibleVersion();
+            params.put("partId", String.valueOf(part.getId()));
+            params.put("partName", "`" + part.getName() + "`");
+            List<ResultRow> rows = StatisticsUtil.execStatisticQuery(
+                    new StringSubstitutor(params).replace(COLLECT_NDV_SKETCH_SQL_TEMPLATE));
+            long[] hashes = new long[rows == null ? 0 : rows.size()];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = Long.parseLong(rows.get(i).getColumnValue("hash"));
+            }
+            NdvSketch sketch = NdvSketch.create(StatisticConstants.NDV_SKETCH_SIZE, hashes);
+            params.put("id", StatisticsUtil.constructId(tbl.getId(), info.indexId, info.colName, part.getId()));
+            params.put("partVersion", String.valueOf(version));
+            params.put("sketch", sketch.serialize());
+            StatisticsRepository.persistPartitionNdvSketch(params);
+            partToSketch.put(part.getId(), Pair.of(version, sketch));
+        }
+        params.remove("partId");
+
+        NdvSketch merged = NdvSketch.create(StatisticConstants.NDV_SKETCH_SIZE, new long[0]);
+        for (Long partId : partIds) {
+            merged = merged.merge(partToSketch.get(partId).second);
+        }
+        return merged.estimate();
+    }
+
+    /**
+     * Collect the most common values and the equi-depth histogram of the column from the sampled rows.
+     * The column statistics are still usable without the sketch, so the failure is only logged.
+     */
+    private void collectSketch(Map<String, String> params) {
+        if (Config.column_sketch_mcv_num <= 0 || !col.getType().isScalarType()
+                || unsupportedType.contains(col.getType().getPrimitiveType())) {
+            return;
+        }
+        try {
+            params.put("sketchTbl", StatisticConstants.SKETCH_TBL_NAME);
+            params.put("bucketNum", String.valueOf(StatisticConstants.SKETCH_BUCKET_NUM));
+            params.put("mcvNum", String.valueOf(Config.column_sketch_mcv_num));
+            params.put("sampleExpr", info.analysisMethod == AnalysisMethod.FULL
+                    ? String.format("TABLESAMPLE(%d ROWS)", Config.column_sketch_sample_rows)
+                    : getSampleExpression());
+            StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
+            List<ResultRow> histogramResult = StatisticsUtil.execStatisticQuery(
+                    stringSubstitutor.replace(COLLECT_SKETCH_HISTOGRAM_SQL_TEMPLATE));
+            if (CollectionUtils.isEmpty(histogramResult)) {
+                return;
+            }
+            double sampleRows = Double.parseDouble(histogramResult.get(0).getColumnValue("row_count"));
+            if (sampleRows <= 0) {
+                return;
+            }
+            JsonObject histogramJson = JsonParser.parseString(histogramResult.get(0).getColumnValue("buckets"))
+                    .getAsJsonObject();
+            List<Bucket> buckets = new ArrayList<>();
+            for (JsonElement element : histogramJson.getAsJsonArray("buckets")) {
+                buckets.add(Bucket.deserializeFromJson(col.getType(), element.toString()));
+            }
+
+            // only the values more common than the average are kept as mcvs, the others are in the buckets
+            double nonNullRows = buckets.stream().mapToDouble(b -> b.count).sum();
+            double avgCount = nonNullRows / Math.max(buckets.stream().mapToDouble(b -> b.ndv).sum(), 1);
+            List<Pair<Double, Double>> mcvs = new ArrayList<>();
+            List<ResultRow> mcvResult = StatisticsUtil.execStatisticQuery(
+                    stringSubstitutor.replace(COLLECT_SKETCH_MCV_SQL_TEMPLATE));
+            for (ResultRow row : mcvResult) {
+                double count = Double.parseDouble(row.getColumnValue("cnt"));
+                if (count > avgCount) {
+                    mcvs.add(Pair.of(StatisticsUtil.convertToDouble(col.getType(), row.getColumnValue("value")),
+                            count));
+                }
+            }
+
+            ResultRow colStatsRow = StatisticsRepository.queryColumnStatisticById(tbl.getId(), col.getName());
+            double ndv = colStatsRow == null ? 0 : Double.parseDouble(colStatsRow.getColumnValue("ndv"));
+            ColumnSketch sketch = ColumnSketch.create(sampleRows, mcvs, buckets, ndv);
+            params.put("sampleRate", String.valueOf(Math.min(sampleRows / Math.max(tbl.getRowCount(), 1), 1.0)));
+            params.put("sketch", sketch.serialize());
+            StatisticsUtil.execUpdate(new StringSubstitutor(params).replace(INSERT_SKETCH_SQL_TEMPLATE));
+            Env.getCurrentEnv().getStatisticsCache().refreshSketchSync(tbl.getId(), -1, col.getName());
+        } catch (Exception e) {
+            LOG.warn("Failed to collect the sketch of column {}.{}", info.tblName, info.colName, e);
+        }
     }
 
     @VisibleForTesting
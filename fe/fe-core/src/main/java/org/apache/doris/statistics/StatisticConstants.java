@@ -32,6 +32,10 @@ public class StatisticConstants {
 
     public static final String HISTOGRAM_TBL_NAME = "histogram_statistics";
 
+    public static final String SKETCH_TBL_NAME = "column_sketches";
+
+    public static final String PARTITION_NDV_SKETCH_TBL_NAME = "partition_ndv_sketches";
+
     public static final String ANALYSIS_JOB_TABLE = "analysis_jobs";
 
     public static final int MAX_NAME_LEN = 64;
@@ -72,6 +76,13 @@ public class StatisticConstants {
 
     public static final int HISTOGRAM_MAX_BUCKET_NUM = 128;
 
+    public static final int SKETCH_BUCKET_NUM = 64;
+
+    /**
+     * The number of hashes kept in the ndv sketch of a partition, the standard error is about 4.4%.
+     */
+    public static final int NDV_SKETCH_SIZE = 512;
+
     /**
      * The health of the table indicates the health of the table statistics, rang in [0, 100].
      * Below this threshold will automatically re-collect statistics. TODO make it in fe.conf
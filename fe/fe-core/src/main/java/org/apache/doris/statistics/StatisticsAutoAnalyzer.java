@@ -32,6 +32,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +100,10 @@ public class StatisticsAutoAnalyzer extends MasterDaemon {
      * Step1: check the health of the table, if the health is good,
      * there is no need to re-analyze, or check partition
      * <p>
+     * If the visible versions of partitions are recorded when their ndv sketches are collected, only the
+     * partitions whose versions are changed, and the new and deleted partitions, need to be re-analyzed.
+     * Otherwise, the partitions are checked by the following steps.
+     * <p>
      * Step2: check the partition update time, if the partition is not updated
      * after the statistics is analyzed, there is no need to re-analyze
      * <p>
@@ -135,6 +140,13 @@ public class StatisticsAutoAnalyzer extends MasterDaemon {
                 .flatMap(Collection::stream)
                 .collect(Collectors.toSet());
 
+        Map<String, Map<Long, Long>> colToPartVersions = StatisticsRepository.fetchPartitionVersions(table.getId());
+        if (!colToPartVersions.isEmpty()) {
+            checkChangedPartitions(table, jobInfo.colToPartitions.keySet(), colToPartVersions, statsPartitions,
+                    needRunPartitions);
+            return needRunPartitions.isEmpty() ? null : getAnalysisJobInfo(jobInfo, table, needRunPartitions);
+        }
+
         checkAnalyzedPartitions(table, statsPartitions, needRunPartitions, lastExecTimeInMs);
         checkNewPartitions(table, needRunPartitions, lastExecTimeInMs);
 
@@ -145,6 +157,30 @@ public class StatisticsAutoAnalyzer extends MasterDaemon {
         return getAnalysisJobInfo(jobInfo, table, needRunPartitions);
     }
 
+    private void checkChangedPartitions(TableIf table, Set<String> colNames,
+            Map<String, Map<Long, Long>> colToPartVersions, Set<String> statsPartitions,
+            Set<String> needRunPartitions) {
+        for (String statsPartition : statsPartitions) {
+            if (table.getPartition(statsPartition) == null) {
+                needRunPartitions.add(statsPartition);
+            }
+        }
+        for (String partitionName : table.getPartitionNames()) {
+            Partition partition = table.getPartition(partitionName);
+            if (partition == null) {
+                continue;
+            }
+            for (String colName : colNames) {
+                Long version = colToPartVersions.getOrDefault(colName, Collections.emptyMap())
+                        .get(partition.getId());
+                if (version == null || version != partition.getVisibleVersion()) {
+                    needRunPartitions.add(partitionName);
+                    break;
+                }
+            }
+        }
+    }
+
     private boolean needReanalyzeTable(TableIf table, TableStatistic tblStats) {
         long rowCount = table.getRowCount();
         long updateRows = Math.abs(rowCount - tblStats.rowCount);
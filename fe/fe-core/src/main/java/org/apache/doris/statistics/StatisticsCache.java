@@ -51,6 +51,7 @@ public class StatisticsCache {
 
     private final ColumnStatisticsCacheLoader columnStatisticsCacheLoader = new ColumnStatisticsCacheLoader();
     private final HistogramCacheLoader histogramCacheLoader = new HistogramCacheLoader();
+    private final ColumnSketchCacheLoader sketchCacheLoader = new ColumnSketchCacheLoader();
 
     private final AsyncLoadingCache<StatisticsCacheKey, Optional<ColumnStatistic>> columnStatisticsCache =
             Caffeine.newBuilder()
@@ -68,12 +69,21 @@ public class StatisticsCache {
                     .executor(threadPool)
                     .buildAsync(histogramCacheLoader);
 
+    private final AsyncLoadingCache<StatisticsCacheKey, Optional<ColumnSketch>> sketchCache =
+            Caffeine.newBuilder()
+                    .maximumSize(Config.stats_cache_size)
+                    .expireAfterAccess(Duration.ofHours(StatisticConstants.STATISTICS_CACHE_VALID_DURATION_IN_HOURS))
+                    .refreshAfterWrite(Duration.ofHours(StatisticConstants.STATISTICS_CACHE_REFRESH_INTERVAL))
+                    .executor(threadPool)
+                    .buildAsync(sketchCacheLoader);
+
     {
         threadPool.submit(() -> {
             while (true) {
                 try {
                     columnStatisticsCacheLoader.removeExpiredInProgressing();
                     histogramCacheLoader.removeExpiredInProgressing();
+                    sketchCacheLoader.removeExpiredInProgressing();
                 } catch (Throwable t) {
                     // IGNORE
                 }
@@ -125,6 +135,27 @@ public class StatisticsCache {
         return Optional.empty();
     }
 
+    public ColumnSketch getSketch(long tblId, String colName) {
+        return getSketch(tblId, -1, colName).orElse(null);
+    }
+
+    public Optional<ColumnSketch> getSketch(long tblId, long idxId, String colName) {
+        ConnectContext ctx = ConnectContext.get();
+        if (ctx != null && ctx.getSessionVariable().internalSession) {
+            return Optional.empty();
+        }
+        StatisticsCacheKey k = new StatisticsCacheKey(tblId, idxId, colName);
+        try {
+            CompletableFuture<Optional<ColumnSketch>> f = sketchCache.get(k);
+            if (f.isDone()) {
+                return f.get();
+            }
+        } catch (Exception e) {
+            LOG.warn("Unexpected exception while returning ColumnSketch", e);
+        }
+        return Optional.empty();
+    }
+
     public void invidate(long tblId, long idxId, String colName) {
         columnStatisticsCache.synchronous().invalidate(new StatisticsCacheKey(tblId, idxId, colName));
     }
@@ -141,6 +172,10 @@ public class StatisticsCache {
         histogramCache.synchronous().refresh(new StatisticsCacheKey(tblId, idxId, colName));
     }
 
+    public void refreshSketchSync(long tblId, long idxId, String colName) {
+        sketchCache.synchronous().refresh(new StatisticsCacheKey(tblId, idxId, colName));
+    }
+
     public void preHeat() {
         threadPool.submit(this::doPreHeat);
     }
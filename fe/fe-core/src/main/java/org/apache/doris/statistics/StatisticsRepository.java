@@ -27,6 +27,7 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.Pair;
 import org.apache.doris.statistics.util.DBObjects;
 import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
 import org.apache.doris.statistics.util.StatisticsUtil;
@@ -120,6 +121,21 @@ public class StatisticsRepository {
             + " WHERE tbl_id = ${tblId}"
             + " AND part_id IS NOT NULL";
 
+    private static final String FETCH_PARTITION_NDV_SKETCH_TEMPLATE = "SELECT part_id, part_version, sketch FROM "
+            + FeConstants.INTERNAL_DB_NAME + "." + StatisticConstants.PARTITION_NDV_SKETCH_TBL_NAME
+            + " WHERE tbl_id = '${tblId}'"
+            + " AND idx_id = '${idxId}'"
+            + " AND col_id = '${colId}'";
+
+    private static final String FETCH_PARTITION_VERSION_TEMPLATE = "SELECT col_id, part_id, part_version FROM "
+            + FeConstants.INTERNAL_DB_NAME + "." + StatisticConstants.PARTITION_NDV_SKETCH_TBL_NAME
+            + " WHERE tbl_id = '${tblId}'";
+
+    private static final String PERSIST_PARTITION_NDV_SKETCH_TEMPLATE = "INSERT INTO "
+            + FeConstants.INTERNAL_DB_NAME + "." + StatisticConstants.PARTITION_NDV_SKETCH_TBL_NAME
+            + " VALUES('${id}', '${catalogId}', '${dbId}', '${tblId}', '${idxId}', '${colId}', '${partId}',"
+            + " ${partVersion}, '${sketch}', NOW())";
+
     public static ColumnStatistic queryColumnStatisticsByName(long tableId, String colName) {
         ResultRow resultRow = queryColumnStatisticById(tableId, colName);
         if (resultRow == null) {
@@ -195,11 +211,14 @@ public class StatisticsRepository {
     public static void dropStatistics(Set<Long> partIds) throws DdlException {
         dropStatisticsByPartId(partIds, StatisticConstants.ANALYSIS_TBL_NAME);
         dropStatisticsByPartId(partIds, StatisticConstants.STATISTIC_TBL_NAME);
+        dropStatisticsByPartId(partIds, StatisticConstants.PARTITION_NDV_SKETCH_TBL_NAME);
     }
 
     public static void dropStatistics(long tblId, Set<String> colNames) throws DdlException {
         dropStatisticsByColName(tblId, colNames, StatisticConstants.STATISTIC_TBL_NAME);
         dropStatisticsByColName(tblId, colNames, StatisticConstants.HISTOGRAM_TBL_NAME);
+        dropStatisticsByColName(tblId, colNames, StatisticConstants.SKETCH_TBL_NAME);
+        dropStatisticsByColName(tblId, colNames, StatisticConstants.PARTITION_NDV_SKETCH_TBL_NAME);
     }
 
     public static void dropStatisticsByColName(long tblId, Set<String> colNames, String statsTblName)
@@ -350,6 +369,61 @@ public class StatisticsRepository {
         return columnToPartitions;
     }
 
+    /**
+     * Fetch the ndv sketches of the partitions of a column, the value is the pair of the visible version of the
+     * partition when the sketch is collected and the sketch.
+     */
+    public static Map<Long, Pair<Long, NdvSketch>> fetchPartitionNdvSketches(long tblId, long idxId,
+            String colName) {
+        Map<String, String> params = Maps.newHashMap();
+        params.put("tblId", String.valueOf(tblId));
+        params.put("idxId", String.valueOf(idxId));
+        params.put("colId", colName);
+        List<ResultRow> resultRows = StatisticsUtil.executeQuery(FETCH_PARTITION_NDV_SKETCH_TEMPLATE, params);
+        if (resultRows == null) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Pair<Long, NdvSketch>> partToSketch = Maps.newHashMap();
+        for (ResultRow row : resultRows) {
+            try {
+                partToSketch.put(Long.parseLong(row.getColumnValue("part_id")),
+                        Pair.of(Long.parseLong(row.getColumnValue("part_version")),
+                                NdvSketch.deserialize(row.getColumnValue("sketch"))));
+            } catch (Exception e) {
+                // the partition is analyzed again if its sketch is broken
+                LOG.warn("Failed to deserialize the ndv sketch of partition.", e);
+            }
+        }
+        return partToSketch;
+    }
+
+    /**
+     * Fetch the visible versions of the partitions when their ndv sketches are collected, grouped by columns.
+     */
+    public static Map<String, Map<Long, Long>> fetchPartitionVersions(long tblId) {
+        Map<String, String> params = Maps.newHashMap();
+        params.put("tblId", String.valueOf(tblId));
+        List<ResultRow> resultRows = StatisticsUtil.executeQuery(FETCH_PARTITION_VERSION_TEMPLATE, params);
+        if (resultRows == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Map<Long, Long>> columnToPartVersions = Maps.newHashMap();
+        for (ResultRow row : resultRows) {
+            try {
+                columnToPartVersions.computeIfAbsent(row.getColumnValue("col_id"), k -> new HashMap<>())
+                        .put(Long.parseLong(row.getColumnValue("part_id")),
+                                Long.parseLong(row.getColumnValue("part_version")));
+            } catch (NumberFormatException | DdlException e) {
+                LOG.warn("Failed to obtain the partition version of ndv sketch.", e);
+            }
+        }
+        return columnToPartVersions;
+    }
+
+    public static void persistPartitionNdvSketch(Map<String, String> params) throws Exception {
+        StatisticsUtil.execUpdate(PERSIST_PARTITION_NDV_SKETCH_TEMPLATE, params);
+    }
+
     public static TableStatistic fetchTableLevelStats(long tblId) throws DdlException {
         ImmutableMap<String, String> params = ImmutableMap
                 .of("tblId", String.valueOf(tblId));
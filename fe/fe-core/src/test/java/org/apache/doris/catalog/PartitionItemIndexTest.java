@@ -0,0 +1,115 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.MaxLiteral;
+import org.apache.doris.analysis.NullLiteral;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class PartitionItemIndexTest {
+
+    private static PartitionKey key(long value) {
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(new IntLiteral(value), PrimitiveType.BIGINT);
+        return key;
+    }
+
+    private static PartitionKey maxKey() {
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(MaxLiteral.MAX_VALUE, PrimitiveType.BIGINT);
+        return key;
+    }
+
+    private static RangePartitionItem range(long lower, long upper) {
+        return new RangePartitionItem(Range.closedOpen(key(lower), key(upper)));
+    }
+
+    private static ListPartitionItem list(long... values) {
+        ListPartitionItem item = new ListPartitionItem(Lists.newArrayList());
+        for (long value : values) {
+            item.getItems().add(key(value));
+        }
+        return item;
+    }
+
+    @Test
+    public void testRange() {
+        Map<Long, PartitionItem> idToItem = Maps.newHashMap();
+        // [0, 10), [10, 20), [30, 40), [40, MAX)
+        idToItem.put(1L, range(0, 10));
+        idToItem.put(2L, range(10, 20));
+        idToItem.put(3L, range(30, 40));
+        idToItem.put(4L, new RangePartitionItem(Range.closedOpen(key(40), maxKey())));
+        PartitionItemIndex index = PartitionItemIndex.build(idToItem);
+        Assert.assertFalse(index.isOverlapped());
+
+        Assert.assertEquals(ImmutableSet.of(1L), index.find(Range.singleton(key(5))));
+        Assert.assertEquals(ImmutableSet.of(2L), index.find(Range.singleton(key(10))));
+        Assert.assertEquals(ImmutableSet.of(), index.find(Range.singleton(key(25))));
+        Assert.assertEquals(ImmutableSet.of(4L), index.find(Range.singleton(key(100000))));
+        Assert.assertEquals(ImmutableSet.of(1L), index.find(Range.lessThan(key(10))));
+        Assert.assertEquals(ImmutableSet.of(1L, 2L), index.find(Range.atMost(key(10))));
+        Assert.assertEquals(ImmutableSet.of(2L, 3L), index.find(Range.closed(key(15), key(35))));
+        Assert.assertEquals(ImmutableSet.of(3L, 4L), index.find(Range.greaterThan(key(20))));
+
+        index.remove(2L);
+        index.add(5L, range(15, 25));
+        Assert.assertEquals(ImmutableSet.of(5L), index.find(Range.singleton(key(20))));
+        Assert.assertEquals(ImmutableSet.of(), index.find(Range.singleton(key(12))));
+        Assert.assertEquals(4, index.size());
+
+        index.add(6L, range(35, 50));
+        Assert.assertTrue(index.isOverlapped());
+    }
+
+    @Test
+    public void testList() {
+        Map<Long, PartitionItem> idToItem = Maps.newHashMap();
+        idToItem.put(1L, list(1, 2, 3));
+        idToItem.put(2L, list(4, 5));
+        ListPartitionItem nullItem = new ListPartitionItem(Lists.newArrayList());
+        PartitionKey nullKey = new PartitionKey();
+        nullKey.pushColumn(new NullLiteral(), PrimitiveType.BIGINT);
+        nullItem.getItems().add(nullKey);
+        idToItem.put(3L, nullItem);
+        PartitionItemIndex index = PartitionItemIndex.build(idToItem);
+
+        // the partition with null is always a candidate
+        Assert.assertEquals(ImmutableSet.of(1L, 3L), index.find(Range.singleton(key(2))));
+        Assert.assertEquals(ImmutableSet.of(3L), index.find(Range.singleton(key(6))));
+        Assert.assertEquals(ImmutableSet.of(1L, 2L, 3L), index.find(Range.closed(key(3), key(4))));
+        Assert.assertEquals(ImmutableSet.of(2L, 3L), index.find(Range.greaterThan(key(3))));
+
+        index.remove(1L);
+        Assert.assertEquals(ImmutableSet.of(3L), index.find(Range.singleton(key(2))));
+
+        ListPartitionItem defaultItem = new ListPartitionItem(Lists.newArrayList());
+        defaultItem.setDefaultPartition(true);
+        index.add(4L, defaultItem);
+        Assert.assertEquals(ImmutableSet.of(3L, 4L), index.find(Range.singleton(key(2))));
+    }
+}
@@ -0,0 +1,132 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.common.Config;
+import org.apache.doris.cooldown.CooldownConf;
+import org.apache.doris.thrift.TPartitionVersionInfo;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+import org.apache.doris.thrift.TTabletMetaInfo;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TabletInvertedIndexTest {
+    private static final long DB_ID = 10;
+    private static final long BACKEND_ID = 1;
+
+    private TabletInvertedIndex invertedIndex;
+    private boolean disableStorageMediumCheck;
+
+    // the results of the tablet diff
+    private ListMultimap<Long, Long> tabletSyncMap;
+    private ListMultimap<Long, Long> tabletDeleteFromMeta;
+    private Set<Long> tabletFoundInMeta;
+
+    @BeforeEach
+    public void setUp() {
+        disableStorageMediumCheck = Config.disable_storage_medium_check;
+        Config.disable_storage_medium_check = true;
+        invertedIndex = new TabletInvertedIndex();
+        // tablets 1, 2 and 3 of version 2 on the backend
+        for (long tabletId = 1; tabletId <= 3; tabletId++) {
+            invertedIndex.addTablet(tabletId, new TabletMeta(DB_ID, 20, 30, 40, 1, TStorageMedium.HDD));
+            invertedIndex.addReplica(tabletId,
+                    new Replica(tabletId, BACKEND_ID, 2, 1, 0, 0, 0, ReplicaState.NORMAL, -1, 2));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.disable_storage_medium_check = disableStorageMediumCheck;
+    }
+
+    private static TTablet newTablet(long tabletId, long version) {
+        TTabletInfo tabletInfo = new TTabletInfo();
+        tabletInfo.setTabletId(tabletId);
+        tabletInfo.setSchemaHash(1);
+        tabletInfo.setVersion(version);
+        tabletInfo.setReplicaId(tabletId);
+        tabletInfo.setIsInMemory(false);
+        return new TTablet(Lists.newArrayList(tabletInfo));
+    }
+
+    private void tabletReport(Map<Long, TTablet> backendTablets, List<Long> removedTablets) {
+        tabletSyncMap = ArrayListMultimap.create();
+        tabletDeleteFromMeta = ArrayListMultimap.create();
+        tabletFoundInMeta = Sets.newConcurrentHashSet();
+        Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish = Maps.newHashMap();
+        List<TTabletMetaInfo> tabletToUpdate = Lists.newArrayList();
+        List<CooldownConf> cooldownConfToPush = Lists.newArrayList();
+        List<CooldownConf> cooldownConfToUpdate = Lists.newArrayList();
+        invertedIndex.tabletReport(BACKEND_ID, backendTablets, removedTablets, new HashMap<>(), tabletSyncMap,
+                tabletDeleteFromMeta, tabletFoundInMeta, ArrayListMultimap.create(), transactionsToPublish,
+                ArrayListMultimap.create(), ArrayListMultimap.create(), tabletToUpdate, cooldownConfToPush,
+                cooldownConfToUpdate);
+        Assertions.assertTrue(tabletToUpdate.isEmpty());
+    }
+
+    @Test
+    public void testFullReport() {
+        Map<Long, TTablet> backendTablets = Maps.newHashMap();
+        backendTablets.put(1L, newTablet(1, 2));
+        backendTablets.put(2L, newTablet(2, 3));
+        tabletReport(backendTablets, null);
+        Assertions.assertEquals(Sets.newHashSet(1L, 2L), tabletFoundInMeta);
+        Assertions.assertEquals(Lists.newArrayList(2L), tabletSyncMap.get(DB_ID));
+        // the tablets not reported are missing on the backend
+        Assertions.assertEquals(Lists.newArrayList(3L), tabletDeleteFromMeta.get(DB_ID));
+    }
+
+    @Test
+    public void testApplyDeltaReport() {
+        // only tablet 2 is changed, the tablets not reported are unchanged
+        Map<Long, TTablet> backendTablets = Maps.newHashMap();
+        backendTablets.put(2L, newTablet(2, 3));
+        tabletReport(backendTablets, Lists.newArrayList());
+        Assertions.assertEquals(Sets.newHashSet(2L), tabletFoundInMeta);
+        Assertions.assertEquals(Lists.newArrayList(2L), tabletSyncMap.get(DB_ID));
+        Assertions.assertTrue(tabletDeleteFromMeta.isEmpty());
+    }
+
+    @Test
+    public void testDeltaReportWithDroppedTablet() {
+        Map<Long, TTablet> backendTablets = Maps.newHashMap();
+        backendTablets.put(1L, newTablet(1, 2));
+        // tablet 4 is not in meta, it is handled by the report handler
+        tabletReport(backendTablets, Lists.newArrayList(3L, 4L));
+        Assertions.assertEquals(Sets.newHashSet(1L), tabletFoundInMeta);
+        Assertions.assertTrue(tabletSyncMap.isEmpty());
+        Assertions.assertEquals(Lists.newArrayList(3L), tabletDeleteFromMeta.get(DB_ID));
+    }
+}
@@ -0,0 +1,91 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+public class LongHashMapTest {
+
+    @Test
+    public void testLongObjectHashMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Assert.assertNull(map.put(0L, "zero"));
+        Assert.assertNull(map.put(-1L, "minus"));
+        Assert.assertEquals("zero", map.put(0L, "0"));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals("0", map.get(0L));
+        Assert.assertEquals("x", map.getOrDefault(1L, "x"));
+        Assert.assertEquals("minus", map.remove(-1L));
+        Assert.assertNull(map.remove(-1L));
+        Assert.assertFalse(map.containsKey(-1L));
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testLongLongHashMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(0L, 10L);
+        map.put(1L, 11L);
+        map.put(1L, 12L);
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(10L, map.getOrDefault(0L, -1L));
+        Assert.assertEquals(12L, map.getOrDefault(1L, -1L));
+        Assert.assertEquals(-1L, map.getOrDefault(2L, -1L));
+        Assert.assertTrue(map.remove(0L));
+        Assert.assertFalse(map.remove(0L));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(0);
+        LongObjectHashMap<Long> objectMap = new LongObjectHashMap<>();
+        LongLongHashMap longMap = new LongLongHashMap();
+        Map<Long, Long> expected = Maps.newHashMap();
+        for (int i = 0; i < 100000; i++) {
+            // small key range to make many collisions and removals
+            long key = random.nextInt(2000) - 100;
+            if (random.nextInt(3) < 2) {
+                long value = random.nextLong();
+                Assert.assertEquals(expected.put(key, value), objectMap.put(key, value));
+                longMap.put(key, value);
+            } else {
+                Long value = expected.remove(key);
+                Assert.assertEquals(value, objectMap.remove(key));
+                Assert.assertEquals(value != null, longMap.remove(key));
+            }
+        }
+        Assert.assertEquals(expected.size(), objectMap.size());
+        Assert.assertEquals(expected.size(), longMap.size());
+        Assert.assertEquals(expected.size(), objectMap.keys().length);
+        for (long key = -100; key < 1900; key++) {
+            Assert.assertEquals(expected.get(key), objectMap.get(key));
+            Assert.assertEquals(expected.getOrDefault(key, Long.MIN_VALUE).longValue(),
+                    longMap.getOrDefault(key, Long.MIN_VALUE));
+        }
+        Map<Long, Long> actual = Maps.newHashMap();
+        longMap.forEach(actual::put);
+        Assert.assertEquals(expected, actual);
+    }
+}
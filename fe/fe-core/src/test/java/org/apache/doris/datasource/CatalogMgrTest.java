@@ -74,6 +74,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -459,6 +460,8 @@ public class CatalogMgrTest extends TestWithFeService {
                 false);
         HivePartitionValues partitionValues = metaStoreCache.getPartitionValues(partitionValueCacheKey);
         Assert.assertEquals(partitionValues.getPartitionNameToIdMap().size(), 0);
+        Assert.assertEquals(partitionValues.getIdToPartitionItem().size(), 0);
+        Assert.assertEquals(partitionValues.getRangeToId().size(), 0);
     }
 
     @Test
@@ -474,6 +477,9 @@ public class CatalogMgrTest extends TestWithFeService {
                 partitionValueCacheKey.getTypes());
         HivePartitionValues partitionValues = metaStoreCache.getPartitionValues(partitionValueCacheKey);
         Assert.assertEquals(partitionValues.getPartitionNameToIdMap().size(), 4);
+        Assert.assertEquals(partitionValues.getSingleColumnRangeMap().asMapOfRanges().size(), 4);
+        Long partitionId = partitionValues.getPartitionNameToIdMap().get("m=3");
+        Assert.assertEquals(Lists.newArrayList("3"), partitionValues.getPartitionValues(partitionId));
     }
 
     @Test
@@ -489,6 +495,8 @@ public class CatalogMgrTest extends TestWithFeService {
                 false);
         HivePartitionValues partitionValues = metaStoreCache.getPartitionValues(partitionValueCacheKey);
         Assert.assertEquals(partitionValues.getPartitionNameToIdMap().size(), 0);
+        Assert.assertEquals(partitionValues.getIdToPartitionItem().size(), 0);
+        Assert.assertTrue(partitionValues.getSingleColumnRangeMap().asMapOfRanges().isEmpty());
     }
 
     @Test
@@ -518,7 +526,6 @@ public class CatalogMgrTest extends TestWithFeService {
         // partition name format: nation=cn/city=beijing
         Map<Long, PartitionItem> idToPartitionItem = Maps.newHashMapWithExpectedSize(partitionNames.size());
         Map<String, Long> partitionNameToIdMap = Maps.newHashMapWithExpectedSize(partitionNames.size());
-        Map<Long, List<UniqueId>> idToUniqueIdsMap = Maps.newHashMapWithExpectedSize(partitionNames.size());
         long idx = 0;
         for (String partitionName : partitionNames) {
             long partitionId = idx++;
@@ -527,23 +534,18 @@ public class CatalogMgrTest extends TestWithFeService {
             partitionNameToIdMap.put(partitionName, partitionId);
         }
 
-        Map<UniqueId, Range<PartitionKey>> uidToPartitionRange = null;
         Map<Range<PartitionKey>, UniqueId> rangeToId = null;
         RangeMap<ColumnBound, UniqueId> singleColumnRangeMap = null;
-        Map<UniqueId, Range<ColumnBound>> singleUidToColumnRangeMap = null;
         if (key.getTypes().size() > 1) {
-            // uidToPartitionRange and rangeToId are only used for multi-column partition
-            uidToPartitionRange = ListPartitionPrunerV2.genUidToPartitionRange(idToPartitionItem, idToUniqueIdsMap);
-            rangeToId = ListPartitionPrunerV2.genRangeToId(uidToPartitionRange);
+            // rangeToId is only used for multi-column partition
+            rangeToId = ListPartitionPrunerV2.genRangeToId(
+                    ListPartitionPrunerV2.genUidToPartitionRange(idToPartitionItem, new HashMap<>()));
         } else {
             Preconditions.checkState(key.getTypes().size() == 1, key.getTypes());
             // singleColumnRangeMap is only used for single-column partition
-            singleColumnRangeMap = ListPartitionPrunerV2.genSingleColumnRangeMap(idToPartitionItem, idToUniqueIdsMap);
-            singleUidToColumnRangeMap = ListPartitionPrunerV2.genSingleUidToColumnRange(singleColumnRangeMap);
+            singleColumnRangeMap = ListPartitionPrunerV2.genSingleColumnRangeMap(idToPartitionItem, new HashMap<>());
         }
-        Map<Long, List<String>> partitionValuesMap = ListPartitionPrunerV2.getPartitionValuesMap(idToPartitionItem);
-        return new HivePartitionValues(idToPartitionItem, uidToPartitionRange, rangeToId, singleColumnRangeMap, idx,
-                partitionNameToIdMap, idToUniqueIdsMap, singleUidToColumnRangeMap, partitionValuesMap);
+        return new HivePartitionValues(idToPartitionItem, rangeToId, singleColumnRangeMap, idx, partitionNameToIdMap);
     }
 
     @Test
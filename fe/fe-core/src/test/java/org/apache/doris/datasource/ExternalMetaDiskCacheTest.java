@@ -0,0 +1,245 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.util.Util;
+
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ExternalMetaDiskCacheTest {
+    private File dir;
+    private ExternalMetaDiskCache<String, String> diskCache;
+    // the stamp of the source of all keys, null if unknown
+    private final AtomicReference<String> stamp = new AtomicReference<>();
+
+    private static class StringSerializer implements ExternalMetaDiskCache.Serializer<String> {
+        @Override
+        public void write(DataOutput out, String value) throws IOException {
+            Text.writeString(out, value);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return Text.readString(in);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Config.enable_external_meta_disk_cache = true;
+        dir = Files.createTempDirectory("external_meta_cache").toFile();
+        // key format: db.tbl/partition
+        diskCache = new ExternalMetaDiskCache<>(dir, key -> key.split("/")[0], key -> key, key -> stamp.get(),
+                new StringSerializer());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.enable_external_meta_disk_cache = false;
+        Util.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testPutAndInvalidate() {
+        diskCache.put("db.t1/p1", "v1");
+        diskCache.put("db.t1/p2", "v2");
+        diskCache.put("db.t2/p1", "v3");
+        Assertions.assertEquals("v1", diskCache.get("db.t1/p1"));
+        Assertions.assertEquals("v2", diskCache.get("db.t1/p2"));
+        Assertions.assertNull(diskCache.get("db.t1/p3"));
+
+        diskCache.put("db.t1/p1", "v4");
+        Assertions.assertEquals("v4", diskCache.get("db.t1/p1"));
+        diskCache.invalidate("db.t1/p1");
+        Assertions.assertNull(diskCache.get("db.t1/p1"));
+        Assertions.assertEquals("v2", diskCache.get("db.t1/p2"));
+
+        diskCache.invalidateTable("db.t1");
+        Assertions.assertNull(diskCache.get("db.t1/p2"));
+        Assertions.assertEquals("v3", diskCache.get("db.t2/p1"));
+
+        diskCache.invalidateAll();
+        Assertions.assertNull(diskCache.get("db.t2/p1"));
+    }
+
+    @Test
+    public void testExpired() {
+        diskCache.put("db.t1/p1", "v1");
+        File tableDir = dir.listFiles()[0];
+        File file = tableDir.listFiles()[0];
+        long expireMs = TimeUnit.MINUTES.toMillis(Config.external_meta_disk_cache_expire_time_minutes);
+        Assertions.assertTrue(file.setLastModified(System.currentTimeMillis() - expireMs - 60000));
+        Assertions.assertNull(diskCache.get("db.t1/p1"));
+        Assertions.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testGetOrLoad() throws InterruptedException {
+        AtomicInteger loadCount = new AtomicInteger();
+        AtomicReference<String> source = new AtomicReference<>("v1");
+        Assertions.assertEquals("v1", diskCache.getOrLoad("db.t1/p1", key -> {
+            loadCount.incrementAndGet();
+            return source.get();
+        }, value -> Assertions.fail("the value loaded from source is not revalidated")));
+        Assertions.assertEquals(1, loadCount.get());
+        Assertions.assertEquals("v1", diskCache.get("db.t1/p1"));
+
+        // the value on disk is returned immediately and revalidated in background
+        source.set("v2");
+        CountDownLatch changed = new CountDownLatch(1);
+        AtomicReference<String> changedValue = new AtomicReference<>();
+        Assertions.assertEquals("v1", diskCache.getOrLoad("db.t1/p1", key -> source.get(), value -> {
+            changedValue.set(value);
+            changed.countDown();
+        }));
+        Assertions.assertTrue(changed.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals("v2", changedValue.get());
+        Assertions.assertEquals("v2", diskCache.get("db.t1/p1"));
+
+        Config.enable_external_meta_disk_cache = false;
+        source.set("v3");
+        Assertions.assertEquals("v3", diskCache.getOrLoad("db.t1/p1", key -> source.get(), value -> { }));
+        Assertions.assertNull(diskCache.get("db.t1/p1"));
+        diskCache.put("db.t1/p1", "v3");
+        Config.enable_external_meta_disk_cache = true;
+        Assertions.assertEquals("v2", diskCache.get("db.t1/p1"));
+    }
+
+    @Test
+    public void testRevalidateWithStamp() throws InterruptedException {
+        AtomicInteger loadCount = new AtomicInteger();
+        AtomicReference<String> source = new AtomicReference<>("v1");
+        stamp.set("s1");
+        Assertions.assertEquals("v1", diskCache.load("db.t1/p1", key -> {
+            loadCount.incrementAndGet();
+            return source.get();
+        }));
+        Assertions.assertEquals(1, loadCount.get());
+
+        // the stamp is not changed, only the validation time is renewed without loading
+        File file = getFile("db.t1/p1");
+        long oldTime = System.currentTimeMillis() - 600000;
+        Assertions.assertTrue(file.setLastModified(oldTime));
+        Assertions.assertEquals("v1", diskCache.getOrLoad("db.t1/p1", key -> {
+            loadCount.incrementAndGet();
+            return source.get();
+        }, value -> Assertions.fail("the value is not changed")));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (file.lastModified() == oldTime && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertNotEquals(oldTime, file.lastModified());
+        Assertions.assertEquals(1, loadCount.get());
+
+        // the stamp is changed, the value is loaded again
+        source.set("v2");
+        stamp.set("s2");
+        CountDownLatch changed = new CountDownLatch(1);
+        Assertions.assertEquals("v1", diskCache.getOrLoad("db.t1/p1", key -> {
+            loadCount.incrementAndGet();
+            return source.get();
+        }, value -> changed.countDown()));
+        Assertions.assertTrue(changed.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, loadCount.get());
+        Assertions.assertEquals("v2", diskCache.get("db.t1/p1"));
+
+        // the value put without loading has no stamp, so it is always loaded again
+        diskCache.put("db.t1/p1", "v3");
+        CountDownLatch reloaded = new CountDownLatch(1);
+        Assertions.assertEquals("v3", diskCache.getOrLoad("db.t1/p1", key -> {
+            loadCount.incrementAndGet();
+            return source.get();
+        }, value -> reloaded.countDown()));
+        Assertions.assertTrue(reloaded.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(3, loadCount.get());
+    }
+
+    private File getFile(String key) {
+        File tableDir = new File(dir, Hashing.sha256().hashString(key.split("/")[0], StandardCharsets.UTF_8)
+                .toString());
+        return new File(tableDir, Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString());
+    }
+
+    @Test
+    public void testSweep() throws IOException {
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= 4; i++) {
+            diskCache.put("db.t1/p" + i, "v" + i);
+            // p1 is validated the longest time ago
+            Assertions.assertTrue(getFile("db.t1/p" + i).setLastModified(now - (10 - i) * 60000L));
+        }
+        long expireMs = TimeUnit.MINUTES.toMillis(Config.external_meta_disk_cache_expire_time_minutes);
+        diskCache.put("db.t2/p1", "expired");
+        Assertions.assertTrue(getFile("db.t2/p1").setLastModified(now - expireMs - 60000));
+        // the temp file left by a failed write
+        File tmpFile = new File(getFile("db.t1/p1").getPath() + ".tmp1");
+        Files.write(tmpFile.toPath(), new byte[] {1});
+        long sweepIntervalMs = TimeUnit.SECONDS.toMillis(Config.external_meta_disk_cache_sweep_interval_second);
+        Assertions.assertTrue(tmpFile.setLastModified(now - sweepIntervalMs - 60000));
+
+        long entryBytes = getFile("db.t1/p1").length();
+        ExternalMetaDiskCache.sweep(dir, Long.MAX_VALUE);
+        Assertions.assertFalse(getFile("db.t2/p1").exists());
+        Assertions.assertFalse(tmpFile.exists());
+        for (int i = 1; i <= 4; i++) {
+            Assertions.assertEquals("v" + i, diskCache.get("db.t1/p" + i));
+        }
+
+        // the least recently validated entries are removed until the size limit is met
+        ExternalMetaDiskCache.sweep(dir, entryBytes * 2);
+        Assertions.assertNull(diskCache.get("db.t1/p1"));
+        Assertions.assertNull(diskCache.get("db.t1/p2"));
+        Assertions.assertEquals("v3", diskCache.get("db.t1/p3"));
+        Assertions.assertEquals("v4", diskCache.get("db.t1/p4"));
+
+        ExternalMetaDiskCache.sweep(new File(dir, "absent"), 0);
+        Assertions.assertEquals("v4", diskCache.get("db.t1/p4"));
+    }
+
+    @Test
+    public void testInvalidateDisabled() {
+        diskCache.put("db.t1/p1", "v1");
+        Config.enable_external_meta_disk_cache = false;
+        // the disk is not touched if the disk cache is disabled
+        diskCache.invalidate("db.t1/p1");
+        diskCache.invalidateTable("db.t1");
+        diskCache.invalidateAll();
+        Assertions.assertTrue(getFile("db.t1/p1").exists());
+
+        Config.enable_external_meta_disk_cache = true;
+        diskCache.invalidateAll();
+        Assertions.assertFalse(getFile("db.t1/p1").exists());
+    }
+}
@@ -0,0 +1,55 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class FileListingLimiterTest {
+    @Test
+    public void testGetFsName() {
+        Assertions.assertEquals("hdfs://nameservice1",
+                FileListingLimiter.getFsName("hdfs://nameservice1/user/hive/warehouse/tbl/dt=2023-01-01"));
+        Assertions.assertEquals("s3://bucket", FileListingLimiter.getFsName("s3://bucket/tbl/dt=2023-01-01"));
+        Assertions.assertEquals("s3://bucket", FileListingLimiter.getFsName("s3://bucket"));
+        Assertions.assertEquals("", FileListingLimiter.getFsName("/user/hive/warehouse/tbl"));
+    }
+
+    @Test
+    public void testCatalogConcurrency() throws InterruptedException {
+        FileListingLimiter limiter = new FileListingLimiter(1);
+        FileListingLimiter.Permit permit = limiter.acquire("hdfs://ns1/tbl/dt=1");
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            // the location of another file system is limited by the catalog too
+            try (FileListingLimiter.Permit ignored = limiter.acquire("hdfs://ns2/tbl/dt=2")) {
+                acquired.countDown();
+            }
+        });
+        thread.start();
+        Assertions.assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        permit.close();
+        Assertions.assertTrue(acquired.await(10, TimeUnit.SECONDS));
+        thread.join();
+        // all permits are released
+        limiter.acquire("hdfs://ns1/tbl/dt=1").close();
+    }
+}
@@ -0,0 +1,161 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.datasource.HMSExternalCatalog;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheKey;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
+import org.apache.doris.external.hive.util.HiveUtil;
+import org.apache.doris.fs.RemoteFiles;
+import org.apache.doris.fs.remote.RemoteFile;
+import org.apache.doris.fs.remote.RemoteFileSystem;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.JobConf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class HiveMetaStoreCacheListingTest {
+    // the listing of the locations in this file system is blocked until released
+    private static final String SLOW_FS = "hdfs://slow-ns";
+
+    private int catalogConcurrency;
+    private ExecutorService executor;
+    private ExecutorService listingExecutor;
+    private volatile CountDownLatch slowListingStarted;
+    private volatile CountDownLatch releaseSlowListing;
+
+    @BeforeEach
+    public void setUp() {
+        catalogConcurrency = Config.max_file_listing_concurrency_per_catalog;
+        executor = Executors.newSingleThreadExecutor();
+        listingExecutor = Executors.newFixedThreadPool(2);
+        slowListingStarted = new CountDownLatch(1);
+        releaseSlowListing = new CountDownLatch(1);
+        new MockUp<RemoteFileSystem>() {
+            @Mock
+            public RemoteFiles listLocatedFiles(String remotePath, boolean onlyFiles, boolean recursive) {
+                if (remotePath.startsWith(SLOW_FS)) {
+                    slowListingStarted.countDown();
+                    Uninterruptibles.awaitUninterruptibly(releaseSlowListing);
+                }
+                if (remotePath.endsWith("dt=empty")) {
+                    return new RemoteFiles(Lists.newArrayList());
+                }
+                return new RemoteFiles(Lists.newArrayList(
+                        new RemoteFile(new Path(remotePath + "/000000_0"), false, 100, 128, null)));
+            }
+        };
+        new MockUp<HiveUtil>() {
+            @Mock
+            public boolean isSplittable(InputFormat<?, ?> inputFormat, Path path, JobConf jobConf) {
+                return true;
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.max_file_listing_concurrency_per_catalog = catalogConcurrency;
+        releaseSlowListing.countDown();
+        executor.shutdownNow();
+        listingExecutor.shutdownNow();
+    }
+
+    private static List<HivePartition> newHivePartitions(String fs, String tblName, List<String> dts) {
+        List<HivePartition> partitions = Lists.newArrayList();
+        for (String dt : dts) {
+            partitions.add(new HivePartition("hiveDb", tblName, false,
+                    "org.apache.hadoop.mapred.TextInputFormat", fs + "/warehouse/" + tblName + "/dt=" + dt,
+                    Lists.newArrayList(dt)));
+        }
+        return partitions;
+    }
+
+    @Test
+    public void testGetFilesByPartitionsWithEmptyPartition(@Mocked HMSExternalCatalog catalog) {
+        HiveMetaStoreCache metaStoreCache = new HiveMetaStoreCache(catalog, executor, listingExecutor);
+        List<HivePartition> partitions = newHivePartitions("hdfs://ns1", "listingTable",
+                Lists.newArrayList("1", "empty", "2"));
+        List<FileCacheValue> fileCacheValues = metaStoreCache.getFilesByPartitions(partitions, true);
+        Assertions.assertEquals(3, fileCacheValues.size());
+        Assertions.assertEquals(1, fileCacheValues.get(0).getFileNum());
+        // the files of an empty partition are null
+        Assertions.assertNull(fileCacheValues.get(1).getFiles());
+        Assertions.assertEquals(0, fileCacheValues.get(1).getFileNum());
+        Assertions.assertEquals(Lists.newArrayList("empty"), fileCacheValues.get(1).getPartitionValues());
+        Assertions.assertEquals(1, fileCacheValues.get(2).getFileNum());
+    }
+
+    @Test
+    public void testInvalidatePartitionsCache(@Mocked HMSExternalCatalog catalog) {
+        HiveMetaStoreCache metaStoreCache = new HiveMetaStoreCache(catalog, executor, listingExecutor);
+        // the partitions are not in the partition cache, e.g. evicted after their files are cached
+        metaStoreCache.getFilesByPartitions(newHivePartitions("hdfs://ns1", "invalidateTable",
+                Lists.newArrayList("1", "2", "3")), true);
+        metaStoreCache.invalidatePartitionsCache("hiveDb", "invalidateTable", Lists.newArrayList("dt=1", "dt=3"));
+        List<String> locations = metaStoreCache.getFileCacheRef().get().asMap().keySet().stream()
+                .map(FileCacheKey::getLocation)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(Lists.newArrayList("hdfs://ns1/warehouse/invalidateTable/dt=2"), locations);
+        // invalidating an unknown partition doesn't affect the others
+        metaStoreCache.invalidatePartitionsCache("hiveDb", "invalidateTable", Lists.newArrayList("dt=4"));
+        Assertions.assertEquals(1, metaStoreCache.getFileCacheRef().get().size());
+    }
+
+    @Test
+    public void testThrottledCatalogNotBlockingPool(@Mocked HMSExternalCatalog slowCatalog,
+            @Mocked HMSExternalCatalog otherCatalog) throws Exception {
+        // one location of a catalog is listed at a time, the listing pool has two threads
+        Config.max_file_listing_concurrency_per_catalog = 1;
+        HiveMetaStoreCache slowCache = new HiveMetaStoreCache(slowCatalog, executor, listingExecutor);
+        HiveMetaStoreCache otherCache = new HiveMetaStoreCache(otherCatalog, executor, listingExecutor);
+
+        CompletableFuture<List<FileCacheValue>> slowQuery = CompletableFuture.supplyAsync(
+                () -> slowCache.getFilesByPartitions(newHivePartitions(SLOW_FS, "slowTable",
+                        Lists.newArrayList("1", "2", "3")), true));
+        Assertions.assertTrue(slowListingStarted.await(10, TimeUnit.SECONDS));
+        // the other locations of the slow catalog wait for the permit in the query thread, instead of holding the
+        // other thread of the pool, so the listing of another catalog is not blocked
+        CompletableFuture<List<FileCacheValue>> otherQuery = CompletableFuture.supplyAsync(
+                () -> otherCache.getFilesByPartitions(newHivePartitions("hdfs://ns1", "otherTable",
+                        Lists.newArrayList("1", "2")), true));
+        Assertions.assertEquals(2, otherQuery.get(10, TimeUnit.SECONDS).size());
+        Assertions.assertFalse(slowQuery.isDone());
+
+        releaseSlowListing.countDown();
+        Assertions.assertEquals(3, slowQuery.get(10, TimeUnit.SECONDS).size());
+    }
+}
@@ -0,0 +1,122 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.datasource.ExternalMetaDiskCache;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValueSerializer;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.HiveFileStatus;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.HivePartitionSerializer;
+import org.apache.doris.fs.remote.RemoteFile;
+import org.apache.doris.spi.Split;
+
+import com.google.common.collect.Lists;
+import mockit.Mocked;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class HiveMetaStoreCacheSerializerTest {
+
+    private static <V> V roundTrip(ExternalMetaDiskCache.Serializer<V> serializer, V value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        serializer.write(new DataOutputStream(bytes), value);
+        return serializer.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testHivePartition() throws IOException {
+        HivePartitionSerializer serializer = new HivePartitionSerializer();
+        HivePartition partition = new HivePartition("db", "tbl", false,
+                "org.apache.hadoop.hive.ql.io.parquet.MapredParquetInputFormat",
+                "hdfs://host:8020/user/hive/warehouse/db.db/tbl/nation=cn/city=beijing",
+                Lists.newArrayList("cn", "beijing"));
+        Assertions.assertEquals(partition, roundTrip(serializer, partition));
+
+        // the dummy partition of an unpartitioned table
+        HivePartition dummyPartition = new HivePartition("db", "tbl", true,
+                "org.apache.hadoop.mapred.TextInputFormat", "hdfs://host:8020/user/hive/warehouse/db.db/tbl",
+                Lists.newArrayList());
+        Assertions.assertEquals(dummyPartition, roundTrip(serializer, dummyPartition));
+
+        HivePartition nullValues = new HivePartition("db", "tbl", false, null, "s3://bucket/tbl/p=1", null);
+        Assertions.assertEquals(nullValues, roundTrip(serializer, nullValues));
+    }
+
+    @Test
+    public void testFileCacheValue() throws IOException {
+        FileCacheValueSerializer serializer = new FileCacheValueSerializer();
+        FileCacheValue value = new FileCacheValue();
+        value.setSplittable(true);
+        value.setPartitionValues(Lists.newArrayList("cn", HiveMetaStoreCache.HIVE_DEFAULT_PARTITION));
+        BlockLocation[] blockLocations = new BlockLocation[] {
+                new BlockLocation(new String[] {"host1:9866", "host2:9866"}, new String[] {"host1", "host2"}, 0, 128),
+                new BlockLocation(new String[] {"host3:9866"}, new String[] {"host3"}, 128, 64)};
+        value.addFile(new RemoteFile(new Path("hdfs://host:8020/tbl/nation=cn/file1"), false, 192, 128, 1000,
+                blockLocations));
+        value.addFile(new RemoteFile(new Path("hdfs://host:8020/tbl/nation=cn/file2"), false, 10, 128, 2000,
+                null));
+
+        FileCacheValue read = roundTrip(serializer, value);
+        Assertions.assertTrue(read.isSplittable());
+        Assertions.assertEquals(value.getPartitionValues(), read.getPartitionValues());
+        Assertions.assertNull(read.getSplits());
+        Assertions.assertEquals(2, read.getFiles().size());
+        for (int i = 0; i < value.getFiles().size(); i++) {
+            HiveFileStatus expected = value.getFiles().get(i);
+            HiveFileStatus actual = read.getFiles().get(i);
+            Assertions.assertEquals(expected.getPath(), actual.getPath());
+            Assertions.assertEquals(expected.getLength(), actual.getLength());
+            Assertions.assertEquals(expected.getBlockSize(), actual.getBlockSize());
+            Assertions.assertEquals(expected.getModificationTime(), actual.getModificationTime());
+        }
+        Assertions.assertNull(read.getFiles().get(1).getBlockLocations());
+        BlockLocation[] readBlockLocations = read.getFiles().get(0).getBlockLocations();
+        Assertions.assertEquals(blockLocations.length, readBlockLocations.length);
+        for (int i = 0; i < blockLocations.length; i++) {
+            Assertions.assertArrayEquals(blockLocations[i].getNames(), readBlockLocations[i].getNames());
+            Assertions.assertArrayEquals(blockLocations[i].getHosts(), readBlockLocations[i].getHosts());
+            Assertions.assertEquals(blockLocations[i].getOffset(), readBlockLocations[i].getOffset());
+            Assertions.assertEquals(blockLocations[i].getLength(), readBlockLocations[i].getLength());
+        }
+    }
+
+    @Test
+    public void testEmptyFileCacheValue() throws IOException {
+        // the location is empty or doesn't exist
+        FileCacheValue read = roundTrip(new FileCacheValueSerializer(), new FileCacheValue());
+        Assertions.assertFalse(read.isSplittable());
+        Assertions.assertNull(read.getPartitionValues());
+        Assertions.assertNull(read.getFiles());
+        Assertions.assertEquals(0, read.getFileNum());
+    }
+
+    @Test
+    public void testSplitsNotSaved(@Mocked Split split) {
+        FileCacheValue value = new FileCacheValue();
+        value.addSplit(split);
+        Assertions.assertThrows(IOException.class, () -> roundTrip(new FileCacheValueSerializer(), value));
+    }
+}
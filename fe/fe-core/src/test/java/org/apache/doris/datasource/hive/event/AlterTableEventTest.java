@@ -0,0 +1,123 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive.event;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.metastore.messaging.AlterTableMessage;
+import org.apache.hadoop.hive.metastore.messaging.json.JSONAlterTableMessage;
+import org.apache.hadoop.hive.metastore.messaging.json.JSONMessageDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class AlterTableEventTest {
+    // the objects of the next alter table message
+    private Table tableBefore;
+    private Table tableAfter;
+
+    @BeforeEach
+    public void setUp() {
+        new MockUp<JSONMessageDeserializer>() {
+            @Mock
+            public AlterTableMessage getAlterTableMessage(String messageBody) {
+                return new JSONAlterTableMessage();
+            }
+        };
+        new MockUp<JSONAlterTableMessage>() {
+            @Mock
+            public Table getTableObjBefore() {
+                return tableBefore;
+            }
+
+            @Mock
+            public Table getTableObjAfter() {
+                return tableAfter;
+            }
+        };
+    }
+
+    private static Table newTable(Map<String, String> parameters) {
+        Table table = new Table();
+        table.setDbName("db");
+        table.setTableName("tbl");
+        table.setTableType("EXTERNAL_TABLE");
+        table.setSd(new StorageDescriptor());
+        table.getSd().setLocation("hdfs://ns1/warehouse/db/tbl");
+        table.setPartitionKeys(Lists.newArrayList(new FieldSchema("dt", "string", null)));
+        table.setParameters(Maps.newHashMap(parameters));
+        return table;
+    }
+
+    private boolean canBeSkipped(Table before, Table after) {
+        tableBefore = before;
+        tableAfter = after;
+        NotificationEvent event = new NotificationEvent(1, 0, MetastoreEventType.ALTER_TABLE.toString(), "{}");
+        event.setDbName("db");
+        event.setTableName("tbl");
+        return AlterTableEvent.getEvents(event, "hms").get(0).canBeSkipped();
+    }
+
+    @Test
+    public void testSkipVolatileParameters() {
+        Map<String, String> parameters = Maps.newHashMap();
+        parameters.put("numRows", "10");
+        parameters.put("transient_lastDdlTime", "1690000000");
+        Table before = newTable(parameters);
+        parameters.put("transient_lastDdlTime", "1690000100");
+        Assertions.assertTrue(canBeSkipped(before, newTable(parameters)));
+    }
+
+    @Test
+    public void testNotSkipParametersReadByDoris() {
+        Map<String, String> parameters = Maps.newHashMap();
+        parameters.put("numRows", "10");
+        Table before = newTable(parameters);
+        // the statistics are used by the analysis of hive tables
+        parameters.put("numRows", "20");
+        Assertions.assertFalse(canBeSkipped(before, newTable(parameters)));
+        parameters.put("numRows", "10");
+        parameters.put("comment", "new comment");
+        Assertions.assertFalse(canBeSkipped(before, newTable(parameters)));
+        parameters.remove("comment");
+        parameters.put("table_type", "ICEBERG");
+        Assertions.assertFalse(canBeSkipped(before, newTable(parameters)));
+    }
+
+    @Test
+    public void testNotSkipStorageChange() {
+        Table before = newTable(Maps.newHashMap());
+        Table after = newTable(Maps.newHashMap());
+        after.getSd().setLocation("hdfs://ns1/warehouse/db/tbl_new");
+        Assertions.assertFalse(canBeSkipped(before, after));
+        // the partitions of a non-partitioned table are not refreshed by the partition events
+        before = newTable(Maps.newHashMap());
+        before.setPartitionKeys(Lists.newArrayList());
+        after = newTable(Maps.newHashMap());
+        after.setPartitionKeys(Lists.newArrayList());
+        Assertions.assertFalse(canBeSkipped(before, after));
+    }
+}
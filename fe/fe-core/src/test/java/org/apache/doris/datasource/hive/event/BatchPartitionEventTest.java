@@ -0,0 +1,124 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive.event;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class BatchPartitionEventTest {
+    private static final String CATALOG_NAME = "hms";
+
+    private static NotificationEvent newNotificationEvent(long eventId, MetastoreEventType eventType, String dbName,
+            String tblName) {
+        NotificationEvent event = new NotificationEvent(eventId, 0, eventType.toString(), "");
+        event.setDbName(dbName);
+        event.setTableName(tblName);
+        return event;
+    }
+
+    private static class AddEvent extends MetastorePartitionEvent {
+        protected final String partitionName;
+
+        AddEvent(long eventId, String dbName, String tblName, String partitionName) {
+            super(newNotificationEvent(eventId, MetastoreEventType.ADD_PARTITION, dbName, tblName), CATALOG_NAME);
+            this.partitionName = partitionName;
+        }
+
+        @Override
+        protected void addToBatch(BatchPartitionEvent batch) {
+            batch.addPartition(partitionName);
+        }
+
+        @Override
+        protected void process() {
+        }
+    }
+
+    private static class DropEvent extends AddEvent {
+        DropEvent(long eventId, String dbName, String tblName, String partitionName) {
+            super(eventId, dbName, tblName, partitionName);
+        }
+
+        @Override
+        protected void addToBatch(BatchPartitionEvent batch) {
+            batch.dropPartition(partitionName);
+        }
+    }
+
+    private static class TableEvent extends MetastoreTableEvent {
+        TableEvent(long eventId, String dbName, String tblName) {
+            super(newNotificationEvent(eventId, MetastoreEventType.ALTER_TABLE, dbName, tblName), CATALOG_NAME);
+        }
+
+        @Override
+        protected void process() {
+        }
+    }
+
+    @Test
+    public void testCoalescePartitionChanges() {
+        BatchPartitionEvent batch = new BatchPartitionEvent(
+                newNotificationEvent(1, MetastoreEventType.ADD_PARTITION, "db", "tbl"), CATALOG_NAME);
+        // added and then dropped
+        batch.addPartition("dt=1");
+        batch.dropPartition("dt=1");
+        // added and then refreshed
+        batch.addPartition("dt=2");
+        batch.refreshPartition("dt=2");
+        // refreshed and then dropped
+        batch.refreshPartition("dt=3");
+        batch.dropPartition("dt=3");
+        // dropped and then added again
+        batch.dropPartition("dt=4");
+        batch.addPartition("dt=4");
+        batch.refreshPartition("dt=5");
+
+        Assertions.assertEquals(Lists.newArrayList("dt=1", "dt=3", "dt=4"), batch.getDroppedPartitions());
+        Assertions.assertEquals(Lists.newArrayList("dt=2", "dt=4"), batch.getAddedPartitions());
+        Assertions.assertEquals(Lists.newArrayList("dt=5"), batch.getRefreshedPartitions());
+    }
+
+    @Test
+    public void testCreateBatchEvents() {
+        List<MetastoreEvent> events = Lists.newArrayList(
+                new AddEvent(1, "db1", "t1", "dt=1"),
+                new AddEvent(2, "db2", "t2", "dt=1"),
+                new DropEvent(3, "db1", "t1", "dt=0"),
+                new TableEvent(4, "db2", "t2"),
+                new AddEvent(5, "db2", "t2", "dt=2"),
+                new AddEvent(6, "db1", "t1", "dt=2"));
+        List<MetastoreEvent> batchEvents = new MetastoreEventFactory().createBatchEvents(events);
+
+        Assertions.assertEquals(4, batchEvents.size());
+        // the partition events of db1.t1 are not affected by the table event of db2.t2
+        Assertions.assertTrue(batchEvents.get(0) instanceof BatchPartitionEvent);
+        BatchPartitionEvent batch = (BatchPartitionEvent) batchEvents.get(0);
+        Assertions.assertEquals(1, batch.getEventId());
+        Assertions.assertEquals(3, batch.getNumberOfEvents());
+        Assertions.assertEquals(Lists.newArrayList("dt=0"), batch.getDroppedPartitions());
+        Assertions.assertEquals(Lists.newArrayList("dt=1", "dt=2"), batch.getAddedPartitions());
+        // the partition events of db2.t2 before and after the table event are not batched together
+        Assertions.assertSame(events.get(1), batchEvents.get(1));
+        Assertions.assertSame(events.get(3), batchEvents.get(2));
+        Assertions.assertSame(events.get(4), batchEvents.get(3));
+    }
+}
@@ -0,0 +1,104 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive.event;
+
+import com.google.common.collect.Lists;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.metastore.messaging.InsertMessage;
+import org.apache.hadoop.hive.metastore.messaging.json.JSONInsertMessage;
+import org.apache.hadoop.hive.metastore.messaging.json.JSONMessageDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class InsertEventTest {
+    // the objects of the next insert message
+    private Table table;
+    private Partition partition;
+
+    @BeforeEach
+    public void setUp() {
+        new MockUp<JSONMessageDeserializer>() {
+            @Mock
+            public InsertMessage getInsertMessage(String messageBody) {
+                return new JSONInsertMessage();
+            }
+        };
+        new MockUp<JSONInsertMessage>() {
+            @Mock
+            public Table getTableObj() {
+                return table;
+            }
+
+            @Mock
+            public Partition getPtnObj() {
+                return partition;
+            }
+        };
+    }
+
+    private MetastoreEvent newInsertEvent(long eventId, List<String> partitionValues) {
+        table = new Table();
+        table.setDbName("db");
+        table.setTableName("tbl");
+        table.setPartitionKeys(Lists.newArrayList(new FieldSchema("dt", "string", null),
+                new FieldSchema("hour", "string", null)));
+        partition = partitionValues == null ? null : new Partition();
+        if (partition != null) {
+            partition.setValues(partitionValues);
+        }
+        NotificationEvent event = new NotificationEvent(eventId, 0, MetastoreEventType.INSERT.toString(), "{}");
+        event.setDbName("db");
+        event.setTableName("tbl");
+        return InsertEvent.getEvents(event, "hms").get(0);
+    }
+
+    @Test
+    public void testRefreshInsertedPartitions() {
+        List<MetastoreEvent> events = Lists.newArrayList(
+                newInsertEvent(1, Lists.newArrayList("2023-01-01", "01")),
+                newInsertEvent(2, Lists.newArrayList("2023-01-01", "02")),
+                newInsertEvent(3, Lists.newArrayList("2023-01-01", "01")));
+        List<MetastoreEvent> batchEvents = new MetastoreEventFactory().createBatchEvents(events);
+
+        // only the partitions inserted into are refreshed, each of them once
+        Assertions.assertEquals(1, batchEvents.size());
+        BatchPartitionEvent batch = (BatchPartitionEvent) batchEvents.get(0);
+        Assertions.assertEquals(3, batch.getNumberOfEvents());
+        Assertions.assertEquals(Lists.newArrayList("dt=2023-01-01/hour=01", "dt=2023-01-01/hour=02"),
+                batch.getRefreshedPartitions());
+        Assertions.assertTrue(batch.getAddedPartitions().isEmpty());
+        Assertions.assertTrue(batch.getDroppedPartitions().isEmpty());
+    }
+
+    @Test
+    public void testRefreshTableWithoutPartition() {
+        // the whole table is refreshed if the partition is unknown
+        MetastoreEvent event = newInsertEvent(1, null);
+        List<MetastoreEvent> batchEvents = new MetastoreEventFactory().createBatchEvents(Lists.newArrayList(event));
+        Assertions.assertEquals(1, batchEvents.size());
+        Assertions.assertSame(event, batchEvents.get(0));
+    }
+}
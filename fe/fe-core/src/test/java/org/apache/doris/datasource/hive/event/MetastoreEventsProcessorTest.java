@@ -0,0 +1,127 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive.event;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.datasource.HMSExternalCatalog;
+
+import com.google.common.collect.ImmutableList;
+import mockit.Deencapsulation;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MetastoreEventsProcessorTest {
+    private int batchSize;
+    private int maxNum;
+
+    @BeforeEach
+    public void setUp() {
+        batchSize = Config.hms_events_batch_size_per_rpc;
+        maxNum = Config.hms_events_max_num_per_polling;
+        Config.hms_events_batch_size_per_rpc = 2;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.hms_events_batch_size_per_rpc = batchSize;
+        Config.hms_events_max_num_per_polling = maxNum;
+    }
+
+    private static NotificationEventResponse response(long... eventIds) {
+        List<NotificationEvent> events = new ArrayList<>();
+        for (long eventId : eventIds) {
+            events.add(new NotificationEvent(eventId, 0, MetastoreEventType.ALTER_TABLE.toString(), ""));
+        }
+        return new NotificationEventResponse(events);
+    }
+
+    private static List<Long> getNextHMSEvents(HMSExternalCatalog catalog) {
+        List<NotificationEvent> events = Deencapsulation.invoke(new MetastoreEventsProcessor(),
+                "getNextHMSEvents", catalog);
+        return events.stream().map(NotificationEvent::getEventId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testFetchFollowingEvents(@Mocked HMSExternalCatalog catalog) {
+        new Expectations() {
+            {
+                catalog.getNextEventResponse(catalog);
+                result = response(1, 2);
+                catalog.getNextEventResponse(2L);
+                result = response(3, 4);
+                // less than a batch, no more events
+                catalog.getNextEventResponse(4L);
+                result = response(5);
+            }
+        };
+        Assertions.assertEquals(ImmutableList.of(1L, 2L, 3L, 4L, 5L), getNextHMSEvents(catalog));
+    }
+
+    @Test
+    public void testMaxNumPerPolling(@Mocked HMSExternalCatalog catalog) {
+        Config.hms_events_max_num_per_polling = 3;
+        new Expectations() {
+            {
+                catalog.getNextEventResponse(catalog);
+                result = response(1, 2);
+                catalog.getNextEventResponse(2L);
+                result = response(3, 4);
+                catalog.getNextEventResponse(4L);
+                times = 0;
+            }
+        };
+        Assertions.assertEquals(ImmutableList.of(1L, 2L, 3L, 4L), getNextHMSEvents(catalog));
+    }
+
+    @Test
+    public void testFollowingFetchFailed(@Mocked HMSExternalCatalog catalog) {
+        new Expectations() {
+            {
+                catalog.getNextEventResponse(catalog);
+                result = response(1, 2);
+                catalog.getNextEventResponse(2L);
+                result = response(3, 4);
+                catalog.getNextEventResponse(4L);
+                result = new MetastoreNotificationFetchException("connection reset");
+            }
+        };
+        // the events fetched before the failure are kept
+        Assertions.assertEquals(ImmutableList.of(1L, 2L, 3L, 4L), getNextHMSEvents(catalog));
+    }
+
+    @Test
+    public void testFirstFetchFailed(@Mocked HMSExternalCatalog catalog) {
+        new Expectations() {
+            {
+                catalog.getNextEventResponse(catalog);
+                result = new MetastoreNotificationFetchException("connection reset");
+            }
+        };
+        Assertions.assertThrows(MetastoreNotificationFetchException.class, () -> getNextHMSEvents(catalog));
+    }
+}
@@ -0,0 +1,222 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.journal.bdbje;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.persist.OperationType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.sleepycat.je.DatabaseEntry;
+import mockit.Deencapsulation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class BDBJEGroupCommitterTest {
+    private final Map<Long, String> journals = Maps.newConcurrentMap();
+    private final List<Integer> batchSizes = Lists.newCopyOnWriteArrayList();
+    private volatile long nextJournalId;
+    private volatile boolean failWrite;
+    private volatile boolean failTimestamp;
+    private volatile CountDownLatch writeStarted;
+    private volatile CountDownLatch releaseWrite;
+
+    private BDBJEGroupCommitter committer;
+    private ExecutorService writers;
+
+    @BeforeEach
+    public void setUp() {
+        nextJournalId = 1;
+        failWrite = false;
+        failTimestamp = false;
+        writeStarted = null;
+        releaseWrite = null;
+
+        new MockUp<BDBJEJournal>() {
+            @Mock
+            public void $init(String nodeName) {
+            }
+
+            // the same as BDBJEJournal.writeBatch, journals in a batch get consecutive ids
+            @Mock
+            public long writeBatch(List<Short> ops, List<DatabaseEntry> datas) {
+                if (writeStarted != null) {
+                    writeStarted.countDown();
+                    Uninterruptibles.awaitUninterruptibly(releaseWrite);
+                }
+                batchSizes.add(datas.size());
+                if (failTimestamp && ops.stream().allMatch(op -> op == OperationType.OP_TIMESTAMP)) {
+                    return -1;
+                }
+                if (failWrite) {
+                    throw new IllegalStateException("failed to write");
+                }
+                long firstId = nextJournalId;
+                for (int i = 0; i < datas.size(); i++) {
+                    journals.put(firstId + i, new String(datas.get(i).getData(), StandardCharsets.UTF_8));
+                }
+                nextJournalId += datas.size();
+                return firstId;
+            }
+        };
+        committer = new BDBJEGroupCommitter(new BDBJEJournal("node"));
+        writers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writers.shutdownNow();
+    }
+
+    private static DatabaseEntry entry(String data) {
+        return new DatabaseEntry(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int queueSize() {
+        return Deencapsulation.<Queue<?>>getField(committer, "queue").size();
+    }
+
+    private List<Future<Long>> writeConcurrently(int num, short op) {
+        List<Future<Long>> futures = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            String data = "journal-" + i;
+            futures.add(writers.submit(() -> committer.write(op, entry(data))));
+        }
+        return futures;
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        // block the first batch, so that the following writes are queued
+        writeStarted = new CountDownLatch(1);
+        releaseWrite = new CountDownLatch(1);
+        Future<Long> first = writers.submit(() -> committer.write(OperationType.OP_TIMESTAMP, entry("first")));
+        Assertions.assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+        writeStarted = null;
+        List<Future<Long>> futures = writeConcurrently(6, OperationType.OP_TIMESTAMP);
+        while (queueSize() < 6) {
+            Thread.sleep(10);
+        }
+        releaseWrite.countDown();
+
+        Assertions.assertEquals(1, first.get(10, TimeUnit.SECONDS));
+        for (Future<Long> future : futures) {
+            String data = journals.get(future.get(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(data.startsWith("journal-"));
+        }
+        // all queued journals are committed in one batch
+        Assertions.assertEquals(Lists.newArrayList(1, 6), batchSizes);
+        Assertions.assertEquals(7, journals.size());
+    }
+
+    @Test
+    public void testMaxBatchNum() throws Exception {
+        int maxBatchNum = Config.edit_log_group_commit_max_batch_num;
+        Config.edit_log_group_commit_max_batch_num = 2;
+        try {
+            writeStarted = new CountDownLatch(1);
+            releaseWrite = new CountDownLatch(1);
+            Future<Long> first = writers.submit(() -> committer.write(OperationType.OP_TIMESTAMP, entry("first")));
+            Assertions.assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+            writeStarted = null;
+            List<Future<Long>> futures = writeConcurrently(5, OperationType.OP_TIMESTAMP);
+            while (queueSize() < 5) {
+                Thread.sleep(10);
+            }
+            releaseWrite.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            for (Future<Long> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            Assertions.assertEquals(Lists.newArrayList(1, 2, 2, 1), batchSizes);
+        } finally {
+            Config.edit_log_group_commit_max_batch_num = maxBatchNum;
+        }
+    }
+
+    @Test
+    public void testOrder() throws Exception {
+        // the journals of one writer are committed in the order they are written
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(i + 1, committer.write(OperationType.OP_TIMESTAMP, entry("sequential-" + i)));
+        }
+
+        // the id returned to each writer is the id of its own journal
+        List<Future<Long>> futures = writeConcurrently(100, OperationType.OP_TIMESTAMP);
+        List<Long> ids = Lists.newArrayList();
+        for (int i = 0; i < futures.size(); i++) {
+            long id = futures.get(i).get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals("journal-" + i, journals.get(id));
+            ids.add(id);
+        }
+        Assertions.assertEquals(100, ids.stream().distinct().count());
+        Assertions.assertEquals(110, journals.size());
+    }
+
+    @Test
+    public void testFailedBatch() throws Exception {
+        writeStarted = new CountDownLatch(1);
+        releaseWrite = new CountDownLatch(1);
+        Future<Long> first = writers.submit(() -> committer.write(OperationType.OP_TIMESTAMP, entry("first")));
+        Assertions.assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+        writeStarted = null;
+        List<Future<Long>> futures = writeConcurrently(3, OperationType.OP_TIMESTAMP);
+        while (queueSize() < 3) {
+            Thread.sleep(10);
+        }
+        failWrite = true;
+        releaseWrite.countDown();
+
+        // the journals in a failed batch are all failed, none of them gets an id
+        futures.add(first);
+        for (Future<Long> future : futures) {
+            Exception e = Assertions.assertThrows(Exception.class, () -> future.get(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof IOException);
+        }
+        Assertions.assertTrue(journals.isEmpty());
+
+        // the committer keeps working after a failed batch
+        failWrite = false;
+        Assertions.assertEquals(1, committer.write(OperationType.OP_TIMESTAMP, entry("journal")));
+    }
+
+    @Test
+    public void testFailedTimestamp() throws Exception {
+        failTimestamp = true;
+        Assertions.assertEquals(-1, committer.write(OperationType.OP_TIMESTAMP, entry("timestamp")));
+        Assertions.assertEquals(1, committer.write(OperationType.OP_CREATE_DB, entry("db")));
+        Assertions.assertEquals("db", journals.get(1L));
+    }
+}
@@ -0,0 +1,77 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ReportHandlerTest {
+    private static final long BACKEND_ID = 1;
+
+    @Test
+    public void testApplyDeltaTabletReport() {
+        ReportHandler handler = new ReportHandler();
+        // a full tablet report
+        Assertions.assertTrue(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 10, -1));
+        handler.finishTabletReport(BACKEND_ID, 10);
+        // the delta tablet reports based on the last applied one
+        Assertions.assertTrue(handler.canApplyTabletReport(BACKEND_ID, 101, 100, 11, 10));
+        handler.finishTabletReport(BACKEND_ID, 11);
+        Assertions.assertTrue(handler.canApplyTabletReport(BACKEND_ID, 101, 101, 12, 11));
+        handler.finishTabletReport(BACKEND_ID, 12);
+        Assertions.assertFalse(handler.needFullTabletReport(BACKEND_ID));
+    }
+
+    @Test
+    public void testFullTabletReportAfterGenerationGap() {
+        ReportHandler handler = new ReportHandler();
+        Assertions.assertTrue(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 10, -1));
+        handler.finishTabletReport(BACKEND_ID, 10);
+        // the report of generation 11 is lost
+        Assertions.assertFalse(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 12, 11));
+        Assertions.assertTrue(handler.needFullTabletReport(BACKEND_ID));
+        // the backend is asked only once
+        Assertions.assertFalse(handler.needFullTabletReport(BACKEND_ID));
+        // the later delta is still not based on an applied report
+        Assertions.assertFalse(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 13, 12));
+        Assertions.assertTrue(handler.needFullTabletReport(BACKEND_ID));
+        // the full tablet report is applied
+        Assertions.assertTrue(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 14, -1));
+        handler.finishTabletReport(BACKEND_ID, 14);
+        Assertions.assertTrue(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 15, 14));
+    }
+
+    @Test
+    public void testFullTabletReportAfterNewMaster() {
+        ReportHandler handler = new ReportHandler();
+        // this fe has not applied any tablet report of the backend
+        Assertions.assertFalse(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 11, 10));
+        Assertions.assertTrue(handler.needFullTabletReport(BACKEND_ID));
+        Assertions.assertFalse(handler.needFullTabletReport(2));
+    }
+
+    @Test
+    public void testFullTabletReportAfterOutOfDateReport() {
+        ReportHandler handler = new ReportHandler();
+        Assertions.assertTrue(handler.canApplyTabletReport(BACKEND_ID, 100, 100, 10, -1));
+        handler.finishTabletReport(BACKEND_ID, 10);
+        // the report is skipped, the next delta would be based on it
+        Assertions.assertFalse(handler.canApplyTabletReport(BACKEND_ID, 99, 100, 11, 10));
+        Assertions.assertTrue(handler.needFullTabletReport(BACKEND_ID));
+    }
+}
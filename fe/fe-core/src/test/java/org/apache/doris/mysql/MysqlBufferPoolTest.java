@@ -0,0 +1,88 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class MysqlBufferPoolTest {
+
+    @Test
+    public void testLeaseByTier() {
+        MysqlBufferPool pool = new MysqlBufferPool(64L * 1024 * 1024, true);
+        ByteBuffer small = pool.lease(1);
+        Assert.assertTrue(small.isDirect());
+        Assert.assertEquals(MysqlBufferPool.TIER_SIZES[0], small.capacity());
+
+        ByteBuffer medium = pool.lease(MysqlBufferPool.TIER_SIZES[0] + 1);
+        Assert.assertEquals(MysqlBufferPool.TIER_SIZES[1], medium.capacity());
+
+        // larger than the largest tier, return the largest one
+        ByteBuffer large = pool.lease(MysqlBufferPool.maxTierSize() * 2);
+        Assert.assertEquals(MysqlBufferPool.maxTierSize(), large.capacity());
+
+        long leased = (long) small.capacity() + medium.capacity() + large.capacity();
+        Assert.assertEquals(leased, pool.getLeasedBytes());
+        Assert.assertEquals(0, pool.getPooledBytes());
+
+        pool.release(small);
+        pool.release(medium);
+        pool.release(large);
+        Assert.assertEquals(0, pool.getLeasedBytes());
+        Assert.assertEquals(leased, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testReuse() {
+        MysqlBufferPool pool = new MysqlBufferPool(64L * 1024 * 1024, false);
+        ByteBuffer buffer = pool.lease(100);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        ByteBuffer reused = pool.lease(100);
+        Assert.assertSame(buffer, reused);
+        Assert.assertEquals(0, reused.position());
+        Assert.assertEquals(reused.capacity(), reused.limit());
+        Assert.assertEquals(0, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testPoolLimit() {
+        MysqlBufferPool pool = new MysqlBufferPool(MysqlBufferPool.TIER_SIZES[0], true);
+        ByteBuffer first = pool.lease(1);
+        ByteBuffer second = pool.lease(1);
+        pool.release(first);
+        // exceed the limit, dropped
+        pool.release(second);
+        Assert.assertEquals(MysqlBufferPool.TIER_SIZES[0], pool.getPooledBytes());
+        Assert.assertSame(first, pool.lease(1));
+        Assert.assertNotSame(second, pool.lease(1));
+
+        // buffer not from this pool is ignored
+        pool.release(ByteBuffer.allocate(100));
+        Assert.assertEquals(0, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testNextTierSize() {
+        Assert.assertEquals(MysqlBufferPool.TIER_SIZES[1], MysqlBufferPool.nextTierSize(MysqlBufferPool.TIER_SIZES[0]));
+        Assert.assertEquals(MysqlBufferPool.maxTierSize(), MysqlBufferPool.nextTierSize(MysqlBufferPool.maxTierSize()));
+    }
+}
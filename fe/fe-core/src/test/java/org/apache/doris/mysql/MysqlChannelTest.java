@@ -0,0 +1,55 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xnio.StreamConnection;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+public class MysqlChannelTest {
+
+    @Test
+    public void testCloseReleaseSendBuffer(@Mocked StreamConnection connection) throws IOException {
+        new Expectations() {
+            {
+                connection.getPeerAddress();
+                minTimes = 0;
+                result = new InetSocketAddress("127.0.0.1", 9030);
+            }
+        };
+        MysqlBufferPool pool = MysqlBufferPool.getInstance();
+        long leasedBytes = pool.getLeasedBytes();
+        MysqlChannel channel = new MysqlChannel(connection);
+
+        // the packet is buffered until flush, e.g. the query fails before the result is flushed
+        channel.sendOnePacket(ByteBuffer.wrap(new byte[10]));
+        Assertions.assertTrue(pool.getLeasedBytes() > leasedBytes);
+        channel.close();
+        Assertions.assertEquals(leasedBytes, pool.getLeasedBytes());
+
+        // no buffer is leased by a closed channel
+        Assertions.assertThrows(IOException.class, () -> channel.sendOnePacket(ByteBuffer.wrap(new byte[10])));
+        Assertions.assertEquals(leasedBytes, pool.getLeasedBytes());
+    }
+}
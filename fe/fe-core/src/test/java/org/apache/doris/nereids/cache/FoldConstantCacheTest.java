@@ -0,0 +1,85 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.nereids.analyzer.UnboundRelation;
+import org.apache.doris.nereids.rules.expression.ExpressionRewriteContext;
+import org.apache.doris.nereids.rules.expression.rules.FoldConstantRuleOnFE;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Now;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.YearsAdd;
+import org.apache.doris.nereids.trees.expressions.literal.DateTimeLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.ObjectId;
+import org.apache.doris.nereids.util.MemoTestUtils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+public class FoldConstantCacheTest {
+    private ExpressionRewriteContext context;
+
+    @BeforeEach
+    public void setUp() {
+        FoldConstantCache.getInstance().invalidateAll();
+        context = new ExpressionRewriteContext(MemoTestUtils.createCascadesContext(
+                new UnboundRelation(new ObjectId(1), ImmutableList.of("tbl"))));
+    }
+
+    @Test
+    public void testFoldOnFE() {
+        Expression expression = new YearsAdd(new DateTimeLiteral("2020-01-01 00:00:00"), new IntegerLiteral(1));
+        Expression folded = FoldConstantRuleOnFE.INSTANCE.rewrite(expression, context);
+        Assertions.assertEquals(new DateTimeLiteral("2021-01-01 00:00:00"), folded);
+
+        FoldConstantCache cache = FoldConstantCache.getInstance();
+        Assertions.assertEquals(Optional.of(folded), cache.get(expression, false, context));
+        // the results folded by BE are cached separately
+        Assertions.assertFalse(cache.get(expression, true, context).isPresent());
+        Assertions.assertEquals(folded, FoldConstantRuleOnFE.INSTANCE.rewrite(
+                new YearsAdd(new DateTimeLiteral("2020-01-01 00:00:00"), new IntegerLiteral(1)), context));
+    }
+
+    @Test
+    public void testSessionVariables() {
+        Expression expression = new YearsAdd(new DateTimeLiteral("2020-01-01 00:00:00"), new IntegerLiteral(1));
+        FoldConstantCache cache = FoldConstantCache.getInstance();
+        cache.put(expression, true, new DateTimeLiteral("2021-01-01 00:00:00"), context);
+        Assertions.assertTrue(cache.get(expression, true, context).isPresent());
+
+        String timeZone = context.cascadesContext.getConnectContext().getSessionVariable().getTimeZone();
+        context.cascadesContext.getConnectContext().getSessionVariable()
+                .setTimeZone("UTC".equals(timeZone) ? "Asia/Shanghai" : "UTC");
+        Assertions.assertFalse(cache.get(expression, true, context).isPresent());
+        context.cascadesContext.getConnectContext().getSessionVariable().setTimeZone(timeZone);
+        Assertions.assertTrue(cache.get(expression, true, context).isPresent());
+    }
+
+    @Test
+    public void testNondeterministic() {
+        Expression expression = new YearsAdd(new Now(), new IntegerLiteral(1));
+        FoldConstantCache cache = FoldConstantCache.getInstance();
+        cache.put(expression, true, new DateTimeLiteral("2021-01-01 00:00:00"), context);
+        Assertions.assertFalse(cache.get(expression, true, context).isPresent());
+        Assertions.assertEquals(0, cache.getCachedEntries());
+    }
+}
@@ -0,0 +1,86 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.nereids.cache.ParameterizedStatement.NormalizedSql;
+import org.apache.doris.nereids.trees.expressions.literal.BigIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.SmallIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.TinyIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.VarcharLiteral;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParameterizedStatementTest {
+
+    @Test
+    public void testNormalize() {
+        NormalizedSql sql1 = ParameterizedStatement.normalize("select * from t where k1 = 1 and k2 = 'a'");
+        NormalizedSql sql2 = ParameterizedStatement.normalize("SELECT *  FROM t\nWHERE k1 = 200 AND k2 = \"bc\" -- x");
+        Assert.assertNotNull(sql1);
+        Assert.assertNotNull(sql2);
+        Assert.assertEquals(2, sql1.placeholderNum);
+        Assert.assertEquals(sql1.sql, sql2.sql);
+
+        NormalizedSql sql3 = ParameterizedStatement.normalize("select * from t where k1 = 1.5 limit 10");
+        Assert.assertNotNull(sql3);
+        Assert.assertEquals(1, sql3.placeholderNum);
+        Assert.assertTrue(sql3.sql.contains("10"));
+        NormalizedSql sql4 = ParameterizedStatement.normalize("select * from t limit 5, 10");
+        Assert.assertNotNull(sql4);
+        Assert.assertEquals(0, sql4.placeholderNum);
+        Assert.assertNotEquals(sql4.sql, ParameterizedStatement.normalize("select * from t limit 5, 20").sql);
+
+        // the length of data type is not a literal
+        NormalizedSql sql5 = ParameterizedStatement.normalize("select cast(k1 as decimal(10, 2)) from t where k1 > 3");
+        Assert.assertNotNull(sql5);
+        Assert.assertEquals(1, sql5.placeholderNum);
+        Assert.assertTrue(sql5.sql.contains("10"));
+
+        // hints are kept as they are
+        NormalizedSql sql6 = ParameterizedStatement.normalize(
+                "select /*+ SET_VAR(parallel_fragment_exec_instance_num=4) */ * from t");
+        Assert.assertNotNull(sql6);
+        Assert.assertEquals(0, sql6.placeholderNum);
+
+        Assert.assertNotNull(ParameterizedStatement.normalize("select * from t;"));
+        Assert.assertNull(ParameterizedStatement.normalize("select * from t; select * from t"));
+    }
+
+    @Test
+    public void testConvert() {
+        // k1 is an int column, 1 is cast to int in plan
+        Literal template = new TinyIntLiteral((byte) 1);
+        Literal target = new IntegerLiteral(1);
+        Assert.assertEquals(new IntegerLiteral(2), CachedPlan.convert(new TinyIntLiteral((byte) 2), template, target));
+        Assert.assertEquals(new IntegerLiteral(300),
+                CachedPlan.convert(new SmallIntLiteral((short) 300), template, target));
+        Assert.assertNull(CachedPlan.convert(new BigIntLiteral(Long.MAX_VALUE), template, target));
+
+        // literal kept as it is in plan
+        Assert.assertEquals(new TinyIntLiteral((byte) 2),
+                CachedPlan.convert(new TinyIntLiteral((byte) 2), template, template));
+
+        Literal varchar = new VarcharLiteral("ab", 2);
+        Assert.assertEquals(new VarcharLiteral("cd", 2),
+                CachedPlan.convert(new VarcharLiteral("cd"), new VarcharLiteral("ab"), varchar));
+        Assert.assertNull(CachedPlan.convert(new VarcharLiteral("cde"), new VarcharLiteral("ab"), varchar));
+    }
+}
@@ -0,0 +1,126 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.nereids.NereidsPlanner;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.glue.LogicalPlanAdapter;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalFilter;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.utframe.TestWithFeService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PlanCacheTest extends TestWithFeService {
+    private static final String QUERY = "select k1 from t1 where v1 > %d";
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        MetricRepo.init();
+        createDatabase("test");
+        useDatabase("test");
+        createTable("create table t1 (k1 int, v1 int) duplicate key(k1) distributed by hash(k1) buckets 3 "
+                + "properties('replication_num' = '1', 'light_schema_change' = 'true')");
+        connectContext.getSessionVariable().enableNereidsPlanCache = true;
+    }
+
+    @Override
+    protected void runBeforeEach() throws Exception {
+        connectContext.getSessionVariable().setDisableJoinReorder(false);
+        PlanCache.getInstance().invalidateAll();
+    }
+
+    private PhysicalPlan plan(String sql) {
+        StatementContext statementContext = createStatementCtx(sql);
+        NereidsPlanner planner = new NereidsPlanner(statementContext);
+        planner.plan(new LogicalPlanAdapter(new NereidsParser().parseSingle(sql), statementContext));
+        return planner.getPhysicalPlan();
+    }
+
+    // plan the query and return whether the plan is got from cache
+    private boolean planFromCache(int value) {
+        long hits = MetricRepo.COUNTER_PLAN_CACHE_HIT.getValue();
+        long misses = MetricRepo.COUNTER_PLAN_CACHE_MISS.getValue();
+        PhysicalPlan plan = plan(String.format(QUERY, value));
+        // the literal is re-bound in the plan got from cache
+        List<PhysicalFilter<?>> filters = plan.collectToList(PhysicalFilter.class::isInstance);
+        Assertions.assertEquals(1, filters.size());
+        Assertions.assertTrue(filters.get(0).getConjuncts().stream()
+                .anyMatch(conjunct -> conjunct instanceof GreaterThan
+                        && conjunct.child(1).equals(new IntegerLiteral(value))));
+        boolean hit = MetricRepo.COUNTER_PLAN_CACHE_HIT.getValue() == hits + 1;
+        Assertions.assertEquals(hit ? misses : misses + 1, MetricRepo.COUNTER_PLAN_CACHE_MISS.getValue());
+        return hit;
+    }
+
+    private void cacheVerifiedPlan() {
+        // the first plan is cached, and verified by the plan of the second query
+        Assertions.assertFalse(planFromCache(1));
+        Assertions.assertEquals(1, PlanCache.getInstance().getCachedEntries());
+        Assertions.assertFalse(planFromCache(2));
+    }
+
+    @Test
+    public void testHit() {
+        cacheVerifiedPlan();
+        Assertions.assertTrue(planFromCache(3));
+        Assertions.assertTrue(planFromCache(1));
+        Assertions.assertTrue(planFromCache(100));
+        Assertions.assertEquals(1, PlanCache.getInstance().getCachedEntries());
+    }
+
+    @Test
+    public void testMissAfterVariableChanged() {
+        cacheVerifiedPlan();
+        connectContext.getSessionVariable().setDisableJoinReorder(true);
+        // the session variables are a part of the key
+        Assertions.assertFalse(planFromCache(3));
+        Assertions.assertEquals(2, PlanCache.getInstance().getCachedEntries());
+
+        connectContext.getSessionVariable().setDisableJoinReorder(false);
+        Assertions.assertTrue(planFromCache(3));
+    }
+
+    @Test
+    public void testMissAfterSchemaChanged() throws Exception {
+        cacheVerifiedPlan();
+        Assertions.assertTrue(planFromCache(3));
+        alterTableSync("alter table t1 add column v2 int");
+        // the cached plan of the old schema is replaced
+        Assertions.assertFalse(planFromCache(3));
+        Assertions.assertEquals(1, PlanCache.getInstance().getCachedEntries());
+        Assertions.assertFalse(planFromCache(4));
+        Assertions.assertTrue(planFromCache(5));
+    }
+
+    @Test
+    public void testInvalidate() {
+        cacheVerifiedPlan();
+        Assertions.assertTrue(planFromCache(3));
+        PlanCache.getInstance().invalidateAll();
+        Assertions.assertEquals(0, PlanCache.getInstance().getCachedEntries());
+        Assertions.assertFalse(planFromCache(3));
+    }
+}
@@ -0,0 +1,95 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.joinorder.hypergraph;
+
+import org.apache.doris.nereids.jobs.joinorder.hypergraph.bitmap.LongBitmap;
+import org.apache.doris.nereids.jobs.joinorder.hypergraph.receiver.Counter;
+import org.apache.doris.nereids.trees.plans.JoinType;
+import org.apache.doris.nereids.util.HyperGraphBuilder;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GreedyEnumeratorTest {
+    @Test
+    void testMaxDpSize() {
+        Assertions.assertEquals(1, GreedyEnumerator.maxDpSize(0));
+        Assertions.assertEquals(2, GreedyEnumerator.maxDpSize(1));
+        Assertions.assertEquals(3, GreedyEnumerator.maxDpSize(6));
+        Assertions.assertEquals(7, GreedyEnumerator.maxDpSize(1000));
+    }
+
+    @Test
+    void testSameAsSubgraphEnumerator() {
+        //    .--t0\
+        //   /    | \
+        //   |   t1  t3
+        //   \    | /
+        //    `--t2/
+        HyperGraph hyperGraph = new HyperGraphBuilder()
+                .init(10, 20, 30, 40)
+                .addEdge(JoinType.INNER_JOIN, 0, 1)
+                .addEdge(JoinType.INNER_JOIN, 0, 2)
+                .addEdge(JoinType.INNER_JOIN, 0, 3)
+                .addEdge(JoinType.INNER_JOIN, 1, 2)
+                .addEdge(JoinType.INNER_JOIN, 2, 3)
+                .build();
+        Counter expected = new Counter();
+        Assertions.assertTrue(new SubgraphEnumerator(expected, hyperGraph).enumerate());
+        // all join orders are enumerated by dynamic programming if the graph is small enough
+        Counter counter = new Counter();
+        Assertions.assertTrue(new GreedyEnumerator(counter, hyperGraph, 4).enumerate());
+        Assertions.assertEquals(expected.getAllCount(), counter.getAllCount());
+    }
+
+    @Test
+    void testRandomQuery() {
+        int tableNum = 10;
+        int edgeNum = 20;
+        long fullSet = LongBitmap.newBitmapBetween(0, tableNum);
+        for (int i = 0; i < 10; i++) {
+            HyperGraph hyperGraph = new HyperGraphBuilder().randomBuildWith(tableNum, edgeNum);
+            Counter expected = new Counter();
+            Assertions.assertTrue(new SubgraphEnumerator(expected, hyperGraph).enumerate());
+            Counter counter = new Counter();
+            Assertions.assertTrue(new GreedyEnumerator(counter, hyperGraph, tableNum).enumerate());
+            Assertions.assertEquals(expected.getAllCount(), counter.getAllCount());
+
+            counter = new Counter();
+            Assertions.assertTrue(new GreedyEnumerator(counter, hyperGraph, 4).enumerate());
+            Assertions.assertTrue(counter.contain(fullSet));
+            Assertions.assertTrue(counter.getCount(fullSet) <= expected.getCount(fullSet));
+        }
+    }
+
+    @Test
+    void testLargeQuery() {
+        int tableNum = 40;
+        int edgeNum = 80;
+        long fullSet = LongBitmap.newBitmapBetween(0, tableNum);
+        HyperGraph hyperGraph = new HyperGraphBuilder().randomBuildWith(tableNum, edgeNum);
+        int limit = 1000;
+        Assertions.assertFalse(new SubgraphEnumerator(new Counter(limit), hyperGraph).enumerate());
+
+        Counter counter = new Counter(limit + tableNum);
+        GreedyEnumerator greedyEnumerator = new GreedyEnumerator(counter, hyperGraph,
+                GreedyEnumerator.maxDpSize(limit));
+        Assertions.assertTrue(greedyEnumerator.enumerate());
+        Assertions.assertTrue(counter.contain(fullSet));
+    }
+}
@@ -131,6 +131,24 @@ class MemoTest implements MemoPatternMatchSupported {
         Assertions.assertEquals(0, srcParentExpression.arity());
     }
 
+    @Test
+    void testGroupExpressionHashCodeAfterReplaceChild() {
+        Group child1 = new Group(new GroupId(0), new GroupExpression(new FakePlan()),
+                new LogicalProperties(ArrayList::new));
+        Group child2 = new Group(new GroupId(1), new GroupExpression(new FakePlan()),
+                new LogicalProperties(ArrayList::new));
+        GroupExpression expression = new GroupExpression(new FakePlan(), Lists.newArrayList(child1));
+        Assertions.assertTrue(expression.getLowestCostTable().isEmpty());
+
+        int hashCode = expression.hashCode();
+        Assertions.assertEquals(Objects.hash(expression.children(), expression.getPlan()), hashCode);
+        // the cached hash code is reset
+        expression.replaceChild(child1, child2);
+        Assertions.assertEquals(Objects.hash(expression.children(), expression.getPlan()), expression.hashCode());
+        expression.setChild(0, child1);
+        Assertions.assertEquals(hashCode, expression.hashCode());
+    }
+
     /**
      * Original:
      * Group 0: LogicalOlapScan C
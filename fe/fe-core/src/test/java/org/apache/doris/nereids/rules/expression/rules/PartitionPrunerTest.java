@@ -0,0 +1,164 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.rules.expression.rules;
+
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.catalog.ListPartitionItem;
+import org.apache.doris.catalog.PartitionItem;
+import org.apache.doris.catalog.PartitionItemIndex;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.catalog.RangePartitionItem;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.nereids.trees.expressions.And;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.GreaterThanEqual;
+import org.apache.doris.nereids.trees.expressions.InPredicate;
+import org.apache.doris.nereids.trees.expressions.LessThan;
+import org.apache.doris.nereids.trees.expressions.LessThanEqual;
+import org.apache.doris.nereids.trees.expressions.Not;
+import org.apache.doris.nereids.trees.expressions.Or;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.literal.BigIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+import org.apache.doris.nereids.types.IntegerType;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class PartitionPrunerTest {
+    private final Slot a = new SlotReference("a", IntegerType.INSTANCE);
+    private final Slot b = new SlotReference("b", IntegerType.INSTANCE);
+
+    private static PartitionKey key(long value) throws AnalysisException {
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(new IntLiteral(value, Type.INT), PrimitiveType.INT);
+        return key;
+    }
+
+    private static RangePartitionItem range(long lower, long upper) throws AnalysisException {
+        return new RangePartitionItem(Range.closedOpen(key(lower), key(upper)));
+    }
+
+    private static ListPartitionItem list(long... values) throws AnalysisException {
+        ListPartitionItem item = new ListPartitionItem(Lists.newArrayList());
+        for (long value : values) {
+            item.getItems().add(key(value));
+        }
+        return item;
+    }
+
+    private static IntegerLiteral literal(int value) {
+        return new IntegerLiteral(value);
+    }
+
+    private Optional<Set<Long>> find(Expression predicate, PartitionItemIndex index) {
+        return PartitionPruner.findCandidates(a, predicate, index);
+    }
+
+    private PartitionItemIndex rangeIndex() throws AnalysisException {
+        // [0, 10), [10, 20), [20, 30), [30, 40)
+        Map<Long, PartitionItem> idToItem = Maps.newHashMap();
+        idToItem.put(1L, range(0, 10));
+        idToItem.put(2L, range(10, 20));
+        idToItem.put(3L, range(20, 30));
+        idToItem.put(4L, range(30, 40));
+        return PartitionItemIndex.build(idToItem);
+    }
+
+    @Test
+    public void testComparison() throws AnalysisException {
+        PartitionItemIndex index = rangeIndex();
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(2L)), find(new EqualTo(a, literal(15)), index));
+        // the slot is on the right side
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(2L)), find(new EqualTo(literal(15), a), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(3L, 4L)), find(new LessThan(literal(25), a), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of()), find(new EqualTo(a, literal(50)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(1L)), find(new LessThan(a, literal(10)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(1L, 2L)), find(new LessThanEqual(a, literal(10)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(3L, 4L)), find(new GreaterThan(a, literal(20)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(4L)), find(new GreaterThanEqual(a, literal(30)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(1L, 3L)),
+                find(new InPredicate(a, ImmutableList.of(literal(5), literal(25))), index));
+    }
+
+    @Test
+    public void testCompound() throws AnalysisException {
+        PartitionItemIndex index = rangeIndex();
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(3L)),
+                find(new And(new GreaterThanEqual(a, literal(20)), new LessThan(a, literal(30))), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(1L, 4L)),
+                find(new Or(new EqualTo(a, literal(5)), new EqualTo(a, literal(35))), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(2L, 4L)),
+                find(new And(new GreaterThan(a, literal(10)),
+                        new Or(new LessThan(a, literal(20)), new GreaterThanEqual(a, literal(30)))), index));
+        // the conjuncts which could not be resolved are left to the partition evaluators
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(1L)),
+                find(new And(new EqualTo(a, literal(5)), new EqualTo(b, literal(1))), index));
+        // a disjunct which could not be resolved may be true in any partition
+        Assertions.assertEquals(Optional.empty(),
+                find(new Or(new EqualTo(a, literal(5)), new EqualTo(b, literal(1))), index));
+    }
+
+    @Test
+    public void testNotResolved() throws AnalysisException {
+        PartitionItemIndex index = rangeIndex();
+        Assertions.assertEquals(Optional.empty(), find(new EqualTo(b, literal(5)), index));
+        Assertions.assertEquals(Optional.empty(), find(new EqualTo(a, b), index));
+        Assertions.assertEquals(Optional.empty(), find(new EqualTo(a, new NullLiteral(IntegerType.INSTANCE)), index));
+        // the literal is not of the type of the partition column
+        Assertions.assertEquals(Optional.empty(), find(new EqualTo(a, new BigIntLiteral(5)), index));
+        Assertions.assertEquals(Optional.empty(), find(new Not(new EqualTo(a, literal(5))), index));
+        Assertions.assertEquals(Optional.empty(),
+                find(new InPredicate(a, ImmutableList.of(literal(5), b)), index));
+    }
+
+    @Test
+    public void testDefaultPartition() throws AnalysisException {
+        Map<Long, PartitionItem> idToItem = Maps.newHashMap();
+        idToItem.put(1L, list(1, 2));
+        idToItem.put(2L, list(3));
+        ListPartitionItem defaultItem = new ListPartitionItem(Lists.newArrayList());
+        defaultItem.setDefaultPartition(true);
+        idToItem.put(3L, defaultItem);
+        PartitionItemIndex index = PartitionItemIndex.build(idToItem);
+
+        // the default partition is always a candidate
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(1L, 3L)), find(new EqualTo(a, literal(1)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(3L)), find(new EqualTo(a, literal(5)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(2L, 3L)), find(new GreaterThan(a, literal(2)), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(1L, 2L, 3L)),
+                find(new InPredicate(a, ImmutableList.of(literal(2), literal(3))), index));
+        Assertions.assertEquals(Optional.of(ImmutableSet.of(3L)),
+                find(new And(new EqualTo(a, literal(1)), new EqualTo(a, literal(3))), index));
+    }
+}
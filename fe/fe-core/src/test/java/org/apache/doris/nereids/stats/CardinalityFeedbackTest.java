@@ -0,0 +1,115 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.stats;
+
+import org.apache.doris.common.Pair;
+import org.apache.doris.nereids.stats.CardinalityFeedback.Signature;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.JoinType;
+import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.util.LogicalPlanBuilder;
+import org.apache.doris.nereids.util.PlanConstructor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CardinalityFeedbackTest {
+    @BeforeEach
+    void setUp() {
+        CardinalityFeedback.getInstance().invalidateAll();
+    }
+
+    private static LogicalPlan filter(LogicalOlapScan scan, int column, int value) {
+        return new LogicalPlanBuilder(scan)
+                .filter(new GreaterThan(scan.getOutput().get(column), new IntegerLiteral(value)))
+                .build();
+    }
+
+    @Test
+    void testFilterSignature() {
+        LogicalOlapScan scan = PlanConstructor.newLogicalOlapScan(1, "t1", 0);
+        Signature signature = CardinalityFeedback.signatureOf(filter(scan, 0, 1));
+        Assertions.assertNotNull(signature);
+        // the literals are ignored
+        Assertions.assertEquals(signature.getKey(), CardinalityFeedback.signatureOf(filter(scan, 0, 2)).getKey());
+        Assertions.assertNotEquals(signature.getKey(), CardinalityFeedback.signatureOf(filter(scan, 1, 1)).getKey());
+        // the plans other than scan, filter, project and join are not supported
+        Assertions.assertNull(CardinalityFeedback.signatureOf(new LogicalPlanBuilder(scan).limit(10)
+                .filter(new GreaterThan(scan.getOutput().get(0), new IntegerLiteral(1))).build()));
+    }
+
+    @Test
+    void testJoinSignature() {
+        LogicalOlapScan scan1 = PlanConstructor.newLogicalOlapScan(1, "t1", 0);
+        LogicalOlapScan scan2 = PlanConstructor.newLogicalOlapScan(2, "t2", 0);
+        LogicalPlan join = new LogicalPlanBuilder(scan1)
+                .join(scan2, JoinType.INNER_JOIN, Pair.of(0, 0))
+                .build();
+        LogicalPlan commutedJoin = new LogicalPlanBuilder(scan2)
+                .join(scan1, JoinType.INNER_JOIN, Pair.of(0, 0))
+                .build();
+        Assertions.assertEquals(CardinalityFeedback.signatureOf(join).getKey(),
+                CardinalityFeedback.signatureOf(commutedJoin).getKey());
+
+        LogicalPlan leftJoin = new LogicalPlanBuilder(scan1)
+                .join(scan2, JoinType.LEFT_OUTER_JOIN, Pair.of(0, 0))
+                .build();
+        LogicalPlan commutedLeftJoin = new LogicalPlanBuilder(scan2)
+                .join(scan1, JoinType.LEFT_OUTER_JOIN, Pair.of(0, 0))
+                .build();
+        Assertions.assertNotEquals(CardinalityFeedback.signatureOf(leftJoin).getKey(),
+                CardinalityFeedback.signatureOf(commutedLeftJoin).getKey());
+        Assertions.assertNotEquals(CardinalityFeedback.signatureOf(join).getKey(),
+                CardinalityFeedback.signatureOf(leftJoin).getKey());
+
+        LogicalPlan filteredJoin = new LogicalPlanBuilder(filter(scan1, 1, 1))
+                .join(scan2, JoinType.INNER_JOIN, Pair.of(0, 0))
+                .build();
+        LogicalPlan joinThenFilter = new LogicalPlanBuilder(scan1)
+                .join(scan2, JoinType.INNER_JOIN, Pair.of(0, 0))
+                .filter(new GreaterThan(scan1.getOutput().get(1), new IntegerLiteral(1)))
+                .build();
+        // the conjuncts are the same wherever they are
+        Assertions.assertEquals(CardinalityFeedback.signatureOf(filteredJoin).getKey(),
+                CardinalityFeedback.signatureOf(joinThenFilter).getKey());
+    }
+
+    @Test
+    void testFeedback() {
+        LogicalOlapScan scan1 = PlanConstructor.newLogicalOlapScan(1, "t1", 0);
+        LogicalOlapScan scan2 = PlanConstructor.newLogicalOlapScan(2, "t2", 0);
+        LogicalPlan join = new LogicalPlanBuilder(scan1)
+                .join(scan2, JoinType.INNER_JOIN, Pair.of(0, 0))
+                .build();
+        Signature signature = CardinalityFeedback.signatureOf(join);
+        CardinalityFeedback feedback = CardinalityFeedback.getInstance();
+        Assertions.assertTrue(feedback.isEmpty());
+        Assertions.assertFalse(feedback.getRowCount(signature).isPresent());
+
+        feedback.update(signature, 100);
+        Assertions.assertEquals(100, feedback.getRowCount(signature).get(), 1e-6);
+        // the feedback of the join is not used for the filter
+        Assertions.assertFalse(feedback.getRowCount(CardinalityFeedback.signatureOf(
+                new LogicalPlanBuilder(scan1).filter(new EqualTo(scan1.getOutput().get(0),
+                        new IntegerLiteral(1))).build())).isPresent());
+    }
+}
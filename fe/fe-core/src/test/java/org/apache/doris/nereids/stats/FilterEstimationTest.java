@@ -17,6 +17,7 @@
 
 package org.apache.doris.nereids.stats;
 
+import org.apache.doris.common.Pair;
 import org.apache.doris.nereids.trees.expressions.And;
 import org.apache.doris.nereids.trees.expressions.Cast;
 import org.apache.doris.nereids.trees.expressions.EqualTo;
@@ -35,10 +36,13 @@ import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
 import org.apache.doris.nereids.types.DateType;
 import org.apache.doris.nereids.types.DoubleType;
 import org.apache.doris.nereids.types.IntegerType;
+import org.apache.doris.statistics.Bucket;
+import org.apache.doris.statistics.ColumnSketch;
 import org.apache.doris.statistics.ColumnStatistic;
 import org.apache.doris.statistics.ColumnStatisticBuilder;
 import org.apache.doris.statistics.Statistics;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import org.apache.commons.math3.util.Precision;
 import org.junit.jupiter.api.Assertions;
@@ -891,4 +895,97 @@ class FilterEstimationTest {
         Statistics result = filterEstimation.estimate(greaterThan, stats);
         Assertions.assertEquals(result.getRowCount(), 10, 0.1);
     }
+
+    // 1000 rows of 100 distinct values, half of them are 1
+    private static Statistics skewedStats(SlotReference a) {
+        return skewedStats(a, 100);
+    }
+
+    // the sketch of the sampled rows is in [1, 100], and the column is in [1, maxValue]
+    private static Statistics skewedStats(SlotReference a, double maxValue) {
+        ColumnSketch sketch = ColumnSketch.create(1000, ImmutableList.of(Pair.of(1.0, 500.0)),
+                ImmutableList.of(new Bucket(1, 1, 500, 0, 1),
+                        new Bucket(2, 50, 245, 500, 49),
+                        new Bucket(51, 100, 250, 745, 50)),
+                100);
+        ColumnStatistic aStats = new ColumnStatisticBuilder().setCount(1000).setNdv(100).setAvgSizeByte(4)
+                .setNumNulls(0).setDataSize(4000).setMinValue(1).setMaxValue(maxValue).setSketch(sketch).build();
+        Statistics stats = new Statistics(1000, new HashMap<>());
+        stats.addColumnStats(a, aStats);
+        return stats;
+    }
+
+    @Test
+    public void testEqualToWithSketch() {
+        SlotReference a = new SlotReference("a", IntegerType.INSTANCE);
+        Statistics stats = skewedStats(a);
+        FilterEstimation filterEstimation = new FilterEstimation();
+
+        // the most common value is estimated by its frequency instead of 1 / ndv
+        Statistics result = filterEstimation.estimate(new EqualTo(a, new IntegerLiteral(1)), stats);
+        Assertions.assertEquals(500, result.getRowCount(), 0.1);
+        Assertions.assertNull(result.findColumnStatistics(a).sketch);
+
+        result = filterEstimation.estimate(new EqualTo(a, new IntegerLiteral(10)), stats);
+        Assertions.assertEquals(5, result.getRowCount(), 0.1);
+
+        result = filterEstimation.estimate(new EqualTo(a, new IntegerLiteral(1000)), stats);
+        Assertions.assertEquals(0, result.getRowCount(), 0.1);
+    }
+
+    @Test
+    public void testRangeWithSketch() {
+        SlotReference a = new SlotReference("a", IntegerType.INSTANCE);
+        Statistics stats = skewedStats(a);
+        FilterEstimation filterEstimation = new FilterEstimation();
+
+        Statistics result = filterEstimation.estimate(new LessThanEqual(a, new IntegerLiteral(50)), stats);
+        Assertions.assertEquals(745, result.getRowCount(), 0.1);
+        // the sketch doesn't describe the filtered rows
+        Assertions.assertFalse(result.findColumnStatistics(a).hasSketch());
+
+        result = filterEstimation.estimate(new GreaterThanEqual(a, new IntegerLiteral(51)), stats);
+        Assertions.assertEquals(250, result.getRowCount(), 0.1);
+    }
+
+    @Test
+    public void testColumnEqualToColumnWithSketch() {
+        SlotReference a = new SlotReference("a", IntegerType.INSTANCE);
+        SlotReference b = new SlotReference("b", IntegerType.INSTANCE);
+        Statistics stats = skewedStats(a);
+        stats.addColumnStats(b, new ColumnStatisticBuilder(stats.findColumnStatistics(a)).build());
+        Statistics result = new FilterEstimation().estimate(new EqualTo(a, b), stats);
+        double sel = 0.5 * 0.5 + 0.245 * 0.245 / 49 + 0.25 * 0.25 / 50;
+        Assertions.assertEquals(1000 * sel, result.getRowCount(), 0.1);
+    }
+
+    @Test
+    public void testOutOfSketchWithSketch() {
+        SlotReference a = new SlotReference("a", IntegerType.INSTANCE);
+        // the values in (100, 200] are in the column but missed by sampling
+        Statistics stats = skewedStats(a, 200);
+        FilterEstimation filterEstimation = new FilterEstimation();
+        double defaultFrequency = 0.495 / 99;
+
+        Statistics result = filterEstimation.estimate(new EqualTo(a, new IntegerLiteral(150)), stats);
+        Assertions.assertEquals(1000 * defaultFrequency, result.getRowCount(), 0.1);
+        result = filterEstimation.estimate(new GreaterThanEqual(a, new IntegerLiteral(150)), stats);
+        Assertions.assertEquals(1000 * defaultFrequency, result.getRowCount(), 0.1);
+        // out of the column
+        result = filterEstimation.estimate(new EqualTo(a, new IntegerLiteral(300)), stats);
+        Assertions.assertEquals(0, result.getRowCount(), 0.1);
+        result = filterEstimation.estimate(new GreaterThan(a, new IntegerLiteral(200)), stats);
+        Assertions.assertEquals(0, result.getRowCount(), 0.1);
+
+        // the mcv of b is in the range of a, but out of the sketch of a
+        SlotReference b = new SlotReference("b", IntegerType.INSTANCE);
+        ColumnSketch bSketch = ColumnSketch.create(1000, ImmutableList.of(Pair.of(150.0, 500.0)),
+                ImmutableList.of(new Bucket(101, 150, 550, 0, 50),
+                        new Bucket(151, 200, 450, 550, 50)),
+                100);
+        stats.addColumnStats(b, new ColumnStatisticBuilder().setCount(1000).setNdv(100).setAvgSizeByte(4)
+                .setNumNulls(0).setDataSize(4000).setMinValue(101).setMaxValue(300).setSketch(bSketch).build());
+        result = filterEstimation.estimate(new EqualTo(a, b), stats);
+        Assertions.assertEquals(1000 * 0.5 * defaultFrequency, result.getRowCount(), 0.1);
+    }
 }
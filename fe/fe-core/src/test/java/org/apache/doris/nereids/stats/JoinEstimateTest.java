@@ -18,6 +18,7 @@
 package org.apache.doris.nereids.stats;
 
 import org.apache.doris.common.IdGenerator;
+import org.apache.doris.common.Pair;
 import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupId;
 import org.apache.doris.nereids.properties.LogicalProperties;
@@ -28,12 +29,15 @@ import org.apache.doris.nereids.trees.plans.GroupPlan;
 import org.apache.doris.nereids.trees.plans.JoinType;
 import org.apache.doris.nereids.trees.plans.logical.LogicalJoin;
 import org.apache.doris.nereids.types.IntegerType;
+import org.apache.doris.statistics.Bucket;
+import org.apache.doris.statistics.ColumnSketch;
 import org.apache.doris.statistics.ColumnStatistic;
 import org.apache.doris.statistics.ColumnStatisticBuilder;
 import org.apache.doris.statistics.Statistics;
 import org.apache.doris.statistics.StatisticsBuilder;
 
 import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -91,4 +95,40 @@ public class JoinEstimateTest {
         Assertions.assertNotNull(outAStats);
         Assertions.assertEquals(5, outBStats.ndv);
     }
+
+    /*
+    L join R on a=b
+    half of the rows of both sides are 1, the skewed value is matched by the sketches
+     */
+    @Test
+    public void testInnerJoinWithSketch() {
+        SlotReference a = new SlotReference("a", IntegerType.INSTANCE);
+        SlotReference b = new SlotReference("b", IntegerType.INSTANCE);
+        ColumnSketch sketch = ColumnSketch.create(1000, ImmutableList.of(Pair.of(1.0, 500.0)),
+                ImmutableList.of(new Bucket(1, 1, 500, 0, 1),
+                        new Bucket(2, 50, 245, 500, 49),
+                        new Bucket(51, 100, 250, 745, 50)),
+                100);
+        ColumnStatistic colStats = new ColumnStatisticBuilder().setCount(1000).setNdv(100).setAvgSizeByte(4)
+                .setNumNulls(0).setMinValue(1).setMaxValue(100).setSketch(sketch).build();
+        Statistics leftStats = new StatisticsBuilder().setRowCount(1000).build();
+        leftStats.addColumnStats(a, colStats);
+        Statistics rightStats = new StatisticsBuilder().setRowCount(1000).build();
+        rightStats.addColumnStats(b, colStats);
+        IdGenerator<GroupId> idGenerator = GroupId.createGenerator();
+        GroupPlan left = new GroupPlan(new Group(idGenerator.getNextId(),
+                new LogicalProperties(() -> Lists.newArrayList(a))));
+        GroupPlan right = new GroupPlan(new Group(idGenerator.getNextId(),
+                new LogicalProperties(() -> Lists.newArrayList(b))));
+        LogicalJoin join = new LogicalJoin(JoinType.INNER_JOIN, Lists.newArrayList(new EqualTo(a, b)),
+                left, right);
+        Statistics outputStats = JoinEstimation.estimate(leftStats, rightStats, join);
+        // without the sketches, the join is estimated as 1000 * 1000 / 100
+        double sel = 0.5 * 0.5 + 0.245 * 0.245 / 49 + 0.25 * 0.25 / 50;
+        Assertions.assertEquals(1000 * 1000 * sel, outputStats.getRowCount(), 1);
+        // the sketches don't describe the values after the join
+        Assertions.assertNull(outputStats.findColumnStatistics(a).sketch);
+        Assertions.assertNull(outputStats.findColumnStatistics(b).sketch);
+        Assertions.assertNotNull(leftStats.findColumnStatistics(a).sketch);
+    }
 }
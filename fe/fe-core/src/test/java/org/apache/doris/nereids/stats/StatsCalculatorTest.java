@@ -24,6 +24,7 @@ import org.apache.doris.nereids.properties.LogicalProperties;
 import org.apache.doris.nereids.trees.expressions.And;
 import org.apache.doris.nereids.trees.expressions.EqualTo;
 import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
 import org.apache.doris.nereids.trees.expressions.Or;
 import org.apache.doris.nereids.trees.expressions.SlotReference;
 import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
@@ -36,6 +37,7 @@ import org.apache.doris.nereids.trees.plans.logical.LogicalLimit;
 import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalTopN;
 import org.apache.doris.nereids.types.IntegerType;
+import org.apache.doris.nereids.util.MemoTestUtils;
 import org.apache.doris.nereids.util.PlanConstructor;
 import org.apache.doris.nereids.util.RelationUtil;
 import org.apache.doris.qe.ConnectContext;
@@ -325,4 +327,52 @@ public class StatsCalculatorTest {
         Assertions.assertEquals(1, slot1Stats.ndv, 0.1);
         Assertions.assertEquals(0.5, slot1Stats.numNulls);
     }
+
+    @Test
+    public void testCardinalityFeedback() {
+        CardinalityFeedback.getInstance().invalidateAll();
+        LogicalOlapScan scan = PlanConstructor.newLogicalOlapScan(0, "t1", 0);
+        SlotReference slot1 = (SlotReference) scan.getOutput().get(0);
+        ColumnStatisticBuilder columnStat1 = new ColumnStatisticBuilder();
+        columnStat1.setNdv(10);
+        columnStat1.setMinValue(0);
+        columnStat1.setMaxValue(1000);
+        Map<Expression, ColumnStatistic> slotColumnStatsMap = new HashMap<>();
+        slotColumnStatsMap.put(slot1, columnStat1.build());
+
+        Group childGroup = newGroup();
+        childGroup.addGroupExpression(new GroupExpression(scan));
+        childGroup.setLogicalProperties(scan.getLogicalProperties());
+        childGroup.setStatistics(new Statistics(10000, slotColumnStatsMap));
+        LogicalFilter<GroupPlan> logicalFilter = new LogicalFilter<>(
+                ImmutableSet.of(new GreaterThan(slot1, new IntegerLiteral(100))), new GroupPlan(childGroup));
+
+        ConnectContext context = MemoTestUtils.createConnectContext();
+        try {
+            CardinalityFeedback.getInstance().update(CardinalityFeedback.signatureOf(logicalFilter), 42);
+            double estimated = estimateFilter(logicalFilter, childGroup);
+            Assertions.assertNotEquals(42, estimated, 0.001);
+
+            context.getSessionVariable().setEnableCardinalityFeedback(true);
+            Assertions.assertEquals(42, estimateFilter(logicalFilter, childGroup), 0.001);
+            // the literals are ignored by the signature
+            LogicalFilter<GroupPlan> otherFilter = new LogicalFilter<>(
+                    ImmutableSet.of(new GreaterThan(slot1, new IntegerLiteral(200))), new GroupPlan(childGroup));
+            Assertions.assertEquals(42, estimateFilter(otherFilter, childGroup), 0.001);
+
+            CardinalityFeedback.getInstance().invalidateAll();
+            Assertions.assertEquals(estimated, estimateFilter(logicalFilter, childGroup), 0.001);
+        } finally {
+            CardinalityFeedback.getInstance().invalidateAll();
+            ConnectContext.remove();
+        }
+    }
+
+    private double estimateFilter(LogicalFilter<GroupPlan> logicalFilter, Group childGroup) {
+        GroupExpression groupExpression = new GroupExpression(logicalFilter, ImmutableList.of(childGroup));
+        Group ownerGroup = newGroup();
+        groupExpression.setOwnerGroup(ownerGroup);
+        StatsCalculator.estimate(groupExpression);
+        return ownerGroup.getStatistics().getRowCount();
+    }
 }
@@ -0,0 +1,176 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.stats;
+
+import org.apache.doris.analysis.TupleId;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.nereids.properties.DistributionSpecAny;
+import org.apache.doris.nereids.properties.LogicalProperties;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.stats.CardinalityFeedback.Signature;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.PreAggStatus;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalFilter;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.types.IntegerType;
+import org.apache.doris.nereids.util.PlanConstructor;
+import org.apache.doris.nereids.util.RelationUtil;
+import org.apache.doris.planner.EmptySetNode;
+import org.apache.doris.planner.PlanNode;
+import org.apache.doris.planner.PlanNodeId;
+import org.apache.doris.planner.SelectNode;
+import org.apache.doris.statistics.Statistics;
+import org.apache.doris.thrift.FrontendServiceVersion;
+import org.apache.doris.thrift.TCounter;
+import org.apache.doris.thrift.TReportExecStatusParams;
+import org.apache.doris.thrift.TRuntimeProfileNode;
+import org.apache.doris.thrift.TRuntimeProfileTree;
+import org.apache.doris.thrift.TStatus;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.thrift.TUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+class StatsErrorEstimatorTest {
+    private static final int SCAN_ID = 0;
+    private static final int FILTER_ID = 1;
+
+    private StatsErrorEstimator estimator;
+    private Signature scanSignature;
+    private Signature filterSignature;
+
+    @BeforeEach
+    void setUp() {
+        CardinalityFeedback.getInstance().invalidateAll();
+
+        OlapTable table = PlanConstructor.newOlapTable(1, "t1", 0);
+        SlotReference slot = new SlotReference("id", IntegerType.INSTANCE, true, ImmutableList.of("db", "t1"));
+        LogicalProperties logicalProperties = new LogicalProperties(() -> ImmutableList.of(slot));
+        PhysicalOlapScan scan = new PhysicalOlapScan(RelationUtil.newRelationId(), table,
+                ImmutableList.of("db", "t1"), table.getBaseIndexId(), ImmutableList.of(), ImmutableList.of(),
+                DistributionSpecAny.INSTANCE, PreAggStatus.on(), ImmutableList.of(), Optional.empty(),
+                logicalProperties, PhysicalProperties.ANY, new Statistics(100, new HashMap<>()));
+        PhysicalFilter<PhysicalOlapScan> filter = new PhysicalFilter<>(
+                ImmutableSet.of(new GreaterThan(slot, new IntegerLiteral(1))), Optional.empty(),
+                logicalProperties, PhysicalProperties.ANY, new Statistics(50, new HashMap<>()), scan);
+        scanSignature = CardinalityFeedback.signatureOf(scan);
+        filterSignature = CardinalityFeedback.signatureOf(filter);
+
+        // the plan nodes are translated from the bottom up, the same as PhysicalPlanTranslator does
+        PlanNode scanNode = new EmptySetNode(new PlanNodeId(SCAN_ID), Lists.newArrayList(new TupleId(0)));
+        PlanNode filterNode = new SelectNode(new PlanNodeId(FILTER_ID), scanNode);
+        estimator = new StatsErrorEstimator(true);
+        estimator.updateLegacyPlanIdToPhysicalPlan(scanNode, scan);
+        estimator.updateLegacyPlanIdToPhysicalPlan(filterNode, filter);
+    }
+
+    private static TReportExecStatusParams report(boolean done, TStatusCode code, Map<Integer, Long> rows) {
+        TRuntimeProfileTree profile = new TRuntimeProfileTree();
+        profile.setNodes(Lists.newArrayList());
+        for (Map.Entry<Integer, Long> entry : rows.entrySet()) {
+            TCounter counter = new TCounter();
+            counter.setName("RowsReturned");
+            counter.setType(TUnit.UNIT);
+            counter.setValue(entry.getValue());
+            TRuntimeProfileNode node = new TRuntimeProfileNode();
+            node.setName("VNODE (id=" + entry.getKey() + ")");
+            node.setCounters(Lists.newArrayList(counter));
+            profile.addToNodes(node);
+        }
+        TReportExecStatusParams params = new TReportExecStatusParams(FrontendServiceVersion.V1);
+        params.setQueryId(new TUniqueId(1, 1));
+        params.setStatus(new TStatus(code));
+        params.setDone(done);
+        params.setProfile(profile);
+        return params;
+    }
+
+    private static Optional<Double> feedbackOf(Signature signature) {
+        return CardinalityFeedback.getInstance().getRowCount(signature);
+    }
+
+    @Test
+    void testFinalReports() {
+        // the counters of the periodical reports are accumulated, only the final reports are counted
+        estimator.updateExactReturnedRows(report(false, TStatusCode.OK, ImmutableMap.of(SCAN_ID, 40L, FILTER_ID, 5L)));
+        estimator.updateExactReturnedRows(report(true, TStatusCode.OK, ImmutableMap.of(SCAN_ID, 60L, FILTER_ID, 10L)));
+        estimator.updateExactReturnedRows(report(true, TStatusCode.OK, ImmutableMap.of(SCAN_ID, 80L, FILTER_ID, 20L)));
+        estimator.updateCardinalityFeedback();
+        Assertions.assertEquals(140, feedbackOf(scanSignature).get(), 1e-6);
+        Assertions.assertEquals(30, feedbackOf(filterSignature).get(), 1e-6);
+
+        // the feedback is only updated once, when the last instance is done
+        estimator.updateExactReturnedRows(report(true, TStatusCode.OK, ImmutableMap.of(SCAN_ID, 10L, FILTER_ID, 1L)));
+        estimator.updateCardinalityFeedback();
+        Assertions.assertEquals(30, feedbackOf(filterSignature).get(), 1e-6);
+    }
+
+    @Test
+    void testSkipUnreportedSubtree() {
+        estimator.updateExactReturnedRows(report(true, TStatusCode.OK, ImmutableMap.of(FILTER_ID, 10L)));
+        estimator.updateCardinalityFeedback();
+        // the scan under the filter may not be executed
+        Assertions.assertTrue(CardinalityFeedback.getInstance().isEmpty());
+    }
+
+    @Test
+    void testSkipEarlyTermination() {
+        estimator.updateExactReturnedRows(report(true, TStatusCode.OK, ImmutableMap.of(SCAN_ID, 100L, FILTER_ID, 0L)));
+        estimator.updateCardinalityFeedback();
+        // the scan under the empty filter may be cut off
+        Assertions.assertFalse(feedbackOf(filterSignature).isPresent());
+        Assertions.assertFalse(feedbackOf(scanSignature).isPresent());
+    }
+
+    @Test
+    void testSkipFailedQuery() {
+        estimator.updateExactReturnedRows(report(true, TStatusCode.OK, ImmutableMap.of(SCAN_ID, 100L, FILTER_ID, 10L)));
+        estimator.updateExactReturnedRows(report(true, TStatusCode.CANCELLED, ImmutableMap.of()));
+        estimator.updateCardinalityFeedback();
+        Assertions.assertTrue(CardinalityFeedback.getInstance().isEmpty());
+    }
+
+    @Test
+    void testDisabled() {
+        StatsErrorEstimator disabled = new StatsErrorEstimator();
+        disabled.updateLegacyPlanIdToPhysicalPlan(
+                new EmptySetNode(new PlanNodeId(SCAN_ID), Lists.newArrayList(new TupleId(0))),
+                new PhysicalOlapScan(RelationUtil.newRelationId(), PlanConstructor.newOlapTable(2, "t2", 0),
+                        ImmutableList.of("db", "t2"), 0, ImmutableList.of(), ImmutableList.of(),
+                        DistributionSpecAny.INSTANCE, PreAggStatus.on(), ImmutableList.of(), Optional.empty(),
+                        new LogicalProperties(ImmutableList::of), PhysicalProperties.ANY,
+                        new Statistics(100, new HashMap<>())));
+        disabled.updateExactReturnedRows(report(true, TStatusCode.OK, ImmutableMap.of(SCAN_ID, 100L)));
+        disabled.updateCardinalityFeedback();
+        Assertions.assertTrue(CardinalityFeedback.getInstance().isEmpty());
+        Assertions.assertEquals(1, disabled.getQError(), 1e-6);
+    }
+}
@@ -0,0 +1,70 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.catalog.DataProperty;
+import org.apache.doris.catalog.ReplicaAllocation;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.JournalEntity;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EditLogReplayerTest {
+    private static final long DB_ID = 10000L;
+    private static final long TB_ID = 30000L;
+
+    private static JournalEntity entity(short opCode, Writable data) {
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(opCode);
+        entity.setData(data);
+        return entity;
+    }
+
+    private static ModifyPartitionInfo modifyPartitionInfo(long dbId, long partitionId) {
+        return new ModifyPartitionInfo(dbId, TB_ID, partitionId,
+                new DataProperty(DataProperty.DEFAULT_STORAGE_MEDIUM), ReplicaAllocation.DEFAULT_ALLOCATION,
+                true, "", Maps.newHashMap());
+    }
+
+    @Test
+    public void testReplayKey() {
+        Assert.assertEquals(DB_ID, EditLogReplayer.getReplayKey(entity(OperationType.OP_DROP_PARTITION,
+                new DropPartitionInfo(DB_ID, TB_ID, "p1", false, false, 0L))));
+        Assert.assertEquals(DB_ID, EditLogReplayer.getReplayKey(entity(OperationType.OP_BATCH_REMOVE_TXNS_V2,
+                new BatchRemoveTransactionsOperationV2(DB_ID, 1L, 2L))));
+        Assert.assertEquals(DB_ID, EditLogReplayer.getReplayKey(entity(OperationType.OP_MODIFY_PARTITION,
+                modifyPartitionInfo(DB_ID, 1L))));
+
+        // partitions of different databases must be modified in order
+        Assert.assertEquals(DB_ID, EditLogReplayer.getReplayKey(entity(OperationType.OP_BATCH_MODIFY_PARTITION,
+                new BatchModifyPartitionsInfo(Lists.newArrayList(
+                        modifyPartitionInfo(DB_ID, 1L), modifyPartitionInfo(DB_ID, 2L))))));
+        Assert.assertEquals(EditLogReplayer.GLOBAL_KEY, EditLogReplayer.getReplayKey(
+                entity(OperationType.OP_BATCH_MODIFY_PARTITION, new BatchModifyPartitionsInfo(Lists.newArrayList(
+                        modifyPartitionInfo(DB_ID, 1L), modifyPartitionInfo(DB_ID + 1, 2L))))));
+
+        Assert.assertEquals(EditLogReplayer.GLOBAL_KEY, EditLogReplayer.getReplayKey(
+                entity(OperationType.OP_SAVE_NEXTID, new Text("100"))));
+        Assert.assertEquals(EditLogReplayer.GLOBAL_KEY, EditLogReplayer.getReplayKey(
+                entity(OperationType.OP_ERASE_DB, new Text(String.valueOf(DB_ID)))));
+    }
+}
@@ -0,0 +1,74 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Database;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+public class MetaSectionTest {
+
+    @Test
+    public void testFooterWithSections() throws IOException {
+        File imageFile = Files.createTempFile("metaSectionTest", "tmp").toFile();
+        try {
+            Files.write(imageFile.toPath(), new byte[100]);
+            List<MetaIndex> indices = Lists.newArrayList(new MetaIndex("header", 10), new MetaIndex("db", 40));
+            List<MetaSection> sections = Lists.newArrayList(new MetaSection("header", 10, 30, 1L),
+                    new MetaSection("db", 40, 4, 2L), new MetaSection(MetaSection.chunkName("db", 0), 44, 56, 3L));
+            MetaFooter.write(imageFile, indices, sections, 12345L);
+
+            MetaFooter footer = MetaFooter.read(imageFile);
+            Assert.assertEquals(12345L, footer.checksum);
+            Assert.assertEquals(2, footer.metaIndices.size());
+            Assert.assertEquals("db", footer.metaIndices.get(1).name);
+            Assert.assertEquals(3, footer.metaSections.size());
+            MetaSection chunk = footer.metaSections.get(2);
+            Assert.assertTrue(chunk.isChunkOf("db"));
+            Assert.assertFalse(footer.metaSections.get(1).isChunkOf("db"));
+            Assert.assertEquals(44, chunk.offset);
+            Assert.assertEquals(56, chunk.length);
+            Assert.assertEquals(3L, chunk.crc);
+        } finally {
+            Files.deleteIfExists(imageFile.toPath());
+        }
+    }
+
+    @Test
+    public void testSplitDbs() {
+        List<Database> dbs = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            dbs.add(new Database(i, "db" + i));
+        }
+        List<List<Database>> chunks = MetaWriter.splitDbs(dbs, 4);
+        Assert.assertEquals(4, chunks.size());
+        List<Database> merged = Lists.newArrayList();
+        chunks.forEach(merged::addAll);
+        Assert.assertEquals(dbs, merged);
+
+        Assert.assertEquals(1, MetaWriter.splitDbs(dbs.subList(0, 1), 4).size());
+        Assert.assertTrue(MetaWriter.splitDbs(Lists.newArrayList(), 4).isEmpty());
+    }
+}
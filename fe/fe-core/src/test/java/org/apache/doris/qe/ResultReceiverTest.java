@@ -0,0 +1,290 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService.PFetchDataRequest;
+import org.apache.doris.proto.InternalService.PFetchDataResult;
+import org.apache.doris.proto.Types.PStatus;
+import org.apache.doris.rpc.BackendServiceProxy;
+import org.apache.doris.rpc.RpcException;
+import org.apache.doris.thrift.TNetworkAddress;
+import org.apache.doris.thrift.TResultBatch;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ResultReceiverTest {
+    // the futures returned to the fetch requests, in the order the requests are sent
+    private final List<CompletableFuture<PFetchDataResult>> requests = Lists.newArrayList();
+    // the results of the next requests, a request is left pending if there is no result for it
+    private final Queue<PFetchDataResult> responses = new ArrayDeque<>();
+    private volatile boolean failSend;
+
+    @BeforeEach
+    public void setUp() {
+        requests.clear();
+        responses.clear();
+        failSend = false;
+        new MockUp<BackendServiceProxy>() {
+            @Mock
+            public Future<PFetchDataResult> fetchDataAsync(TNetworkAddress address, PFetchDataRequest request)
+                    throws RpcException {
+                if (failSend) {
+                    throw new RpcException(address.hostname, "connection refused");
+                }
+                CompletableFuture<PFetchDataResult> future = new CompletableFuture<>();
+                synchronized (requests) {
+                    requests.add(future);
+                    PFetchDataResult result = responses.poll();
+                    if (result != null) {
+                        future.complete(result);
+                    }
+                }
+                return future;
+            }
+        };
+    }
+
+    private static ResultReceiver newReceiver(int pipelineDepth) {
+        ResultReceiver receiver = new ResultReceiver(new TUniqueId(1, 1), new TUniqueId(1, 2), null,
+                new TNetworkAddress("127.0.0.1", 8060), System.currentTimeMillis() + 10000);
+        receiver.setPipelineDepth(pipelineDepth);
+        return receiver;
+    }
+
+    private static PFetchDataResult packet(long seq, boolean eos) throws TException {
+        TResultBatch batch = new TResultBatch(
+                Lists.newArrayList(ByteBuffer.wrap(("row-" + seq).getBytes(StandardCharsets.UTF_8))), false, seq);
+        return PFetchDataResult.newBuilder()
+                .setStatus(PStatus.newBuilder().setStatusCode(TStatusCode.OK.getValue()))
+                .setPacketSeq(seq)
+                .setEos(eos)
+                .setRowBatch(ByteString.copyFrom(new TSerializer().serialize(batch)))
+                .build();
+    }
+
+    // the result of a request waiting on a closed result buffer
+    private static PFetchDataResult closed(long seq) {
+        return PFetchDataResult.newBuilder()
+                .setStatus(PStatus.newBuilder().setStatusCode(TStatusCode.OK.getValue()))
+                .setPacketSeq(seq)
+                .setEos(true)
+                .build();
+    }
+
+    private static PFetchDataResult error(TStatusCode code, String msg) {
+        return PFetchDataResult.newBuilder()
+                .setStatus(PStatus.newBuilder().setStatusCode(code.getValue()).addErrorMsgs(msg))
+                .build();
+    }
+
+    private static String rowOf(RowBatch rowBatch) {
+        Assertions.assertNotNull(rowBatch.getBatch());
+        Assertions.assertEquals(1, rowBatch.getBatch().getRowsSize());
+        ByteBuffer row = rowBatch.getBatch().getRows().get(0).duplicate();
+        byte[] bytes = new byte[row.remaining()];
+        row.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<CompletableFuture<PFetchDataResult>> pendingRequests() {
+        synchronized (requests) {
+            List<CompletableFuture<PFetchDataResult>> pending = Lists.newArrayList();
+            for (CompletableFuture<PFetchDataResult> request : requests) {
+                if (!request.isDone()) {
+                    pending.add(request);
+                }
+            }
+            return pending;
+        }
+    }
+
+    @Test
+    public void testNotPipelined() throws Exception {
+        responses.add(packet(0, false));
+        responses.add(packet(1, true));
+        ResultReceiver receiver = newReceiver(1);
+        Status status = new Status();
+        Assertions.assertEquals("row-0", rowOf(receiver.getNext(status)));
+        Assertions.assertEquals(1, requests.size());
+        RowBatch last = receiver.getNext(status);
+        Assertions.assertEquals("row-1", rowOf(last));
+        Assertions.assertTrue(last.isEos());
+        Assertions.assertEquals(2, requests.size());
+        Assertions.assertNull(receiver.getNext(status));
+        Assertions.assertTrue(status.ok());
+    }
+
+    @Test
+    public void testPipelined() throws Exception {
+        // BE answers the waiting requests in order, but the responses may arrive out of order
+        responses.add(packet(1, false));
+        responses.add(packet(0, false));
+        responses.add(packet(2, false));
+        responses.add(packet(3, false));
+        responses.add(packet(4, false));
+        responses.add(packet(5, true));
+        for (int i = 0; i < 4; i++) {
+            responses.add(closed(5));
+        }
+        ResultReceiver receiver = newReceiver(4);
+        Status status = new Status();
+
+        Assertions.assertEquals("row-0", rowOf(receiver.getNext(status)));
+        // the requests are kept outstanding, packet 1 is already received
+        Assertions.assertEquals(5, requests.size());
+        Assertions.assertEquals("row-1", rowOf(receiver.getNext(status)));
+        Assertions.assertEquals(5, requests.size());
+        for (int i = 2; i < 5; i++) {
+            RowBatch rowBatch = receiver.getNext(status);
+            Assertions.assertEquals("row-" + i, rowOf(rowBatch));
+            Assertions.assertFalse(rowBatch.isEos());
+        }
+        RowBatch last = receiver.getNext(status);
+        Assertions.assertEquals("row-5", rowOf(last));
+        Assertions.assertTrue(last.isEos());
+        Assertions.assertTrue(status.ok());
+        // no more requests are sent after eos, and the requests left are cancelled
+        Assertions.assertTrue(requests.size() <= 6 + 4);
+        Assertions.assertTrue(pendingRequests().isEmpty());
+        Assertions.assertNull(receiver.getNext(status));
+    }
+
+    @Test
+    public void testCancelBetweenBatches() throws Exception {
+        responses.add(packet(0, false));
+        ResultReceiver receiver = newReceiver(4);
+        Status status = new Status();
+        Assertions.assertEquals("row-0", rowOf(receiver.getNext(status)));
+        // packet 0 is received, the other requests are outstanding
+        List<CompletableFuture<PFetchDataResult>> inflight = pendingRequests();
+        Assertions.assertEquals(3, inflight.size());
+
+        receiver.cancel();
+        receiver.getNext(status);
+        Assertions.assertEquals(TStatusCode.CANCELLED, status.getErrorCode());
+        for (CompletableFuture<PFetchDataResult> request : inflight) {
+            Assertions.assertTrue(request.isCancelled());
+        }
+    }
+
+    @Test
+    public void testCancelWhileWaiting() throws Exception {
+        responses.add(packet(0, false));
+        ResultReceiver receiver = newReceiver(4);
+        Status status = new Status();
+        Assertions.assertEquals("row-0", rowOf(receiver.getNext(status)));
+
+        // no more results, the caller waits for packet 1
+        AtomicReference<RowBatch> result = new AtomicReference<>();
+        Thread fetcher = new Thread(() -> {
+            try {
+                result.set(receiver.getNext(status));
+            } catch (TException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        List<CompletableFuture<PFetchDataResult>> inflight = pendingRequests();
+        fetcher.start();
+        while (fetcher.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(10);
+        }
+        receiver.cancel();
+        fetcher.interrupt();
+        fetcher.join(10000);
+        Assertions.assertFalse(fetcher.isAlive());
+
+        Assertions.assertNull(result.get());
+        Assertions.assertEquals(TStatusCode.CANCELLED, status.getErrorCode());
+        Assertions.assertEquals(3, inflight.size());
+        for (CompletableFuture<PFetchDataResult> request : inflight) {
+            Assertions.assertTrue(request.isCancelled());
+        }
+    }
+
+    @Test
+    public void testInflightRpcFailed() throws Exception {
+        responses.add(packet(0, false));
+        ResultReceiver receiver = newReceiver(4);
+        Status status = new Status();
+        Assertions.assertEquals("row-0", rowOf(receiver.getNext(status)));
+
+        List<CompletableFuture<PFetchDataResult>> inflight = pendingRequests();
+        inflight.get(0).completeExceptionally(new RuntimeException("connection reset"));
+        RowBatch rowBatch = receiver.getNext(status);
+        Assertions.assertNull(rowBatch.getBatch());
+        Assertions.assertEquals(TStatusCode.THRIFT_RPC_ERROR, status.getErrorCode());
+        Assertions.assertTrue(status.getErrorMsg().contains("connection reset"));
+        // the other requests are given up
+        for (CompletableFuture<PFetchDataResult> request : inflight.subList(1, inflight.size())) {
+            Assertions.assertTrue(request.isCancelled());
+        }
+    }
+
+    @Test
+    public void testInflightRequestFailed() throws Exception {
+        // the query fails on BE after the first packet
+        responses.add(packet(0, false));
+        responses.add(error(TStatusCode.INTERNAL_ERROR, "memory exceed limit"));
+        ResultReceiver receiver = newReceiver(4);
+        Status status = new Status();
+        Assertions.assertEquals("row-0", rowOf(receiver.getNext(status)));
+
+        Assertions.assertNull(receiver.getNext(status));
+        Assertions.assertEquals(TStatusCode.INTERNAL_ERROR, status.getErrorCode());
+        Assertions.assertEquals("memory exceed limit", status.getErrorMsg());
+        Assertions.assertTrue(pendingRequests().stream().allMatch(CompletableFuture::isCancelled));
+    }
+
+    @Test
+    public void testSendFailed() throws Exception {
+        responses.add(packet(0, false));
+        ResultReceiver receiver = newReceiver(4);
+        Status status = new Status();
+        Assertions.assertEquals("row-0", rowOf(receiver.getNext(status)));
+
+        // the pipeline can't be refilled, the requests already sent are given up
+        failSend = true;
+        List<CompletableFuture<PFetchDataResult>> inflight = pendingRequests();
+        Assertions.assertEquals(3, inflight.size());
+        Assertions.assertNull(receiver.getNext(status).getBatch());
+        Assertions.assertEquals(TStatusCode.THRIFT_RPC_ERROR, status.getErrorCode());
+        for (CompletableFuture<PFetchDataResult> request : inflight) {
+            Assertions.assertTrue(request.isCancelled());
+        }
+    }
+}
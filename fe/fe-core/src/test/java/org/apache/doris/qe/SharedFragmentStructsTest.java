@@ -0,0 +1,77 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.thrift.PaloInternalServiceVersion;
+import org.apache.doris.thrift.TDataPartition;
+import org.apache.doris.thrift.TDescriptorTable;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TExecPlanFragmentParamsList;
+import org.apache.doris.thrift.TPartitionType;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TTupleDescriptor;
+
+import com.google.common.collect.Lists;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SharedFragmentStructsTest {
+    @Test
+    public void testSameBytes() throws TException {
+        TPlanFragment fragment = new TPlanFragment(new TDataPartition(TPartitionType.UNPARTITIONED));
+        fragment.setMinReservationBytes(0);
+        TDescriptorTable descTable = new TDescriptorTable(Lists.newArrayList(new TTupleDescriptor(0, 16, 1)));
+        TPlanFragment sharedFragment = SharedFragmentStructs.share(fragment);
+        TDescriptorTable sharedDescTable = SharedFragmentStructs.share(descTable);
+        Assertions.assertEquals(fragment, sharedFragment);
+        Assertions.assertEquals(descTable, sharedDescTable);
+        Assertions.assertSame(sharedFragment, SharedFragmentStructs.share(sharedFragment));
+
+        for (TProtocolFactory factory : new TProtocolFactory[] {
+                new TBinaryProtocol.Factory(), new TCompactProtocol.Factory()}) {
+            TExecPlanFragmentParamsList expected = new TExecPlanFragmentParamsList();
+            TExecPlanFragmentParamsList actual = new TExecPlanFragmentParamsList();
+            for (int i = 0; i < 3; i++) {
+                TExecPlanFragmentParams params = new TExecPlanFragmentParams(PaloInternalServiceVersion.V1);
+                params.setFragment(fragment);
+                params.setDescTbl(descTable);
+                params.setBackendNum(i);
+                expected.addToParamsList(params);
+                TExecPlanFragmentParams sharedParams = new TExecPlanFragmentParams(PaloInternalServiceVersion.V1);
+                sharedParams.setFragment(sharedFragment);
+                sharedParams.setDescTbl(sharedDescTable);
+                sharedParams.setBackendNum(i);
+                actual.addToParamsList(sharedParams);
+            }
+            byte[] bytes = new TSerializer(factory).serialize(actual);
+            Assertions.assertArrayEquals(new TSerializer(factory).serialize(expected), bytes);
+            // serialized again from the cached bytes
+            Assertions.assertArrayEquals(bytes, new TSerializer(factory).serialize(actual));
+
+            TExecPlanFragmentParamsList deserialized = new TExecPlanFragmentParamsList();
+            new TDeserializer(factory).deserialize(deserialized, bytes);
+            Assertions.assertEquals(expected, deserialized);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CacheFeProxyTest {
+
+    private InternalService.PCacheParam param(long version) {
+        return InternalService.PCacheParam.newBuilder()
+                .setPartitionKey(10001L)
+                .setLastVersion(version)
+                .setLastVersionTime(1000L)
+                .build();
+    }
+
+    @Test
+    public void testVersionInvalidation() {
+        CacheProxy proxy = CacheProxy.getCacheProxy(CacheProxy.CacheProxyType.FE);
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select * from t1|");
+        InternalService.PUpdateCacheRequest updateRequest = InternalService.PUpdateCacheRequest.newBuilder()
+                .setSqlKey(sqlKey)
+                .setCacheType(InternalService.CacheType.SQL_CACHE)
+                .addValues(InternalService.PCacheValue.newBuilder()
+                        .setParam(param(2L))
+                        .setDataSize(3)
+                        .addRows(ByteString.copyFromUtf8("abc")))
+                .build();
+        Status status = new Status();
+        proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
+
+        InternalService.PFetchCacheResult result = proxy.fetchCache(InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(sqlKey).addParams(param(2L)).build(), CacheProxy.FETCH_TIMEOUT, status);
+        Assert.assertNotNull(result);
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, result.getStatus());
+        Assert.assertEquals("abc", result.getValues(0).getRows(0).toStringUtf8());
+
+        // table is updated, old result is not visible any more
+        result = proxy.fetchCache(InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(sqlKey).addParams(param(3L)).build(), CacheProxy.FETCH_TIMEOUT, status);
+        Assert.assertNull(result);
+
+        proxy.clearCache(InternalService.PClearCacheRequest.newBuilder()
+                .setClearType(InternalService.PClearType.CLEAR_SQL_KEY).setSqlKey(sqlKey).build());
+        result = proxy.fetchCache(InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(sqlKey).addParams(param(2L)).build(), CacheProxy.FETCH_TIMEOUT, status);
+        Assert.assertNull(result);
+    }
+
+    @Test
+    public void testPartitionCacheNotKept() {
+        CacheProxy proxy = CacheProxy.getCacheProxy(CacheProxy.CacheProxyType.FE);
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select * from t2|");
+        Status status = new Status();
+        proxy.updateCache(InternalService.PUpdateCacheRequest.newBuilder()
+                .setSqlKey(sqlKey)
+                .setCacheType(InternalService.CacheType.PARTITION_CACHE)
+                .addValues(InternalService.PCacheValue.newBuilder().setParam(param(2L)).setDataSize(0))
+                .build(), CacheProxy.UPDATE_TIMEOUT, status);
+        Assert.assertNull(proxy.fetchCache(InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(sqlKey).addParams(param(2L)).build(), CacheProxy.FETCH_TIMEOUT, status));
+    }
+
+    @Test
+    public void testClearAll() {
+        CacheProxy proxy = CacheProxy.getCacheProxy(CacheProxy.CacheProxyType.FE);
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select * from t3|");
+        Status status = new Status();
+        proxy.updateCache(InternalService.PUpdateCacheRequest.newBuilder()
+                .setSqlKey(sqlKey)
+                .setCacheType(InternalService.CacheType.SQL_CACHE)
+                .addValues(InternalService.PCacheValue.newBuilder()
+                        .setParam(param(2L))
+                        .setDataSize(3)
+                        .addRows(ByteString.copyFromUtf8("abc")))
+                .build(), CacheProxy.UPDATE_TIMEOUT, status);
+        Assert.assertTrue(CacheFeProxy.getCachedEntries() > 0);
+
+        proxy.clearCache(InternalService.PClearCacheRequest.newBuilder()
+                .setClearType(InternalService.PClearType.CLEAR_ALL).build());
+        Assert.assertEquals(0, CacheFeProxy.getCachedEntries());
+        Assert.assertNull(proxy.fetchCache(InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(sqlKey).addParams(param(2L)).build(), CacheProxy.FETCH_TIMEOUT, status));
+    }
+
+    @Test
+    public void testResize() {
+        CacheProxy proxy = CacheProxy.getCacheProxy(CacheProxy.CacheProxyType.FE);
+        InternalService.PFetchCacheRequest request = InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(CacheProxy.getMd5("select * from t4|")).addParams(param(2L)).build();
+        long maxBytes = Config.cache_fe_result_cache_max_bytes;
+        try {
+            proxy.fetchCache(request, CacheProxy.FETCH_TIMEOUT, new Status());
+            Assert.assertEquals(maxBytes, CacheFeProxy.getMaxBytes());
+
+            // the config is mutable, the cache is resized on the next access
+            Config.cache_fe_result_cache_max_bytes = maxBytes / 2;
+            proxy.fetchCache(request, CacheProxy.FETCH_TIMEOUT, new Status());
+            Assert.assertEquals(maxBytes / 2, CacheFeProxy.getMaxBytes());
+        } finally {
+            Config.cache_fe_result_cache_max_bytes = maxBytes;
+            proxy.fetchCache(request, CacheProxy.FETCH_TIMEOUT, new Status());
+        }
+        Assert.assertEquals(maxBytes, CacheFeProxy.getMaxBytes());
+    }
+}
@@ -19,11 +19,11 @@ package org.apache.doris.statistics;
 
 import org.apache.doris.catalog.InternalSchemaInitializer;
 import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.qe.QeProcessorImpl;
 import org.apache.doris.statistics.AnalysisInfo.AnalysisMethod;
 import org.apache.doris.statistics.AnalysisInfo.AnalysisMode;
 import org.apache.doris.statistics.AnalysisInfo.AnalysisType;
 import org.apache.doris.statistics.AnalysisInfo.JobType;
-import org.apache.doris.statistics.util.BlockingCounter;
 import org.apache.doris.utframe.TestWithFeService;
 
 import com.google.common.collect.Maps;
@@ -38,6 +38,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AnalysisTaskExecutorTest extends TestWithFeService {
 
@@ -72,10 +74,26 @@ public class AnalysisTaskExecutorTest extends TestWithFeService {
         OlapAnalysisTask analysisJob = new OlapAnalysisTask(analysisJobInfo);
 
         new MockUp<AnalysisTaskScheduler>() {
-            public synchronized BaseAnalysisTask getPendingTasks() {
+            private boolean fetched = false;
+
+            @Mock
+            public synchronized BaseAnalysisTask getPendingTasks() throws InterruptedException {
+                // there is only one pending task
+                while (fetched) {
+                    wait();
+                }
+                fetched = true;
                 return analysisJob;
             }
         };
+        new MockUp<OlapAnalysisTask>() {
+            @Mock
+            public void execute() {}
+        };
+        new MockUp<AnalysisManager>() {
+            @Mock
+            public void updateTaskStatus(AnalysisInfo info, AnalysisState jobState, String message, long time) {}
+        };
 
         AnalysisTaskExecutor analysisTaskExecutor = new AnalysisTaskExecutor(analysisTaskScheduler);
         BlockingQueue<AnalysisTaskWrapper> b = Deencapsulation.getField(analysisTaskExecutor, "taskQueue");
@@ -83,13 +101,70 @@ public class AnalysisTaskExecutorTest extends TestWithFeService {
         Deencapsulation.setField(analysisTaskWrapper, "startTime", 5);
         b.put(analysisTaskWrapper);
         analysisTaskExecutor.start();
-        BlockingCounter counter = Deencapsulation.getField(analysisTaskExecutor, "blockingCounter");
+        AtomicInteger counter = Deencapsulation.getField(analysisTaskExecutor, "runningTaskNum");
         int sleepTime = 500;
-        while (counter.getVal() != 0 && sleepTime > 0) {
+        while (counter.get() != 0 && sleepTime > 0) {
             sleepTime -= 100;
             Thread.sleep(100);
         }
-        Assertions.assertEquals(0, counter.getVal());
+        Assertions.assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void testThrottleRunningTasks() throws Exception {
+        AnalysisInfo analysisInfo = new AnalysisInfoBuilder().setJobId(0).setTaskId(0)
+                .setCatalogName("internal").setDbName("default_cluster:analysis_job_test").setTblName("t1")
+                .setColName("col1").setJobType(JobType.MANUAL)
+                .setAnalysisMode(AnalysisMode.FULL)
+                .setAnalysisMethod(AnalysisMethod.FULL)
+                .setAnalysisType(AnalysisType.FUNDAMENTALS)
+                .build();
+        OlapAnalysisTask task = new OlapAnalysisTask(analysisInfo);
+        CountDownLatch finishTask = new CountDownLatch(1);
+        new MockUp<AnalysisTaskScheduler>() {
+            @Mock
+            public synchronized BaseAnalysisTask getPendingTasks() {
+                return task;
+            }
+        };
+        new MockUp<OlapAnalysisTask>() {
+            @Mock
+            public void execute() throws InterruptedException {
+                finishTask.await();
+            }
+        };
+        new MockUp<AnalysisManager>() {
+            @Mock
+            public void updateTaskStatus(AnalysisInfo info, AnalysisState jobState, String message, long time) {}
+        };
+        // only one task is allowed to run if there are too many running user queries
+        new MockUp<QeProcessorImpl>() {
+            @Mock
+            public int getUserQueryNum() {
+                return Integer.MAX_VALUE / 2;
+            }
+        };
+
+        AnalysisTaskExecutor analysisTaskExecutor = new AnalysisTaskExecutor(analysisTaskScheduler);
+        AtomicInteger counter = Deencapsulation.getField(analysisTaskExecutor, "runningTaskNum");
+        Deencapsulation.invoke(analysisTaskExecutor, "doFetchAndExecute");
+        Assertions.assertEquals(1, counter.get());
+
+        Thread submitter = new Thread(() -> Deencapsulation.invoke(analysisTaskExecutor, "doFetchAndExecute"));
+        submitter.start();
+        // the second task waits for the first one
+        submitter.join(500);
+        Assertions.assertTrue(submitter.isAlive());
+        Assertions.assertEquals(1, counter.get());
+
+        finishTask.countDown();
+        submitter.join(10000);
+        Assertions.assertFalse(submitter.isAlive());
+        int waitTimes = 100;
+        while (counter.get() != 0 && waitTimes-- > 0) {
+            Thread.sleep(100);
+        }
+        Assertions.assertEquals(0, counter.get());
     }
 
     @Test
@@ -0,0 +1,114 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.common.Pair;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColumnSketchTest {
+    private static final double DELTA = 1e-6;
+
+    // 1000 sampled rows of 100 distinct values, half of them are 1 and 5 of them are null
+    private ColumnSketch skewed;
+
+    // 1000 sampled rows of 100 distinct values, each value has 10 rows
+    private ColumnSketch uniform;
+
+    @BeforeEach
+    void setUp() {
+        skewed = ColumnSketch.create(1000, ImmutableList.of(Pair.of(1.0, 500.0)),
+                ImmutableList.of(new Bucket(1, 1, 500, 0, 1),
+                        new Bucket(2, 50, 245, 500, 49),
+                        new Bucket(51, 100, 250, 745, 50)),
+                100);
+        uniform = ColumnSketch.create(1000, ImmutableList.of(),
+                ImmutableList.of(new Bucket(1, 100, 1000, 0, 100)), 100);
+    }
+
+    @Test
+    void testCreate() {
+        Assertions.assertEquals(100, skewed.ndv, DELTA);
+        Assertions.assertEquals(1, skewed.getMcvNum());
+        // the bucket only containing the mcv is removed
+        Assertions.assertEquals(2, skewed.getBucketNum());
+    }
+
+    @Test
+    void testEqualSelectivity() {
+        Assertions.assertEquals(0.5, skewed.equalSelectivity(1), DELTA);
+        Assertions.assertEquals(0.245 / 49, skewed.equalSelectivity(10), DELTA);
+        Assertions.assertEquals(0.25 / 50, skewed.equalSelectivity(60), DELTA);
+        // the values out of the sampled rows, the range of the column is checked by the caller
+        Assertions.assertEquals(0.495 / 99, skewed.equalSelectivity(0), DELTA);
+        Assertions.assertEquals(0.495 / 99, skewed.equalSelectivity(101), DELTA);
+        Assertions.assertEquals(0.01, uniform.equalSelectivity(1), DELTA);
+    }
+
+    @Test
+    void testRangeSelectivity() {
+        Assertions.assertEquals(0.745, skewed.rangeSelectivity(Double.NEGATIVE_INFINITY, true, 50, true), DELTA);
+        // no sampled row is in the range, but it may contain the values missed by sampling
+        Assertions.assertEquals(0.495 / 99,
+                skewed.rangeSelectivity(Double.NEGATIVE_INFINITY, true, 1, false), DELTA);
+        Assertions.assertEquals(0.495 / 99, skewed.rangeSelectivity(150, true, 200, true), DELTA);
+        Assertions.assertEquals(0.25, skewed.rangeSelectivity(51, true, Double.POSITIVE_INFINITY, true), DELTA);
+        Assertions.assertEquals(0.495, skewed.rangeSelectivity(1, false, Double.POSITIVE_INFINITY, true), DELTA);
+        Assertions.assertEquals(0.5, uniform.rangeSelectivity(1, true, 50.5, true), DELTA);
+    }
+
+    @Test
+    void testJoinSelectivity() {
+        Assertions.assertEquals(0.01, uniform.joinSelectivity(uniform, 1, 100), DELTA);
+        // most of the rows are matched by the skewed value
+        double selfJoin = skewed.joinSelectivity(skewed, 1, 100);
+        Assertions.assertEquals(0.25 + 0.245 * 0.245 / 49 + 0.25 * 0.25 / 50, selfJoin, DELTA);
+        Assertions.assertTrue(selfJoin > 20 * uniform.joinSelectivity(uniform, 1, 100));
+        double skewedJoinUniform = skewed.joinSelectivity(uniform, 1, 100);
+        Assertions.assertEquals(skewedJoinUniform, uniform.joinSelectivity(skewed, 1, 100), DELTA);
+        Assertions.assertTrue(skewedJoinUniform < 0.01);
+        // the mcv is not matched out of the range of the other column
+        Assertions.assertEquals(0.245 * 0.245 / 49 + 0.25 * 0.25 / 50,
+                skewed.joinSelectivity(skewed, 2, 100), DELTA);
+    }
+
+    @Test
+    void testAllMcvs() {
+        // all sampled rows are mcvs, the value missed by sampling is rarer than them
+        ColumnSketch mcvs = ColumnSketch.create(1000, ImmutableList.of(Pair.of(1.0, 900.0), Pair.of(2.0, 100.0)),
+                ImmutableList.of(new Bucket(1, 2, 1000, 0, 2)), 2);
+        Assertions.assertEquals(0.9, mcvs.equalSelectivity(1), DELTA);
+        Assertions.assertEquals(0.1, mcvs.equalSelectivity(3), DELTA);
+    }
+
+    @Test
+    void testSerialize() throws Exception {
+        ColumnSketch deserialized = ColumnSketch.deserialize(skewed.serialize());
+        Assertions.assertEquals(skewed.ndv, deserialized.ndv, DELTA);
+        Assertions.assertEquals(skewed.getMcvNum(), deserialized.getMcvNum());
+        Assertions.assertEquals(skewed.getBucketNum(), deserialized.getBucketNum());
+        for (double value = 0; value <= 101; value += 0.5) {
+            Assertions.assertEquals(skewed.equalSelectivity(value), deserialized.equalSelectivity(value), DELTA);
+        }
+        Assertions.assertEquals(skewed.joinSelectivity(uniform, 1, 100),
+                deserialized.joinSelectivity(uniform, 1, 100), DELTA);
+    }
+}
@@ -0,0 +1,76 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+class NdvSketchTest {
+    private static final int K = 512;
+
+    // the hashes of the values in [from, to), which are uniformly distributed like murmur_hash3_64
+    private static long[] hashes(long from, long to) {
+        return LongStream.range(from, to).map(v -> {
+            long h = v * 0x9E3779B97F4A7C15L;
+            h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            return h ^ (h >>> 31);
+        }).toArray();
+    }
+
+    @Test
+    void testExact() {
+        NdvSketch sketch = NdvSketch.create(K, hashes(0, 100));
+        Assertions.assertEquals(100, sketch.size());
+        Assertions.assertEquals(100, sketch.estimate());
+        // duplicated values are counted once
+        sketch = sketch.merge(NdvSketch.create(K, hashes(50, 150)));
+        Assertions.assertEquals(150, sketch.estimate());
+    }
+
+    @Test
+    void testEstimate() {
+        NdvSketch sketch = NdvSketch.create(K, hashes(0, 100000));
+        Assertions.assertEquals(K, sketch.size());
+        Assertions.assertEquals(100000, sketch.estimate(), 100000 * 0.1);
+    }
+
+    @Test
+    void testMerge() {
+        NdvSketch merged = NdvSketch.create(K, hashes(0, 60000))
+                .merge(NdvSketch.create(K, hashes(40000, 100000)))
+                .merge(NdvSketch.create(K, new long[0]));
+        // merging the sketches of partitions is the same as the sketch of the whole table
+        Assertions.assertEquals(NdvSketch.create(K, hashes(0, 100000)).estimate(), merged.estimate());
+
+        merged = NdvSketch.create(K, hashes(0, 100000)).merge(NdvSketch.create(64, hashes(0, 100000)));
+        Assertions.assertEquals(64, merged.getK());
+        Assertions.assertEquals(64, merged.size());
+    }
+
+    @Test
+    void testSerialize() throws Exception {
+        NdvSketch sketch = NdvSketch.create(K, hashes(0, 10000));
+        NdvSketch deserialized = NdvSketch.deserialize(sketch.serialize());
+        Assertions.assertEquals(sketch.getK(), deserialized.getK());
+        Assertions.assertEquals(sketch.size(), deserialized.size());
+        Assertions.assertEquals(sketch.estimate(), deserialized.estimate());
+    }
+}
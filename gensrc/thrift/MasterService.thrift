@@ -102,11 +102,19 @@ struct TReportRequest {
     9: optional list<AgentService.TStoragePolicy> storage_policy // only id and version
     10: optional list<AgentService.TStorageResource> resource // only id and version
     11: i32 num_cores
+    // generation of this tablet report, increased by each tablet report of the backend
+    12: optional i64 tablet_report_generation
+    // only set in delta tablet report: the generation of the last tablet report which this report is based on.
+    // tablets only contains the tablets changed since that report, and removed_tablets the tablets dropped since then.
+    13: optional i64 base_tablet_report_generation
+    14: optional list<Types.TTabletId> removed_tablets
 }
 
 struct TMasterResult {
     // required in V1
     1: required Status.TStatus status
+    // set if the last delta tablet report could not be applied, the backend should send a full tablet report
+    2: optional bool need_full_tablet_report
 }
 
 // Deprecated